@@ -3,13 +3,22 @@
  * Handles all bike-related API calls.
  */
 
-import { apiGet, apiPatch, apiUrl, getToken, clearToken } from '@/lib/api'
-import type { Bike, BikeListParams } from '../types'
+import { apiGet, apiPatch, apiPost, apiUrl, getToken, clearToken } from '@/lib/api'
+import type {
+  Bike,
+  BikeImportResult,
+  BikeListParams,
+  BikeLookupResult,
+  BikePage,
+  BikeSuggestion,
+  BulkBikeStatusResult,
+} from '../types'
 
 /**
- * List bikes with optional filters
+ * List one page of bikes with optional filters.
+ * Pass the previous page's nextCursor to get the following page; it is null on the last page.
  */
-export async function listBikes(params?: BikeListParams): Promise<Bike[]> {
+export async function listBikes(params?: BikeListParams, cursor?: string | null): Promise<BikePage> {
   const searchParams = new URLSearchParams()
   if (params?.status) {
     searchParams.append('status', params.status)
@@ -17,11 +26,23 @@ export async function listBikes(params?: BikeListParams): Promise<Bike[]> {
   if (params?.q) {
     searchParams.append('q', params.q)
   }
-  
+  if (cursor) {
+    searchParams.append('cursor', cursor)
+  }
+
   const queryString = searchParams.toString()
-  const path = queryString ? `/bikes?${queryString}` : '/bikes'
-  
-  return apiGet<Bike[]>(path)
+  return apiGet<BikePage>(queryString ? `/bikes?${queryString}` : '/bikes')
+}
+
+/**
+ * Bike-number autocomplete: bikes whose number starts with the prefix, in natural order.
+ */
+export async function suggestBikes(prefix: string, limit?: number): Promise<BikeSuggestion[]> {
+  const searchParams = new URLSearchParams({ q: prefix })
+  if (limit) {
+    searchParams.append('limit', String(limit))
+  }
+  return apiGet<BikeSuggestion[]>(`/bikes/suggest?${searchParams.toString()}`)
 }
 
 /**
@@ -31,6 +52,35 @@ export async function getBikeByNumber(bikeNumber: string): Promise<Bike> {
   return apiGet<Bike>(`/bikes/by-number/${encodeURIComponent(bikeNumber)}`)
 }
 
+/**
+ * Check availability of a group of bike numbers in one call.
+ * Returns one result per distinct number, in request order.
+ */
+export async function lookupBikes(bikeNumbers: string[]): Promise<BikeLookupResult[]> {
+  return apiPost<BikeLookupResult[]>('/bikes/lookup', { bikeNumbers })
+}
+
+/**
+ * Bulk-create bikes from a CSV file (bike_number[,bike_type] per line).
+ * Existing bike numbers are skipped, so an import can be re-sent safely.
+ */
+export async function importBikesCsv(file: File): Promise<BikeImportResult> {
+  const token = getToken()
+  const response = await fetch(apiUrl('/bikes/import'), {
+    method: 'POST',
+    headers: {
+      'Content-Type': 'text/csv',
+      ...(token ? { Authorization: `Bearer ${token}` } : {}),
+    },
+    body: file,
+  })
+  if (!response.ok) {
+    const text = await response.text().catch(() => '')
+    throw new Error(text || `Import failed (${response.status})`)
+  }
+  return response.json()
+}
+
 /**
  * Mark a bike as Out of Order (OOO)
  */
@@ -45,6 +95,18 @@ export async function markAvailable(bikeId: number): Promise<Bike> {
   return apiPatch<Bike>(`/bikes/${bikeId}/available`, {})
 }
 
+/**
+ * Mark many bikes OOO (note required) or AVAILABLE in one call.
+ * Rented bikes are not made available; check each result's outcome.
+ */
+export async function transitionBikes(
+  bikeIds: number[],
+  status: 'OOO' | 'AVAILABLE',
+  note?: string
+): Promise<BulkBikeStatusResult> {
+  return apiPatch<BulkBikeStatusResult>('/bikes/status', { bikeIds, status, note })
+}
+
 /**
  * Export OOO bikes as Excel file download.
  * Triggers browser download with file named "ooo-bikes-YYYY-MM-DD.xlsx".
@@ -107,9 +169,13 @@ export async function exportOooBikesExcel(): Promise<void> {
  */
 export const bikeApi = {
   listBikes,
+  suggestBikes,
   getBikeByNumber,
+  lookupBikes,
+  importBikesCsv,
   markOoo,
   markAvailable,
+  transitionBikes,
   exportOooBikesExcel,
 }
 
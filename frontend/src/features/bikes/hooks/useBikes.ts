@@ -1,21 +1,24 @@
 /**
- * useBikes hook - manages bike data fetching, filtering, and actions
+ * useBikes hook - manages bike data fetching, filtering, paging, and actions
  */
 
-import { useState, useEffect, useCallback } from 'react'
+import { useState, useEffect, useCallback, useMemo, useRef } from 'react'
 import { listBikes, markOoo, markAvailable } from '../api/bikeApi'
-import type { Bike, BikeStatus } from '../types'
+import type { Bike, BikeListParams, BikeStatus } from '../types'
 
 export type StatusFilter = BikeStatus | 'ALL'
 
 export interface UseBikesReturn {
   bikes: Bike[]
   isLoading: boolean
+  isLoadingMore: boolean
+  hasMore: boolean
   error: string | null
   statusFilter: StatusFilter
   searchQuery: string
   setStatusFilter: (status: StatusFilter) => void
   setSearchQuery: (query: string) => void
+  loadMore: () => void
   handleMarkOoo: (bike: Bike, note: string) => Promise<void>
   handleMarkAvailable: (bike: Bike) => Promise<void>
   clearError: () => void
@@ -26,11 +29,15 @@ const DEBOUNCE_DELAY = 300
 
 export function useBikes(): UseBikesReturn {
   const [bikes, setBikes] = useState<Bike[]>([])
+  const [nextCursor, setNextCursor] = useState<string | null>(null)
   const [isLoading, setIsLoading] = useState(true)
+  const [isLoadingMore, setIsLoadingMore] = useState(false)
   const [error, setError] = useState<string | null>(null)
   const [statusFilter, setStatusFilter] = useState<StatusFilter>('ALL')
   const [searchQuery, setSearchQuery] = useState('')
   const [debouncedQuery, setDebouncedQuery] = useState('')
+  // Bumped on every first-page load, so pages of an older filter are dropped
+  const requestId = useRef(0)
 
   // Debounce search query
   useEffect(() => {
@@ -40,54 +47,95 @@ export function useBikes(): UseBikesReturn {
     return () => clearTimeout(timer)
   }, [searchQuery])
 
-  // Fetch bikes when filters change
+  const params = useMemo((): BikeListParams => {
+    const result: BikeListParams = {}
+    if (statusFilter !== 'ALL') {
+      result.status = statusFilter
+    }
+    if (debouncedQuery.trim()) {
+      result.q = debouncedQuery.trim()
+    }
+    return result
+  }, [statusFilter, debouncedQuery])
+
+  // Fetch the first page when filters change
   const loadBikes = useCallback(async () => {
+    const id = ++requestId.current
     setIsLoading(true)
     setError(null)
     try {
-      const params: { status?: BikeStatus; q?: string } = {}
-      if (statusFilter !== 'ALL') {
-        params.status = statusFilter
-      }
-      if (debouncedQuery.trim()) {
-        params.q = debouncedQuery.trim()
+      const page = await listBikes(params)
+      if (id === requestId.current) {
+        setBikes(page.items)
+        setNextCursor(page.nextCursor)
       }
-      const data = await listBikes(params)
-      setBikes(data)
     } catch (err) {
-      setError(err instanceof Error ? err.message : 'Failed to load bikes')
+      if (id === requestId.current) {
+        setError(err instanceof Error ? err.message : 'Failed to load bikes')
+      }
     } finally {
-      setIsLoading(false)
+      if (id === requestId.current) {
+        setIsLoading(false)
+      }
     }
-  }, [statusFilter, debouncedQuery])
+  }, [params])
 
   useEffect(() => {
     loadBikes()
   }, [loadBikes])
 
+  const loadMore = useCallback(async () => {
+    if (!nextCursor || isLoadingMore) return
+    const id = requestId.current
+    setIsLoadingMore(true)
+    try {
+      const page = await listBikes(params, nextCursor)
+      if (id === requestId.current) {
+        setBikes((current) => [...current, ...page.items])
+        setNextCursor(page.nextCursor)
+      }
+    } catch (err) {
+      if (id === requestId.current) {
+        setError(err instanceof Error ? err.message : 'Failed to load more bikes')
+      }
+    } finally {
+      setIsLoadingMore(false)
+    }
+  }, [params, nextCursor, isLoadingMore])
+
+  // Update a changed bike in place, keeping the pages loaded so far
+  const replaceBike = useCallback(
+    (updated: Bike) => {
+      setBikes((current) =>
+        statusFilter === 'ALL' || updated.status === statusFilter
+          ? current.map((b) => (b.bikeId === updated.bikeId ? updated : b))
+          : current.filter((b) => b.bikeId !== updated.bikeId)
+      )
+    },
+    [statusFilter]
+  )
+
   const handleMarkOoo = useCallback(
     async (bike: Bike, note: string) => {
       try {
-        await markOoo(bike.bikeId, note)
-        await loadBikes()
+        replaceBike(await markOoo(bike.bikeId, note))
       } catch (err) {
         setError(err instanceof Error ? err.message : 'Failed to mark bike as OOO')
         throw err // Re-throw so caller can handle
       }
     },
-    [loadBikes]
+    [replaceBike]
   )
 
   const handleMarkAvailable = useCallback(
     async (bike: Bike) => {
       try {
-        await markAvailable(bike.bikeId)
-        await loadBikes()
+        replaceBike(await markAvailable(bike.bikeId))
       } catch (err) {
         setError(err instanceof Error ? err.message : 'Failed to mark bike as available')
       }
     },
-    [loadBikes]
+    [replaceBike]
   )
 
   const clearError = useCallback(() => {
@@ -97,15 +145,17 @@ export function useBikes(): UseBikesReturn {
   return {
     bikes,
     isLoading,
+    isLoadingMore,
+    hasMore: nextCursor !== null,
     error,
     statusFilter,
     searchQuery,
     setStatusFilter,
     setSearchQuery,
+    loadMore,
     handleMarkOoo,
     handleMarkAvailable,
     clearError,
     refresh: loadBikes,
   }
 }
-
@@ -1,4 +1,4 @@
 export { BikesPage } from './pages/BikesPage'
 export { useBikes } from './hooks/useBikes'
-export { getBikeByNumber } from './api/bikeApi'
-export type { Bike, BikeStatus, BikeListParams, MarkOooRequest } from './types'
+export { getBikeByNumber, lookupBikes } from './api/bikeApi'
+export type { Bike, BikeStatus, BikeListParams, BikeLookupResult, MarkOooRequest } from './types'
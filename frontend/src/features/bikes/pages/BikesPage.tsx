@@ -15,11 +15,14 @@ export function BikesPage() {
   const {
     bikes,
     isLoading,
+    isLoadingMore,
+    hasMore,
     error,
     statusFilter,
     searchQuery,
     setStatusFilter,
     setSearchQuery,
+    loadMore,
     handleMarkOoo,
     handleMarkAvailable,
   } = useBikes()
@@ -172,6 +175,19 @@ export function BikesPage() {
         onMarkAvailable={handleMarkAvailable}
       />
 
+      {/* Next page */}
+      {hasMore && !isLoading && (
+        <div className="mt-4 flex justify-center">
+          <button
+            onClick={loadMore}
+            disabled={isLoadingMore}
+            className="px-4 py-2 rounded-lg border border-slate-300 bg-white text-slate-700 hover:bg-slate-50 disabled:opacity-50 disabled:cursor-not-allowed transition-colors"
+          >
+            {isLoadingMore ? 'Loading...' : 'Load more'}
+          </button>
+        </div>
+      )}
+
       {/* Mark OOO Dialog */}
       <MarkOooDialog
         bike={selectedBike}
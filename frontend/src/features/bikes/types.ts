@@ -13,6 +13,44 @@ export interface Bike {
   oooSince: string | null
 }
 
+export interface BikePage {
+  items: Bike[]
+  nextCursor: string | null
+}
+
+export interface BikeSuggestion {
+  bikeId: number
+  bikeNumber: string
+  status: BikeStatus
+}
+
+export type BikeUnavailableReason = 'NOT_FOUND' | 'ALREADY_RENTED' | 'OUT_OF_ORDER'
+
+export interface BikeLookupResult {
+  bikeNumber: string
+  bikeId: number | null
+  status: BikeStatus | null
+  available: boolean
+  reason: BikeUnavailableReason | null
+}
+
+export interface BikeImportResult {
+  created: number
+  skipped: number
+  invalid: number
+  invalidRows: { row: number; bikeNumber: string | null; reason: string }[]
+}
+
+export interface BulkBikeStatusResult {
+  updated: number
+  results: {
+    bikeId: number
+    bikeNumber: string | null
+    outcome: 'UPDATED' | 'NOT_FOUND' | 'ALREADY_RENTED'
+    status: BikeStatus | null
+  }[]
+}
+
 export interface BikeListParams {
   status?: BikeStatus
   q?: string
@@ -1,15 +1,33 @@
 package com.bikerental.platform.rental.bike.controller;
 
+import com.bikerental.platform.rental.bike.dto.BikeImportResponse;
+import com.bikerental.platform.rental.bike.dto.BikeLookupRequest;
+import com.bikerental.platform.rental.bike.dto.BikeLookupResponse;
+import com.bikerental.platform.rental.bike.dto.BikePageResponse;
 import com.bikerental.platform.rental.bike.dto.BikeResponse;
+import com.bikerental.platform.rental.bike.dto.BikeSuggestionResponse;
+import com.bikerental.platform.rental.bike.dto.BulkBikeStatusRequest;
+import com.bikerental.platform.rental.bike.dto.BulkBikeStatusResponse;
 import com.bikerental.platform.rental.bike.dto.MarkOooRequest;
 import com.bikerental.platform.rental.bike.model.Bike;
+import com.bikerental.platform.rental.bike.service.BikeExportService;
+import com.bikerental.platform.rental.bike.service.BikeImportService;
 import com.bikerental.platform.rental.bike.service.BikeService;
+import com.bikerental.platform.rental.common.csv.CsvDownload;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/bikes")
@@ -17,17 +35,25 @@ import java.util.stream.Collectors;
 public class BikeController {
 
     private final BikeService bikeService;
+    private final BikeImportService bikeImportService;
+    private final BikeExportService bikeExportService;
 
     /**
-     * List bikes for the current hotel.
+     * List bikes for the current hotel, one page at a time.
      * Query parameters:
      * - status: optional filter by status (AVAILABLE, RENTED, OOO)
      * - q: optional search query (matches bike number)
+     * - fields: optional comma-separated subset of BikeResponse fields, e.g. bikeNumber,status
+     * - cursor: nextCursor from the previous page
+     * - limit: page size (default 200, max 500)
      */
     @GetMapping
-    public ResponseEntity<List<BikeResponse>> listBikes(
+    public ResponseEntity<BikePageResponse> listBikes(
             @RequestParam(required = false) String status,
-            @RequestParam(required = false) String q) {
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         
         Bike.BikeStatus statusEnum = null;
         if (status != null && !status.isEmpty()) {
@@ -39,12 +65,58 @@ public class BikeController {
             }
         }
         
-        List<Bike> bikes = bikeService.listBikes(statusEnum, q);
-        List<BikeResponse> responses = bikes.stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
-        
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok(bikeService.listBikes(statusEnum, q, fields, cursor, limit));
+    }
+
+    /**
+     * Autocomplete bike numbers for the current hotel.
+     * Query parameters:
+     * - q: bike-number prefix (case-insensitive); blank returns no matches
+     * - limit: maximum matches (default 10, max 50)
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<BikeSuggestionResponse>> suggest(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(bikeService.suggest(q, limit));
+    }
+
+    /**
+     * Check availability of many bike numbers in one call (assignment screen).
+     * Returns one result per distinct number, in request order, with the reason
+     * code a rental would be rejected with.
+     */
+    @PostMapping("/lookup")
+    public ResponseEntity<List<BikeLookupResponse>> lookup(@Valid @RequestBody BikeLookupRequest request) {
+        return ResponseEntity.ok(bikeService.lookup(request.getBikeNumbers()));
+    }
+
+    /**
+     * Bulk-create bikes for the current hotel from CSV (text/csv) or a JSON array (application/json).
+     * The body is read as a stream and committed in chunks; existing bike numbers are skipped,
+     * so a failed import can simply be re-sent.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<BikeImportResponse> importBikes(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) throws IOException {
+        if (MediaType.APPLICATION_JSON.isCompatibleWith(contentType)) {
+            return ResponseEntity.ok(bikeImportService.importJson(body));
+        }
+        return ResponseEntity.ok(bikeImportService.importCsv(
+                new InputStreamReader(body, contentType.getCharset() != null
+                        ? contentType.getCharset() : StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Export the current hotel's whole fleet as CSV, in natural bike-number order.
+     * Streamed, and gzip-compressed if the client accepts it.
+     */
+    @GetMapping("/export.csv")
+    public ResponseEntity<StreamingResponseBody> exportFleetCsv(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        String filename = "bikes-" + LocalDate.now() + ".csv";
+        return CsvDownload.of(filename, acceptEncoding, bikeExportService.exportFleetCsv());
     }
 
     /**
@@ -77,6 +149,16 @@ public class BikeController {
         return ResponseEntity.ok(toResponse(bike));
     }
 
+    /**
+     * Mark many bikes OOO or AVAILABLE in one transaction.
+     * Rented bikes are not made available; each bike's outcome is reported in the response.
+     */
+    @PatchMapping("/status")
+    public ResponseEntity<BulkBikeStatusResponse> transitionBikes(@Valid @RequestBody BulkBikeStatusRequest request) {
+        return ResponseEntity.ok(bikeService.transitionBikes(
+                request.getBikeIds(), request.getStatus(), request.getNote()));
+    }
+
     private BikeResponse toResponse(Bike bike) {
         return BikeResponse.builder()
                 .bikeId(bike.getBikeId())
@@ -0,0 +1,32 @@
+package com.bikerental.platform.rental.bike.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of POST /api/bikes/import.
+ * {@code skipped} counts rows whose bike number already existed (or repeated earlier in the file);
+ * {@code invalidRows} lists the first invalid rows so the file can be fixed, up to a fixed cap.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BikeImportResponse {
+    private int created;
+    private int skipped;
+    private int invalid;
+    private List<InvalidRow> invalidRows;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class InvalidRow {
+        /** 1-based line (CSV) or array index (JSON) */
+        private long row;
+        private String bikeNumber;
+        private String reason;
+    }
+}
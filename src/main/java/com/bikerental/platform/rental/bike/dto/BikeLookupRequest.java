@@ -0,0 +1,25 @@
+package com.bikerental.platform.rental.bike.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for POST /api/bikes/lookup: bike numbers typed or scanned on the assignment screen.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BikeLookupRequest {
+
+    public static final int MAX_BIKE_NUMBERS = 200;
+
+    @NotEmpty(message = "At least one bike number is required")
+    @Size(max = MAX_BIKE_NUMBERS, message = "At most " + MAX_BIKE_NUMBERS + " bike numbers per lookup")
+    private List<@NotBlank(message = "Bike number cannot be blank") String> bikeNumbers;
+}
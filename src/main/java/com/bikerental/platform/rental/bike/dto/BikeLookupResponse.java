@@ -0,0 +1,22 @@
+package com.bikerental.platform.rental.bike.dto;
+
+import com.bikerental.platform.rental.bike.model.Bike;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Availability of one requested bike number from POST /api/bikes/lookup.
+ * {@code reason} uses the same codes as a rejected rental (NOT_FOUND, ALREADY_RENTED,
+ * OUT_OF_ORDER) and is null when the bike can be rented; bikeId and status are null for NOT_FOUND.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BikeLookupResponse {
+    private String bikeNumber;
+    private Long bikeId;
+    private Bike.BikeStatus status;
+    private boolean available;
+    private String reason;
+}
@@ -0,0 +1,27 @@
+package com.bikerental.platform.rental.bike.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of bikes in list order.
+ * Each item carries only the requested fields (all {@link BikeResponse} fields by default).
+ * {@code nextCursor} is null on the last page.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class BikePageResponse {
+
+    private List<Map<String, Object>> items;
+    private String nextCursor;
+
+    public BikePageResponse(List<Map<String, Object>> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+}
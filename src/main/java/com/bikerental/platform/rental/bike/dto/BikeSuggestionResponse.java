@@ -0,0 +1,18 @@
+package com.bikerental.platform.rental.bike.dto;
+
+import com.bikerental.platform.rental.bike.model.Bike;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One autocomplete match from GET /api/bikes/suggest.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BikeSuggestionResponse {
+    private Long bikeId;
+    private String bikeNumber;
+    private Bike.BikeStatus status;
+}
@@ -0,0 +1,32 @@
+package com.bikerental.platform.rental.bike.dto;
+
+import com.bikerental.platform.rental.bike.model.Bike;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for PATCH /api/bikes/status: move many bikes to OOO or AVAILABLE at once.
+ * {@code note} is required when {@code status} is OOO.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkBikeStatusRequest {
+
+    public static final int MAX_BIKES = 500;
+
+    @NotEmpty(message = "At least one bike is required")
+    @Size(max = MAX_BIKES, message = "At most " + MAX_BIKES + " bikes per request")
+    private List<@NotNull(message = "Bike id cannot be null") Long> bikeIds;
+
+    @NotNull(message = "Status is required")
+    private Bike.BikeStatus status;
+
+    private String note;
+}
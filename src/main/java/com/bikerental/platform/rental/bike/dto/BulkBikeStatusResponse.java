@@ -0,0 +1,33 @@
+package com.bikerental.platform.rental.bike.dto;
+
+import com.bikerental.platform.rental.bike.model.Bike;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of PATCH /api/bikes/status: one result per distinct requested bike, in request order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkBikeStatusResponse {
+    private int updated;
+    private List<Result> results;
+
+    /**
+     * {@code outcome} is UPDATED, NOT_FOUND or ALREADY_RENTED (AVAILABLE requested for a rented bike);
+     * {@code status} is the bike's status after the request, null for NOT_FOUND.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Result {
+        private Long bikeId;
+        private String bikeNumber;
+        private String outcome;
+        private Bike.BikeStatus status;
+    }
+}
@@ -0,0 +1,19 @@
+package com.bikerental.platform.rental.bike.event;
+
+import com.bikerental.platform.rental.bike.model.Bike;
+
+/**
+ * A bike row was inserted, updated or deleted. Published from the JPA lifecycle, so listeners
+ * that need committed state should use {@code @TransactionalEventListener}.
+ */
+public record BikeChangedEvent(Long hotelId, Long bikeId, String bikeNumber, Bike.BikeStatus status,
+                               boolean removed) {
+
+    public static BikeChangedEvent saved(Bike bike) {
+        return new BikeChangedEvent(bike.getHotelId(), bike.getBikeId(), bike.getBikeNumber(), bike.getStatus(), false);
+    }
+
+    public static BikeChangedEvent removed(Bike bike) {
+        return new BikeChangedEvent(bike.getHotelId(), bike.getBikeId(), bike.getBikeNumber(), bike.getStatus(), true);
+    }
+}
@@ -0,0 +1,32 @@
+package com.bikerental.platform.rental.bike.event;
+
+import com.bikerental.platform.rental.bike.model.Bike;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes a {@link BikeChangedEvent} for every bike written through JPA.
+ * Hibernate obtains this listener from Spring, so it can use the application's event publisher.
+ * JPQL/native bulk updates bypass it and must publish their own events.
+ */
+@Component
+@RequiredArgsConstructor
+public class BikeEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    void onSaved(Bike bike) {
+        eventPublisher.publishEvent(BikeChangedEvent.saved(bike));
+    }
+
+    @PostRemove
+    void onRemoved(Bike bike) {
+        eventPublisher.publishEvent(BikeChangedEvent.removed(bike));
+    }
+}
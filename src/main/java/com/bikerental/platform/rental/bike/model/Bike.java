@@ -1,5 +1,6 @@
 package com.bikerental.platform.rental.bike.model;
 
+import com.bikerental.platform.rental.bike.event.BikeEntityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -9,8 +10,12 @@ import lombok.Setter;
 import java.time.Instant;
 
 @Entity
+@EntityListeners(BikeEntityListener.class)
 @Table(name = "bikes", uniqueConstraints = {
     @UniqueConstraint(name = "uk_hotel_bike_number", columnNames = {"hotel_id", "bike_number"})
+}, indexes = {
+    @Index(name = "idx_bike_hotel_sort", columnList = "hotel_id, bike_sort_key"),
+    @Index(name = "idx_bike_hotel_status_sort", columnList = "hotel_id, status, bike_sort_key")
 })
 @Getter
 @Setter
@@ -29,6 +34,13 @@ public class Bike {
     @Column(name = "bike_number", nullable = false, length = 50)
     private String bikeNumber;
 
+    /**
+     * Natural-order key derived from bikeNumber (see {@link #sortKey}), kept in sync on every write
+     * so bike lists can be read in index order instead of sorting on LENGTH(bike_number).
+     */
+    @Column(name = "bike_sort_key", nullable = false, length = 52)
+    private String bikeSortKey;
+
     @Column(name = "bike_type", length = 50)
     private String bikeType;
 
@@ -42,6 +54,32 @@ public class Bike {
     @Column(name = "ooo_since")
     private Instant oooSince;
 
+    /**
+     * Optimistic lock version. Concurrent status transitions on the same bike
+     * (e.g. return racing mark-OOO) fail the version check instead of overwriting.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @PrePersist
+    @PreUpdate
+    void updateSortKey() {
+        bikeSortKey = sortKey(bikeNumber);
+    }
+
+    /**
+     * Two-digit length prefix followed by the number itself, so plain string order matches
+     * the old {@code ORDER BY LENGTH(bike_number), bike_number} ("2" before "10", "A9" before "A10").
+     */
+    public static String sortKey(String bikeNumber) {
+        if (bikeNumber == null) {
+            return null;
+        }
+        int length = bikeNumber.length();
+        return (length < 10 ? "0" : "") + length + bikeNumber;
+    }
+
     public enum BikeStatus {
         AVAILABLE,
         RENTED,
@@ -1,13 +1,24 @@
 package com.bikerental.platform.rental.bike.repo;
 
+import com.bikerental.platform.rental.bike.dto.BikeResponse;
 import com.bikerental.platform.rental.bike.model.Bike;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BikeRepository extends JpaRepository<Bike, Long> {
@@ -33,42 +44,122 @@ public interface BikeRepository extends JpaRepository<Bike, Long> {
     Optional<Bike> findByHotelIdAndBikeNumber(Long hotelId, String bikeNumber);
 
     /**
-     * Find bikes for a hotel, optionally filtered by status and search query (bike number).
+     * Find all bikes for a hotel whose bike number is in the given set (single IN query).
+     */
+    List<Bike> findByHotelIdAndBikeNumberIn(Long hotelId, Collection<String> bikeNumbers);
+
+    /**
+     * Which of the given bike numbers already exist for the hotel (single IN query on uk_hotel_bike_number).
+     */
+    @Query("SELECT b.bikeNumber FROM Bike b WHERE b.hotelId = :hotelId AND b.bikeNumber IN :bikeNumbers")
+    List<String> findExistingBikeNumbers(@Param("hotelId") Long hotelId,
+                                         @Param("bikeNumbers") Collection<String> bikeNumbers);
+
+    /**
+     * Lock the hotel's bikes with the given ids (SELECT ... FOR UPDATE), always in bike_id order
+     * so concurrent bulk transitions over overlapping sets cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Bike b WHERE b.hotelId = :hotelId AND b.bikeId IN :bikeIds ORDER BY b.bikeId ASC")
+    List<Bike> findForUpdate(@Param("hotelId") Long hotelId, @Param("bikeIds") Collection<Long> bikeIds);
+
+    /**
+     * Set-based OOO transition. Bumps the version so concurrent single-bike updates fail their check.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Bike b SET b.status = com.bikerental.platform.rental.bike.model.Bike.BikeStatus.OOO, " +
+           "b.oooNote = :note, b.oooSince = :oooSince, b.version = b.version + 1 WHERE b.bikeId IN :bikeIds")
+    int markOoo(@Param("bikeIds") Collection<Long> bikeIds, @Param("note") String note,
+                @Param("oooSince") Instant oooSince);
+
+    /**
+     * Set-based AVAILABLE transition; clears the OOO fields and bumps the version.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Bike b SET b.status = com.bikerental.platform.rental.bike.model.Bike.BikeStatus.AVAILABLE, " +
+           "b.oooNote = NULL, b.oooSince = NULL, b.version = b.version + 1 WHERE b.bikeId IN :bikeIds")
+    int markAvailable(@Param("bikeIds") Collection<Long> bikeIds);
+
+    /**
+     * One page of a hotel's bikes in natural bike-number order, as projections.
+     * Seeks past {@code afterSortKey} (null for the first page) along idx_bike_hotel_sort.
      * Search is case-insensitive and matches bike numbers containing the query string.
-     * Sorted numerically by bike_number. For OOO bikes, use findOooBikesForExport
-     * for proper ooo_since ordering.
+     * The ORDER BY spells out the full index prefix (constant under the WHERE clause) so
+     * every optimizer recognizes the index order and skips the sort.
      */
-    @Query(value = "SELECT * FROM bikes b WHERE b.hotel_id = :hotelId " +
-           "AND (:status IS NULL OR b.status = :status) " +
-           "AND (:q IS NULL OR LOWER(b.bike_number) LIKE LOWER(CONCAT('%', :q, '%'))) " +
-           "ORDER BY LENGTH(b.bike_number), b.bike_number ASC",
-           nativeQuery = true)
-    List<Bike> findByHotelIdWithFilters(
+    @Query("SELECT new com.bikerental.platform.rental.bike.dto.BikeResponse(" +
+           "b.bikeId, b.bikeNumber, b.bikeType, b.status, b.oooNote, b.oooSince) " +
+           "FROM Bike b WHERE b.hotelId = :hotelId " +
+           "AND (:q IS NULL OR LOWER(b.bikeNumber) LIKE LOWER(CONCAT('%', :q, '%'))) " +
+           "AND (:afterSortKey IS NULL OR b.bikeSortKey > :afterSortKey) " +
+           "ORDER BY b.hotelId, b.bikeSortKey")
+    List<BikeResponse> findPage(
             @Param("hotelId") Long hotelId,
-            @Param("status") String status,
-            @Param("q") String searchQuery
+            @Param("q") String searchQuery,
+            @Param("afterSortKey") String afterSortKey,
+            Limit limit
     );
 
     /**
-     * Find bikes for a hotel filtered by OOO status, sorted by ooo_since ASC (oldest first),
-     * nulls last, then bike_number ASC. Includes optional search query.
+     * Like {@link #findPage} for a single status, along idx_bike_hotel_status_sort.
      */
-    @Query(value = "SELECT * FROM bikes b WHERE b.hotel_id = :hotelId AND b.status = 'OOO' " +
-           "AND (:q IS NULL OR LOWER(b.bike_number) LIKE LOWER(CONCAT('%', :q, '%'))) " +
-           "ORDER BY CASE WHEN b.ooo_since IS NULL THEN 1 ELSE 0 END, b.ooo_since ASC, LENGTH(b.bike_number), b.bike_number ASC",
-           nativeQuery = true)
-    List<Bike> findOooBikesWithFilters(
+    @Query("SELECT new com.bikerental.platform.rental.bike.dto.BikeResponse(" +
+           "b.bikeId, b.bikeNumber, b.bikeType, b.status, b.oooNote, b.oooSince) " +
+           "FROM Bike b WHERE b.hotelId = :hotelId AND b.status = :status " +
+           "AND (:q IS NULL OR LOWER(b.bikeNumber) LIKE LOWER(CONCAT('%', :q, '%'))) " +
+           "AND (:afterSortKey IS NULL OR b.bikeSortKey > :afterSortKey) " +
+           "ORDER BY b.hotelId, b.status, b.bikeSortKey")
+    List<BikeResponse> findPageByStatus(
             @Param("hotelId") Long hotelId,
-            @Param("q") String searchQuery
+            @Param("status") Bike.BikeStatus status,
+            @Param("q") String searchQuery,
+            @Param("afterSortKey") String afterSortKey,
+            Limit limit
     );
 
     /**
-     * Find all OOO bikes for a hotel, sorted by ooo_since ASC (oldest first), nulls last, then bike_number ASC.
-     * Used for maintenance export.
+     * One page of a hotel's OOO bikes, oldest ooo_since first (nulls last), then natural bike-number order.
+     * The seek key is (ooo_since, bike_sort_key): pass the last row's values, with a null
+     * {@code afterOooSince} meaning that row had no ooo_since. Null {@code afterSortKey} starts from the top.
+     * Rows come from idx_bike_hotel_status_sort; only the hotel's OOO bikes are sorted.
      */
-    @Query(value = "SELECT * FROM bikes b WHERE b.hotel_id = :hotelId AND b.status = 'OOO' " +
-           "ORDER BY CASE WHEN b.ooo_since IS NULL THEN 1 ELSE 0 END, b.ooo_since ASC, LENGTH(b.bike_number), b.bike_number ASC",
-           nativeQuery = true)
-    List<Bike> findOooBikesForExport(@Param("hotelId") Long hotelId);
-}
+    @Query("SELECT new com.bikerental.platform.rental.bike.dto.BikeResponse(" +
+           "b.bikeId, b.bikeNumber, b.bikeType, b.status, b.oooNote, b.oooSince) " +
+           "FROM Bike b WHERE b.hotelId = :hotelId AND b.status = com.bikerental.platform.rental.bike.model.Bike.BikeStatus.OOO " +
+           "AND (:q IS NULL OR LOWER(b.bikeNumber) LIKE LOWER(CONCAT('%', :q, '%'))) " +
+           "AND (:afterSortKey IS NULL " +
+           "OR (:afterOooSince IS NULL AND b.oooSince IS NULL AND b.bikeSortKey > :afterSortKey) " +
+           "OR (:afterOooSince IS NOT NULL AND (b.oooSince IS NULL OR b.oooSince > :afterOooSince " +
+           "OR (b.oooSince = :afterOooSince AND b.bikeSortKey > :afterSortKey)))) " +
+           "ORDER BY CASE WHEN b.oooSince IS NULL THEN 1 ELSE 0 END, b.oooSince ASC, b.bikeSortKey ASC")
+    List<BikeResponse> findOooPage(
+            @Param("hotelId") Long hotelId,
+            @Param("q") String searchQuery,
+            @Param("afterOooSince") Instant afterOooSince,
+            @Param("afterSortKey") String afterSortKey,
+            Limit limit
+    );
 
+    /**
+     * All bikes of a hotel in natural bike-number order for the fleet export, streamed as projections
+     * with a JDBC fetch size along idx_bike_hotel_sort. The caller must close the stream inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.bikerental.platform.rental.bike.dto.BikeResponse(" +
+           "b.bikeId, b.bikeNumber, b.bikeType, b.status, b.oooNote, b.oooSince) " +
+           "FROM Bike b WHERE b.hotelId = :hotelId ORDER BY b.hotelId, b.bikeSortKey")
+    Stream<BikeResponse> streamFleetForExport(@Param("hotelId") Long hotelId);
+
+    /**
+     * All OOO bikes of a hotel for the maintenance export, oldest ooo_since first, nulls last, then
+     * natural bike-number order. Streamed as projections with a JDBC fetch size, so neither the
+     * result set nor managed entities pile up in memory; the caller must close the stream inside
+     * a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.bikerental.platform.rental.bike.dto.BikeResponse(" +
+           "b.bikeId, b.bikeNumber, b.bikeType, b.status, b.oooNote, b.oooSince) " +
+           "FROM Bike b WHERE b.hotelId = :hotelId AND b.status = com.bikerental.platform.rental.bike.model.Bike.BikeStatus.OOO " +
+           "ORDER BY CASE WHEN b.oooSince IS NULL THEN 1 ELSE 0 END, b.oooSince ASC, b.bikeSortKey ASC")
+    Stream<BikeResponse> streamOooBikesForExport(@Param("hotelId") Long hotelId);
+}
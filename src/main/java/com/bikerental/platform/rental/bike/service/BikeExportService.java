@@ -0,0 +1,90 @@
+package com.bikerental.platform.rental.bike.service;
+
+import com.bikerental.platform.rental.auth.security.HotelContext;
+import com.bikerental.platform.rental.bike.dto.BikeResponse;
+import com.bikerental.platform.rental.bike.repo.BikeRepository;
+import com.bikerental.platform.rental.common.csv.CsvWriter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * CSV exports of a hotel's bikes (full fleet, OOO list).
+ * Rows are streamed from the database straight into the CSV writer, so memory use does not
+ * depend on the fleet size.
+ */
+@Service
+public class BikeExportService {
+
+    static final String[] COLUMNS = {"bike_number", "bike_type", "status", "ooo_note", "ooo_since"};
+
+    private final BikeRepository bikeRepository;
+    private final HotelContext hotelContext;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public BikeExportService(BikeRepository bikeRepository, HotelContext hotelContext,
+                             PlatformTransactionManager transactionManager) {
+        this.bikeRepository = bikeRepository;
+        this.hotelContext = hotelContext;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Every bike of the current hotel in natural bike-number order.
+     */
+    public StreamingResponseBody exportFleetCsv() {
+        Long hotelId = hotelContext.getCurrentHotelId();
+        return out -> writeFleetCsv(hotelId, out);
+    }
+
+    /**
+     * The current hotel's OOO bikes, oldest first (same order as the Excel export).
+     */
+    public StreamingResponseBody exportOooCsv() {
+        Long hotelId = hotelContext.getCurrentHotelId();
+        return out -> writeOooCsv(hotelId, out);
+    }
+
+    public void writeFleetCsv(Long hotelId, OutputStream out) {
+        write(out, bikeRepository::streamFleetForExport, hotelId);
+    }
+
+    public void writeOooCsv(Long hotelId, OutputStream out) {
+        write(out, bikeRepository::streamOooBikesForExport, hotelId);
+    }
+
+    static void writeCsv(Iterator<BikeResponse> bikes, OutputStream out) throws IOException {
+        CsvWriter csv = new CsvWriter(out);
+        csv.header(COLUMNS);
+        while (bikes.hasNext()) {
+            BikeResponse bike = bikes.next();
+            csv.text(bike.getBikeNumber())
+                    .text(bike.getBikeType())
+                    .value(bike.getStatus())
+                    .text(bike.getOooNote())
+                    .value(bike.getOooSince())
+                    .endRow();
+        }
+        csv.flush();
+    }
+
+    // The stream is read and closed inside a read-only transaction of its own
+    private void write(OutputStream out, Function<Long, Stream<BikeResponse>> query, Long hotelId) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<BikeResponse> bikes = query.apply(hotelId)) {
+                writeCsv(bikes.iterator(), out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
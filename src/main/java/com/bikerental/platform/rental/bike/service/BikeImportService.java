@@ -0,0 +1,305 @@
+package com.bikerental.platform.rental.bike.service;
+
+import com.bikerental.platform.rental.auth.security.HotelContext;
+import com.bikerental.platform.rental.bike.dto.BikeImportResponse;
+import com.bikerental.platform.rental.bike.model.Bike;
+import com.bikerental.platform.rental.bike.repo.BikeRepository;
+import com.bikerental.platform.rental.bike.suggest.BikeSuggestIndex;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk bike provisioning from CSV or a JSON array.
+ * Input is parsed as a stream and handled in chunks of {@code bikes.import.batch-size} rows: each chunk
+ * is deduped against uk_hotel_bike_number with one IN query and written with one multi-row INSERT in
+ * its own transaction, so memory stays bounded by the chunk size whatever the file size. Rows from
+ * earlier chunks are committed before later chunks are checked, which also catches repeats across chunks.
+ */
+@Slf4j
+@Service
+public class BikeImportService {
+
+    static final int MAX_BIKE_NUMBER_LENGTH = 50;
+    static final int MAX_BIKE_TYPE_LENGTH = 50;
+    static final int MAX_REPORTED_INVALID_ROWS = 100;
+
+    private final BikeRepository bikeRepository;
+    private final HotelContext hotelContext;
+    private final BikeSuggestIndex bikeSuggestIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public BikeImportService(
+            BikeRepository bikeRepository,
+            HotelContext hotelContext,
+            BikeSuggestIndex bikeSuggestIndex,
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${bikes.import.batch-size:500}") int batchSize) {
+        this.bikeRepository = bikeRepository;
+        this.hotelContext = hotelContext;
+        this.bikeSuggestIndex = bikeSuggestIndex;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Import CSV rows of {@code bike_number[,bike_type]}. A first line naming the columns
+     * (bike_number / bikeNumber, bike_type / bikeType) is treated as a header.
+     */
+    public BikeImportResponse importCsv(Reader input) throws IOException {
+        ImportRun run = new ImportRun(hotelContext.getCurrentHotelId());
+        BufferedReader reader = input instanceof BufferedReader buffered ? buffered : new BufferedReader(input);
+        int numberColumn = 0;
+        int typeColumn = 1;
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> cells = splitCsvLine(line);
+            if (lineNumber == 1 && isHeader(cells)) {
+                numberColumn = columnIndex(cells, "bike_number", "bikenumber");
+                typeColumn = columnIndex(cells, "bike_type", "biketype");
+                continue;
+            }
+            run.add(lineNumber, cell(cells, numberColumn), cell(cells, typeColumn));
+        }
+        return run.finish();
+    }
+
+    /**
+     * Import a JSON array whose elements are {@code {"bikeNumber": "...", "bikeType": "..."}}
+     * objects or plain bike-number strings. Elements are read one at a time.
+     */
+    public BikeImportResponse importJson(InputStream input) throws IOException {
+        ImportRun run = new ImportRun(hotelContext.getCurrentHotelId());
+        try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of bikes");
+            }
+            long index = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (parser.currentToken() == null) {
+                    throw new IllegalArgumentException("Unexpected end of JSON input");
+                }
+                index++;
+                JsonNode element = parser.readValueAsTree();
+                if (element.isTextual()) {
+                    run.add(index, element.asText(), null);
+                } else if (element.isObject()) {
+                    run.add(index, text(element.get("bikeNumber")), text(element.get("bikeType")));
+                } else {
+                    run.reject(index, null, "MALFORMED_ROW");
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+        return run.finish();
+    }
+
+    /**
+     * Validation failure for one row, or null if the row can be imported.
+     */
+    static String invalidReason(String bikeNumber, String bikeType) {
+        if (bikeNumber == null || bikeNumber.isEmpty()) {
+            return "BLANK_BIKE_NUMBER";
+        }
+        if (bikeNumber.length() > MAX_BIKE_NUMBER_LENGTH) {
+            return "BIKE_NUMBER_TOO_LONG";
+        }
+        if (bikeType != null && bikeType.length() > MAX_BIKE_TYPE_LENGTH) {
+            return "BIKE_TYPE_TOO_LONG";
+        }
+        return null;
+    }
+
+    // Comma-separated cells; double-quoted cells may contain commas and "" escapes
+    static List<String> splitCsvLine(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    cell.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+
+    private static boolean isHeader(List<String> cells) {
+        return columnIndex(cells, "bike_number", "bikenumber") >= 0;
+    }
+
+    private static int columnIndex(List<String> cells, String... names) {
+        for (int i = 0; i < cells.size(); i++) {
+            String name = cells.get(i).trim().toLowerCase(Locale.ROOT);
+            for (String candidate : names) {
+                if (name.equals(candidate)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static String cell(List<String> cells, int index) {
+        return index >= 0 && index < cells.size() ? cells.get(index) : null;
+    }
+
+    private static String text(JsonNode node) {
+        return node == null || node.isNull() ? null : node.asText();
+    }
+
+    private record Row(long row, String bikeNumber, String bikeType) {
+    }
+
+    /**
+     * State of one import: the pending chunk and running totals.
+     */
+    private final class ImportRun {
+        private final Long hotelId;
+        private final Map<String, Row> pending = new LinkedHashMap<>();
+        private final List<BikeImportResponse.InvalidRow> invalidRows = new ArrayList<>();
+        private int created;
+        private int skipped;
+        private int invalid;
+
+        ImportRun(Long hotelId) {
+            this.hotelId = hotelId;
+        }
+
+        void add(long row, String bikeNumber, String bikeType) {
+            String number = bikeNumber != null ? bikeNumber.trim() : null;
+            String type = bikeType != null && !bikeType.isBlank() ? bikeType.trim() : null;
+            String reason = invalidReason(number, type);
+            if (reason != null) {
+                reject(row, number, reason);
+                return;
+            }
+            // Keyed case-insensitively, like the unique key under MySQL's default collation
+            if (pending.putIfAbsent(number.toLowerCase(Locale.ROOT), new Row(row, number, type)) != null) {
+                skipped++;
+                return;
+            }
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long row, String bikeNumber, String reason) {
+            invalid++;
+            if (invalidRows.size() < MAX_REPORTED_INVALID_ROWS) {
+                invalidRows.add(new BikeImportResponse.InvalidRow(row, bikeNumber, reason));
+            }
+        }
+
+        BikeImportResponse finish() {
+            flush();
+            if (created > 0) {
+                // Rows were inserted with plain JDBC, so no change events were published
+                bikeSuggestIndex.evict(hotelId);
+            }
+            log.info("Bike import for hotel {}: {} created, {} skipped, {} invalid",
+                    hotelId, created, skipped, invalid);
+            return new BikeImportResponse(created, skipped, invalid, invalidRows);
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<Row> rows = new ArrayList<>(pending.values());
+            pending.clear();
+            int inserted;
+            try {
+                inserted = insertNew(rows);
+            } catch (DuplicateKeyException e) {
+                // A concurrent writer claimed one of the numbers between check and insert; re-check once
+                inserted = insertNew(rows);
+            }
+            created += inserted;
+            skipped += rows.size() - inserted;
+        }
+
+        // One IN query for existing numbers, then one multi-row INSERT for the rest, in one transaction
+        private int insertNew(List<Row> rows) {
+            Integer inserted = transactionTemplate.execute(status -> {
+                Set<String> existing = new HashSet<>();
+                for (String number : bikeRepository.findExistingBikeNumbers(
+                        hotelId, rows.stream().map(Row::bikeNumber).toList())) {
+                    existing.add(number.toLowerCase(Locale.ROOT));
+                }
+                List<Row> fresh = rows.stream()
+                        .filter(row -> !existing.contains(row.bikeNumber().toLowerCase(Locale.ROOT)))
+                        .toList();
+                if (fresh.isEmpty()) {
+                    return 0;
+                }
+
+                StringBuilder sql = new StringBuilder(
+                        "INSERT INTO bikes (hotel_id, bike_number, bike_sort_key, bike_type, status, version) VALUES ");
+                List<Object> args = new ArrayList<>(fresh.size() * 5);
+                for (int i = 0; i < fresh.size(); i++) {
+                    Row row = fresh.get(i);
+                    sql.append(i == 0 ? "(?, ?, ?, ?, ?, 0)" : ", (?, ?, ?, ?, ?, 0)");
+                    args.add(hotelId);
+                    args.add(row.bikeNumber());
+                    args.add(Bike.sortKey(row.bikeNumber()));
+                    args.add(row.bikeType());
+                    args.add(Bike.BikeStatus.AVAILABLE.name());
+                }
+                return jdbcTemplate.update(sql.toString(), args.toArray());
+            });
+            return inserted != null ? inserted : 0;
+        }
+    }
+}
@@ -1,34 +1,168 @@
 package com.bikerental.platform.rental.bike.service;
 
 import com.bikerental.platform.rental.auth.security.HotelContext;
+import com.bikerental.platform.rental.bike.dto.BikeLookupResponse;
+import com.bikerental.platform.rental.bike.dto.BikePageResponse;
+import com.bikerental.platform.rental.bike.dto.BikeResponse;
+import com.bikerental.platform.rental.bike.dto.BikeSuggestionResponse;
+import com.bikerental.platform.rental.bike.dto.BulkBikeStatusResponse;
+import com.bikerental.platform.rental.bike.event.BikeChangedEvent;
 import com.bikerental.platform.rental.bike.model.Bike;
 import com.bikerental.platform.rental.bike.repo.BikeRepository;
+import com.bikerental.platform.rental.bike.suggest.BikeSuggestIndex;
 import com.bikerental.platform.rental.common.exception.ConflictException;
 import com.bikerental.platform.rental.common.exception.NotFoundException;
+import com.bikerental.platform.rental.common.pagination.KeysetCursor;
+import com.bikerental.platform.rental.common.retry.RetryOnOptimisticLock;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 // Bike inventory management - handles status transitions and filtering
 @Service
 @RequiredArgsConstructor
 public class BikeService {
 
+    static final int DEFAULT_PAGE_SIZE = 200;
+    static final int MAX_PAGE_SIZE = 500;
+    static final int DEFAULT_SUGGEST_LIMIT = 10;
+    static final int MAX_SUGGEST_LIMIT = 50;
+    static final Set<String> FIELDS = Collections.unmodifiableSet(new LinkedHashSet<>(
+            List.of("bikeId", "bikeNumber", "bikeType", "status", "oooNote", "oooSince")));
+
     private final BikeRepository bikeRepository;
     private final HotelContext hotelContext;
+    private final BikeSuggestIndex bikeSuggestIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * One page of bikes. OOO bikes use different sorting (oldest first) to prioritize maintenance;
+     * everything else is in natural bike-number order.
+     *
+     * @param fields comma-separated BikeResponse fields to include, or null for all
+     * @param cursor nextCursor from the previous page, or null for the first page
+     * @param limit page size, capped at {@value #MAX_PAGE_SIZE}
+     */
+    @Transactional(readOnly = true)
+    public BikePageResponse listBikes(Bike.BikeStatus status, String searchQuery, String fields,
+                                      String cursor, Integer limit) {
+        Long hotelId = hotelContext.getCurrentHotelId();
+        int pageSize = KeysetCursor.pageSize(limit, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+        Set<String> selected = parseFields(fields);
+        String q = searchQuery == null || searchQuery.isBlank() ? null : searchQuery.trim();
+        boolean ooo = status == Bike.BikeStatus.OOO;
+
+        // Fetch one extra row to know whether another page exists
+        List<BikeResponse> rows;
+        if (ooo) {
+            String[] key = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor, 2);
+            rows = bikeRepository.findOooPage(hotelId, q, key == null ? null : parseInstant(key[0]),
+                    key == null ? null : key[1], Limit.of(pageSize + 1));
+        } else {
+            String afterSortKey = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor, 1)[0];
+            rows = status == null
+                    ? bikeRepository.findPage(hotelId, q, afterSortKey, Limit.of(pageSize + 1))
+                    : bikeRepository.findPageByStatus(hotelId, status, q, afterSortKey, Limit.of(pageSize + 1));
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<BikeResponse> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            BikeResponse last = page.get(page.size() - 1);
+            String sortKey = Bike.sortKey(last.getBikeNumber());
+            nextCursor = ooo
+                    ? KeysetCursor.encode(last.getOooSince() == null ? "" : last.getOooSince().toString(), sortKey)
+                    : KeysetCursor.encode(sortKey);
+        }
+
+        List<Map<String, Object>> items = new ArrayList<>(page.size());
+        for (BikeResponse bike : page) {
+            items.add(select(bike, selected));
+        }
+        return new BikePageResponse(items, nextCursor);
+    }
+
+    /**
+     * Bike-number autocomplete: bikes whose number starts with {@code prefix}, in natural order.
+     * Served from the in-memory index, not the database.
+     */
+    public List<BikeSuggestionResponse> suggest(String prefix, Integer limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        Long hotelId = hotelContext.getCurrentHotelId();
+        int max = KeysetCursor.pageSize(limit, DEFAULT_SUGGEST_LIMIT, MAX_SUGGEST_LIMIT);
+        return bikeSuggestIndex.suggest(hotelId, prefix.trim(), max);
+    }
 
-    // OOO bikes use different sorting (oldest first) to prioritize maintenance
-    public List<Bike> listBikes(Bike.BikeStatus status, String searchQuery) {
+    /**
+     * Availability of each requested bike number, resolved with one IN query.
+     * Results follow the request order; repeated numbers, in any case, are reported once
+     * under their first spelling.
+     */
+    @Transactional(readOnly = true)
+    public List<BikeLookupResponse> lookup(List<String> bikeNumbers) {
         Long hotelId = hotelContext.getCurrentHotelId();
+        Map<String, String> distinct = new LinkedHashMap<>();
+        for (String bikeNumber : bikeNumbers) {
+            distinct.putIfAbsent(numberKey(bikeNumber), bikeNumber);
+        }
+        Map<String, Bike> bikesByNumber = new HashMap<>();
+        for (Bike bike : bikeRepository.findByHotelIdAndBikeNumberIn(hotelId, List.copyOf(distinct.values()))) {
+            bikesByNumber.put(numberKey(bike.getBikeNumber()), bike);
+        }
+
+        List<BikeLookupResponse> results = new ArrayList<>(distinct.size());
+        for (Map.Entry<String, String> requested : distinct.entrySet()) {
+            Bike bike = bikesByNumber.get(requested.getKey());
+            String reason = unavailableReason(bike);
+            results.add(new BikeLookupResponse(requested.getValue(),
+                    bike != null ? bike.getBikeId() : null,
+                    bike != null ? bike.getStatus() : null,
+                    reason == null, reason));
+        }
+        return results;
+    }
 
-        if (status == Bike.BikeStatus.OOO) {
-            return bikeRepository.findOooBikesWithFilters(hotelId, searchQuery);
+    /**
+     * Reason a bike cannot be rented, or null if it is available.
+     * A null bike means the number does not exist for the hotel.
+     */
+    public static String unavailableReason(Bike bike) {
+        if (bike == null) {
+            return "NOT_FOUND";
+        }
+        if (bike.getStatus() == Bike.BikeStatus.RENTED) {
+            return "ALREADY_RENTED";
+        }
+        if (bike.getStatus() == Bike.BikeStatus.OOO) {
+            return "OUT_OF_ORDER";
         }
+        return null;
+    }
 
-        return bikeRepository.findByHotelIdWithFilters(hotelId, status != null ? status.name() : null, searchQuery);
+    /**
+     * Key for matching bike numbers in memory. The database compares them case-insensitively
+     * (utf8mb4_unicode_ci), so "e1" finds bike "E1".
+     */
+    public static String numberKey(String bikeNumber) {
+        return bikeNumber.toLowerCase(Locale.ROOT);
     }
 
     public Bike findByBikeNumber(String bikeNumber) {
@@ -44,7 +178,51 @@ public class BikeService {
                 .orElseThrow(() -> new NotFoundException("Bike not found: " + bikeId));
     }
 
+    static Set<String> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return FIELDS;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!FIELDS.contains(name)) {
+                throw new IllegalArgumentException("Unknown field: " + name);
+            }
+            selected.add(name);
+        }
+        return selected;
+    }
+
+    // Sparse row: only the requested fields, in the order they were requested
+    private static Map<String, Object> select(BikeResponse bike, Set<String> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String field : fields) {
+            row.put(field, switch (field) {
+                case "bikeId" -> bike.getBikeId();
+                case "bikeNumber" -> bike.getBikeNumber();
+                case "bikeType" -> bike.getBikeType();
+                case "status" -> bike.getStatus();
+                case "oooNote" -> bike.getOooNote();
+                case "oooSince" -> bike.getOooSince();
+                default -> throw new IllegalStateException("Unmapped field: " + field);
+            });
+        }
+        return row;
+    }
+
+    private static Instant parseInstant(String value) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
     @Transactional
+    @RetryOnOptimisticLock
     public Bike markOoo(Long bikeId, String note) {
         Bike bike = findById(bikeId);
         bike.setStatus(Bike.BikeStatus.OOO);
@@ -54,6 +232,7 @@ public class BikeService {
     }
 
     @Transactional
+    @RetryOnOptimisticLock
     public Bike markAvailable(Long bikeId) {
         Bike bike = findById(bikeId);
         
@@ -66,5 +245,57 @@ public class BikeService {
         bike.setOooSince(null);
         return bikeRepository.save(bike);
     }
-}
 
+    /**
+     * Move many bikes to OOO or AVAILABLE in one transaction.
+     * The hotel's requested bikes are locked in bike_id order, checked with the same rule as
+     * {@link #markAvailable} (rented bikes cannot be made available), then updated with one
+     * set-based UPDATE. Missing and rejected bikes are reported per bike instead of failing the request.
+     */
+    @Transactional
+    public BulkBikeStatusResponse transitionBikes(List<Long> bikeIds, Bike.BikeStatus status, String note) {
+        if (status != Bike.BikeStatus.OOO && status != Bike.BikeStatus.AVAILABLE) {
+            throw new IllegalArgumentException("Bikes can only be marked OOO or AVAILABLE");
+        }
+        if (status == Bike.BikeStatus.OOO && (note == null || note.isBlank())) {
+            throw new IllegalArgumentException("Note is required to mark bikes OOO");
+        }
+        Long hotelId = hotelContext.getCurrentHotelId();
+        Set<Long> requested = new LinkedHashSet<>(bikeIds);
+
+        Map<Long, Bike> locked = new HashMap<>();
+        for (Bike bike : bikeRepository.findForUpdate(hotelId, requested)) {
+            locked.put(bike.getBikeId(), bike);
+        }
+
+        List<Bike> toUpdate = new ArrayList<>();
+        List<BulkBikeStatusResponse.Result> results = new ArrayList<>(requested.size());
+        for (Long bikeId : requested) {
+            Bike bike = locked.get(bikeId);
+            if (bike == null) {
+                results.add(new BulkBikeStatusResponse.Result(bikeId, null, "NOT_FOUND", null));
+            } else if (status == Bike.BikeStatus.AVAILABLE && bike.getStatus() == Bike.BikeStatus.RENTED) {
+                results.add(new BulkBikeStatusResponse.Result(
+                        bikeId, bike.getBikeNumber(), "ALREADY_RENTED", bike.getStatus()));
+            } else {
+                toUpdate.add(bike);
+                results.add(new BulkBikeStatusResponse.Result(bikeId, bike.getBikeNumber(), "UPDATED", status));
+            }
+        }
+
+        if (!toUpdate.isEmpty()) {
+            List<Long> ids = toUpdate.stream().map(Bike::getBikeId).toList();
+            if (status == Bike.BikeStatus.OOO) {
+                bikeRepository.markOoo(ids, note, Instant.now());
+            } else {
+                bikeRepository.markAvailable(ids);
+            }
+            // Bulk UPDATEs bypass the entity listener, so publish the change events here
+            for (Bike bike : toUpdate) {
+                eventPublisher.publishEvent(new BikeChangedEvent(
+                        hotelId, bike.getBikeId(), bike.getBikeNumber(), status, false));
+            }
+        }
+        return new BulkBikeStatusResponse(toUpdate.size(), results);
+    }
+}
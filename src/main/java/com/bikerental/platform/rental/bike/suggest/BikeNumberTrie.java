@@ -0,0 +1,176 @@
+package com.bikerental.platform.rental.bike.suggest;
+
+import com.bikerental.platform.rental.bike.model.Bike;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Ternary search tree of one hotel's bike numbers, keyed case-insensitively.
+ * Prefix lookups return matches in natural order (shorter numbers first, then alphabetical),
+ * the same order as bike_sort_key, and stop as soon as {@code limit} matches are found.
+ * Not thread-safe; {@link BikeSuggestIndex} guards each trie with a read/write lock.
+ */
+final class BikeNumberTrie {
+
+    /**
+     * What a lookup returns for each matching bike.
+     */
+    record Entry(Long bikeId, String bikeNumber, Bike.BikeStatus status) {
+    }
+
+    private static final class Node {
+        final char c;
+        Node lo;
+        Node eq;
+        Node hi;
+        Entry entry;
+
+        Node(char c) {
+            this.c = c;
+        }
+    }
+
+    private Node root;
+    private int size;
+    private int nodeCount;
+    private int maxLength;
+
+    /**
+     * Insert or replace the entry for its bike number.
+     */
+    void put(Entry entry) {
+        String key = entry.bikeNumber().toLowerCase(Locale.ROOT);
+        if (key.isEmpty()) {
+            return;
+        }
+        maxLength = Math.max(maxLength, key.length());
+
+        if (root == null) {
+            root = newNode(key.charAt(0));
+        }
+        Node node = root;
+        int i = 0;
+        while (true) {
+            char c = key.charAt(i);
+            if (c < node.c) {
+                if (node.lo == null) {
+                    node.lo = newNode(c);
+                }
+                node = node.lo;
+            } else if (c > node.c) {
+                if (node.hi == null) {
+                    node.hi = newNode(c);
+                }
+                node = node.hi;
+            } else if (i < key.length() - 1) {
+                i++;
+                if (node.eq == null) {
+                    node.eq = newNode(key.charAt(i));
+                }
+                node = node.eq;
+            } else {
+                if (node.entry == null) {
+                    size++;
+                }
+                node.entry = entry;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Remove the entry for a bike number. Nodes are kept; deletes are rare.
+     */
+    void remove(String bikeNumber) {
+        Node node = find(bikeNumber.toLowerCase(Locale.ROOT));
+        if (node != null && node.entry != null) {
+            node.entry = null;
+            size--;
+        }
+    }
+
+    /**
+     * Up to {@code limit} entries whose bike number starts with {@code prefix}, in natural order.
+     * An empty prefix matches every bike.
+     */
+    List<Entry> findByPrefix(String prefix, int limit) {
+        List<Entry> out = new ArrayList<>(Math.min(limit, 16));
+        String key = prefix.toLowerCase(Locale.ROOT);
+
+        if (key.isEmpty()) {
+            for (int length = 1; length <= maxLength && out.size() < limit; length++) {
+                collect(root, 1, length, out, limit);
+            }
+            return out;
+        }
+
+        Node node = find(key);
+        if (node == null) {
+            return out;
+        }
+        if (node.entry != null) {
+            out.add(node.entry);
+        }
+        // Iterative deepening: one in-order pass per key length yields shortest-first order
+        for (int length = key.length() + 1; length <= maxLength && out.size() < limit; length++) {
+            collect(node.eq, key.length() + 1, length, out, limit);
+        }
+        return out;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Number of tree nodes, the main driver of memory footprint.
+     */
+    int nodeCount() {
+        return nodeCount;
+    }
+
+    private Node find(String key) {
+        Node node = root;
+        int i = 0;
+        while (node != null) {
+            char c = key.charAt(i);
+            if (c < node.c) {
+                node = node.lo;
+            } else if (c > node.c) {
+                node = node.hi;
+            } else if (i < key.length() - 1) {
+                i++;
+                node = node.eq;
+            } else {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    // In-order walk of the subtree, emitting only keys of exactly targetLength characters
+    private static void collect(Node node, int depth, int targetLength, List<Entry> out, int limit) {
+        if (node == null || out.size() >= limit) {
+            return;
+        }
+        collect(node.lo, depth, targetLength, out, limit);
+        if (out.size() >= limit) {
+            return;
+        }
+        if (depth == targetLength) {
+            if (node.entry != null) {
+                out.add(node.entry);
+            }
+        } else {
+            collect(node.eq, depth + 1, targetLength, out, limit);
+        }
+        collect(node.hi, depth, targetLength, out, limit);
+    }
+
+    private Node newNode(char c) {
+        nodeCount++;
+        return new Node(c);
+    }
+}
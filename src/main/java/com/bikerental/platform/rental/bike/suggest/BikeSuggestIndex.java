@@ -0,0 +1,143 @@
+package com.bikerental.platform.rental.bike.suggest;
+
+import com.bikerental.platform.rental.bike.dto.BikeResponse;
+import com.bikerental.platform.rental.bike.dto.BikeSuggestionResponse;
+import com.bikerental.platform.rental.bike.event.BikeChangedEvent;
+import com.bikerental.platform.rental.bike.repo.BikeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-hotel in-memory bike-number prefix index for autocomplete.
+ * A hotel's trie is loaded from the database on its first lookup, then kept current by
+ * {@link BikeChangedEvent}s applied after commit. Tries are rebuilt after {@code bikes.suggest.ttl}
+ * so changes committed by other instances are picked up eventually.
+ */
+@Slf4j
+@Component
+public class BikeSuggestIndex {
+
+    private final BikeRepository bikeRepository;
+    private final Duration ttl;
+
+    private final Map<Long, HotelTrie> hotels = new ConcurrentHashMap<>();
+    // Per hotel, bumped on every change and eviction; only written inside hotels.compute for that hotel
+    private final Map<Long, Long> changeCounts = new ConcurrentHashMap<>();
+
+    public BikeSuggestIndex(BikeRepository bikeRepository,
+                            @Value("${bikes.suggest.ttl:PT10M}") Duration ttl) {
+        this.bikeRepository = bikeRepository;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Up to {@code limit} bikes of the hotel whose number starts with {@code prefix} (case-insensitive),
+     * in natural bike-number order. Only the first lookup for a hotel touches the database.
+     */
+    public List<BikeSuggestionResponse> suggest(Long hotelId, String prefix, int limit) {
+        HotelTrie hotel = hotels.get(hotelId);
+        if (hotel == null || hotel.isExpired(ttl)) {
+            hotel = loadAndCache(hotelId);
+        }
+
+        hotel.lock.readLock().lock();
+        try {
+            return hotel.trie.findByPrefix(prefix, limit).stream()
+                    .map(e -> new BikeSuggestionResponse(e.bikeId(), e.bikeNumber(), e.status()))
+                    .toList();
+        } finally {
+            hotel.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Apply a committed bike change. Hotels that were never loaded are skipped - their first
+     * lookup reads the committed state anyway. A change racing a load keeps that load from
+     * being cached, so it is never lost.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBikeChanged(BikeChangedEvent event) {
+        hotels.compute(event.hotelId(), (hotelId, hotel) -> {
+            changeCounts.merge(hotelId, 1L, Long::sum);
+            if (hotel == null) {
+                return null;
+            }
+            hotel.lock.writeLock().lock();
+            try {
+                if (event.removed()) {
+                    hotel.trie.remove(event.bikeNumber());
+                } else {
+                    hotel.trie.put(new BikeNumberTrie.Entry(event.bikeId(), event.bikeNumber(), event.status()));
+                }
+            } finally {
+                hotel.lock.writeLock().unlock();
+            }
+            return hotel;
+        });
+    }
+
+    /**
+     * Drop a hotel's trie so the next lookup reloads it (e.g. after a bulk update that bypassed JPA).
+     */
+    public void evict(Long hotelId) {
+        hotels.compute(hotelId, (id, hotel) -> {
+            changeCounts.merge(id, 1L, Long::sum);
+            return null;
+        });
+    }
+
+    /**
+     * Load the hotel's trie outside the map, so a slow query never blocks lookups or changes
+     * for other hotels. The result is only cached if no change or eviction for the hotel
+     * happened while it loaded; otherwise it serves this lookup and the next one reloads.
+     * Concurrent first lookups may each load; the first to finish is cached.
+     */
+    private HotelTrie loadAndCache(Long hotelId) {
+        long changesBefore = changeCounts.getOrDefault(hotelId, 0L);
+        HotelTrie loaded = load(hotelId);
+        HotelTrie cached = hotels.compute(hotelId, (id, current) -> {
+            if (current != null && !current.isExpired(ttl)) {
+                return current;
+            }
+            return changeCounts.getOrDefault(id, 0L) == changesBefore ? loaded : null;
+        });
+        return cached != null ? cached : loaded;
+    }
+
+    private HotelTrie load(Long hotelId) {
+        long start = System.nanoTime();
+        BikeNumberTrie trie = new BikeNumberTrie();
+        for (BikeResponse bike : bikeRepository.findPage(hotelId, null, null, Limit.unlimited())) {
+            trie.put(new BikeNumberTrie.Entry(bike.getBikeId(), bike.getBikeNumber(), bike.getStatus()));
+        }
+        log.debug("Loaded bike suggest index for hotel {}: {} bikes, {} nodes in {} ms", hotelId, trie.size(),
+                trie.nodeCount(), (System.nanoTime() - start) / 1_000_000);
+        return new HotelTrie(trie, System.nanoTime());
+    }
+
+    private static final class HotelTrie {
+        final BikeNumberTrie trie;
+        final long loadedAtNanos;
+        final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        HotelTrie(BikeNumberTrie trie, long loadedAtNanos) {
+            this.trie = trie;
+            this.loadedAtNanos = loadedAtNanos;
+        }
+
+        boolean isExpired(Duration ttl) {
+            return System.nanoTime() - loadedAtNanos > ttl.toNanos();
+        }
+    }
+}
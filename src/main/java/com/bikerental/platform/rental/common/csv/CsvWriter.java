@@ -0,0 +1,108 @@
+package com.bikerental.platform.rental.common.csv;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RFC 4180 CSV writer over a single buffered UTF-8 writer.
+ * Cells are written straight into the buffer - no per-row strings or lists - and only quoted
+ * when they contain a comma, quote or line break. Text cells starting with a formula character
+ * (or a tab or carriage return, which spreadsheets may skip before one) are prefixed with an
+ * apostrophe so spreadsheets do not evaluate them.
+ * Not thread-safe. {@link #flush()} when done; closing the target stream is the caller's job.
+ */
+public final class CsvWriter implements Flushable {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final Writer out;
+    private boolean rowStarted;
+
+    public CsvWriter(OutputStream out) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * Write a complete row of column names.
+     */
+    public CsvWriter header(String... names) throws IOException {
+        for (String name : names) {
+            text(name);
+        }
+        return endRow();
+    }
+
+    /**
+     * Free-text cell; null is written as an empty cell.
+     */
+    public CsvWriter text(String value) throws IOException {
+        separator();
+        if (value == null || value.isEmpty()) {
+            return this;
+        }
+        char first = value.charAt(0);
+        boolean formula = first == '=' || first == '+' || first == '-' || first == '@'
+                || first == '\t' || first == '\r';
+        if (!formula && !needsQuotes(value)) {
+            out.write(value);
+            return this;
+        }
+        out.write('"');
+        if (formula) {
+            out.write('\'');
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+        return this;
+    }
+
+    /**
+     * Non-text cell (number, enum, timestamp) written via toString; null is written as an empty cell.
+     */
+    public CsvWriter value(Object value) throws IOException {
+        separator();
+        if (value != null) {
+            out.write(value.toString());
+        }
+        return this;
+    }
+
+    public CsvWriter endRow() throws IOException {
+        out.write("\r\n");
+        rowStarted = false;
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private void separator() throws IOException {
+        if (rowStarted) {
+            out.write(',');
+        }
+        rowStarted = true;
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -2,6 +2,7 @@ package com.bikerental.platform.rental.common.exception;
 
 import com.bikerental.platform.rental.common.dto.ErrorResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -89,6 +90,32 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyRequests(TooManyRequestsException ex) {
+        log.warn("Too many requests: {}", ex.getMessage());
+        ErrorResponse response = new ErrorResponse(
+                "TOO_MANY_REQUESTS",
+                ex.getMessage(),
+                null,
+                Instant.now().toString()
+        );
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(response);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLock(OptimisticLockingFailureException ex) {
+        log.warn("Concurrent modification: {}", ex.getMessage());
+        ErrorResponse response = new ErrorResponse(
+                "CONCURRENT_MODIFICATION",
+                "The record was changed by another request, please retry",
+                null,
+                Instant.now().toString()
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
     @ExceptionHandler(BikeUnavailableException.class)
     public ResponseEntity<ErrorResponse> handleBikeUnavailable(BikeUnavailableException ex) {
         log.warn("Bikes unavailable: {}", ex.getUnavailableBikes());
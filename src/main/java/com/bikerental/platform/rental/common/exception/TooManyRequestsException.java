@@ -0,0 +1,11 @@
+package com.bikerental.platform.rental.common.exception;
+
+/**
+ * Thrown when a request is refused because a capacity limit is reached (e.g., export queue full).
+ * The client may retry later.
+ */
+public class TooManyRequestsException extends RuntimeException {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,86 @@
+package com.bikerental.platform.rental.common.html;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * HTML/XML text escaper shared by everything that produces markup.
+ * Escapes {@code & < > " '} in a single pass, copying unescaped runs straight to the target,
+ * and returns the input itself when nothing needs escaping. Safe for element content and
+ * double- or single-quoted attribute values.
+ */
+public final class HtmlEscaper {
+
+    private HtmlEscaper() {
+    }
+
+    /**
+     * The escaped text; {@code value} itself when it has no special characters, "" for null.
+     */
+    public static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        int first = indexOfSpecial(value);
+        if (first < 0) {
+            return value;
+        }
+        StringBuilder escaped = new StringBuilder(value.length() + 16);
+        try {
+            escape(value, escaped);
+        } catch (IOException e) {
+            // StringBuilder does not throw
+            throw new UncheckedIOException(e);
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Append the escaped text to {@code out} without intermediate strings. Null appends nothing.
+     */
+    public static void escape(CharSequence value, Appendable out) throws IOException {
+        if (value == null) {
+            return;
+        }
+        int length = value.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            String entity = entity(value.charAt(i));
+            if (entity != null) {
+                if (i > start) {
+                    out.append(value, start, i);
+                }
+                out.append(entity);
+                start = i + 1;
+            }
+        }
+        if (start == 0) {
+            out.append(value);
+        } else if (start < length) {
+            out.append(value, start, length);
+        }
+    }
+
+    /**
+     * Index of the first character that needs escaping, or -1.
+     */
+    public static int indexOfSpecial(CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (entity(value.charAt(i)) != null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String entity(char c) {
+        return switch (c) {
+            case '&' -> "&amp;";
+            case '<' -> "&lt;";
+            case '>' -> "&gt;";
+            case '"' -> "&quot;";
+            case '\'' -> "&#x27;";
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,213 @@
+package com.bikerental.platform.rental.common.html;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Buffered UTF-8 text output that also takes pre-encoded byte chunks and Base64 data, so a template can mix
+ * static bytes with {@link HtmlEscaper}-escaped text without an intermediate String or Writer.
+ * Characters are encoded as they are appended; unpaired surrogates become '?', as with
+ * {@link String#getBytes}. Not thread-safe; the target stream is not closed.
+ */
+public final class Utf8Output implements Appendable, Flushable {
+
+    private static final int MAX_DECIMAL_LENGTH = 20;
+    private static final byte[] BASE64 =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".getBytes(StandardCharsets.US_ASCII);
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int count;
+    private char pendingHighSurrogate;
+
+    public Utf8Output(OutputStream out, int bufferSize) {
+        this.out = out;
+        this.buffer = new byte[Math.max(bufferSize, MAX_DECIMAL_LENGTH)];
+    }
+
+    /**
+     * Write pre-encoded bytes; chunks larger than the buffer bypass it.
+     */
+    public Utf8Output write(byte[] bytes) throws IOException {
+        finishPendingSurrogate();
+        if (bytes.length > buffer.length - count) {
+            flushBuffer();
+            if (bytes.length >= buffer.length) {
+                out.write(bytes);
+                return this;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, count, bytes.length);
+        count += bytes.length;
+        return this;
+    }
+
+    public Utf8Output writeByte(int b) throws IOException {
+        if (count == buffer.length) {
+            flushBuffer();
+        }
+        buffer[count++] = (byte) b;
+        return this;
+    }
+
+    /**
+     * Write a number in decimal without going through a String.
+     */
+    public Utf8Output writeDecimal(long value) throws IOException {
+        finishPendingSurrogate();
+        if (buffer.length - count < MAX_DECIMAL_LENGTH) {
+            flushBuffer();
+        }
+        if (value == 0) {
+            buffer[count++] = '0';
+            return this;
+        }
+        // Accumulate as a negative number so Long.MIN_VALUE needs no special case
+        boolean negative = value < 0;
+        long remaining = negative ? value : -value;
+        int end = count + MAX_DECIMAL_LENGTH;
+        int pos = end;
+        while (remaining != 0) {
+            buffer[--pos] = (byte) ('0' - remaining % 10);
+            remaining /= 10;
+        }
+        if (negative) {
+            buffer[--pos] = '-';
+        }
+        int length = end - pos;
+        System.arraycopy(buffer, pos, buffer, count, length);
+        count += length;
+        return this;
+    }
+
+    /**
+     * Write {@code data} Base64-encoded (RFC 4648, padded, no line breaks), e.g. for a data: URI.
+     */
+    public Utf8Output writeBase64(byte[] data) throws IOException {
+        finishPendingSurrogate();
+        int i = 0;
+        while (data.length - i >= 3) {
+            if (buffer.length - count < 4) {
+                flushBuffer();
+            }
+            // Encode as many whole groups as fit in the buffer
+            int groups = Math.min((data.length - i) / 3, (buffer.length - count) / 4);
+            for (int g = 0; g < groups; g++, i += 3) {
+                int bits = (data[i] & 0xff) << 16 | (data[i + 1] & 0xff) << 8 | (data[i + 2] & 0xff);
+                buffer[count++] = BASE64[bits >>> 18];
+                buffer[count++] = BASE64[(bits >>> 12) & 0x3f];
+                buffer[count++] = BASE64[(bits >>> 6) & 0x3f];
+                buffer[count++] = BASE64[bits & 0x3f];
+            }
+        }
+        int remaining = data.length - i;
+        if (remaining > 0) {
+            ensureCapacity(4);
+            int bits = (data[i] & 0xff) << 16 | (remaining == 2 ? (data[i + 1] & 0xff) << 8 : 0);
+            buffer[count++] = BASE64[bits >>> 18];
+            buffer[count++] = BASE64[(bits >>> 12) & 0x3f];
+            buffer[count++] = remaining == 2 ? BASE64[(bits >>> 6) & 0x3f] : (byte) '=';
+            buffer[count++] = '=';
+        }
+        return this;
+    }
+
+    @Override
+    public Utf8Output append(CharSequence csq) throws IOException {
+        CharSequence value = csq != null ? csq : "null";
+        return append(value, 0, value.length());
+    }
+
+    @Override
+    public Utf8Output append(CharSequence csq, int start, int end) throws IOException {
+        CharSequence value = csq != null ? csq : "null";
+        int i = start;
+        while (i < end) {
+            if (pendingHighSurrogate == 0) {
+                // ASCII fast path: copy as many chars as fit in the buffer
+                if (count == buffer.length) {
+                    flushBuffer();
+                }
+                int limit = Math.min(end, i + buffer.length - count);
+                char c;
+                while (i < limit && (c = value.charAt(i)) < 0x80) {
+                    buffer[count++] = (byte) c;
+                    i++;
+                }
+                if (i == limit) {
+                    continue;
+                }
+            }
+            append(value.charAt(i++));
+        }
+        return this;
+    }
+
+    @Override
+    public Utf8Output append(char c) throws IOException {
+        if (pendingHighSurrogate != 0) {
+            char high = pendingHighSurrogate;
+            pendingHighSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                int codePoint = Character.toCodePoint(high, c);
+                ensureCapacity(4);
+                buffer[count++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[count++] = (byte) (0x80 | (codePoint & 0x3F));
+                return this;
+            }
+            writeByte('?');
+        }
+
+        if (c < 0x80) {
+            writeByte(c);
+        } else if (c < 0x800) {
+            ensureCapacity(2);
+            buffer[count++] = (byte) (0xC0 | (c >> 6));
+            buffer[count++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c)) {
+            pendingHighSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            writeByte('?');
+        } else {
+            ensureCapacity(3);
+            buffer[count++] = (byte) (0xE0 | (c >> 12));
+            buffer[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[count++] = (byte) (0x80 | (c & 0x3F));
+        }
+        return this;
+    }
+
+    /**
+     * Write out buffered bytes and flush the target stream.
+     */
+    @Override
+    public void flush() throws IOException {
+        finishPendingSurrogate();
+        flushBuffer();
+        out.flush();
+    }
+
+    private void finishPendingSurrogate() throws IOException {
+        if (pendingHighSurrogate != 0) {
+            pendingHighSurrogate = 0;
+            writeByte('?');
+        }
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        if (buffer.length - count < bytes) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            out.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+}
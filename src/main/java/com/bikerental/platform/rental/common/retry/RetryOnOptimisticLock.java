@@ -0,0 +1,18 @@
+package com.bikerental.platform.rental.common.retry;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a transactional mutation that should be re-run when it loses an optimistic
+ * lock race. The whole method is retried, so it must re-read all state it depends on.
+ * See {@link OptimisticLockRetryAspect}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnOptimisticLock {
+}
@@ -0,0 +1,12 @@
+package com.bikerental.platform.rental.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs (e.g. expired idempotency key sweep).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
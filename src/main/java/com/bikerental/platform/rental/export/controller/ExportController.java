@@ -0,0 +1,68 @@
+package com.bikerental.platform.rental.export.controller;
+
+import com.bikerental.platform.rental.export.dto.CreateExportRequest;
+import com.bikerental.platform.rental.export.dto.ExportFile;
+import com.bikerental.platform.rental.export.dto.ExportJobResponse;
+import com.bikerental.platform.rental.export.service.ExportJobService;
+import com.bikerental.platform.rental.idempotency.web.Idempotent;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+
+/**
+ * Background exports: queue a job, poll its status, download the file once it is DONE.
+ */
+@RestController
+@RequestMapping("/api/exports")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private final ExportJobService exportJobService;
+
+    /**
+     * Queue an export for the current hotel.
+     *
+     * @return The queued job (202 Accepted), with its status URL in the Location header;
+     *         429 if the hotel has too many exports in progress or the queue is full
+     */
+    @Idempotent
+    @PostMapping
+    public ResponseEntity<ExportJobResponse> createExport(@Valid @RequestBody CreateExportRequest request) {
+        ExportJobResponse response = exportJobService.submit(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/exports/" + response.getJobId()))
+                .body(response);
+    }
+
+    /**
+     * Status and progress of an export job.
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ExportJobResponse> getExport(@PathVariable String jobId) {
+        return ResponseEntity.ok(exportJobService.getJob(jobId));
+    }
+
+    /**
+     * Download the file of a finished export; 409 while it is still queued or running.
+     */
+    @GetMapping("/{jobId}/download")
+    public ResponseEntity<Resource> downloadExport(@PathVariable String jobId) {
+        ExportFile file = exportJobService.getResult(jobId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(file.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFilename() + "\"")
+                .body(new FileSystemResource(file.getPath()));
+    }
+}
@@ -0,0 +1,27 @@
+package com.bikerental.platform.rental.export.dto;
+
+import com.bikerental.platform.rental.export.model.ExportType;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Request DTO for POST /api/exports.
+ * {@code from} (inclusive) and {@code to} (exclusive) bound the rental start time for RENTALS_CSV
+ * and are ignored for the bike exports.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateExportRequest {
+
+    @NotNull(message = "Export type is required")
+    private ExportType type;
+
+    private Instant from;
+
+    private Instant to;
+}
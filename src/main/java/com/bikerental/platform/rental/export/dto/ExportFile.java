@@ -0,0 +1,17 @@
+package com.bikerental.platform.rental.export.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.file.Path;
+
+/**
+ * A finished export's spool file with the name and content type to download it as.
+ */
+@Getter
+@AllArgsConstructor
+public class ExportFile {
+    private Path path;
+    private String filename;
+    private String contentType;
+}
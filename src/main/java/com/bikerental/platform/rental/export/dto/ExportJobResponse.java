@@ -0,0 +1,28 @@
+package com.bikerental.platform.rental.export.dto;
+
+import com.bikerental.platform.rental.export.model.ExportStatus;
+import com.bikerental.platform.rental.export.model.ExportType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * State of an export job. {@code bytesWritten} grows while the job runs and is the final file size
+ * once it is DONE; {@code expiresAt} is set when the job finishes, after which the result is deleted.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportJobResponse {
+    private String jobId;
+    private ExportType type;
+    private ExportStatus status;
+    private long bytesWritten;
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private Instant expiresAt;
+    private String error;
+}
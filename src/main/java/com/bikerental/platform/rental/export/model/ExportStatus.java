@@ -0,0 +1,15 @@
+package com.bikerental.platform.rental.export.model;
+
+/**
+ * Lifecycle of an export job: QUEUED -> RUNNING -> DONE or FAILED.
+ */
+public enum ExportStatus {
+    QUEUED,
+    RUNNING,
+    DONE,
+    FAILED;
+
+    public boolean isFinished() {
+        return this == DONE || this == FAILED;
+    }
+}
@@ -0,0 +1,33 @@
+package com.bikerental.platform.rental.export.model;
+
+/**
+ * What an export job produces. {@code from}/{@code to} only apply to {@link #RENTALS_CSV}.
+ */
+public enum ExportType {
+    OOO_BIKES_XLSX("ooo-bikes", "xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
+    OOO_BIKES_CSV("ooo-bikes", "csv", "text/csv;charset=UTF-8"),
+    FLEET_CSV("bikes", "csv", "text/csv;charset=UTF-8"),
+    RENTALS_CSV("rentals", "csv", "text/csv;charset=UTF-8");
+
+    private final String baseName;
+    private final String extension;
+    private final String contentType;
+
+    ExportType(String baseName, String extension, String contentType) {
+        this.baseName = baseName;
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getBaseName() {
+        return baseName;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+}
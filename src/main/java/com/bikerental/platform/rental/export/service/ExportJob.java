@@ -0,0 +1,38 @@
+package com.bikerental.platform.rental.export.service;
+
+import com.bikerental.platform.rental.export.model.ExportStatus;
+import com.bikerental.platform.rental.export.model.ExportType;
+
+import java.time.Instant;
+
+/**
+ * In-memory state of one export job. Written by its worker thread, read by status requests.
+ */
+final class ExportJob {
+
+    final String jobId;
+    final Long hotelId;
+    final ExportType type;
+    final Instant from;
+    final Instant to;
+    final Instant createdAt;
+
+    volatile ExportStatus status = ExportStatus.QUEUED;
+    volatile long bytesWritten;
+    volatile Instant startedAt;
+    volatile Instant finishedAt;
+    volatile String error;
+
+    ExportJob(String jobId, Long hotelId, ExportType type, Instant from, Instant to, Instant createdAt) {
+        this.jobId = jobId;
+        this.hotelId = hotelId;
+        this.type = type;
+        this.from = from;
+        this.to = to;
+        this.createdAt = createdAt;
+    }
+
+    String filename() {
+        return type.getBaseName() + "-" + createdAt.toString().substring(0, 10) + "." + type.getExtension();
+    }
+}
@@ -0,0 +1,274 @@
+package com.bikerental.platform.rental.export.service;
+
+import com.bikerental.platform.rental.auth.security.HotelContext;
+import com.bikerental.platform.rental.bike.service.BikeExportService;
+import com.bikerental.platform.rental.common.exception.ConflictException;
+import com.bikerental.platform.rental.common.exception.NotFoundException;
+import com.bikerental.platform.rental.common.exception.TooManyRequestsException;
+import com.bikerental.platform.rental.export.dto.CreateExportRequest;
+import com.bikerental.platform.rental.export.dto.ExportFile;
+import com.bikerental.platform.rental.export.dto.ExportJobResponse;
+import com.bikerental.platform.rental.export.model.ExportStatus;
+import com.bikerental.platform.rental.export.model.ExportType;
+import com.bikerental.platform.rental.maintenance.service.MaintenanceService;
+import com.bikerental.platform.rental.rentals.service.RentalExportService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs large exports in the background instead of on request threads.
+ * Jobs are queued on a dedicated, bounded worker pool, written to a local spool directory and
+ * downloaded once finished. Each hotel may have at most {@code exports.max-per-hotel} jobs queued
+ * or running; finished jobs and their files are deleted after {@code exports.ttl}.
+ * Job state is kept in memory, so a job is only visible on the instance that runs it and does not
+ * survive a restart; spool files left behind are removed on startup once older than the TTL.
+ */
+@Slf4j
+@Service
+public class ExportJobService {
+
+    private static final int SPOOL_BUFFER_SIZE = 64 * 1024;
+    // Shown to clients; the cause is only logged, it may carry SQL or file system details
+    private static final String FAILURE_MESSAGE = "The export could not be created, please try again";
+
+    private final MaintenanceService maintenanceService;
+    private final BikeExportService bikeExportService;
+    private final RentalExportService rentalExportService;
+    private final HotelContext hotelContext;
+    private final Path spoolDir;
+    private final int maxPerHotel;
+    private final Duration ttl;
+    private final ThreadPoolExecutor executor;
+
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    public ExportJobService(
+            MaintenanceService maintenanceService,
+            BikeExportService bikeExportService,
+            RentalExportService rentalExportService,
+            HotelContext hotelContext,
+            @Value("${exports.spool-dir:${java.io.tmpdir}/bikerental-exports}") Path spoolDir,
+            @Value("${exports.workers:2}") int workers,
+            @Value("${exports.queue-capacity:20}") int queueCapacity,
+            @Value("${exports.max-per-hotel:2}") int maxPerHotel,
+            @Value("${exports.ttl:PT1H}") Duration ttl) throws IOException {
+        this.maintenanceService = maintenanceService;
+        this.bikeExportService = bikeExportService;
+        this.rentalExportService = rentalExportService;
+        this.hotelContext = hotelContext;
+        this.spoolDir = spoolDir;
+        this.maxPerHotel = maxPerHotel;
+        this.ttl = ttl;
+        // AbortPolicy: a full queue is reported to the client rather than run on the request thread
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("export-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Files.createDirectories(spoolDir);
+        clearSpool();
+    }
+
+    /**
+     * Queue an export for the current hotel.
+     *
+     * @throws TooManyRequestsException if the hotel already has its maximum of jobs in progress,
+     *         or the shared queue is full
+     */
+    public ExportJobResponse submit(CreateExportRequest request) {
+        Long hotelId = hotelContext.getCurrentHotelId();
+        if (request.getType() == ExportType.RENTALS_CSV && request.getFrom() != null && request.getTo() != null
+                && !request.getFrom().isBefore(request.getTo())) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+
+        ExportJob job = new ExportJob(UUID.randomUUID().toString(), hotelId, request.getType(),
+                request.getFrom(), request.getTo(), Instant.now());
+        // Serialised so two concurrent submits cannot both pass the per-hotel check
+        synchronized (this) {
+            long inProgress = jobs.values().stream()
+                    .filter(j -> j.hotelId.equals(hotelId) && !j.status.isFinished())
+                    .count();
+            if (inProgress >= maxPerHotel) {
+                throw new TooManyRequestsException(
+                        "At most " + maxPerHotel + " exports can be in progress, try again when one has finished");
+            }
+            jobs.put(job.jobId, job);
+        }
+
+        // Snapshot before handing over: the worker may start or even finish the job right away
+        ExportJobResponse queued = toResponse(job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.jobId);
+            throw new TooManyRequestsException("The export queue is full, try again later");
+        }
+        log.info("Queued {} export {} for hotel {}", job.type, job.jobId, hotelId);
+        return queued;
+    }
+
+    public ExportJobResponse getJob(String jobId) {
+        return toResponse(findJob(jobId));
+    }
+
+    /**
+     * The result file of a finished job.
+     *
+     * @throws ConflictException if the job is still queued or running, or has failed
+     */
+    public ExportFile getResult(String jobId) {
+        ExportJob job = findJob(jobId);
+        if (job.status == ExportStatus.FAILED) {
+            throw new ConflictException(FAILURE_MESSAGE);
+        }
+        if (job.status != ExportStatus.DONE) {
+            throw new ConflictException("Export is not finished yet (" + job.status + ")");
+        }
+        return new ExportFile(resultPath(job), job.filename(), job.type.getContentType());
+    }
+
+    /**
+     * Periodically delete finished jobs older than the TTL, with their files.
+     */
+    @Scheduled(fixedDelayString = "${exports.sweep-interval-ms:300000}",
+               initialDelayString = "${exports.sweep-interval-ms:300000}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        int removed = 0;
+        for (ExportJob job : jobs.values()) {
+            if (job.status.isFinished() && expiresAt(job).isBefore(now) && jobs.remove(job.jobId, job)) {
+                deleteQuietly(resultPath(job));
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            log.info("Purged {} expired export jobs", removed);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(ExportJob job) {
+        job.startedAt = Instant.now();
+        job.status = ExportStatus.RUNNING;
+        Path part = spoolDir.resolve(job.jobId + ".part");
+        try {
+            try (OutputStream out = new BufferedOutputStream(
+                    new ProgressOutputStream(Files.newOutputStream(part), job), SPOOL_BUFFER_SIZE)) {
+                write(job, out);
+            }
+            Files.move(part, resultPath(job), StandardCopyOption.ATOMIC_MOVE);
+            job.finishedAt = Instant.now();
+            job.status = ExportStatus.DONE;
+            log.info("Export {} finished: {} bytes in {} ms", job.jobId, job.bytesWritten,
+                    Duration.between(job.startedAt, job.finishedAt).toMillis());
+        } catch (Exception e) {
+            log.error("Export {} failed", job.jobId, e);
+            deleteQuietly(part);
+            job.error = FAILURE_MESSAGE;
+            job.finishedAt = Instant.now();
+            job.status = ExportStatus.FAILED;
+        }
+    }
+
+    private void write(ExportJob job, OutputStream out) {
+        switch (job.type) {
+            case OOO_BIKES_XLSX -> maintenanceService.writeOooBikesExcel(job.hotelId, out);
+            case OOO_BIKES_CSV -> bikeExportService.writeOooCsv(job.hotelId, out);
+            case FLEET_CSV -> bikeExportService.writeFleetCsv(job.hotelId, out);
+            case RENTALS_CSV -> rentalExportService.writeRentalsCsv(job.hotelId, job.from, job.to, out);
+        }
+    }
+
+    // Jobs of other hotels are reported as missing, like other hotel-scoped resources
+    private ExportJob findJob(String jobId) {
+        ExportJob job = jobs.get(jobId);
+        if (job == null || !job.hotelId.equals(hotelContext.getCurrentHotelId())) {
+            throw new NotFoundException("Export not found: " + jobId);
+        }
+        return job;
+    }
+
+    private ExportJobResponse toResponse(ExportJob job) {
+        Instant finishedAt = job.finishedAt;
+        return new ExportJobResponse(job.jobId, job.type, job.status, job.bytesWritten, job.createdAt,
+                job.startedAt, finishedAt, finishedAt != null ? finishedAt.plus(ttl) : null, job.error);
+    }
+
+    private Instant expiresAt(ExportJob job) {
+        return job.finishedAt.plus(ttl);
+    }
+
+    private Path resultPath(ExportJob job) {
+        return spoolDir.resolve(job.jobId + "." + job.type.getExtension());
+    }
+
+    // Only files older than the TTL: another instance on the same host may share the directory
+    private void clearSpool() throws IOException {
+        Instant cutoff = Instant.now().minus(ttl);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(spoolDir, "*.{part,csv,xlsx}")) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                    deleteQuietly(file);
+                }
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete export file {}", file, e);
+        }
+    }
+
+    /**
+     * Counts bytes as they reach the spool file, for progress reporting.
+     */
+    private static final class ProgressOutputStream extends FilterOutputStream {
+        private final ExportJob job;
+
+        ProgressOutputStream(OutputStream out, ExportJob job) {
+            super(out);
+            this.job = job;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            job.bytesWritten++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            job.bytesWritten += len;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.bikerental.platform.rental.idempotency.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Stored outcome of a request sent with an Idempotency-Key header.
+ * A row without a response is a claim held by the request still in progress.
+ */
+@Entity
+@Table(name = "idempotency_keys", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_idempotency_key", columnNames = {"idempotency_key"})
+}, indexes = {
+    @Index(name = "idx_idempotency_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class IdempotencyRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "record_id")
+    private Long recordId;
+
+    /**
+     * Hotel-scoped key: "{hotelId}:{client key}".
+     */
+    @Column(name = "idempotency_key", nullable = false, length = 150)
+    private String idempotencyKey;
+
+    @Column(name = "hotel_id", nullable = false)
+    private Long hotelId;
+
+    /**
+     * SHA-256 of the operation and its arguments, used to reject key reuse for a different request.
+     */
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    @Column(name = "response_body", columnDefinition = "MEDIUMTEXT")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = Instant.now();
+    }
+
+    public IdempotencyRecord(String idempotencyKey, Long hotelId, String requestHash, Instant expiresAt) {
+        this.idempotencyKey = idempotencyKey;
+        this.hotelId = hotelId;
+        this.requestHash = requestHash;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,195 @@
+package com.bikerental.platform.rental.idempotency.service;
+
+import com.bikerental.platform.rental.auth.security.HotelContext;
+import com.bikerental.platform.rental.common.exception.ConflictException;
+import com.bikerental.platform.rental.idempotency.store.IdempotencyEntry;
+import com.bikerental.platform.rental.idempotency.store.IdempotencyStore;
+import com.bikerental.platform.rental.idempotency.store.StoredResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Executes requests at most once per Idempotency-Key.
+ * The first request claims the key and runs; its response is stored for the TTL and replayed
+ * to later duplicates. Concurrent duplicates on this instance wait for the running request
+ * instead of polling the store; duplicates on other instances poll until the claim completes.
+ * Keys are scoped per hotel.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    static final int MAX_KEY_LENGTH = 100;
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final IdempotencyStore store;
+    private final HotelContext hotelContext;
+    private final Duration ttl;
+    private final Duration pendingTimeout;
+
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(
+            IdempotencyStore store,
+            HotelContext hotelContext,
+            @Value("${idempotency.ttl:PT24H}") Duration ttl,
+            @Value("${idempotency.pending-timeout:PT30S}") Duration pendingTimeout) {
+        this.store = store;
+        this.hotelContext = hotelContext;
+        this.ttl = ttl;
+        this.pendingTimeout = pendingTimeout;
+    }
+
+    /**
+     * Run {@code action} unless a request with the same key already ran, in which case its stored
+     * response is returned. If the action throws, the key is released so the client can retry.
+     *
+     * @param clientKey the Idempotency-Key header value
+     * @param requestHash fingerprint of the request; reusing a key for a different request is rejected
+     * @param action the request handler producing the response to store
+     */
+    public StoredResponse execute(String clientKey, String requestHash, Supplier<StoredResponse> action) {
+        validateKey(clientKey);
+        Long hotelId = hotelContext.getCurrentHotelId();
+        String key = hotelId + ":" + clientKey;
+        long deadline = System.nanoTime() + pendingTimeout.toNanos();
+
+        while (true) {
+            InFlight mine = new InFlight(requestHash, new CompletableFuture<>());
+            InFlight running = inFlight.putIfAbsent(key, mine);
+            if (running != null) {
+                ensureSameRequest(running.requestHash(), requestHash);
+                Optional<StoredResponse> result = await(running.result(), deadline);
+                if (result.isPresent()) {
+                    return result.get();
+                }
+                // The running request failed and released the key - try to claim it ourselves
+                continue;
+            }
+
+            try {
+                StoredResponse response = claimAndRun(key, hotelId, requestHash, action, deadline);
+                mine.result().complete(response);
+                return response;
+            } catch (RuntimeException | Error e) {
+                mine.result().completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, mine);
+            }
+        }
+    }
+
+    private StoredResponse claimAndRun(String key, Long hotelId, String requestHash,
+                                       Supplier<StoredResponse> action, long deadline) {
+        while (true) {
+            // A pending claim only lives for the pending timeout, so a crashed owner cannot block the key for the full TTL
+            Optional<IdempotencyEntry> existing = store.claim(key, hotelId, requestHash, Instant.now().plus(pendingTimeout));
+            if (existing.isEmpty()) {
+                return runAsOwner(key, action);
+            }
+
+            IdempotencyEntry entry = existing.get();
+            ensureSameRequest(entry.requestHash(), requestHash);
+            if (entry.isCompleted()) {
+                return entry.response();
+            }
+            if (System.nanoTime() >= deadline) {
+                throw new ConflictException("A request with this Idempotency-Key is still being processed");
+            }
+            sleepQuietly(POLL_INTERVAL_MILLIS);
+        }
+    }
+
+    private StoredResponse runAsOwner(String key, Supplier<StoredResponse> action) {
+        StoredResponse response;
+        try {
+            response = action.get();
+        } catch (RuntimeException | Error e) {
+            releaseQuietly(key);
+            throw e;
+        }
+
+        try {
+            store.complete(key, response, Instant.now().plus(ttl));
+        } catch (RuntimeException e) {
+            // The work is done; failing here would make the client retry a request that already succeeded
+            log.error("Failed to store idempotent response for key {}", key, e);
+        }
+        return response;
+    }
+
+    /**
+     * Periodically remove expired keys.
+     */
+    @Scheduled(fixedDelayString = "${idempotency.sweep-interval-ms:300000}",
+               initialDelayString = "${idempotency.sweep-interval-ms:300000}")
+    public void purgeExpired() {
+        int removed = store.deleteExpired(Instant.now());
+        if (removed > 0) {
+            log.info("Purged {} expired idempotency keys", removed);
+        }
+    }
+
+    private void validateKey(String clientKey) {
+        if (clientKey == null || clientKey.isBlank()) {
+            throw new IllegalArgumentException("Idempotency-Key must not be blank");
+        }
+        if (clientKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    private void ensureSameRequest(String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            throw new IllegalArgumentException("Idempotency-Key was already used for a different request");
+        }
+    }
+
+    private Optional<StoredResponse> await(CompletableFuture<StoredResponse> result, long deadline) {
+        try {
+            return Optional.of(result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+        } catch (ExecutionException e) {
+            return Optional.empty();
+        } catch (TimeoutException e) {
+            throw new ConflictException("A request with this Idempotency-Key is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a duplicate request", e);
+        }
+    }
+
+    private void releaseQuietly(String key) {
+        try {
+            store.release(key);
+        } catch (RuntimeException e) {
+            // The pending claim expires on its own after the pending timeout
+            log.warn("Failed to release idempotency key {}", key, e);
+        }
+    }
+
+    private void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a duplicate request", e);
+        }
+    }
+
+    private record InFlight(String requestHash, CompletableFuture<StoredResponse> result) {
+    }
+}
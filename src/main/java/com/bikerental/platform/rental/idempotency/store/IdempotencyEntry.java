@@ -0,0 +1,17 @@
+package com.bikerental.platform.rental.idempotency.store;
+
+import java.time.Instant;
+
+/**
+ * Snapshot of a key in the store. {@code response} is null while the owning request is still running.
+ */
+public record IdempotencyEntry(String requestHash, StoredResponse response, Instant expiresAt) {
+
+    public boolean isCompleted() {
+        return response != null;
+    }
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
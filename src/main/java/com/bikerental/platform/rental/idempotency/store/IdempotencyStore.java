@@ -0,0 +1,36 @@
+package com.bikerental.platform.rental.idempotency.store;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Key store backing Idempotency-Key handling.
+ * Implementations: {@link JpaIdempotencyStore} (default, shared across instances)
+ * and {@link InMemoryIdempotencyStore} (single instance, selected with idempotency.store=memory).
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Atomically claim a key. Expired entries are replaced.
+     *
+     * @return empty if the caller now owns the key, otherwise the live entry held by someone else
+     */
+    Optional<IdempotencyEntry> claim(String key, Long hotelId, String requestHash, Instant expiresAt);
+
+    /**
+     * Attach the response to a claimed key and extend its expiry to the replay TTL.
+     */
+    void complete(String key, StoredResponse response, Instant expiresAt);
+
+    /**
+     * Drop a claim after the request failed, so a retry executes again.
+     */
+    void release(String key);
+
+    /**
+     * Remove all entries that expired before {@code now}.
+     *
+     * @return number of entries removed
+     */
+    int deleteExpired(Instant now);
+}
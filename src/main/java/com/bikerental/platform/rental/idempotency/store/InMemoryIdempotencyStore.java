@@ -0,0 +1,46 @@
+package com.bikerental.platform.rental.idempotency.store;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-local key store. Only safe for single-instance deployments and tests.
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "memory")
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Map<String, IdempotencyEntry> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<IdempotencyEntry> claim(String key, Long hotelId, String requestHash, Instant expiresAt) {
+        Instant now = Instant.now();
+        IdempotencyEntry claim = new IdempotencyEntry(requestHash, null, expiresAt);
+        IdempotencyEntry current = entries.compute(key,
+                (k, existing) -> existing == null || existing.isExpired(now) ? claim : existing);
+        return current == claim ? Optional.empty() : Optional.of(current);
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response, Instant expiresAt) {
+        entries.computeIfPresent(key,
+                (k, existing) -> new IdempotencyEntry(existing.requestHash(), response, expiresAt));
+    }
+
+    @Override
+    public void release(String key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public int deleteExpired(Instant now) {
+        int sizeBefore = entries.size();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+        return Math.max(0, sizeBefore - entries.size());
+    }
+}
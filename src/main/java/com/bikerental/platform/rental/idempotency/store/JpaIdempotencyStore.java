@@ -0,0 +1,83 @@
+package com.bikerental.platform.rental.idempotency.store;
+
+import com.bikerental.platform.rental.idempotency.model.IdempotencyRecord;
+import com.bikerental.platform.rental.idempotency.repo.IdempotencyRecordRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Database-backed key store, shared by all application instances.
+ * Each call commits in its own transaction so claims are visible to other instances immediately;
+ * the unique key constraint decides which of two concurrent claims wins.
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "database", matchIfMissing = true)
+public class JpaIdempotencyStore implements IdempotencyStore {
+
+    private final IdempotencyRecordRepository repository;
+    private final TransactionTemplate transactionTemplate;
+
+    public JpaIdempotencyStore(IdempotencyRecordRepository repository,
+                               PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public Optional<IdempotencyEntry> claim(String key, Long hotelId, String requestHash, Instant expiresAt) {
+        try {
+            return transactionTemplate.execute(status -> {
+                Optional<IdempotencyRecord> existing = repository.findByIdempotencyKey(key);
+                if (existing.isPresent()) {
+                    IdempotencyRecord record = existing.get();
+                    if (record.getExpiresAt().isAfter(Instant.now())) {
+                        return Optional.of(toEntry(record));
+                    }
+                    repository.delete(record);
+                    repository.flush();
+                }
+                repository.saveAndFlush(new IdempotencyRecord(key, hotelId, requestHash, expiresAt));
+                return Optional.<IdempotencyEntry>empty();
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another instance inserted the same key first - report it as a pending claim
+            return Optional.of(new IdempotencyEntry(requestHash, null, expiresAt));
+        }
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response, Instant expiresAt) {
+        transactionTemplate.executeWithoutResult(status ->
+                repository.findByIdempotencyKey(key).ifPresent(record -> {
+                    record.setResponseStatus(response.status());
+                    record.setResponseBody(response.body());
+                    record.setExpiresAt(expiresAt);
+                }));
+    }
+
+    @Override
+    public void release(String key) {
+        transactionTemplate.executeWithoutResult(status -> repository.deleteByKey(key));
+    }
+
+    @Override
+    public int deleteExpired(Instant now) {
+        Integer removed = transactionTemplate.execute(status -> repository.deleteExpired(now));
+        return removed != null ? removed : 0;
+    }
+
+    private IdempotencyEntry toEntry(IdempotencyRecord record) {
+        StoredResponse response = record.getResponseStatus() != null
+                ? new StoredResponse(record.getResponseStatus(), record.getResponseBody())
+                : null;
+        return new IdempotencyEntry(record.getRequestHash(), response, record.getExpiresAt());
+    }
+}
@@ -0,0 +1,7 @@
+package com.bikerental.platform.rental.idempotency.store;
+
+/**
+ * HTTP status and JSON body of a completed request, as replayed for duplicates.
+ */
+public record StoredResponse(int status, String body) {
+}
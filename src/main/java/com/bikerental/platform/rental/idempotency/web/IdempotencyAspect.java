@@ -0,0 +1,119 @@
+package com.bikerental.platform.rental.idempotency.web;
+
+import com.bikerental.platform.rental.idempotency.service.IdempotencyService;
+import com.bikerental.platform.rental.idempotency.store.StoredResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Applies Idempotency-Key handling to {@link Idempotent} controller methods.
+ * The request fingerprint is the method name plus its JSON-serialized arguments.
+ * Replayed responses carry an {@code Idempotent-Replayed: true} header.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class IdempotencyAspect {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+
+    @Around("@annotation(com.bikerental.platform.rental.idempotency.web.Idempotent)")
+    public Object handle(ProceedingJoinPoint joinPoint) throws Throwable {
+        String clientKey = currentIdempotencyKey();
+        if (clientKey == null) {
+            return joinPoint.proceed();
+        }
+
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        String requestHash = fingerprint(method, joinPoint.getArgs());
+
+        // Holds the live response when this thread executed the request itself
+        AtomicReference<ResponseEntity<?>> executed = new AtomicReference<>();
+        StoredResponse stored = idempotencyService.execute(clientKey, requestHash, () -> {
+            ResponseEntity<?> response = proceed(joinPoint);
+            executed.set(response);
+            return new StoredResponse(response.getStatusCode().value(), toJson(response.getBody()));
+        });
+
+        if (executed.get() != null) {
+            return executed.get();
+        }
+        return ResponseEntity.status(stored.status())
+                .header(REPLAYED_HEADER, "true")
+                .body(fromJson(stored.body(), method));
+    }
+
+    private String currentIdempotencyKey() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return null;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        return request.getHeader(IDEMPOTENCY_KEY_HEADER);
+    }
+
+    private ResponseEntity<?> proceed(ProceedingJoinPoint joinPoint) {
+        try {
+            return (ResponseEntity<?>) joinPoint.proceed();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    private String fingerprint(Method method, Object[] args) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(method.getDeclaringClass().getName().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '.');
+            digest.update(method.getName().getBytes(StandardCharsets.UTF_8));
+            digest.update(objectMapper.writeValueAsBytes(args));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Failed to fingerprint request", e);
+        }
+    }
+
+    private String toJson(Object body) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response for idempotent replay", e);
+        }
+    }
+
+    private Object fromJson(String body, Method method) throws JsonProcessingException {
+        if (body == null) {
+            return null;
+        }
+        JavaType bodyType = objectMapper.constructType(
+                ResolvableType.forMethodReturnType(method).getGeneric(0).getType());
+        return objectMapper.readValue(body, bodyType);
+    }
+}
@@ -1,15 +1,18 @@
 package com.bikerental.platform.rental.maintenance.controller;
 
+import com.bikerental.platform.rental.bike.service.BikeExportService;
+import com.bikerental.platform.rental.common.csv.CsvDownload;
 import com.bikerental.platform.rental.maintenance.service.MaintenanceService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 
@@ -22,21 +25,33 @@ import java.time.format.DateTimeFormatter;
 public class MaintenanceController {
 
     private final MaintenanceService maintenanceService;
+    private final BikeExportService bikeExportService;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final String EXCEL_CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
 
     /**
      * Export OOO bikes as Excel (.xlsx) for the current hotel.
+     * The workbook is streamed to the client as it is written.
      */
     @GetMapping("/ooo/export")
-    public ResponseEntity<byte[]> exportOooBikes() throws IOException {
-        byte[] excelBytes = maintenanceService.exportOooBikesAsExcel();
+    public ResponseEntity<StreamingResponseBody> exportOooBikes() {
+        StreamingResponseBody body = maintenanceService.exportOooBikesAsExcel();
         String filename = "ooo-bikes-" + LocalDate.now().format(DATE_FORMATTER) + ".xlsx";
 
         return ResponseEntity.ok()
                 .contentType(MediaType.parseMediaType(EXCEL_CONTENT_TYPE))
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                .body(excelBytes);
+                .body(body);
+    }
+
+    /**
+     * Export OOO bikes as CSV for the current hotel, gzip-compressed if the client accepts it.
+     */
+    @GetMapping("/ooo/export.csv")
+    public ResponseEntity<StreamingResponseBody> exportOooBikesCsv(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        String filename = "ooo-bikes-" + LocalDate.now().format(DATE_FORMATTER) + ".csv";
+        return CsvDownload.of(filename, acceptEncoding, bikeExportService.exportOooCsv());
     }
 }
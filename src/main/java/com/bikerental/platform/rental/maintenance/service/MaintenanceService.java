@@ -1,49 +1,82 @@
 package com.bikerental.platform.rental.maintenance.service;
 
 import com.bikerental.platform.rental.auth.security.HotelContext;
-import com.bikerental.platform.rental.bike.model.Bike;
+import com.bikerental.platform.rental.bike.dto.BikeResponse;
 import com.bikerental.platform.rental.bike.repo.BikeRepository;
-import lombok.RequiredArgsConstructor;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
 /**
  * Service for maintenance-related operations.
  * Handles OOO bikes export functionality.
  */
 @Service
-@RequiredArgsConstructor
 public class MaintenanceService {
 
+    // Rows kept in memory by the streaming workbook; older rows are flushed to a temp file
+    static final int ROW_WINDOW = 100;
+
+    private static final String[] HEADERS = {"Bike Number", "Bike Type", "OOO Note", "OOO Since"};
+    // Fixed widths (in characters) instead of autoSizeColumn, which measures every cell
+    private static final int[] COLUMN_WIDTHS = {14, 14, 60, 12};
+
     private final BikeRepository bikeRepository;
     private final HotelContext hotelContext;
+    private final TransactionTemplate readOnlyTransaction;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
+    public MaintenanceService(BikeRepository bikeRepository, HotelContext hotelContext,
+                              PlatformTransactionManager transactionManager) {
+        this.bikeRepository = bikeRepository;
+        this.hotelContext = hotelContext;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
     /**
-     * Export OOO bikes as Excel bytes for the current hotel.
-     * @return Excel file content as byte array
+     * Export OOO bikes as Excel for the current hotel, written straight to the response.
+     * The hotel is resolved on the request thread; rows are streamed from the database
+     * into a streaming workbook when the body is written.
      */
-    public byte[] exportOooBikesAsExcel() throws IOException {
+    public StreamingResponseBody exportOooBikesAsExcel() {
         Long hotelId = hotelContext.getCurrentHotelId();
-        List<Bike> oooBikes = bikeRepository.findOooBikesForExport(hotelId);
-        return generateExcel(oooBikes);
+        return out -> writeOooBikesExcel(hotelId, out);
     }
 
     /**
-     * Generate Excel workbook with OOO bikes data.
+     * Stream a hotel's OOO bikes from the database into an Excel workbook on {@code out},
+     * in a read-only transaction of its own.
      */
-    private byte[] generateExcel(List<Bike> bikes) throws IOException {
-        try (Workbook workbook = new XSSFWorkbook();
-             ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+    public void writeOooBikesExcel(Long hotelId, OutputStream out) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<BikeResponse> bikes = bikeRepository.streamOooBikesForExport(hotelId)) {
+                writeExcel(bikes.iterator(), out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
 
+    /**
+     * Write the OOO bikes workbook. Only {@value #ROW_WINDOW} rows are held in memory at a time.
+     */
+    static void writeExcel(Iterator<BikeResponse> bikes, OutputStream out) throws IOException {
+        // close() also deletes the temp files holding flushed rows
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW)) {
+            workbook.setCompressTempFiles(true);
             Sheet sheet = workbook.createSheet("OOO Bikes");
 
             CellStyle headerStyle = workbook.createCellStyle();
@@ -52,15 +85,16 @@ public class MaintenanceService {
             headerStyle.setFont(headerFont);
 
             Row headerRow = sheet.createRow(0);
-            String[] headers = {"Bike Number", "Bike Type", "OOO Note", "OOO Since"};
-            for (int i = 0; i < headers.length; i++) {
+            for (int i = 0; i < HEADERS.length; i++) {
                 Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
+                cell.setCellValue(HEADERS[i]);
                 cell.setCellStyle(headerStyle);
+                sheet.setColumnWidth(i, COLUMN_WIDTHS[i] * 256);
             }
 
             int rowNum = 1;
-            for (Bike bike : bikes) {
+            while (bikes.hasNext()) {
+                BikeResponse bike = bikes.next();
                 Row row = sheet.createRow(rowNum++);
                 row.createCell(0).setCellValue(bike.getBikeNumber() != null ? bike.getBikeNumber() : "");
                 row.createCell(1).setCellValue(bike.getBikeType() != null ? bike.getBikeType() : "");
@@ -68,16 +102,11 @@ public class MaintenanceService {
                 row.createCell(3).setCellValue(formatOooSince(bike));
             }
 
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
-            }
-
             workbook.write(out);
-            return out.toByteArray();
         }
     }
 
-    private String formatOooSince(Bike bike) {
+    private static String formatOooSince(BikeResponse bike) {
         if (bike.getOooSince() == null) {
             return "";
         }
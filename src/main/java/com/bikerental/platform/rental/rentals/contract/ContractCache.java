@@ -0,0 +1,242 @@
+package com.bikerental.platform.rental.rentals.contract;
+
+import com.bikerental.platform.rental.rentals.event.RentalReopenedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Rendered contracts of CLOSED rentals. Entries are keyed by hotel, rental, rental version and
+ * variant (the stylesheet href the document links, or {@code null} for the inline stylesheet)
+ * and carry a strong ETag over the rendered bytes. A closed contract only changes if undoReturn
+ * reopens the rental, which bumps its version, so an entry of an older version is never looked up
+ * again, whichever instance reopened the rental. Local entries are also dropped eagerly on
+ * {@link RentalReopenedEvent} after commit.
+ * <p>
+ * Two tiers: a size-bounded LRU in memory and one file per contract on local disk
+ * ({@code rentals.contract-cache.dir}), which survives restarts.
+ */
+@Slf4j
+@Component
+public class ContractCache {
+
+    /**
+     * A cached contract document.
+     */
+    public record Entry(byte[] html, String etag) {
+    }
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final Path dir;
+    private final long memoryMaxBytes;
+    private final Duration diskTtl;
+
+    // Access-ordered for LRU eviction; guarded by this
+    private final LinkedHashMap<String, Entry> memory = new LinkedHashMap<>(64, 0.75f, true);
+    private long memoryBytes;
+
+    public ContractCache(@Value("${rentals.contract-cache.dir:${java.io.tmpdir}/bikerental-contracts}") Path dir,
+                         @Value("${rentals.contract-cache.memory-max-bytes:16777216}") long memoryMaxBytes,
+                         @Value("${rentals.contract-cache.disk-ttl:P30D}") Duration diskTtl) {
+        this.dir = dir;
+        this.memoryMaxBytes = memoryMaxBytes;
+        this.diskTtl = diskTtl;
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create contract cache directory " + dir, e);
+        }
+    }
+
+    /**
+     * The cached contract, from memory or else from disk (promoting it to memory).
+     */
+    public Optional<Entry> get(Long hotelId, Long rentalId, String version, String variant) {
+        String key = key(hotelId, rentalId, version, variant);
+        synchronized (this) {
+            Entry entry = memory.get(key);
+            if (entry != null) {
+                return Optional.of(entry);
+            }
+        }
+
+        byte[] html;
+        try {
+            html = Files.readAllBytes(file(key));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            log.warn("Failed to read cached contract {}: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+        Entry entry = new Entry(html, etag(html));
+        synchronized (this) {
+            // A reopen may have deleted the file after we read it
+            if (Files.exists(file(key))) {
+                remember(key, entry);
+            }
+        }
+        return Optional.of(entry);
+    }
+
+    /**
+     * Cache a rendered contract under the version of the rental it was rendered from.
+     */
+    public Entry put(Long hotelId, Long rentalId, String version, String variant, byte[] html) {
+        String key = key(hotelId, rentalId, version, variant);
+        Entry entry = new Entry(html, etag(html));
+
+        Path tmp = null;
+        try {
+            tmp = Files.createTempFile(dir, key, ".part");
+            Files.write(tmp, html);
+        } catch (IOException e) {
+            log.warn("Failed to write cached contract {}: {}", key, e.getMessage());
+            deleteQuietly(tmp);
+            tmp = null;
+        }
+
+        synchronized (this) {
+            if (tmp != null) {
+                try {
+                    Files.move(tmp, file(key), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (IOException e) {
+                    log.warn("Failed to store cached contract {}: {}", key, e.getMessage());
+                    deleteQuietly(tmp);
+                }
+            }
+            remember(key, entry);
+        }
+        return entry;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRentalReopened(RentalReopenedEvent event) {
+        invalidate(event.hotelId(), event.rentalId());
+    }
+
+    /**
+     * Drop every version and variant of a rental's contract from both tiers.
+     */
+    public synchronized void invalidate(Long hotelId, Long rentalId) {
+        String prefix = hotelId + "-" + rentalId + "-";
+
+        Iterator<Map.Entry<String, Entry>> it = memory.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Entry> e = it.next();
+            if (e.getKey().startsWith(prefix)) {
+                memoryBytes -= e.getValue().html().length;
+                it.remove();
+            }
+        }
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, prefix + "*.html")) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to delete cached contracts of rental {}: {}", rentalId, e.getMessage());
+        }
+    }
+
+    /**
+     * Delete disk entries written more than {@code rentals.contract-cache.disk-ttl} ago.
+     * Old contracts are rarely reopened; they are rendered again on the next request. This also
+     * removes entries of versions superseded by a reopen on another instance.
+     */
+    @Scheduled(fixedDelayString = "${rentals.contract-cache.sweep-interval-ms:3600000}",
+            initialDelayString = "${rentals.contract-cache.sweep-interval-ms:3600000}")
+    public void purgeExpired() {
+        FileTime cutoff = FileTime.from(Instant.now().minus(diskTtl));
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                try {
+                    if (Files.getLastModifiedTime(file).compareTo(cutoff) < 0 && Files.deleteIfExists(file)) {
+                        deleted++;
+                    }
+                } catch (IOException e) {
+                    log.debug("Skipping cached contract {}: {}", file, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to sweep contract cache {}: {}", dir, e.getMessage());
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} expired cached contracts", deleted);
+        }
+    }
+
+    synchronized int memorySize() {
+        return memory.size();
+    }
+
+    // Caller holds the lock
+    private void remember(String key, Entry entry) {
+        if (entry.html().length > memoryMaxBytes) {
+            return;
+        }
+        Entry previous = memory.put(key, entry);
+        memoryBytes += entry.html().length - (previous != null ? previous.html().length : 0);
+        Iterator<Entry> eldest = memory.values().iterator();
+        while (memoryBytes > memoryMaxBytes) {
+            memoryBytes -= eldest.next().html().length;
+            eldest.remove();
+        }
+    }
+
+    private Path file(String key) {
+        return dir.resolve(key + ".html");
+    }
+
+    private static String key(Long hotelId, Long rentalId, String version, String variant) {
+        String variantId = variant == null ? "inline" : sha256(variant.getBytes(StandardCharsets.UTF_8)).substring(0, 16);
+        return hotelId + "-" + rentalId + "-" + version + "-" + variantId;
+    }
+
+    private static String etag(byte[] html) {
+        return "\"" + sha256(html).substring(0, 32) + "\"";
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HEX.formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Failed to delete {}: {}", file, e.getMessage());
+        }
+    }
+}
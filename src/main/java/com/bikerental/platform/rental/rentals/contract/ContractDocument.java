@@ -0,0 +1,11 @@
+package com.bikerental.platform.rental.rentals.contract;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * A contract ready to send. {@code etag} is set only for contracts of CLOSED rentals, which
+ * are served from {@link ContractCache} and can be revalidated by clients; open contracts are
+ * rendered while streaming and change as bikes are returned.
+ */
+public record ContractDocument(StreamingResponseBody body, String etag) {
+}
@@ -0,0 +1,233 @@
+package com.bikerental.platform.rental.rentals.contract;
+
+import com.bikerental.platform.rental.bike.model.Bike;
+import com.bikerental.platform.rental.rentals.model.Rental;
+import com.bikerental.platform.rental.rentals.model.RentalItem;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDDocumentInformation;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Renders the rental contract as an A4 PDF with PDFBox: the same content as {@link ContractTemplate}
+ * in a fixed print layout. Uses the standard Helvetica fonts, so nothing is embedded; characters
+ * outside their Latin-1 range print as '?'.
+ */
+public final class ContractPdfRenderer {
+
+    public static final String CONTENT_TYPE = "application/pdf";
+
+    private static final PDType1Font REGULAR = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+    private static final PDType1Font BOLD = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
+
+    private static final float MARGIN = 50;
+    private static final float PAGE_WIDTH = PDRectangle.A4.getWidth();
+    private static final float CONTENT_WIDTH = PAGE_WIDTH - 2 * MARGIN;
+    private static final float LINE = 16;
+    private static final float[] COLUMNS = {MARGIN, MARGIN + 180, MARGIN + 340};
+    private static final float SIGNATURE_MAX_WIDTH = 240;
+    private static final float SIGNATURE_MAX_HEIGHT = 100;
+
+    private ContractPdfRenderer() {
+    }
+
+    /**
+     * Render a contract. The rental's items and their bikes must already be loaded.
+     *
+     * @param signaturePng the guest signature, or null if unavailable
+     * @param out receives the document; not closed
+     */
+    public static void write(Rental rental, byte[] signaturePng, OutputStream out) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDDocumentInformation info = document.getDocumentInformation();
+            info.setTitle("Rental Contract #" + rental.getRentalId());
+            // Seeds the trailer /ID, otherwise derived from the clock: the same contract renders to the same bytes
+            document.setDocumentId(rental.getRentalId());
+
+            try (Layout layout = new Layout(document)) {
+                layout.text(BOLD, 20, "Bike Rental Contract");
+                layout.text(REGULAR, 11, "Contract #" + rental.getRentalId());
+                layout.gap(LINE);
+
+                layout.heading("Rental Details");
+                layout.field("Room Number", rental.getRoomNumber());
+                if (rental.getBedNumber() != null && !rental.getBedNumber().isEmpty()) {
+                    layout.field("Bed Number", rental.getBedNumber());
+                }
+                layout.field("Start Date", ContractTemplate.DATE_FORMATTER.format(rental.getStartAt()));
+                layout.field("Due Date", ContractTemplate.DATE_FORMATTER.format(rental.getDueAt()));
+                layout.field("Status", rental.getStatus().name());
+                layout.gap(LINE);
+
+                layout.heading("Rented Bikes");
+                layout.row(BOLD, "Bike Number", "Type", "Status");
+                layout.rule();
+                for (RentalItem item : rental.getItems()) {
+                    Bike bike = item.getBike();
+                    layout.row(REGULAR,
+                            bike != null ? bike.getBikeNumber() : "Unknown",
+                            bike != null && bike.getBikeType() != null ? bike.getBikeType() : "-",
+                            item.getStatus().name());
+                }
+                layout.gap(LINE);
+
+                layout.heading("Guest Signature");
+                PDImageXObject signature = signatureImage(document, signaturePng);
+                if (signature != null) {
+                    layout.image(signature);
+                } else {
+                    layout.text(REGULAR, 11, "Signature not available");
+                }
+                layout.gap(LINE);
+
+                layout.text(BOLD, 12, "Terms & Conditions (v" + rental.getTncVersion() + ")");
+                layout.text(REGULAR, 10, ContractTemplate.TNC_INTRO);
+                for (String term : ContractTemplate.TNC_TERMS) {
+                    layout.text(REGULAR, 10, "• " + term);
+                }
+            }
+            document.save(out);
+        }
+    }
+
+    // An unreadable signature is reported like a missing one rather than failing the contract
+    private static PDImageXObject signatureImage(PDDocument document, byte[] png) {
+        if (png == null || png.length == 0) {
+            return null;
+        }
+        try {
+            return PDImageXObject.createFromByteArray(document, png, "signature");
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Top-down text flow over as many pages as the content needs.
+     */
+    private static final class Layout implements AutoCloseable {
+
+        private final PDDocument document;
+        private PDPageContentStream content;
+        private float y;
+
+        Layout(PDDocument document) throws IOException {
+            this.document = document;
+            newPage();
+        }
+
+        void heading(String text) throws IOException {
+            text(BOLD, 14, text);
+            gap(4);
+        }
+
+        void text(PDType1Font font, float size, String text) throws IOException {
+            ensureSpace(size + 6);
+            show(font, size, MARGIN, text);
+            y -= size + 6;
+        }
+
+        void field(String label, String value) throws IOException {
+            ensureSpace(LINE);
+            show(BOLD, 11, MARGIN, label);
+            show(REGULAR, 11, COLUMNS[1], value);
+            y -= LINE;
+        }
+
+        void row(PDType1Font font, String... cells) throws IOException {
+            ensureSpace(LINE);
+            for (int i = 0; i < cells.length; i++) {
+                show(font, 11, COLUMNS[i], cells[i]);
+            }
+            y -= LINE;
+        }
+
+        void rule() throws IOException {
+            content.moveTo(MARGIN, y + 2);
+            content.lineTo(MARGIN + CONTENT_WIDTH, y + 2);
+            content.stroke();
+        }
+
+        void image(PDImageXObject image) throws IOException {
+            float scale = Math.min(1, Math.min(SIGNATURE_MAX_WIDTH / image.getWidth(),
+                    SIGNATURE_MAX_HEIGHT / image.getHeight()));
+            float width = image.getWidth() * scale;
+            float height = image.getHeight() * scale;
+            ensureSpace(height + 6);
+            content.drawImage(image, MARGIN, y - height, width, height);
+            y -= height + 6;
+        }
+
+        void gap(float height) {
+            y -= height;
+        }
+
+        @Override
+        public void close() throws IOException {
+            content.close();
+        }
+
+        private void show(PDType1Font font, float size, float x, String text) throws IOException {
+            content.beginText();
+            content.setFont(font, size);
+            // Text positions are baselines; y tracks the top of the next line
+            content.newLineAtOffset(x, y - size);
+            content.showText(printable(font, text));
+            content.endText();
+        }
+
+        private void ensureSpace(float height) throws IOException {
+            if (y - height < MARGIN) {
+                content.close();
+                newPage();
+            }
+        }
+
+        private void newPage() throws IOException {
+            PDPage page = new PDPage(PDRectangle.A4);
+            document.addPage(page);
+            content = new PDPageContentStream(document, page);
+            y = page.getMediaBox().getHeight() - MARGIN;
+        }
+    }
+
+    // Replace characters the font cannot encode, which showText would reject
+    static String printable(PDType1Font font, String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder out = null;
+        for (int i = 0; i < text.length(); ) {
+            int cp = text.codePointAt(i);
+            int next = i + Character.charCount(cp);
+            boolean supported = (cp >= 0x20 && cp < 0x7F) || encodable(font, text.substring(i, next));
+            if (!supported && out == null) {
+                out = new StringBuilder(text.length()).append(text, 0, i);
+            }
+            if (out != null) {
+                out.append(supported ? text.substring(i, next) : "?");
+            }
+            i = next;
+        }
+        return out != null ? out.toString() : text;
+    }
+
+    private static boolean encodable(PDType1Font font, String ch) {
+        if (Character.isISOControl(ch.codePointAt(0))) {
+            return false;
+        }
+        try {
+            font.encode(ch);
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.bikerental.platform.rental.rentals.contract;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rendered PDF contracts on local disk ({@code rentals.contract-pdf.dir}), one file per rental
+ * version, so downloads are a plain file stream. Unlike {@link ContractCache} this also holds open
+ * rentals' contracts. Every change to a rental or its items bumps the rental's version, so a file
+ * of an older version is never looked up again, whichever instance made the change; the owner
+ * still {@link #invalidate}s local files eagerly. ETags are content hashes, kept in memory once computed.
+ */
+@Slf4j
+@Component
+public class ContractPdfStore {
+
+    /**
+     * A stored contract.
+     */
+    public record StoredPdf(Path path, String etag) {
+    }
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final Path dir;
+    private final Duration diskTtl;
+    private final Map<String, StoredPdf> index = new ConcurrentHashMap<>();
+
+    public ContractPdfStore(@Value("${rentals.contract-pdf.dir:${java.io.tmpdir}/bikerental-contract-pdfs}") Path dir,
+                            @Value("${rentals.contract-pdf.disk-ttl:P30D}") Duration diskTtl) {
+        this.dir = dir;
+        this.diskTtl = diskTtl;
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create contract PDF directory " + dir, e);
+        }
+    }
+
+    public Optional<StoredPdf> get(Long hotelId, Long rentalId, String version) {
+        String key = key(hotelId, rentalId, version);
+        StoredPdf stored = index.get(key);
+        if (stored != null) {
+            return Optional.of(stored);
+        }
+
+        // Not indexed since startup: hash the file once
+        Path file = file(key);
+        try {
+            String etag = etag(Files.readAllBytes(file));
+            synchronized (this) {
+                // An invalidation may have deleted the file after we read it
+                if (Files.exists(file)) {
+                    stored = new StoredPdf(file, etag);
+                    index.put(key, stored);
+                    return Optional.of(stored);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // not rendered yet
+        } catch (IOException e) {
+            log.warn("Failed to read stored contract PDF {}: {}", file, e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Store a contract rendered from the given version of the rental.
+     *
+     * @return the stored contract, or empty if it could not be written
+     */
+    public Optional<StoredPdf> put(Long hotelId, Long rentalId, String version, byte[] pdf) {
+        String key = key(hotelId, rentalId, version);
+        String etag = etag(pdf);
+        Path tmp;
+        try {
+            tmp = Files.createTempFile(dir, key, ".part");
+            Files.write(tmp, pdf);
+        } catch (IOException e) {
+            log.warn("Failed to write contract PDF {}: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+
+        synchronized (this) {
+            Path file = file(key);
+            try {
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                log.warn("Failed to store contract PDF {}: {}", key, e.getMessage());
+                deleteQuietly(tmp);
+                return Optional.empty();
+            }
+            StoredPdf stored = new StoredPdf(file, etag);
+            index.put(key, stored);
+            return Optional.of(stored);
+        }
+    }
+
+    /**
+     * Drop every stored version of the rental's contract.
+     */
+    public synchronized void invalidate(Long hotelId, Long rentalId) {
+        String prefix = hotelId + "-" + rentalId + "-";
+        index.keySet().removeIf(key -> key.startsWith(prefix));
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, prefix + "*.pdf")) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to delete contract PDFs of rental {}: {}", rentalId, e.getMessage());
+        }
+    }
+
+    /**
+     * Delete files written more than {@code rentals.contract-pdf.disk-ttl} ago; they are rendered
+     * again on the next download.
+     */
+    @Scheduled(fixedDelayString = "${rentals.contract-pdf.sweep-interval-ms:3600000}",
+            initialDelayString = "${rentals.contract-pdf.sweep-interval-ms:3600000}")
+    public void purgeExpired() {
+        FileTime cutoff = FileTime.from(Instant.now().minus(diskTtl));
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                try {
+                    if (Files.getLastModifiedTime(file).compareTo(cutoff) < 0) {
+                        synchronized (this) {
+                            index.values().removeIf(stored -> stored.path().equals(file));
+                            if (Files.deleteIfExists(file)) {
+                                deleted++;
+                            }
+                        }
+                    }
+                } catch (IOException e) {
+                    log.debug("Skipping contract PDF {}: {}", file, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to sweep contract PDFs {}: {}", dir, e.getMessage());
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} expired contract PDFs", deleted);
+        }
+    }
+
+    private Path file(String key) {
+        return dir.resolve(key + ".pdf");
+    }
+
+    private static String key(Long hotelId, Long rentalId, String version) {
+        return hotelId + "-" + rentalId + "-" + version;
+    }
+
+    private static String etag(byte[] pdf) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(pdf);
+            return "\"" + HEX.formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Failed to delete {}: {}", file, e.getMessage());
+        }
+    }
+}
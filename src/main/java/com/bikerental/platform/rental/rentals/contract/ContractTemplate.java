@@ -0,0 +1,253 @@
+package com.bikerental.platform.rental.rentals.contract;
+
+import com.bikerental.platform.rental.bike.model.Bike;
+import com.bikerental.platform.rental.common.html.HtmlEscaper;
+import com.bikerental.platform.rental.common.html.Utf8Output;
+import com.bikerental.platform.rental.rentals.model.Rental;
+import com.bikerental.platform.rental.rentals.model.RentalItem;
+import com.bikerental.platform.rental.rentals.model.RentalItemStatus;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Precompiled rental contract HTML template.
+ * Every static part of the document is encoded to UTF-8 once, at class load; rendering copies
+ * those chunks, the escaped dynamic fields and the Base64 signature through one small buffer
+ * to the target stream. The stylesheet ({@code contract/contract.css}) is either linked, so
+ * browsers can cache it, or inlined for self-contained documents.
+ */
+public final class ContractTemplate {
+
+    public static final String STYLESHEET_CONTENT_TYPE = "text/css;charset=UTF-8";
+
+    private static final byte[] STYLESHEET = loadStylesheet();
+
+    /**
+     * Short content hash of the stylesheet, used to version its URL so it can be cached forever.
+     */
+    public static final String STYLESHEET_VERSION = sha256Prefix(STYLESHEET);
+
+    // The signature is Base64-encoded into this buffer too: the JDK's wrapping encoder allocates 8 KB per use
+    private static final int BUFFER_SIZE = 1024;
+
+    // Shared with ContractPdfRenderer so both formats read the same
+    static final DateTimeFormatter DATE_FORMATTER =
+            DateTimeFormatter.ofPattern("MMM d, yyyy 'at' h:mm a")
+                    .withZone(ZoneId.systemDefault());
+
+    private static final byte[] DOCUMENT_START = utf8("""
+            <!DOCTYPE html>
+            <html lang="en">
+            <head>
+              <meta charset="UTF-8">
+              <meta name="viewport" content="width=device-width, initial-scale=1.0">
+              <title>Rental Contract #""");
+    private static final byte[] TITLE_END = utf8("</title>\n");
+    private static final byte[] LINK_START = utf8("  <link rel=\"stylesheet\" href=\"");
+    private static final byte[] LINK_END = utf8("\">\n");
+    private static final byte[] STYLE_START = utf8("  <style>\n");
+    private static final byte[] STYLE_END = utf8("  </style>\n");
+    private static final byte[] HEADER_START = utf8("""
+            </head>
+            <body>
+              <div class="header">
+                <h1>Bike Rental Contract</h1>
+                <div class="contract-id">Contract #""");
+    private static final byte[] DETAILS_START = utf8("""
+            </div>
+              </div>
+              <div class="section">
+                <h2>Rental Details</h2>
+                <div class="info-grid">
+                  <div class="info-item">
+                    <div class="info-label">Room Number</div>
+                    <div class="info-value">""");
+    private static final byte[] BED_NUMBER = utf8("""
+            </div>
+                  </div>
+                  <div class="info-item">
+                    <div class="info-label">Bed Number</div>
+                    <div class="info-value">""");
+    private static final byte[] START_DATE = utf8("""
+            </div>
+                  </div>
+                  <div class="info-item">
+                    <div class="info-label">Start Date</div>
+                    <div class="info-value">""");
+    private static final byte[] DUE_DATE = utf8("""
+            </div>
+                  </div>
+                  <div class="info-item">
+                    <div class="info-label">Due Date</div>
+                    <div class="info-value">""");
+    private static final byte[] STATUS = utf8("""
+            </div>
+                  </div>
+                  <div class="info-item">
+                    <div class="info-label">Status</div>
+                    <div class="info-value">""");
+    private static final byte[] BIKES_START = utf8("""
+            </div>
+                  </div>
+                </div>
+              </div>
+              <div class="section">
+                <h2>Rented Bikes</h2>
+                <table class="bikes-table">
+                  <thead>
+                    <tr>
+                      <th>Bike Number</th>
+                      <th>Type</th>
+                      <th>Status</th>
+                    </tr>
+                  </thead>
+                  <tbody>
+            """);
+    private static final byte[] ROW_START = utf8("        <tr>\n          <td>");
+    private static final byte[] CELL_BREAK = utf8("</td>\n          <td>");
+    private static final byte[] ROW_END = utf8("</span></td>\n        </tr>\n");
+    private static final Map<RentalItemStatus, byte[]> STATUS_BADGES = statusBadges();
+    private static final byte[] BIKES_END = utf8("""
+                  </tbody>
+                </table>
+              </div>
+              <div class="section signature-section">
+                <h2>Guest Signature</h2>
+            """);
+    private static final byte[] SIGNATURE_START = utf8(
+            "    <img class=\"signature-img\" src=\"data:image/png;base64,");
+    private static final byte[] SIGNATURE_END = utf8("\" alt=\"Guest Signature\" />\n");
+    private static final byte[] SIGNATURE_MISSING = utf8(
+            "    <p class=\"signature-missing\">Signature not available</p>\n");
+    private static final byte[] TNC_START = utf8("""
+              </div>
+              <div class="tnc">
+                <h3>Terms &amp; Conditions (v""");
+    static final String TNC_INTRO = "By signing this contract, the guest agrees to the following terms:";
+    static final List<String> TNC_TERMS = List.of(
+            "The guest is responsible for the rented bike(s) during the rental period.",
+            "Bikes must be returned by the due date and time specified above.",
+            "The guest is liable for any damage or loss of the bike(s).",
+            "Late returns may incur additional charges.");
+    private static final byte[] DOCUMENT_END = utf8(")</h3>\n    <p>" + TNC_INTRO + "</p>\n    <ul>\n"
+            + TNC_TERMS.stream().map(term -> "      <li>" + term + "</li>\n").collect(Collectors.joining())
+            + """
+                </ul>
+              </div>
+            </body>
+            </html>
+            """);
+
+    private ContractTemplate() {
+    }
+
+    /**
+     * Render a contract. The rental's items and their bikes must already be loaded.
+     *
+     * @param signaturePng the guest signature, or null if unavailable
+     * @param stylesheetHref URL to link the stylesheet from, or null to inline it
+     * @param out receives the document; not closed
+     */
+    public static void write(Rental rental, byte[] signaturePng, String stylesheetHref,
+                             OutputStream out) throws IOException {
+        Utf8Output html = new Utf8Output(out, BUFFER_SIZE);
+
+        html.write(DOCUMENT_START).writeDecimal(rental.getRentalId()).write(TITLE_END);
+        if (stylesheetHref != null) {
+            html.write(LINK_START);
+            HtmlEscaper.escape(stylesheetHref, html);
+            html.write(LINK_END);
+        } else {
+            html.write(STYLE_START).write(STYLESHEET).write(STYLE_END);
+        }
+
+        html.write(HEADER_START).writeDecimal(rental.getRentalId()).write(DETAILS_START);
+        HtmlEscaper.escape(rental.getRoomNumber(), html);
+        if (rental.getBedNumber() != null && !rental.getBedNumber().isEmpty()) {
+            html.write(BED_NUMBER);
+            HtmlEscaper.escape(rental.getBedNumber(), html);
+        }
+        // Formatted dates contain no characters that need escaping
+        html.write(START_DATE);
+        DATE_FORMATTER.formatTo(rental.getStartAt(), html);
+        html.write(DUE_DATE);
+        DATE_FORMATTER.formatTo(rental.getDueAt(), html);
+        html.write(STATUS).append(rental.getStatus().name());
+
+        html.write(BIKES_START);
+        for (RentalItem item : rental.getItems()) {
+            Bike bike = item.getBike();
+            html.write(ROW_START);
+            HtmlEscaper.escape(bike != null ? bike.getBikeNumber() : "Unknown", html);
+            html.write(CELL_BREAK);
+            HtmlEscaper.escape(bike != null && bike.getBikeType() != null ? bike.getBikeType() : "-", html);
+            html.write(STATUS_BADGES.get(item.getStatus())).write(ROW_END);
+        }
+
+        html.write(BIKES_END);
+        if (signaturePng != null && signaturePng.length > 0) {
+            html.write(SIGNATURE_START);
+            html.writeBase64(signaturePng);
+            html.write(SIGNATURE_END);
+        } else {
+            html.write(SIGNATURE_MISSING);
+        }
+        html.write(TNC_START);
+        HtmlEscaper.escape(rental.getTncVersion(), html);
+        html.write(DOCUMENT_END).flush();
+    }
+
+    /**
+     * The contract stylesheet, for serving as a separate resource.
+     */
+    public static byte[] stylesheet() {
+        return STYLESHEET.clone();
+    }
+
+    // Opening cell of the status column, one per status so the row loop writes a single chunk
+    private static Map<RentalItemStatus, byte[]> statusBadges() {
+        Map<RentalItemStatus, byte[]> badges = new EnumMap<>(RentalItemStatus.class);
+        for (RentalItemStatus status : RentalItemStatus.values()) {
+            badges.put(status, utf8("</td>\n          <td><span class=\"status-badge status-"
+                    + status.name().toLowerCase() + "\">" + status.name()));
+        }
+        return badges;
+    }
+
+    private static byte[] utf8(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] loadStylesheet() {
+        try (InputStream in = ContractTemplate.class.getResourceAsStream("/contract/contract.css")) {
+            if (in == null) {
+                throw new IllegalStateException("contract/contract.css not found on the classpath");
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String sha256Prefix(byte[] content) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(hash, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
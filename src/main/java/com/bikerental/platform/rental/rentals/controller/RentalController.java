@@ -1,19 +1,35 @@
 package com.bikerental.platform.rental.rentals.controller;
 
+import com.bikerental.platform.rental.common.csv.CsvDownload;
+import com.bikerental.platform.rental.idempotency.web.Idempotent;
+import com.bikerental.platform.rental.rentals.contract.ContractDocument;
+import com.bikerental.platform.rental.rentals.contract.ContractTemplate;
 import com.bikerental.platform.rental.rentals.dto.AddBikeRequest;
+import com.bikerental.platform.rental.rentals.dto.BatchCreateRentalRequest;
+import com.bikerental.platform.rental.rentals.dto.BatchCreateRentalResponse;
 import com.bikerental.platform.rental.rentals.dto.CreateRentalRequest;
 import com.bikerental.platform.rental.rentals.dto.MarkLostRequest;
 import com.bikerental.platform.rental.rentals.dto.MarkLostResponse;
 import com.bikerental.platform.rental.rentals.dto.RentalDetailResponse;
 import com.bikerental.platform.rental.rentals.dto.RentalItemDetailResponse;
+import com.bikerental.platform.rental.rentals.dto.RentalPageResponse;
 import com.bikerental.platform.rental.rentals.dto.RentalResponse;
 import com.bikerental.platform.rental.rentals.dto.ReturnAllResponse;
 import com.bikerental.platform.rental.rentals.dto.ReturnBikeResponse;
 import com.bikerental.platform.rental.rentals.dto.ReturnSelectedRequest;
+import com.bikerental.platform.rental.rentals.model.RentalStatus;
+import com.bikerental.platform.rental.rentals.service.ContractPdfService;
+import com.bikerental.platform.rental.rentals.service.ContractZipService;
+import com.bikerental.platform.rental.rentals.service.RentalBatchService;
 import com.bikerental.platform.rental.rentals.service.RentalContractService;
+import com.bikerental.platform.rental.rentals.service.RentalExportService;
+import com.bikerental.platform.rental.rentals.service.RentalHistoryService;
 import com.bikerental.platform.rental.rentals.service.RentalService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -22,8 +38,18 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
 
 /**
  * REST controller for rental operations.
@@ -36,19 +62,111 @@ public class RentalController {
 
     private final RentalService rentalService;
     private final RentalContractService rentalContractService;
+    private final ContractPdfService contractPdfService;
+    private final ContractZipService contractZipService;
+    private final RentalBatchService rentalBatchService;
+    private final RentalHistoryService rentalHistoryService;
+    private final RentalExportService rentalExportService;
 
     /**
      * Create a new rental with the given bikes.
+     * Honours the Idempotency-Key header: duplicates replay the original response.
      *
      * @param request The rental creation request
      * @return The created rental (201 Created)
      */
+    @Idempotent
     @PostMapping
     public ResponseEntity<RentalResponse> createRental(@Valid @RequestBody CreateRentalRequest request) {
         RentalResponse response = rentalService.createRental(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Create many rentals in one call (group check-in).
+     *
+     * @param request The contracts to create and the partial-failure mode
+     * @return Per-contract results: 201 if all were created, 200 if some failed (best-effort),
+     *         409 if none were created
+     */
+    @Idempotent
+    @PostMapping("/batch")
+    public ResponseEntity<BatchCreateRentalResponse> createRentals(@Valid @RequestBody BatchCreateRentalRequest request) {
+        BatchCreateRentalResponse response = rentalBatchService.createRentals(request);
+
+        HttpStatus status;
+        if (response.getCreatedCount() == 0) {
+            status = HttpStatus.CONFLICT;
+        } else if (response.getFailedCount() > 0) {
+            status = HttpStatus.OK;
+        } else {
+            status = HttpStatus.CREATED;
+        }
+        return ResponseEntity.status(status).body(response);
+    }
+
+    /**
+     * Search rental history, newest first, one keyset page at a time.
+     *
+     * @param status Optional status filter
+     * @param from Optional inclusive lower bound on start time (ISO-8601)
+     * @param to Optional exclusive upper bound on start time (ISO-8601)
+     * @param roomNumber Optional exact room number
+     * @param bikeNumber Optional bike number contained in the rental
+     * @param cursor nextCursor from the previous page
+     * @param limit Page size (default 50, max 200)
+     * @return The page and the cursor for the next one
+     */
+    @GetMapping
+    public ResponseEntity<RentalPageResponse> listRentals(
+            @RequestParam(required = false) RentalStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) String roomNumber,
+            @RequestParam(required = false) String bikeNumber,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        RentalPageResponse response = rentalHistoryService.findRentals(
+                status, from, to, roomNumber, bikeNumber, cursor, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Export rental history as CSV, one row per rented bike, newest rental first.
+     * Archived rentals are included. Streamed, and gzip-compressed if the client accepts it.
+     *
+     * @param from Optional inclusive lower bound on start time (ISO-8601)
+     * @param to Optional exclusive upper bound on start time (ISO-8601)
+     */
+    @GetMapping("/export.csv")
+    public ResponseEntity<StreamingResponseBody> exportRentalsCsv(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        String filename = "rentals-" + LocalDate.now() + ".csv";
+        return CsvDownload.of(filename, acceptEncoding, rentalExportService.exportRentalsCsv(from, to));
+    }
+
+    /**
+     * Download every contract (PDF) and guest signature (PNG) of rentals started in a date range
+     * as one ZIP, newest rental first. Archived rentals are included. Streamed as it is built.
+     *
+     * @param from Inclusive lower bound on start time (ISO-8601)
+     * @param to Exclusive upper bound on start time (ISO-8601)
+     */
+    @GetMapping("/contracts.zip")
+    public ResponseEntity<StreamingResponseBody> exportContractsZip(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        StreamingResponseBody body = contractZipService.exportContractsZip(from, to);
+        String filename = "contracts-" + LocalDate.ofInstant(from, ZoneOffset.UTC)
+                + "-" + LocalDate.ofInstant(to, ZoneOffset.UTC) + ".zip";
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
     /**
      * Get detailed rental information by ID.
      *
@@ -63,31 +181,110 @@ public class RentalController {
 
     /**
      * Get the signature image for a rental.
+     * Signatures never change: the ETag is derived from the signature ID, so a revalidation is
+     * answered without reading the image, and the image may be cached as immutable.
      *
      * @param rentalId The rental ID
-     * @return The signature as PNG image
+     * @return The signature as PNG image, or 304 if the client's copy is current
      */
     @GetMapping("/{rentalId}/signature")
-    public ResponseEntity<byte[]> getRentalSignature(@PathVariable Long rentalId) {
-        byte[] signatureData = rentalContractService.getSignatureForRental(rentalId);
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.IMAGE_PNG);
-        headers.setContentLength(signatureData.length);
-        
-        return new ResponseEntity<>(signatureData, headers, HttpStatus.OK);
+    public ResponseEntity<StreamingResponseBody> getRentalSignature(@PathVariable Long rentalId,
+                                                                    WebRequest webRequest) {
+        Long signatureId = rentalContractService.getSignatureId(rentalId);
+        String etag = "\"signature-" + signatureId + "\"";
+        CacheControl cacheControl = CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_PNG)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .body(rentalContractService.streamSignature(signatureId));
     }
 
     /**
      * Get the contract document for a rental.
+     * The stylesheet is linked from {@link #getContractStylesheet()}. A CLOSED rental's contract
+     * is served from the contract cache with a strong ETag; clients must revalidate, as undoReturn
+     * can reopen the rental, and get 304 while it is unchanged. An open rental's contract is
+     * streamed as it is rendered and not cached.
      *
      * @param rentalId The rental ID
-     * @return The contract as HTML document
+     * @return The contract as HTML document, or 304 if the client's copy is current
      */
     @GetMapping(value = "/{rentalId}/contract", produces = MediaType.TEXT_HTML_VALUE)
-    public ResponseEntity<String> getRentalContract(@PathVariable Long rentalId) {
-        String contractHtml = rentalContractService.generateContractHtml(rentalId);
-        return ResponseEntity.ok(contractHtml);
+    public ResponseEntity<StreamingResponseBody> getRentalContract(@PathVariable Long rentalId,
+                                                                   WebRequest webRequest) {
+        ContractDocument contract = rentalContractService.getContract(rentalId);
+        if (contract.etag() == null) {
+            return ResponseEntity.ok()
+                    .contentType(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8))
+                    .body(contract.body());
+        }
+
+        // Private: the contract holds guest data, so shared caches must not keep it
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (webRequest.checkNotModified(contract.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(contract.etag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8))
+                .eTag(contract.etag())
+                .cacheControl(cacheControl)
+                .body(contract.body());
+    }
+
+    /**
+     * Get the contract of a rental as a PDF, for printing and email.
+     * Usually pre-rendered when the rental was created or closed, so this streams a stored file.
+     * Clients must revalidate, as undoReturn can reopen a CLOSED rental; that is answered with
+     * 304 while the PDF is unchanged.
+     *
+     * @param rentalId The rental ID
+     * @return The contract as PDF document, or 304 if the client's copy is current
+     */
+    @GetMapping("/{rentalId}/contract.pdf")
+    public ResponseEntity<Resource> getRentalContractPdf(@PathVariable Long rentalId, WebRequest webRequest) {
+        ContractPdfService.ContractPdf pdf = contractPdfService.getContractPdf(rentalId);
+        if (pdf.etag() == null) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_PDF)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"contract-" + rentalId + ".pdf\"")
+                    .body(pdf.body());
+        }
+
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (webRequest.checkNotModified(pdf.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(pdf.etag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"contract-" + rentalId + ".pdf\"")
+                .eTag(pdf.etag())
+                .cacheControl(cacheControl)
+                .body(pdf.body());
+    }
+
+    /**
+     * The contract stylesheet. Public and cached for a year: its URL changes with its content.
+     */
+    @GetMapping("/contract.css")
+    public ResponseEntity<byte[]> getContractStylesheet() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ContractTemplate.STYLESHEET_CONTENT_TYPE))
+                .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                .eTag(ContractTemplate.STYLESHEET_VERSION)
+                .body(ContractTemplate.stylesheet());
     }
 
     /**
@@ -97,6 +294,7 @@ public class RentalController {
      * @param rentalItemId The rental item ID
      * @return The return confirmation with updated status
      */
+    @Idempotent
     @PostMapping("/{rentalId}/items/{rentalItemId}/return")
     public ResponseEntity<ReturnBikeResponse> returnBike(
             @PathVariable Long rentalId,
@@ -146,6 +344,7 @@ public class RentalController {
      * @param request The request containing rental item IDs to return
      * @return The return confirmation with all returned items
      */
+    @Idempotent
     @PostMapping("/{rentalId}/return-selected")
     public ResponseEntity<ReturnAllResponse> returnSelected(
             @PathVariable Long rentalId,
@@ -160,6 +359,7 @@ public class RentalController {
      * @param rentalId The rental ID
      * @return The return confirmation with all returned items
      */
+    @Idempotent
     @PostMapping("/{rentalId}/return-all")
     public ResponseEntity<ReturnAllResponse> returnAll(@PathVariable Long rentalId) {
         ReturnAllResponse response = rentalService.returnAll(rentalId);
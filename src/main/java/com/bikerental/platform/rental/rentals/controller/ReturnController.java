@@ -0,0 +1,37 @@
+package com.bikerental.platform.rental.rentals.controller;
+
+import com.bikerental.platform.rental.idempotency.web.Idempotent;
+import com.bikerental.platform.rental.rentals.dto.ScanReturnRequest;
+import com.bikerental.platform.rental.rentals.dto.ScanReturnResponse;
+import com.bikerental.platform.rental.rentals.service.RentalService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for return-desk operations that are not tied to a single rental.
+ */
+@RestController
+@RequestMapping("/api/returns")
+@RequiredArgsConstructor
+public class ReturnController {
+
+    private final RentalService rentalService;
+
+    /**
+     * Return scanned bikes without knowing which rentals they belong to.
+     *
+     * @param request The scanned bike numbers
+     * @return Returned items grouped per rental, plus unmatched bike numbers
+     */
+    @Idempotent
+    @PostMapping
+    public ResponseEntity<ScanReturnResponse> returnScannedBikes(@Valid @RequestBody ScanReturnRequest request) {
+        ScanReturnResponse response = rentalService.returnByBikeNumbers(request.getBikeNumbers());
+        return ResponseEntity.ok(response);
+    }
+}
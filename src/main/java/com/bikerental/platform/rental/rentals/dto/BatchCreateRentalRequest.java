@@ -0,0 +1,33 @@
+package com.bikerental.platform.rental.rentals.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Request DTO for group check-in: many rental contracts created in one call.
+ * {@code mode} is optional and defaults to rentals.batch.default-mode.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class BatchCreateRentalRequest {
+
+    public static final int MAX_RENTALS = 100;
+
+    @NotEmpty(message = "At least one rental is required")
+    @Size(max = MAX_RENTALS, message = "At most " + MAX_RENTALS + " rentals per batch")
+    private List<@Valid CreateRentalRequest> rentals;
+
+    private BatchMode mode;
+
+    public BatchCreateRentalRequest(List<CreateRentalRequest> rentals, BatchMode mode) {
+        this.rentals = rentals;
+        this.mode = mode;
+    }
+}
@@ -0,0 +1,29 @@
+package com.bikerental.platform.rental.rentals.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Response DTO for group check-in, with one result per requested contract in request order.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class BatchCreateRentalResponse {
+
+    private BatchMode mode;
+    private int createdCount;
+    private int failedCount;
+    private List<BatchRentalResult> results;
+
+    public BatchCreateRentalResponse(BatchMode mode, int createdCount, int failedCount,
+                                     List<BatchRentalResult> results) {
+        this.mode = mode;
+        this.createdCount = createdCount;
+        this.failedCount = failedCount;
+        this.results = results;
+    }
+}
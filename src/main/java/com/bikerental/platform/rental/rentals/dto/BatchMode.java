@@ -0,0 +1,11 @@
+package com.bikerental.platform.rental.rentals.dto;
+
+/**
+ * Partial-failure handling for group check-in.
+ */
+public enum BatchMode {
+    /** Create no rentals if any contract fails validation. */
+    ALL_OR_NOTHING,
+    /** Create every contract that passes validation; report the rest as failed. */
+    BEST_EFFORT
+}
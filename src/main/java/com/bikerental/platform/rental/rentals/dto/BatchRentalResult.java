@@ -0,0 +1,56 @@
+package com.bikerental.platform.rental.rentals.dto;
+
+import com.bikerental.platform.rental.common.exception.BikeUnavailableException;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Outcome of one contract in a group check-in, matched to the request by {@code index}.
+ * {@code error} uses the same codes as single-rental errors (BAD_REQUEST, BIKES_UNAVAILABLE).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class BatchRentalResult {
+
+    public enum Outcome {
+        CREATED,
+        FAILED,
+        /** Valid, but not created because another contract failed in ALL_OR_NOTHING mode. */
+        NOT_CREATED
+    }
+
+    private int index;
+    private Outcome outcome;
+    private RentalResponse rental;
+    private String error;
+    private String message;
+    private List<BikeUnavailableException.UnavailableBike> unavailableBikes;
+
+    public BatchRentalResult(int index, Outcome outcome, RentalResponse rental, String error,
+                             String message, List<BikeUnavailableException.UnavailableBike> unavailableBikes) {
+        this.index = index;
+        this.outcome = outcome;
+        this.rental = rental;
+        this.error = error;
+        this.message = message;
+        this.unavailableBikes = unavailableBikes;
+    }
+
+    public static BatchRentalResult created(int index, RentalResponse rental) {
+        return new BatchRentalResult(index, Outcome.CREATED, rental, null, null, null);
+    }
+
+    public static BatchRentalResult notCreated(int index) {
+        return new BatchRentalResult(index, Outcome.NOT_CREATED, null, null,
+                "Not created because another rental in the batch failed", null);
+    }
+
+    public static BatchRentalResult failed(int index, String error, String message,
+                                           List<BikeUnavailableException.UnavailableBike> unavailableBikes) {
+        return new BatchRentalResult(index, Outcome.FAILED, null, error, message, unavailableBikes);
+    }
+}
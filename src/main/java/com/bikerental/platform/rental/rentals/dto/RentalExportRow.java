@@ -0,0 +1,27 @@
+package com.bikerental.platform.rental.rentals.dto;
+
+import com.bikerental.platform.rental.rentals.model.RentalItemStatus;
+import com.bikerental.platform.rental.rentals.model.RentalStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * One rental item with its rental's fields, as streamed for the rental history CSV export.
+ * Built directly from a JPQL constructor expression.
+ */
+@Getter
+@AllArgsConstructor
+public class RentalExportRow {
+    private Long rentalId;
+    private RentalStatus status;
+    private Instant startAt;
+    private Instant dueAt;
+    private Instant returnAt;
+    private String roomNumber;
+    private String bedNumber;
+    private String bikeNumber;
+    private RentalItemStatus itemStatus;
+    private Instant returnedAt;
+}
@@ -0,0 +1,25 @@
+package com.bikerental.platform.rental.rentals.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * One page of rental history, newest first.
+ * {@code nextCursor} is null on the last page.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class RentalPageResponse {
+
+    private List<RentalSummaryResponse> items;
+    private String nextCursor;
+
+    public RentalPageResponse(List<RentalSummaryResponse> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+}
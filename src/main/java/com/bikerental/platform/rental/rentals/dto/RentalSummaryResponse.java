@@ -0,0 +1,39 @@
+package com.bikerental.platform.rental.rentals.dto;
+
+import com.bikerental.platform.rental.rentals.model.RentalStatus;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Lightweight rental row for history/search listings.
+ * Built directly from a JPQL constructor expression - no entities or signature data are loaded.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class RentalSummaryResponse {
+
+    private Long rentalId;
+    private RentalStatus status;
+    private Instant startAt;
+    private Instant dueAt;
+    private Instant returnAt;
+    private String roomNumber;
+    private String bedNumber;
+    private List<String> bikeNumbers;
+
+    public RentalSummaryResponse(Long rentalId, RentalStatus status, Instant startAt, Instant dueAt,
+                                 Instant returnAt, String roomNumber, String bedNumber) {
+        this.rentalId = rentalId;
+        this.status = status;
+        this.startAt = startAt;
+        this.dueAt = dueAt;
+        this.returnAt = returnAt;
+        this.roomNumber = roomNumber;
+        this.bedNumber = bedNumber;
+    }
+}
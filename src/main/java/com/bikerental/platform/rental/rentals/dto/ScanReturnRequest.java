@@ -0,0 +1,25 @@
+package com.bikerental.platform.rental.rentals.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Request DTO for scan-to-return: bike numbers scanned at the return desk, in any order.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class ScanReturnRequest {
+
+    @NotEmpty(message = "At least one bike number is required")
+    private List<@NotBlank(message = "Bike number cannot be blank") String> bikeNumbers;
+
+    public ScanReturnRequest(List<String> bikeNumbers) {
+        this.bikeNumbers = bikeNumbers;
+    }
+}
@@ -0,0 +1,27 @@
+package com.bikerental.platform.rental.rentals.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Response DTO for scan-to-return.
+ * Returned items are grouped per rental; scanned numbers with no open rental item are listed as unmatched.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class ScanReturnResponse {
+
+    private int returnedCount;
+    private List<ReturnAllResponse> rentals;
+    private List<String> unmatchedBikeNumbers;
+
+    public ScanReturnResponse(int returnedCount, List<ReturnAllResponse> rentals, List<String> unmatchedBikeNumbers) {
+        this.returnedCount = returnedCount;
+        this.rentals = rentals;
+        this.unmatchedBikeNumbers = unmatchedBikeNumbers;
+    }
+}
@@ -0,0 +1,29 @@
+package com.bikerental.platform.rental.rentals.event;
+
+import com.bikerental.platform.rental.rentals.model.Rental;
+import com.bikerental.platform.rental.rentals.model.RentalItem;
+import com.bikerental.platform.rental.rentals.model.RentalStatus;
+
+/**
+ * A rental or one of its items was inserted or updated, so its contract may have changed.
+ * Published from the JPA lifecycle, so listeners that need committed state should use
+ * {@code @TransactionalEventListener}.
+ *
+ * @param status the rental's status after the change, or null for item changes
+ * @param created true when the rental itself was inserted
+ */
+public record RentalChangedEvent(Long hotelId, Long rentalId, RentalStatus status, boolean created) {
+
+    public static RentalChangedEvent created(Rental rental) {
+        return new RentalChangedEvent(rental.getHotelId(), rental.getRentalId(), rental.getStatus(), true);
+    }
+
+    public static RentalChangedEvent updated(Rental rental) {
+        return new RentalChangedEvent(rental.getHotelId(), rental.getRentalId(), rental.getStatus(), false);
+    }
+
+    // Reads only the rental's id, so a lazy rental proxy is not initialised during flush
+    public static RentalChangedEvent itemChanged(RentalItem item) {
+        return new RentalChangedEvent(item.getHotelId(), item.getRental().getRentalId(), null, false);
+    }
+}
@@ -0,0 +1,39 @@
+package com.bikerental.platform.rental.rentals.event;
+
+import com.bikerental.platform.rental.rentals.model.Rental;
+import com.bikerental.platform.rental.rentals.model.RentalItem;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes a {@link RentalChangedEvent} for every rental and rental item written through JPA.
+ * Hibernate obtains this listener from Spring, so it can use the application's event publisher.
+ * JPQL/native bulk statements bypass it; the only ones (archival) move rows without changing them.
+ */
+@Component
+@RequiredArgsConstructor
+public class RentalEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    void onPersisted(Object entity) {
+        if (entity instanceof Rental rental) {
+            eventPublisher.publishEvent(RentalChangedEvent.created(rental));
+        } else if (entity instanceof RentalItem item) {
+            eventPublisher.publishEvent(RentalChangedEvent.itemChanged(item));
+        }
+    }
+
+    @PostUpdate
+    void onUpdated(Object entity) {
+        if (entity instanceof Rental rental) {
+            eventPublisher.publishEvent(RentalChangedEvent.updated(rental));
+        } else if (entity instanceof RentalItem item) {
+            eventPublisher.publishEvent(RentalChangedEvent.itemChanged(item));
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.bikerental.platform.rental.rentals.event;
+
+/**
+ * A CLOSED rental went back to ACTIVE (an item return was undone), so its contract changed.
+ * Published inside the transaction; listeners that need committed state should use
+ * {@code @TransactionalEventListener}.
+ */
+public record RentalReopenedEvent(Long hotelId, Long rentalId) {
+}
@@ -0,0 +1,96 @@
+package com.bikerental.platform.rental.rentals.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A CLOSED rental moved out of the live tables by the archival job.
+ * Keeps the original rental_id; rows are written by bulk copy and only read afterwards.
+ */
+@Entity
+@Table(name = "rentals_archive", indexes = {
+    @Index(name = "idx_rental_archive_hotel_start", columnList = "hotel_id, start_at, rental_id"),
+    @Index(name = "idx_rental_archive_hotel_room_start", columnList = "hotel_id, room_number, start_at, rental_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class ArchivedRental {
+
+    @Id
+    @Column(name = "rental_id")
+    private Long rentalId;
+
+    @Column(name = "hotel_id", nullable = false)
+    private Long hotelId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private RentalStatus status;
+
+    @Column(name = "start_at", nullable = false)
+    private Instant startAt;
+
+    @Column(name = "due_at", nullable = false)
+    private Instant dueAt;
+
+    @Column(name = "return_at")
+    private Instant returnAt;
+
+    @Column(name = "room_number", nullable = false, length = 50)
+    private String roomNumber;
+
+    @Column(name = "bed_number", length = 50)
+    private String bedNumber;
+
+    @Column(name = "tnc_version", nullable = false, length = 50)
+    private String tncVersion;
+
+    @Column(name = "signature_id", nullable = false)
+    private Long signatureId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+
+    @OneToMany(mappedBy = "rental")
+    @OrderBy("rentalItemId")
+    private List<ArchivedRentalItem> items = new ArrayList<>();
+
+    /**
+     * Detached {@link Rental} copy with items (and their bikes, if fetched) so read paths
+     * built for live rentals can render archived ones unchanged. Never persist the result.
+     */
+    public Rental toRental() {
+        Rental rental = new Rental();
+        rental.setRentalId(rentalId);
+        rental.setHotelId(hotelId);
+        rental.setStatus(status);
+        rental.setStartAt(startAt);
+        rental.setDueAt(dueAt);
+        rental.setReturnAt(returnAt);
+        rental.setRoomNumber(roomNumber);
+        rental.setBedNumber(bedNumber);
+        rental.setTncVersion(tncVersion);
+        rental.setSignatureId(signatureId);
+        rental.setCreatedAt(createdAt);
+        for (ArchivedRentalItem archived : items) {
+            RentalItem item = new RentalItem(rental, archived.getBikeId());
+            item.setRentalItemId(archived.getRentalItemId());
+            item.setBike(archived.getBike());
+            item.setStatus(archived.getStatus());
+            item.setReturnedAt(archived.getReturnedAt());
+            item.setLostReason(archived.getLostReason());
+            rental.getItems().add(item);
+        }
+        return rental;
+    }
+}
@@ -0,0 +1,56 @@
+package com.bikerental.platform.rental.rentals.model;
+
+import com.bikerental.platform.rental.bike.model.Bike;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * An item of an {@link ArchivedRental}, moved together with its rental.
+ * No I1 generated column: archived items are never RENTED.
+ */
+@Entity
+@Table(name = "rental_items_archive", indexes = {
+    @Index(name = "idx_rental_item_archive_rental", columnList = "rental_id"),
+    @Index(name = "idx_rental_item_archive_hotel_bike", columnList = "hotel_id, bike_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class ArchivedRentalItem {
+
+    @Id
+    @Column(name = "rental_item_id")
+    private Long rentalItemId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "rental_id", nullable = false)
+    private ArchivedRental rental;
+
+    @Column(name = "hotel_id", nullable = false)
+    private Long hotelId;
+
+    @Column(name = "bike_id", nullable = false)
+    private Long bikeId;
+
+    /**
+     * Read-only association over bike_id for fetch joins; the archive has no FK to bikes.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "bike_id", insertable = false, updatable = false,
+                foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Bike bike;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private RentalItemStatus status;
+
+    @Column(name = "returned_at")
+    private Instant returnedAt;
+
+    @Column(name = "lost_reason", columnDefinition = "TEXT")
+    private String lostReason;
+}
@@ -1,5 +1,6 @@
 package com.bikerental.platform.rental.rentals.model;
 
+import com.bikerental.platform.rental.rentals.event.RentalEntityListener;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -14,9 +15,13 @@ import java.util.List;
  * Scoped to a hotel via hotelId.
  */
 @Entity
+@EntityListeners(RentalEntityListener.class)
 @Table(name = "rentals", indexes = {
     @Index(name = "idx_rental_hotel_status", columnList = "hotel_id, status"),
-    @Index(name = "idx_rental_due_at", columnList = "hotel_id, due_at")
+    @Index(name = "idx_rental_due_at", columnList = "hotel_id, due_at"),
+    @Index(name = "idx_rental_hotel_start", columnList = "hotel_id, start_at, rental_id"),
+    @Index(name = "idx_rental_hotel_room_start", columnList = "hotel_id, room_number, start_at, rental_id"),
+    @Index(name = "idx_rental_status_return", columnList = "status, return_at, rental_id")
 })
 @Getter
 @Setter
@@ -59,6 +64,13 @@ public class Rental {
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
+    /**
+     * Optimistic lock version, bumped on every change to the rental or its items.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "rental", cascade = {CascadeType.PERSIST, CascadeType.MERGE}, orphanRemoval = false)
     private List<RentalItem> items = new ArrayList<>();
 
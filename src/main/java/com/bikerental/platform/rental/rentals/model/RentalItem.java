@@ -1,5 +1,7 @@
 package com.bikerental.platform.rental.rentals.model;
 
+import com.bikerental.platform.rental.bike.model.Bike;
+import com.bikerental.platform.rental.rentals.event.RentalEntityListener;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -12,8 +14,11 @@ import java.time.Instant;
  * Each rental item tracks the status of one bike: RENTED, RETURNED, or LOST.
  */
 @Entity
+@EntityListeners(RentalEntityListener.class)
 @Table(name = "rental_items", indexes = {
-    @Index(name = "idx_rental_item_bike", columnList = "bike_id")
+    @Index(name = "idx_rental_item_bike", columnList = "bike_id"),
+    @Index(name = "idx_rental_item_hotel_bike_status", columnList = "hotel_id, bike_id, status"),
+    @Index(name = "idx_rental_item_hotel_status", columnList = "hotel_id, status")
 })
 @Getter
 @Setter
@@ -29,9 +34,25 @@ public class RentalItem {
     @JoinColumn(name = "rental_id", nullable = false)
     private Rental rental;
 
+    /**
+     * Copy of the rental's hotel_id so tenant-scoped item lookups are served by
+     * rental_items indexes alone, without joining rentals.
+     */
+    @Column(name = "hotel_id", nullable = false, updatable = false)
+    private Long hotelId;
+
     @Column(name = "bike_id", nullable = false)
     private Long bikeId;
 
+    /**
+     * Read-only association over bike_id so queries can fetch-join the bike.
+     * Writes go through bikeId; the FK itself is declared in the migrations.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "bike_id", insertable = false, updatable = false,
+                foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Bike bike;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false, length = 20)
     private RentalItemStatus status = RentalItemStatus.RENTED;
@@ -52,8 +73,21 @@ public class RentalItem {
 
     public RentalItem(Rental rental, Long bikeId) {
         this.rental = rental;
+        this.hotelId = rental.getHotelId();
         this.bikeId = bikeId;
         this.status = RentalItemStatus.RENTED;
     }
+
+    public RentalItem(Rental rental, Bike bike) {
+        this(rental, bike.getBikeId());
+        this.bike = bike;
+    }
+
+    @PrePersist
+    void inheritHotelId() {
+        if (hotelId == null && rental != null) {
+            hotelId = rental.getHotelId();
+        }
+    }
 }
 
@@ -0,0 +1,120 @@
+package com.bikerental.platform.rental.rentals.repo;
+
+import com.bikerental.platform.rental.rentals.dto.RentalExportRow;
+import com.bikerental.platform.rental.rentals.dto.RentalSummaryResponse;
+import com.bikerental.platform.rental.rentals.model.ArchivedRental;
+import com.bikerental.platform.rental.rentals.model.RentalStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Repository for archived (cold) rentals.
+ * Reads are scoped by hotelId like the live repositories; the copy statements are used only
+ * by the archival job and move rows by id with INSERT ... SELECT.
+ */
+@Repository
+public interface ArchivedRentalRepository extends JpaRepository<ArchivedRental, Long> {
+
+    /**
+     * Find an archived rental with its items and their bikes in a single join query.
+     */
+    @Query("SELECT DISTINCT r FROM ArchivedRental r LEFT JOIN FETCH r.items i LEFT JOIN FETCH i.bike " +
+           "WHERE r.rentalId = :rentalId AND r.hotelId = :hotelId")
+    Optional<ArchivedRental> findWithItemsAndBikes(@Param("rentalId") Long rentalId, @Param("hotelId") Long hotelId);
+
+    /**
+     * Archive counterpart of {@link RentalRepository#findSignatureId}.
+     */
+    @Query("SELECT r.signatureId FROM ArchivedRental r WHERE r.rentalId = :rentalId AND r.hotelId = :hotelId")
+    Optional<Long> findSignatureId(@Param("rentalId") Long rentalId, @Param("hotelId") Long hotelId);
+
+    boolean existsByRentalIdAndHotelId(Long rentalId, Long hotelId);
+
+    /**
+     * Archive counterpart of {@link RentalRepository#findHistoryPage}, same filters and seek key.
+     */
+    @Query("SELECT new com.bikerental.platform.rental.rentals.dto.RentalSummaryResponse(" +
+           "r.rentalId, r.status, r.startAt, r.dueAt, r.returnAt, r.roomNumber, r.bedNumber) " +
+           "FROM ArchivedRental r WHERE r.hotelId = :hotelId " +
+           "AND (:status IS NULL OR r.status = :status) " +
+           "AND (:from IS NULL OR r.startAt >= :from) " +
+           "AND (:to IS NULL OR r.startAt < :to) " +
+           "AND (:roomNumber IS NULL OR r.roomNumber = :roomNumber) " +
+           "AND (:bikeNumber IS NULL OR EXISTS (SELECT 1 FROM ArchivedRentalItem ri JOIN Bike b ON b.bikeId = ri.bikeId " +
+           "WHERE ri.rental = r AND b.hotelId = :hotelId AND b.bikeNumber = :bikeNumber)) " +
+           "AND (:afterStartAt IS NULL OR r.startAt < :afterStartAt " +
+           "OR (r.startAt = :afterStartAt AND r.rentalId < :afterRentalId)) " +
+           "ORDER BY r.startAt DESC, r.rentalId DESC")
+    List<RentalSummaryResponse> findHistoryPage(
+            @Param("hotelId") Long hotelId,
+            @Param("status") RentalStatus status,
+            @Param("from") Instant from,
+            @Param("to") Instant to,
+            @Param("roomNumber") String roomNumber,
+            @Param("bikeNumber") String bikeNumber,
+            @Param("afterStartAt") Instant afterStartAt,
+            @Param("afterRentalId") Long afterRentalId,
+            Limit limit
+    );
+
+    /**
+     * Bike numbers for archived rentals, as {@code [rentalId, bikeNumber]} rows in item order.
+     */
+    @Query("SELECT ri.rental.rentalId, b.bikeNumber FROM ArchivedRentalItem ri JOIN Bike b ON b.bikeId = ri.bikeId " +
+           "WHERE ri.rental.rentalId IN :rentalIds ORDER BY ri.rentalItemId")
+    List<Object[]> findBikeNumbersByRentalIds(@Param("rentalIds") Collection<Long> rentalIds);
+
+    /**
+     * Copy live rentals into the archive, stamping archived_at.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO rentals_archive (rental_id, hotel_id, status, start_at, due_at, return_at, " +
+                   "room_number, bed_number, tnc_version, signature_id, created_at, archived_at) " +
+                   "SELECT rental_id, hotel_id, status, start_at, due_at, return_at, " +
+                   "room_number, bed_number, tnc_version, signature_id, created_at, :archivedAt " +
+                   "FROM rentals WHERE rental_id IN :rentalIds",
+           nativeQuery = true)
+    int copyRentals(@Param("rentalIds") Collection<Long> rentalIds, @Param("archivedAt") Instant archivedAt);
+
+    /**
+     * Copy the live items of the given rentals into the archive.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO rental_items_archive (rental_item_id, rental_id, hotel_id, bike_id, status, " +
+                   "returned_at, lost_reason) " +
+                   "SELECT rental_item_id, rental_id, hotel_id, bike_id, status, returned_at, lost_reason " +
+                   "FROM rental_items WHERE rental_id IN :rentalIds",
+           nativeQuery = true)
+    int copyItems(@Param("rentalIds") Collection<Long> rentalIds);
+
+    /**
+     * Archive counterpart of {@link RentalRepository#streamExportRows}, same filters and order.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.bikerental.platform.rental.rentals.dto.RentalExportRow(" +
+           "r.rentalId, r.status, r.startAt, r.dueAt, r.returnAt, r.roomNumber, r.bedNumber, " +
+           "b.bikeNumber, ri.status, ri.returnedAt) " +
+           "FROM ArchivedRentalItem ri JOIN ri.rental r LEFT JOIN Bike b ON b.bikeId = ri.bikeId " +
+           "WHERE r.hotelId = :hotelId " +
+           "AND (:from IS NULL OR r.startAt >= :from) " +
+           "AND (:to IS NULL OR r.startAt < :to) " +
+           "ORDER BY r.startAt DESC, r.rentalId DESC, ri.rentalItemId ASC")
+    Stream<RentalExportRow> streamExportRows(
+            @Param("hotelId") Long hotelId,
+            @Param("from") Instant from,
+            @Param("to") Instant to
+    );
+}
@@ -2,17 +2,22 @@ package com.bikerental.platform.rental.rentals.repo;
 
 import com.bikerental.platform.rental.rentals.model.RentalItem;
 import com.bikerental.platform.rental.rentals.model.RentalItemStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Repository for RentalItem entities.
- * Bike-scoped queries include hotelId for multi-tenant safety.
+ * Bike-scoped queries include hotelId for multi-tenant safety, filtering on the
+ * item's own hotel_id so they never need to join rentals.
  */
 @Repository
 public interface RentalItemRepository extends JpaRepository<RentalItem, Long> {
@@ -28,7 +33,7 @@ public interface RentalItemRepository extends JpaRepository<RentalItem, Long> {
      * Hotel scoping provides defense-in-depth for multi-tenant isolation.
      */
     @Query("SELECT CASE WHEN COUNT(ri) > 0 THEN true ELSE false END FROM RentalItem ri " +
-           "WHERE ri.rental.hotelId = :hotelId AND ri.bikeId = :bikeId AND ri.status = :status")
+           "WHERE ri.hotelId = :hotelId AND ri.bikeId = :bikeId AND ri.status = :status")
     boolean existsByHotelIdAndBikeIdAndStatus(
             @Param("hotelId") Long hotelId,
             @Param("bikeId") Long bikeId,
@@ -40,19 +45,57 @@ public interface RentalItemRepository extends JpaRepository<RentalItem, Long> {
      * Hotel scoping ensures multi-tenant isolation.
      */
     @Query("SELECT ri FROM RentalItem ri " +
-           "WHERE ri.rental.hotelId = :hotelId AND ri.bikeId = :bikeId AND ri.status = :status")
+           "WHERE ri.hotelId = :hotelId AND ri.bikeId = :bikeId AND ri.status = :status")
     Optional<RentalItem> findByHotelIdAndBikeIdAndStatus(
             @Param("hotelId") Long hotelId,
             @Param("bikeId") Long bikeId,
             @Param("status") RentalItemStatus status
     );
 
+    /**
+     * Lock one item of a hotel's rental together with its rental and bike rows (SELECT ... FOR UPDATE).
+     * Single-item operations use this instead of loading the whole rental, and concurrent
+     * desks acting on the same item are serialized.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT ri FROM RentalItem ri JOIN FETCH ri.rental r JOIN FETCH ri.bike " +
+           "WHERE ri.rentalItemId = :rentalItemId AND r.rentalId = :rentalId AND r.hotelId = :hotelId")
+    Optional<RentalItem> findForUpdate(
+            @Param("rentalItemId") Long rentalItemId,
+            @Param("rentalId") Long rentalId,
+            @Param("hotelId") Long hotelId
+    );
+
+    /**
+     * Resolve scanned bike numbers to their open items in one join across bikes, rental_items and rentals.
+     * Each row is {@code [RentalItem, Bike]}; the item's rental is fetched in the same query.
+     * Bike numbers without an item in the given status are simply absent from the result.
+     * The item, rental and bike rows are locked (SELECT ... FOR UPDATE) in rental_item_id order,
+     * so a scan serializes with single-item operations and overlapping scans cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT ri, b FROM RentalItem ri JOIN FETCH ri.rental r JOIN Bike b ON b.bikeId = ri.bikeId " +
+           "WHERE ri.hotelId = :hotelId AND b.hotelId = :hotelId " +
+           "AND b.bikeNumber IN :bikeNumbers AND ri.status = :status ORDER BY ri.rentalItemId ASC")
+    List<Object[]> findItemsWithBikesByHotelIdAndBikeNumbers(
+            @Param("hotelId") Long hotelId,
+            @Param("bikeNumbers") Collection<String> bikeNumbers,
+            @Param("status") RentalItemStatus status
+    );
+
+    /**
+     * Bike numbers for a page of rentals, as {@code [rentalId, bikeNumber]} rows in item order.
+     */
+    @Query("SELECT ri.rental.rentalId, b.bikeNumber FROM RentalItem ri JOIN Bike b ON b.bikeId = ri.bikeId " +
+           "WHERE ri.rental.rentalId IN :rentalIds ORDER BY ri.rentalItemId")
+    List<Object[]> findBikeNumbersByRentalIds(@Param("rentalIds") Collection<Long> rentalIds);
+
     /**
      * Find all items for a bike within a hotel (historical data).
      * Hotel scoping ensures multi-tenant isolation.
      */
     @Query("SELECT ri FROM RentalItem ri " +
-           "WHERE ri.rental.hotelId = :hotelId AND ri.bikeId = :bikeId")
+           "WHERE ri.hotelId = :hotelId AND ri.bikeId = :bikeId")
     List<RentalItem> findByHotelIdAndBikeId(
             @Param("hotelId") Long hotelId,
             @Param("bikeId") Long bikeId
@@ -67,5 +110,11 @@ public interface RentalItemRepository extends JpaRepository<RentalItem, Long> {
      * Find all RENTED items for a rental (for return-all operation).
      */
     List<RentalItem> findByRentalRentalIdAndStatus(Long rentalId, RentalItemStatus status);
-}
 
+    /**
+     * Bulk-delete all items of the given rentals (archival job).
+     */
+    @Modifying
+    @Query("DELETE FROM RentalItem ri WHERE ri.rental.rentalId IN :rentalIds")
+    int deleteByRentalIds(@Param("rentalIds") Collection<Long> rentalIds);
+}
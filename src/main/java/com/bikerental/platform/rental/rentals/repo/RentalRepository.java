@@ -1,15 +1,27 @@
 package com.bikerental.platform.rental.rentals.repo;
 
+import com.bikerental.platform.rental.rentals.dto.RentalExportRow;
+import com.bikerental.platform.rental.rentals.dto.RentalSummaryResponse;
 import com.bikerental.platform.rental.rentals.model.Rental;
 import com.bikerental.platform.rental.rentals.model.RentalStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for Rental entities.
@@ -38,6 +50,29 @@ public interface RentalRepository extends JpaRepository<Rental, Long> {
      */
     Optional<Rental> findByRentalIdAndHotelId(Long rentalId, Long hotelId);
 
+    boolean existsByRentalIdAndHotelId(Long rentalId, Long hotelId);
+
+    /**
+     * The rental's signature ID, without loading the rental.
+     */
+    @Query("SELECT r.signatureId FROM Rental r WHERE r.rentalId = :rentalId AND r.hotelId = :hotelId")
+    Optional<Long> findSignatureId(@Param("rentalId") Long rentalId, @Param("hotelId") Long hotelId);
+
+    /**
+     * The rental's optimistic lock version, without loading the rental. It changes whenever
+     * the rental or one of its items does, so it identifies a contract rendering.
+     */
+    @Query("SELECT r.version FROM Rental r WHERE r.rentalId = :rentalId AND r.hotelId = :hotelId")
+    Optional<Long> findVersion(@Param("rentalId") Long rentalId, @Param("hotelId") Long hotelId);
+
+    /**
+     * Find a rental with its items and their bikes in a single join query.
+     * Used wherever bike number/type is needed per item (detail, contract, returns).
+     */
+    @Query("SELECT DISTINCT r FROM Rental r LEFT JOIN FETCH r.items i LEFT JOIN FETCH i.bike " +
+           "WHERE r.rentalId = :rentalId AND r.hotelId = :hotelId")
+    Optional<Rental> findWithItemsAndBikes(@Param("rentalId") Long rentalId, @Param("hotelId") Long hotelId);
+
     /**
      * Count rentals by status for a hotel.
      */
@@ -56,5 +91,84 @@ public interface RentalRepository extends JpaRepository<Rental, Long> {
             @Param("statuses") List<RentalStatus> statuses,
             @Param("overdue") RentalStatus overdue
     );
-}
 
+    /**
+     * One page of rental history (newest first) as projections, using keyset pagination on
+     * (hotel_id, start_at, rental_id) so each page costs the same regardless of depth.
+     * All filters are optional; pass null for afterStartAt/afterRentalId to start from the newest rental.
+     */
+    @Query("SELECT new com.bikerental.platform.rental.rentals.dto.RentalSummaryResponse(" +
+           "r.rentalId, r.status, r.startAt, r.dueAt, r.returnAt, r.roomNumber, r.bedNumber) " +
+           "FROM Rental r WHERE r.hotelId = :hotelId " +
+           "AND (:status IS NULL OR r.status = :status) " +
+           "AND (:from IS NULL OR r.startAt >= :from) " +
+           "AND (:to IS NULL OR r.startAt < :to) " +
+           "AND (:roomNumber IS NULL OR r.roomNumber = :roomNumber) " +
+           "AND (:bikeNumber IS NULL OR EXISTS (SELECT 1 FROM RentalItem ri JOIN Bike b ON b.bikeId = ri.bikeId " +
+           "WHERE ri.rental = r AND b.hotelId = :hotelId AND b.bikeNumber = :bikeNumber)) " +
+           "AND (:afterStartAt IS NULL OR r.startAt < :afterStartAt " +
+           "OR (r.startAt = :afterStartAt AND r.rentalId < :afterRentalId)) " +
+           "ORDER BY r.startAt DESC, r.rentalId DESC")
+    List<RentalSummaryResponse> findHistoryPage(
+            @Param("hotelId") Long hotelId,
+            @Param("status") RentalStatus status,
+            @Param("from") Instant from,
+            @Param("to") Instant to,
+            @Param("roomNumber") String roomNumber,
+            @Param("bikeNumber") String bikeNumber,
+            @Param("afterStartAt") Instant afterStartAt,
+            @Param("afterRentalId") Long afterRentalId,
+            Limit limit
+    );
+
+    /**
+     * Lock the next chunk of rentals to archive: the given status, returned before the cutoff,
+     * after the (returnAt, rentalId) keyset position. Served by idx_rental_status_return, so the
+     * locking read only touches matching rows. Pass null for afterReturnAt/afterRentalId to start.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Rental r WHERE r.status = :status AND r.returnAt < :cutoff " +
+           "AND (:afterReturnAt IS NULL OR r.returnAt > :afterReturnAt " +
+           "OR (r.returnAt = :afterReturnAt AND r.rentalId > :afterRentalId)) " +
+           "ORDER BY r.returnAt ASC, r.rentalId ASC")
+    List<Rental> findArchivableForUpdate(
+            @Param("status") RentalStatus status,
+            @Param("cutoff") Instant cutoff,
+            @Param("afterReturnAt") Instant afterReturnAt,
+            @Param("afterRentalId") Long afterRentalId,
+            Limit limit
+    );
+
+    /**
+     * Oldest return time among rentals with the given status (archival lag metric).
+     */
+    @Query("SELECT MIN(r.returnAt) FROM Rental r WHERE r.status = :status")
+    Optional<Instant> findOldestReturnAt(@Param("status") RentalStatus status);
+
+    /**
+     * Bulk-delete rentals by id. Items must already be gone.
+     */
+    @Modifying
+    @Query("DELETE FROM Rental r WHERE r.rentalId IN :rentalIds")
+    int deleteByRentalIdIn(@Param("rentalIds") Collection<Long> rentalIds);
+
+    /**
+     * Rental items with their rental's fields for the history CSV export, newest rental first (start time
+     * in [from, to), either bound optional). Streamed with a JDBC fetch size; the caller must close the
+     * stream inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.bikerental.platform.rental.rentals.dto.RentalExportRow(" +
+           "r.rentalId, r.status, r.startAt, r.dueAt, r.returnAt, r.roomNumber, r.bedNumber, " +
+           "b.bikeNumber, ri.status, ri.returnedAt) " +
+           "FROM RentalItem ri JOIN ri.rental r LEFT JOIN Bike b ON b.bikeId = ri.bikeId " +
+           "WHERE r.hotelId = :hotelId " +
+           "AND (:from IS NULL OR r.startAt >= :from) " +
+           "AND (:to IS NULL OR r.startAt < :to) " +
+           "ORDER BY r.startAt DESC, r.rentalId DESC, ri.rentalItemId ASC")
+    Stream<RentalExportRow> streamExportRows(
+            @Param("hotelId") Long hotelId,
+            @Param("from") Instant from,
+            @Param("to") Instant to
+    );
+}
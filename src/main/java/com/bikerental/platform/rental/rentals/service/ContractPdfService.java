@@ -0,0 +1,223 @@
+package com.bikerental.platform.rental.rentals.service;
+
+import com.bikerental.platform.rental.auth.security.HotelContext;
+import com.bikerental.platform.rental.common.exception.NotFoundException;
+import com.bikerental.platform.rental.rentals.contract.ContractPdfRenderer;
+import com.bikerental.platform.rental.rentals.contract.ContractPdfStore;
+import com.bikerental.platform.rental.rentals.event.RentalChangedEvent;
+import com.bikerental.platform.rental.rentals.model.RentalStatus;
+import com.bikerental.platform.rental.rentals.service.RentalContractService.ContractData;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PDF contracts. A rental's PDF is rendered in the background when the rental is created and
+ * again when it closes, and stored in {@link ContractPdfStore} under the rental's version;
+ * downloads look up the current version and stream the stored file. Any other change to the rental
+ * bumps its version, and the next download renders it on demand.
+ */
+@Slf4j
+@Service
+public class ContractPdfService {
+
+    /**
+     * A PDF ready to send. {@code etag} is null if it could not be stored.
+     */
+    public record ContractPdf(Resource body, String etag) {
+    }
+
+    private final RentalContractService rentalContractService;
+    private final ContractPdfStore store;
+    private final HotelContext hotelContext;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ThreadPoolExecutor executor;
+
+    // Rentals queued for pre-rendering, so a burst of events renders each rental once
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    public ContractPdfService(RentalContractService rentalContractService,
+                              ContractPdfStore store,
+                              HotelContext hotelContext,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${rentals.contract-pdf.workers:1}") int workers,
+                              @Value("${rentals.contract-pdf.queue-capacity:100}") int queueCapacity) {
+        this.rentalContractService = rentalContractService;
+        this.store = store;
+        this.hotelContext = hotelContext;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // A full queue skips the pre-render; the download renders on demand instead
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("contract-pdf-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * The current hotel's contract PDF: the file stored for the rental's current version, or
+     * rendered and stored now.
+     */
+    public ContractPdf getContractPdf(Long rentalId) {
+        Long hotelId = hotelContext.getCurrentHotelId();
+        Optional<ContractPdfStore.StoredPdf> stored = rentalContractService.currentVersion(hotelId, rentalId)
+                .flatMap(version -> store.get(hotelId, rentalId, version));
+        if (stored.isPresent()) {
+            return toContractPdf(stored.get());
+        }
+
+        ContractData contract = readOnlyTransaction.execute(
+                status -> rentalContractService.loadContract(hotelId, rentalId));
+        byte[] pdf = render(contract);
+        if (contract.signatureFailed()) {
+            return new ContractPdf(new ByteArrayResource(pdf), null);
+        }
+        return store.put(hotelId, rentalId, RentalContractService.cacheVersion(contract.rental()), pdf)
+                .map(ContractPdfService::toContractPdf)
+                .orElseGet(() -> new ContractPdf(new ByteArrayResource(pdf), null));
+    }
+
+    /**
+     * The PDF of an already loaded contract: the stored file of its version if there is one,
+     * else rendered now (not stored, so bulk exports do not fill the store).
+     */
+    byte[] pdfBytes(Long hotelId, ContractData contract) {
+        Optional<ContractPdfStore.StoredPdf> stored = store.get(hotelId, contract.rental().getRentalId(),
+                RentalContractService.cacheVersion(contract.rental()));
+        if (stored.isPresent()) {
+            try {
+                return Files.readAllBytes(stored.get().path());
+            } catch (IOException e) {
+                // Invalidated since the lookup; render instead
+            }
+        }
+        return render(contract);
+    }
+
+    /**
+     * Once the transaction commits, drop the stored PDFs of a changed rental and, if it was created
+     * or closed, render the new one. A commit changes a rental and its items in several events;
+     * they are handled together, so a later event cannot drop a PDF pre-rendered for an earlier one.
+     */
+    @EventListener
+    public void onRentalChanged(RentalChangedEvent event) {
+        ChangedRental rental = new ChangedRental(event.hotelId(), event.rentalId());
+        boolean prerender = event.created() || event.status() == RentalStatus.CLOSED;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            onCommitted(Map.of(rental, prerender));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<ChangedRental, Boolean> changed =
+                (Map<ChangedRental, Boolean>) TransactionSynchronizationManager.getResource(this);
+        if (changed == null) {
+            Map<ChangedRental, Boolean> committed = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, committed);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    onCommitted(committed);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ContractPdfService.this);
+                }
+            });
+            changed = committed;
+        }
+        changed.merge(rental, prerender, Boolean::logicalOr);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void onCommitted(Map<ChangedRental, Boolean> changed) {
+        changed.keySet().forEach(rental -> store.invalidate(rental.hotelId(), rental.rentalId()));
+        changed.forEach((rental, prerender) -> {
+            if (prerender) {
+                schedule(rental.hotelId(), rental.rentalId());
+            }
+        });
+    }
+
+    private void schedule(Long hotelId, Long rentalId) {
+        String key = hotelId + "-" + rentalId;
+        if (!pending.add(key)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                pending.remove(key);
+                prerender(hotelId, rentalId);
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(key);
+            log.debug("Contract PDF queue full, skipping pre-render of rental {}", rentalId);
+        }
+    }
+
+    void prerender(Long hotelId, Long rentalId) {
+        long start = System.nanoTime();
+        try {
+            // A change committed meanwhile bumps the version, so this render is simply never looked up
+            ContractData contract = readOnlyTransaction.execute(
+                    status -> rentalContractService.loadContract(hotelId, rentalId));
+            if (contract.signatureFailed()) {
+                return;
+            }
+            String version = RentalContractService.cacheVersion(contract.rental());
+            if (store.put(hotelId, rentalId, version, render(contract)).isPresent()) {
+                log.debug("Pre-rendered contract PDF of rental {} in {} ms", rentalId,
+                        (System.nanoTime() - start) / 1_000_000);
+            }
+        } catch (NotFoundException e) {
+            // Deleted before the worker got to it
+        } catch (RuntimeException e) {
+            log.warn("Failed to pre-render contract PDF of rental {}: {}", rentalId, e.getMessage());
+        }
+    }
+
+    private static byte[] render(ContractData contract) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8 * 1024);
+        try {
+            ContractPdfRenderer.write(contract.rental(), contract.signaturePng(), out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static ContractPdf toContractPdf(ContractPdfStore.StoredPdf stored) {
+        return new ContractPdf(new FileSystemResource(stored.path()), stored.etag());
+    }
+
+    private record ChangedRental(Long hotelId, Long rentalId) {
+    }
+}
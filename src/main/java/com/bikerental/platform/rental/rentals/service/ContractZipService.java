@@ -0,0 +1,204 @@
+package com.bikerental.platform.rental.rentals.service;
+
+import com.bikerental.platform.rental.auth.security.HotelContext;
+import com.bikerental.platform.rental.common.exception.NotFoundException;
+import com.bikerental.platform.rental.rentals.dto.RentalSummaryResponse;
+import com.bikerental.platform.rental.rentals.repo.ArchivedRentalRepository;
+import com.bikerental.platform.rental.rentals.repo.RentalRepository;
+import com.bikerental.platform.rental.rentals.service.RentalContractService.ContractData;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * ZIP of every contract (PDF) and signature (PNG) of the hotel's rentals in a date range, for audits.
+ * Rentals are read in keyset pages from the live and archive tables, loaded and rendered on a
+ * bounded shared pool, and written in page order straight to the response. At most
+ * {@code rentals.contract-zip.window} rendered rentals per download are held in memory.
+ */
+@Slf4j
+@Service
+public class ContractZipService {
+
+    private static final int PAGE_SIZE = 100;
+
+    // Same order as the history pages; also the archive's entry order
+    private static final Comparator<RentalSummaryResponse> NEWEST_FIRST =
+            Comparator.comparing(RentalSummaryResponse::getStartAt)
+                    .thenComparing(RentalSummaryResponse::getRentalId)
+                    .reversed();
+
+    private static final DateTimeFormatter ENTRY_DATE = DateTimeFormatter.ISO_LOCAL_DATE.withZone(ZoneOffset.UTC);
+
+    private final RentalRepository rentalRepository;
+    private final ArchivedRentalRepository archivedRentalRepository;
+    private final RentalContractService rentalContractService;
+    private final ContractPdfService contractPdfService;
+    private final HotelContext hotelContext;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ThreadPoolExecutor executor;
+    private final int window;
+
+    public ContractZipService(RentalRepository rentalRepository,
+                              ArchivedRentalRepository archivedRentalRepository,
+                              RentalContractService rentalContractService,
+                              ContractPdfService contractPdfService,
+                              HotelContext hotelContext,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${rentals.contract-zip.workers:4}") int workers,
+                              @Value("${rentals.contract-zip.window:16}") int window) {
+        this.rentalRepository = rentalRepository;
+        this.archivedRentalRepository = archivedRentalRepository;
+        this.rentalContractService = rentalContractService;
+        this.contractPdfService = contractPdfService;
+        this.hotelContext = hotelContext;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.window = window;
+        // CallerRunsPolicy: when several downloads saturate the pool, the download's own thread renders
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers * window), new CustomizableThreadFactory("contract-zip-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * @param from inclusive lower bound on start time
+     * @param to exclusive upper bound on start time
+     */
+    public StreamingResponseBody exportContractsZip(Instant from, Instant to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        Long hotelId = hotelContext.getCurrentHotelId();
+        return out -> writeContractsZip(hotelId, from, to, out);
+    }
+
+    /**
+     * Write the ZIP to {@code out}, which is not closed.
+     */
+    public void writeContractsZip(Long hotelId, Instant from, Instant to, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out);
+        Deque<Future<ContractEntries>> inFlight = new ArrayDeque<>(window);
+        try {
+            Instant afterStartAt = null;
+            Long afterRentalId = null;
+            List<RentalSummaryResponse> page;
+            do {
+                page = nextPage(hotelId, from, to, afterStartAt, afterRentalId);
+                for (RentalSummaryResponse rental : page) {
+                    if (inFlight.size() == window) {
+                        write(zip, inFlight.poll());
+                    }
+                    inFlight.add(executor.submit(() -> load(hotelId, rental.getRentalId())));
+                }
+                if (!page.isEmpty()) {
+                    RentalSummaryResponse last = page.get(page.size() - 1);
+                    afterStartAt = last.getStartAt();
+                    afterRentalId = last.getRentalId();
+                }
+            } while (page.size() == PAGE_SIZE);
+
+            while (!inFlight.isEmpty()) {
+                write(zip, inFlight.poll());
+            }
+            // Writes the central directory; the response stream stays open for the container
+            zip.finish();
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Live and archive pages merged on the seek key, as in RentalHistoryService
+    private List<RentalSummaryResponse> nextPage(Long hotelId, Instant from, Instant to,
+                                                 Instant afterStartAt, Long afterRentalId) {
+        return readOnlyTransaction.execute(status -> {
+            List<RentalSummaryResponse> rows = new ArrayList<>(rentalRepository.findHistoryPage(
+                    hotelId, null, from, to, null, null, afterStartAt, afterRentalId, Limit.of(PAGE_SIZE)));
+            rows.addAll(archivedRentalRepository.findHistoryPage(
+                    hotelId, null, from, to, null, null, afterStartAt, afterRentalId, Limit.of(PAGE_SIZE)));
+            rows.sort(NEWEST_FIRST);
+            return rows.size() > PAGE_SIZE ? rows.subList(0, PAGE_SIZE) : rows;
+        });
+    }
+
+    private ContractEntries load(Long hotelId, Long rentalId) {
+        ContractData contract;
+        try {
+            contract = readOnlyTransaction.execute(status -> rentalContractService.loadContract(hotelId, rentalId));
+        } catch (NotFoundException e) {
+            // Deleted since the page was read
+            return null;
+        }
+        String name = ENTRY_DATE.format(contract.rental().getStartAt()) + "_contract-" + rentalId;
+        return new ContractEntries(name, contract.rental().getStartAt(),
+                contractPdfService.pdfBytes(hotelId, contract), contract.signaturePng());
+    }
+
+    private static void write(ZipOutputStream zip, Future<ContractEntries> future) throws IOException {
+        ContractEntries entries;
+        try {
+            entries = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Contract ZIP interrupted");
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to render contract for ZIP", e.getCause());
+        }
+        if (entries == null) {
+            return;
+        }
+        writeStored(zip, entries.name() + ".pdf", entries.startAt(), entries.pdf());
+        if (entries.signaturePng() != null && entries.signaturePng().length > 0) {
+            writeStored(zip, entries.name() + "_signature.png", entries.startAt(), entries.signaturePng());
+        }
+    }
+
+    // PDF and PNG are already compressed: store them, which needs the size and CRC up front
+    private static void writeStored(ZipOutputStream zip, String name, Instant time, byte[] data) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(data.length);
+        entry.setCompressedSize(data.length);
+        entry.setCrc(crc.getValue());
+        entry.setTime(time.toEpochMilli());
+        zip.putNextEntry(entry);
+        zip.write(data);
+        zip.closeEntry();
+    }
+
+    private record ContractEntries(String name, Instant startAt, byte[] pdf, byte[] signaturePng) {
+    }
+}
@@ -0,0 +1,162 @@
+package com.bikerental.platform.rental.rentals.service;
+
+import com.bikerental.platform.rental.rentals.model.ArchivedRental;
+import com.bikerental.platform.rental.rentals.model.Rental;
+import com.bikerental.platform.rental.rentals.model.RentalStatus;
+import com.bikerental.platform.rental.rentals.repo.ArchivedRentalRepository;
+import com.bikerental.platform.rental.rentals.repo.RentalItemRepository;
+import com.bikerental.platform.rental.rentals.repo.RentalRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hot/cold split for rentals: moves CLOSED rentals older than {@code rentals.archive.min-age}
+ * (by return time) and their items into rentals_archive / rental_items_archive.
+ * Each chunk is locked, copied and deleted in its own short transaction, walking a
+ * (returnAt, rentalId) keyset so no lock outlives a chunk. Read paths fall through to the
+ * archive via {@link #findWithItemsAndBikes}.
+ */
+@Slf4j
+@Service
+public class RentalArchiveService {
+
+    static final String MOVED_METRIC = "rental.archive.rows_moved";
+    static final String LAG_METRIC = "rental.archive.lag_seconds";
+
+    private final RentalRepository rentalRepository;
+    private final RentalItemRepository rentalItemRepository;
+    private final ArchivedRentalRepository archivedRentalRepository;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration minAge;
+    private final int batchSize;
+
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public RentalArchiveService(
+            RentalRepository rentalRepository,
+            RentalItemRepository rentalItemRepository,
+            ArchivedRentalRepository archivedRentalRepository,
+            MeterRegistry meterRegistry,
+            PlatformTransactionManager transactionManager,
+            @Value("${rentals.archive.enabled:true}") boolean enabled,
+            @Value("${rentals.archive.min-age:P90D}") Duration minAge,
+            @Value("${rentals.archive.batch-size:500}") int batchSize) {
+        this.rentalRepository = rentalRepository;
+        this.rentalItemRepository = rentalItemRepository;
+        this.archivedRentalRepository = archivedRentalRepository;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.minAge = minAge;
+        this.batchSize = Math.max(1, batchSize);
+        meterRegistry.gauge(LAG_METRIC, lagSeconds);
+    }
+
+    /**
+     * Periodically archive old CLOSED rentals.
+     */
+    @Scheduled(fixedDelayString = "${rentals.archive.interval-ms:3600000}",
+               initialDelayString = "${rentals.archive.interval-ms:3600000}")
+    public void archiveScheduled() {
+        if (!enabled) {
+            return;
+        }
+        int moved = archiveClosedRentals(Instant.now());
+        if (moved > 0) {
+            log.info("Archived {} closed rentals", moved);
+        }
+    }
+
+    /**
+     * Archive every CLOSED rental returned before {@code now - minAge}, chunk by chunk.
+     *
+     * @return number of rentals moved
+     */
+    public int archiveClosedRentals(Instant now) {
+        Instant cutoff = now.minus(minAge);
+        Instant afterReturnAt = null;
+        Long afterRentalId = null;
+        int total = 0;
+
+        while (true) {
+            Instant seekReturnAt = afterReturnAt;
+            Long seekRentalId = afterRentalId;
+            List<Rental> chunk = transactionTemplate.execute(
+                    status -> moveChunk(cutoff, seekReturnAt, seekRentalId, now));
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            total += chunk.size();
+            Rental last = chunk.get(chunk.size() - 1);
+            afterReturnAt = last.getReturnAt();
+            afterRentalId = last.getRentalId();
+            if (chunk.size() < batchSize) {
+                break;
+            }
+        }
+
+        updateLag(now);
+        return total;
+    }
+
+    /**
+     * Archived rental with items and bikes, as a detached {@link Rental} for the live read paths.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Rental> findWithItemsAndBikes(Long rentalId, Long hotelId) {
+        return archivedRentalRepository.findWithItemsAndBikes(rentalId, hotelId)
+                .map(ArchivedRental::toRental);
+    }
+
+    public Optional<Long> findSignatureId(Long rentalId, Long hotelId) {
+        return archivedRentalRepository.findSignatureId(rentalId, hotelId);
+    }
+
+    public boolean exists(Long rentalId, Long hotelId) {
+        return archivedRentalRepository.existsByRentalIdAndHotelId(rentalId, hotelId);
+    }
+
+    // Lock, copy and delete one chunk; items go first on both sides to satisfy the FKs
+    private List<Rental> moveChunk(Instant cutoff, Instant afterReturnAt, Long afterRentalId, Instant archivedAt) {
+        List<Rental> chunk = rentalRepository.findArchivableForUpdate(
+                RentalStatus.CLOSED, cutoff, afterReturnAt, afterRentalId, Limit.of(batchSize));
+        if (chunk.isEmpty()) {
+            return chunk;
+        }
+
+        List<Long> ids = chunk.stream().map(Rental::getRentalId).toList();
+        int rentals = archivedRentalRepository.copyRentals(ids, archivedAt);
+        int items = archivedRentalRepository.copyItems(ids);
+        rentalItemRepository.deleteByRentalIds(ids);
+        rentalRepository.deleteByRentalIdIn(ids);
+
+        meterRegistry.counter(MOVED_METRIC, "table", "rentals").increment(rentals);
+        meterRegistry.counter(MOVED_METRIC, "table", "rental_items").increment(items);
+        return chunk;
+    }
+
+    // Lag: how long the oldest still-live CLOSED rental has been past the archive age (0 if none)
+    private void updateLag(Instant now) {
+        long lag = rentalRepository.findOldestReturnAt(RentalStatus.CLOSED)
+                .map(oldest -> Duration.between(oldest.plus(minAge), now).getSeconds())
+                .orElse(0L);
+        lagSeconds.set(Math.max(0, lag));
+    }
+}
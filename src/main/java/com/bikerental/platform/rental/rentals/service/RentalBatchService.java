@@ -0,0 +1,174 @@
+package com.bikerental.platform.rental.rentals.service;
+
+import com.bikerental.platform.rental.auth.security.HotelContext;
+import com.bikerental.platform.rental.bike.model.Bike;
+import com.bikerental.platform.rental.bike.repo.BikeRepository;
+import com.bikerental.platform.rental.bike.service.BikeService;
+import com.bikerental.platform.rental.common.exception.BikeUnavailableException;
+import com.bikerental.platform.rental.common.retry.RetryOnOptimisticLock;
+import com.bikerental.platform.rental.rentals.dto.BatchCreateRentalRequest;
+import com.bikerental.platform.rental.rentals.dto.BatchCreateRentalResponse;
+import com.bikerental.platform.rental.rentals.dto.BatchMode;
+import com.bikerental.platform.rental.rentals.dto.BatchRentalResult;
+import com.bikerental.platform.rental.rentals.dto.CreateRentalRequest;
+import com.bikerental.platform.rental.rentals.model.Rental;
+import com.bikerental.platform.rental.rentals.repo.RentalRepository;
+import com.bikerental.platform.rental.signature.service.SignatureService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Group check-in: creates many rentals in one transaction.
+ * All bikes across all contracts are validated with a single query, then signatures,
+ * rentals (with items) and bike status updates are written with saveAll so Hibernate can batch them.
+ */
+@Service
+public class RentalBatchService {
+
+    static final String DUPLICATE_IN_BATCH = "DUPLICATE_IN_BATCH";
+
+    private final RentalRepository rentalRepository;
+    private final BikeRepository bikeRepository;
+    private final SignatureService signatureService;
+    private final HotelContext hotelContext;
+    private final BatchMode defaultMode;
+
+    public RentalBatchService(
+            RentalRepository rentalRepository,
+            BikeRepository bikeRepository,
+            SignatureService signatureService,
+            HotelContext hotelContext,
+            @Value("${rentals.batch.default-mode:ALL_OR_NOTHING}") BatchMode defaultMode) {
+        this.rentalRepository = rentalRepository;
+        this.bikeRepository = bikeRepository;
+        this.signatureService = signatureService;
+        this.hotelContext = hotelContext;
+        this.defaultMode = defaultMode;
+    }
+
+    @Transactional
+    @RetryOnOptimisticLock
+    public BatchCreateRentalResponse createRentals(BatchCreateRentalRequest request) {
+        Long hotelId = hotelContext.getCurrentHotelId();
+        BatchMode mode = request.getMode() != null ? request.getMode() : defaultMode;
+        List<CreateRentalRequest> contracts = request.getRentals();
+
+        Map<String, Bike> bikesByNumber = findBikesByNumber(hotelId, contracts);
+
+        BatchRentalResult[] results = new BatchRentalResult[contracts.size()];
+        List<PreparedRental> prepared = new ArrayList<>();
+        // A bike can only go to the first valid contract that asks for it
+        Set<String> claimedBikeNumbers = new HashSet<>();
+
+        for (int i = 0; i < contracts.size(); i++) {
+            CreateRentalRequest contract = contracts.get(i);
+            try {
+                prepared.add(prepare(i, contract, bikesByNumber, claimedBikeNumbers));
+                contract.getBikeNumbers().forEach(number -> claimedBikeNumbers.add(BikeService.numberKey(number)));
+            } catch (BikeUnavailableException e) {
+                results[i] = BatchRentalResult.failed(i, "BIKES_UNAVAILABLE", e.getMessage(), e.getUnavailableBikes());
+            } catch (IllegalArgumentException e) {
+                results[i] = BatchRentalResult.failed(i, "BAD_REQUEST", e.getMessage(), null);
+            }
+        }
+
+        int failedCount = contracts.size() - prepared.size();
+        if (mode == BatchMode.ALL_OR_NOTHING && failedCount > 0) {
+            for (PreparedRental rental : prepared) {
+                results[rental.index()] = BatchRentalResult.notCreated(rental.index());
+            }
+            return new BatchCreateRentalResponse(mode, 0, failedCount, Arrays.asList(results));
+        }
+
+        persist(hotelId, prepared, results);
+        return new BatchCreateRentalResponse(mode, prepared.size(), failedCount, Arrays.asList(results));
+    }
+
+    // One IN query for the distinct bike numbers of every contract
+    private Map<String, Bike> findBikesByNumber(Long hotelId, List<CreateRentalRequest> contracts) {
+        Set<String> bikeNumbers = contracts.stream()
+                .filter(contract -> contract.getBikeNumbers() != null)
+                .flatMap(contract -> contract.getBikeNumbers().stream())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        if (bikeNumbers.isEmpty()) {
+            return Map.of();
+        }
+        return bikeRepository.findByHotelIdAndBikeNumberIn(hotelId, bikeNumbers).stream()
+                .collect(Collectors.toMap(bike -> BikeService.numberKey(bike.getBikeNumber()), Function.identity()));
+    }
+
+    // Same checks as RentalService.createRental, against the preloaded bikes
+    private PreparedRental prepare(int index, CreateRentalRequest contract, Map<String, Bike> bikesByNumber,
+                                   Set<String> claimedBikeNumbers) {
+        RentalService.validateRequest(contract);
+        RentalService.checkForDuplicates(contract.getBikeNumbers());
+
+        List<Bike> bikes = new ArrayList<>();
+        List<BikeUnavailableException.UnavailableBike> unavailableBikes = new ArrayList<>();
+
+        for (String bikeNumber : contract.getBikeNumbers()) {
+            String key = BikeService.numberKey(bikeNumber);
+            Bike bike = bikesByNumber.get(key);
+            String reason = BikeService.unavailableReason(bike);
+            if (reason == null && claimedBikeNumbers.contains(key)) {
+                reason = DUPLICATE_IN_BATCH;
+            }
+
+            if (reason != null) {
+                unavailableBikes.add(new BikeUnavailableException.UnavailableBike(bikeNumber, reason));
+            } else {
+                bikes.add(bike);
+            }
+        }
+
+        if (!unavailableBikes.isEmpty()) {
+            throw new BikeUnavailableException("One or more bikes are unavailable", unavailableBikes);
+        }
+
+        byte[] signature = signatureService.decodeSignature(contract.getSignatureBase64Png());
+        return new PreparedRental(index, contract, bikes, signature);
+    }
+
+    private void persist(Long hotelId, List<PreparedRental> prepared, BatchRentalResult[] results) {
+        if (prepared.isEmpty()) {
+            return;
+        }
+
+        List<Long> signatureIds = signatureService.storeSignatures(hotelId,
+                prepared.stream().map(PreparedRental::signature).toList());
+
+        Instant startAt = Instant.now();
+        List<Rental> rentals = new ArrayList<>(prepared.size());
+        List<Bike> rentedBikes = new ArrayList<>();
+        for (int i = 0; i < prepared.size(); i++) {
+            PreparedRental rental = prepared.get(i);
+            rentals.add(RentalService.buildRental(hotelId, rental.request(), signatureIds.get(i), rental.bikes(), startAt));
+            rentedBikes.addAll(rental.bikes());
+        }
+
+        List<Rental> saved = rentalRepository.saveAll(rentals);
+        bikeRepository.saveAll(rentedBikes);
+
+        for (int i = 0; i < prepared.size(); i++) {
+            PreparedRental rental = prepared.get(i);
+            results[rental.index()] = BatchRentalResult.created(rental.index(),
+                    RentalService.toRentalResponse(saved.get(i), rental.bikes()));
+        }
+    }
+
+    private record PreparedRental(int index, CreateRentalRequest request, List<Bike> bikes, byte[] signature) {
+    }
+}
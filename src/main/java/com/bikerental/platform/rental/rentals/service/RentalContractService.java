@@ -1,229 +1,176 @@
 package com.bikerental.platform.rental.rentals.service;
 
 import com.bikerental.platform.rental.auth.security.HotelContext;
-import com.bikerental.platform.rental.bike.model.Bike;
-import com.bikerental.platform.rental.bike.repo.BikeRepository;
 import com.bikerental.platform.rental.common.exception.NotFoundException;
+import com.bikerental.platform.rental.rentals.contract.ContractCache;
+import com.bikerental.platform.rental.rentals.contract.ContractDocument;
+import com.bikerental.platform.rental.rentals.contract.ContractTemplate;
 import com.bikerental.platform.rental.rentals.model.Rental;
-import com.bikerental.platform.rental.rentals.model.RentalItem;
+import com.bikerental.platform.rental.rentals.model.RentalStatus;
 import com.bikerental.platform.rental.rentals.repo.RentalRepository;
-import com.bikerental.platform.rental.signature.model.Signature;
 import com.bikerental.platform.rental.signature.service.SignatureService;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
-import java.util.Base64;
-import java.util.List;
-import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class RentalContractService {
 
+    // Contract cache version of archived rentals, which never change again
+    private static final String ARCHIVED_VERSION = "archived";
+
     private final RentalRepository rentalRepository;
-    private final BikeRepository bikeRepository;
     private final SignatureService signatureService;
     private final HotelContext hotelContext;
+    private final RentalArchiveService rentalArchiveService;
+    private final ContractCache contractCache;
+    private final TransactionTemplate readOnlyTransaction;
+    private final String stylesheetHref;
+
+    public RentalContractService(RentalRepository rentalRepository,
+                                 SignatureService signatureService,
+                                 HotelContext hotelContext,
+                                 RentalArchiveService rentalArchiveService,
+                                 ContractCache contractCache,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${rentals.contract.stylesheet-url:http://localhost:8080/api/rentals/contract.css}")
+                                 String stylesheetUrl) {
+        this.rentalRepository = rentalRepository;
+        this.signatureService = signatureService;
+        this.hotelContext = hotelContext;
+        this.rentalArchiveService = rentalArchiveService;
+        this.contractCache = contractCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.stylesheetHref = stylesheetUrl + "?v=" + ContractTemplate.STYLESHEET_VERSION;
+    }
 
-    private static final DateTimeFormatter DATE_FORMATTER =
-            DateTimeFormatter.ofPattern("MMM d, yyyy 'at' h:mm a")
-                    .withZone(ZoneId.systemDefault());
-
-    @Transactional(readOnly = true)
-    public byte[] getSignatureForRental(Long rentalId) {
+    /**
+     * The ID of the current hotel's rental's signature, read without loading the rental.
+     * Signatures never change, so the ID identifies the image for conditional requests.
+     */
+    public Long getSignatureId(Long rentalId) {
         Long hotelId = hotelContext.getCurrentHotelId();
-
-        Rental rental = rentalRepository.findByRentalIdAndHotelId(rentalId, hotelId)
+        return rentalRepository.findSignatureId(rentalId, hotelId)
+                .or(() -> rentalArchiveService.findSignatureId(rentalId, hotelId))
                 .orElseThrow(() -> new NotFoundException("Rental not found: " + rentalId));
+    }
 
-        Signature signature = signatureService.getSignature(rental.getSignatureId(), hotelId)
-                .orElseThrow(() -> new NotFoundException("Signature not found for rental: " + rentalId));
-
-        return signature.getSignatureData();
+    /**
+     * Stream the PNG of one of the current hotel's signatures, see {@link #getSignatureId}.
+     */
+    public StreamingResponseBody streamSignature(Long signatureId) {
+        return signatureService.streamSignatureData(signatureId, hotelContext.getCurrentHotelId())
+                .orElseThrow(() -> new NotFoundException("Signature not found: " + signatureId));
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * The contract as a self-contained HTML document (stylesheet inlined).
+     */
     public String generateContractHtml(Long rentalId) {
         Long hotelId = hotelContext.getCurrentHotelId();
+        Optional<ContractCache.Entry> cached = getCached(hotelId, rentalId, null);
+        if (cached.isPresent()) {
+            return new String(cached.get().html(), StandardCharsets.UTF_8);
+        }
 
-        Rental rental = rentalRepository.findByRentalIdAndHotelId(rentalId, hotelId)
-                .orElseThrow(() -> new NotFoundException("Rental not found: " + rentalId));
-
-        List<Long> bikeIds = rental.getItems().stream()
-                .map(RentalItem::getBikeId)
-                .collect(Collectors.toList());
+        ContractData contract = readOnlyTransaction.execute(status -> loadContract(hotelId, rentalId));
+        byte[] html = render(contract, null);
+        if (contract.cacheable()) {
+            contractCache.put(hotelId, rentalId, cacheVersion(contract.rental()), null, html);
+        }
+        return new String(html, StandardCharsets.UTF_8);
+    }
 
-        Map<Long, Bike> bikeMap = bikeRepository.findAllById(bikeIds).stream()
-                .collect(Collectors.toMap(Bike::getBikeId, Function.identity()));
+    /**
+     * The contract document, linking its stylesheet from {@code rentals.contract.stylesheet-url}.
+     * A CLOSED rental's contract comes from {@link ContractCache} once rendered, after checking the
+     * rental's current version; an open rental's contract is loaded now and streamed as it is rendered.
+     */
+    public ContractDocument getContract(Long rentalId) {
+        Long hotelId = hotelContext.getCurrentHotelId();
+        Optional<ContractCache.Entry> cached = getCached(hotelId, rentalId, stylesheetHref);
+        if (cached.isPresent()) {
+            return document(cached.get());
+        }
 
-        String signatureBase64 = "";
-        try {
-            Signature signature = signatureService.getSignature(rental.getSignatureId(), hotelId)
-                    .orElse(null);
-            if (signature != null) {
-                signatureBase64 = Base64.getEncoder().encodeToString(signature.getSignatureData());
-            }
-        } catch (Exception e) {
-            log.warn("Failed to load signature for rental {}: {}", rentalId, e.getMessage());
+        ContractData contract = readOnlyTransaction.execute(status -> loadContract(hotelId, rentalId));
+        if (!contract.cacheable()) {
+            return new ContractDocument(
+                    out -> ContractTemplate.write(contract.rental(), contract.signaturePng(), stylesheetHref, out),
+                    null);
         }
+        byte[] html = render(contract, stylesheetHref);
+        return document(contractCache.put(hotelId, rentalId, cacheVersion(contract.rental()), stylesheetHref, html));
+    }
 
-        return buildContractHtml(rental, bikeMap, signatureBase64);
+    // Looked up under the rental's current version, so a reopen on any instance is seen right away
+    private Optional<ContractCache.Entry> getCached(Long hotelId, Long rentalId, String variant) {
+        return currentVersion(hotelId, rentalId).flatMap(v -> contractCache.get(hotelId, rentalId, v, variant));
     }
 
-    private String buildContractHtml(Rental rental, Map<Long, Bike> bikeMap, String signatureBase64) {
-        StringBuilder html = new StringBuilder();
-        
-        html.append("<!DOCTYPE html>\n");
-        html.append("<html lang=\"en\">\n");
-        html.append("<head>\n");
-        html.append("  <meta charset=\"UTF-8\">\n");
-        html.append("  <meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">\n");
-        html.append("  <title>Rental Contract #").append(rental.getRentalId()).append("</title>\n");
-        html.append("  <style>\n");
-        html.append("    * { box-sizing: border-box; margin: 0; padding: 0; }\n");
-        html.append("    body { font-family: -apple-system, BlinkMacSystemFont, 'Segoe UI', Roboto, sans-serif; ");
-        html.append("line-height: 1.6; color: #1e293b; max-width: 800px; margin: 0 auto; padding: 40px 20px; }\n");
-        html.append("    .header { text-align: center; margin-bottom: 40px; padding-bottom: 20px; border-bottom: 2px solid #e2e8f0; }\n");
-        html.append("    .header h1 { font-size: 28px; font-weight: 700; color: #0f172a; margin-bottom: 8px; }\n");
-        html.append("    .header .contract-id { font-size: 16px; color: #64748b; font-family: monospace; }\n");
-        html.append("    .section { margin-bottom: 32px; }\n");
-        html.append("    .section h2 { font-size: 18px; font-weight: 600; color: #334155; margin-bottom: 16px; ");
-        html.append("padding-bottom: 8px; border-bottom: 1px solid #e2e8f0; }\n");
-        html.append("    .info-grid { display: grid; grid-template-columns: repeat(2, 1fr); gap: 16px; }\n");
-        html.append("    .info-item { }\n");
-        html.append("    .info-label { font-size: 12px; font-weight: 600; text-transform: uppercase; ");
-        html.append("letter-spacing: 0.05em; color: #64748b; margin-bottom: 4px; }\n");
-        html.append("    .info-value { font-size: 16px; color: #0f172a; }\n");
-        html.append("    .bikes-table { width: 100%; border-collapse: collapse; }\n");
-        html.append("    .bikes-table th, .bikes-table td { padding: 12px; text-align: left; border-bottom: 1px solid #e2e8f0; }\n");
-        html.append("    .bikes-table th { font-size: 12px; font-weight: 600; text-transform: uppercase; ");
-        html.append("letter-spacing: 0.05em; color: #64748b; background: #f8fafc; }\n");
-        html.append("    .bikes-table td { font-size: 14px; }\n");
-        html.append("    .status-badge { display: inline-block; padding: 4px 12px; border-radius: 9999px; ");
-        html.append("font-size: 12px; font-weight: 600; text-transform: uppercase; }\n");
-        html.append("    .status-rented { background: #dbeafe; color: #1d4ed8; }\n");
-        html.append("    .status-returned { background: #dcfce7; color: #15803d; }\n");
-        html.append("    .status-lost { background: #fee2e2; color: #dc2626; }\n");
-        html.append("    .signature-section { margin-top: 40px; padding-top: 20px; border-top: 2px solid #e2e8f0; }\n");
-        html.append("    .signature-img { max-width: 300px; max-height: 150px; border: 1px solid #e2e8f0; ");
-        html.append("border-radius: 8px; background: #fff; }\n");
-        html.append("    .tnc { margin-top: 40px; padding: 20px; background: #f8fafc; border-radius: 8px; ");
-        html.append("font-size: 12px; color: #64748b; }\n");
-        html.append("    .tnc h3 { font-size: 14px; font-weight: 600; color: #334155; margin-bottom: 8px; }\n");
-        html.append("    @media print { body { padding: 20px; } }\n");
-        html.append("  </style>\n");
-        html.append("</head>\n");
-        html.append("<body>\n");
-
-        // Header
-        html.append("  <div class=\"header\">\n");
-        html.append("    <h1>Bike Rental Contract</h1>\n");
-        html.append("    <div class=\"contract-id\">Contract #").append(rental.getRentalId()).append("</div>\n");
-        html.append("  </div>\n");
-
-        // Rental Details Section
-        html.append("  <div class=\"section\">\n");
-        html.append("    <h2>Rental Details</h2>\n");
-        html.append("    <div class=\"info-grid\">\n");
-        html.append("      <div class=\"info-item\">\n");
-        html.append("        <div class=\"info-label\">Room Number</div>\n");
-        html.append("        <div class=\"info-value\">").append(escapeHtml(rental.getRoomNumber())).append("</div>\n");
-        html.append("      </div>\n");
-        if (rental.getBedNumber() != null && !rental.getBedNumber().isEmpty()) {
-            html.append("      <div class=\"info-item\">\n");
-            html.append("        <div class=\"info-label\">Bed Number</div>\n");
-            html.append("        <div class=\"info-value\">").append(escapeHtml(rental.getBedNumber())).append("</div>\n");
-            html.append("      </div>\n");
-        }
-        html.append("      <div class=\"info-item\">\n");
-        html.append("        <div class=\"info-label\">Start Date</div>\n");
-        html.append("        <div class=\"info-value\">").append(DATE_FORMATTER.format(rental.getStartAt())).append("</div>\n");
-        html.append("      </div>\n");
-        html.append("      <div class=\"info-item\">\n");
-        html.append("        <div class=\"info-label\">Due Date</div>\n");
-        html.append("        <div class=\"info-value\">").append(DATE_FORMATTER.format(rental.getDueAt())).append("</div>\n");
-        html.append("      </div>\n");
-        html.append("      <div class=\"info-item\">\n");
-        html.append("        <div class=\"info-label\">Status</div>\n");
-        html.append("        <div class=\"info-value\">").append(rental.getStatus()).append("</div>\n");
-        html.append("      </div>\n");
-        html.append("    </div>\n");
-        html.append("  </div>\n");
-
-        // Bikes Section
-        html.append("  <div class=\"section\">\n");
-        html.append("    <h2>Rented Bikes</h2>\n");
-        html.append("    <table class=\"bikes-table\">\n");
-        html.append("      <thead>\n");
-        html.append("        <tr>\n");
-        html.append("          <th>Bike Number</th>\n");
-        html.append("          <th>Type</th>\n");
-        html.append("          <th>Status</th>\n");
-        html.append("        </tr>\n");
-        html.append("      </thead>\n");
-        html.append("      <tbody>\n");
-        
-        for (RentalItem item : rental.getItems()) {
-            Bike bike = bikeMap.get(item.getBikeId());
-            String bikeNumber = bike != null ? bike.getBikeNumber() : "Unknown";
-            String bikeType = bike != null && bike.getBikeType() != null ? bike.getBikeType() : "-";
-            String statusClass = "status-" + item.getStatus().name().toLowerCase();
-            
-            html.append("        <tr>\n");
-            html.append("          <td>").append(escapeHtml(bikeNumber)).append("</td>\n");
-            html.append("          <td>").append(escapeHtml(bikeType)).append("</td>\n");
-            html.append("          <td><span class=\"status-badge ").append(statusClass).append("\">");
-            html.append(item.getStatus()).append("</span></td>\n");
-            html.append("        </tr>\n");
+    // The rental's current cache version, read without loading it; also used by ContractPdfService
+    Optional<String> currentVersion(Long hotelId, Long rentalId) {
+        return rentalRepository.findVersion(rentalId, hotelId)
+                .map(String::valueOf)
+                .or(() -> rentalArchiveService.exists(rentalId, hotelId)
+                        ? Optional.of(ARCHIVED_VERSION)
+                        : Optional.empty());
+    }
+
+    // Version of the rendered rental; detached archive copies carry none
+    static String cacheVersion(Rental rental) {
+        return rental.getVersion() != null ? String.valueOf(rental.getVersion()) : ARCHIVED_VERSION;
+    }
+
+    private static ContractDocument document(ContractCache.Entry entry) {
+        byte[] html = entry.html();
+        return new ContractDocument(out -> out.write(html), entry.etag());
+    }
+
+    private static byte[] render(ContractData contract, String stylesheetHref) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+        try {
+            ContractTemplate.write(contract.rental(), contract.signaturePng(), stylesheetHref, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        
-        html.append("      </tbody>\n");
-        html.append("    </table>\n");
-        html.append("  </div>\n");
-
-        // Signature Section
-        html.append("  <div class=\"section signature-section\">\n");
-        html.append("    <h2>Guest Signature</h2>\n");
-        if (!signatureBase64.isEmpty()) {
-            html.append("    <img class=\"signature-img\" src=\"data:image/png;base64,");
-            html.append(signatureBase64).append("\" alt=\"Guest Signature\" />\n");
-        } else {
-            html.append("    <p style=\"color: #64748b; font-style: italic;\">Signature not available</p>\n");
+        return out.toByteArray();
+    }
+
+    // Also used by ContractPdfService; call inside a transaction
+    ContractData loadContract(Long hotelId, Long rentalId) {
+        // Rental, items and bikes come from one fetch-join query; old CLOSED rentals live in the archive
+        Rental rental = rentalRepository.findWithItemsAndBikes(rentalId, hotelId)
+                .or(() -> rentalArchiveService.findWithItemsAndBikes(rentalId, hotelId))
+                .orElseThrow(() -> new NotFoundException("Rental not found: " + rentalId));
+
+        byte[] signaturePng = null;
+        boolean signatureFailed = false;
+        try {
+            signaturePng = signatureService.getSignatureData(rental.getSignatureId(), hotelId).orElse(null);
+        } catch (Exception e) {
+            log.warn("Failed to load signature for rental {}: {}", rentalId, e.getMessage());
+            signatureFailed = true;
         }
-        html.append("  </div>\n");
-
-        html.append("  <div class=\"tnc\">\n");
-        html.append("    <h3>Terms & Conditions (v").append(escapeHtml(rental.getTncVersion())).append(")</h3>\n");
-        html.append("    <p>By signing this contract, the guest agrees to the following terms:</p>\n");
-        html.append("    <ul style=\"margin-top: 8px; padding-left: 20px;\">\n");
-        html.append("      <li>The guest is responsible for the rented bike(s) during the rental period.</li>\n");
-        html.append("      <li>Bikes must be returned by the due date and time specified above.</li>\n");
-        html.append("      <li>The guest is liable for any damage or loss of the bike(s).</li>\n");
-        html.append("      <li>Late returns may incur additional charges.</li>\n");
-        html.append("    </ul>\n");
-        html.append("  </div>\n");
-
-        html.append("</body>\n");
-        html.append("</html>\n");
-
-        return html.toString();
+        return new ContractData(rental, signaturePng, signatureFailed);
     }
 
-    private String escapeHtml(String input) {
-        if (input == null) return "";
-        return input
-                .replace("&", "&amp;")
-                .replace("<", "&lt;")
-                .replace(">", "&gt;")
-                .replace("\"", "&quot;")
-                .replace("'", "&#x27;");
+    record ContractData(Rental rental, byte[] signaturePng, boolean signatureFailed) {
+
+        // A CLOSED contract is final, unless the signature only failed to load this time
+        boolean cacheable() {
+            return rental.getStatus() == RentalStatus.CLOSED && !signatureFailed;
+        }
     }
 }
-
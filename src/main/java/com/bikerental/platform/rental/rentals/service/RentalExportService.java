@@ -0,0 +1,108 @@
+package com.bikerental.platform.rental.rentals.service;
+
+import com.bikerental.platform.rental.auth.security.HotelContext;
+import com.bikerental.platform.rental.common.csv.CsvWriter;
+import com.bikerental.platform.rental.rentals.dto.RentalExportRow;
+import com.bikerental.platform.rental.rentals.repo.ArchivedRentalRepository;
+import com.bikerental.platform.rental.rentals.repo.RentalRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Rental history CSV export, one row per rental item, newest rental first.
+ * CLOSED rentals may have been archived, so the live and archive streams - both already in
+ * export order - are merged row by row; memory use does not depend on the date range.
+ */
+@Service
+public class RentalExportService {
+
+    static final String[] COLUMNS = {"rental_id", "status", "start_at", "due_at", "return_at",
+            "room_number", "bed_number", "bike_number", "item_status", "returned_at"};
+
+    // Same order as the repository queries; a rental's items are all in one table, so they stay together
+    private static final Comparator<RentalExportRow> NEWEST_FIRST =
+            Comparator.comparing(RentalExportRow::getStartAt)
+                    .thenComparing(RentalExportRow::getRentalId)
+                    .reversed();
+
+    private final RentalRepository rentalRepository;
+    private final ArchivedRentalRepository archivedRentalRepository;
+    private final HotelContext hotelContext;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public RentalExportService(RentalRepository rentalRepository,
+                               ArchivedRentalRepository archivedRentalRepository,
+                               HotelContext hotelContext,
+                               PlatformTransactionManager transactionManager) {
+        this.rentalRepository = rentalRepository;
+        this.archivedRentalRepository = archivedRentalRepository;
+        this.hotelContext = hotelContext;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * @param from optional inclusive lower bound on start time
+     * @param to optional exclusive upper bound on start time
+     */
+    public StreamingResponseBody exportRentalsCsv(Instant from, Instant to) {
+        Long hotelId = hotelContext.getCurrentHotelId();
+        return out -> writeRentalsCsv(hotelId, from, to, out);
+    }
+
+    public void writeRentalsCsv(Long hotelId, Instant from, Instant to, OutputStream out) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<RentalExportRow> live = rentalRepository.streamExportRows(hotelId, from, to);
+                 Stream<RentalExportRow> archived = archivedRentalRepository.streamExportRows(hotelId, from, to)) {
+                writeCsv(live.iterator(), archived.iterator(), out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    static void writeCsv(Iterator<RentalExportRow> live, Iterator<RentalExportRow> archived,
+                         OutputStream out) throws IOException {
+        CsvWriter csv = new CsvWriter(out);
+        csv.header(COLUMNS);
+
+        RentalExportRow nextLive = live.hasNext() ? live.next() : null;
+        RentalExportRow nextArchived = archived.hasNext() ? archived.next() : null;
+        while (nextLive != null || nextArchived != null) {
+            RentalExportRow row;
+            if (nextArchived == null || (nextLive != null && NEWEST_FIRST.compare(nextLive, nextArchived) <= 0)) {
+                row = nextLive;
+                nextLive = live.hasNext() ? live.next() : null;
+            } else {
+                row = nextArchived;
+                nextArchived = archived.hasNext() ? archived.next() : null;
+            }
+            writeRow(csv, row);
+        }
+        csv.flush();
+    }
+
+    private static void writeRow(CsvWriter csv, RentalExportRow row) throws IOException {
+        csv.value(row.getRentalId())
+                .value(row.getStatus())
+                .value(row.getStartAt())
+                .value(row.getDueAt())
+                .value(row.getReturnAt())
+                .text(row.getRoomNumber())
+                .text(row.getBedNumber())
+                .text(row.getBikeNumber())
+                .value(row.getItemStatus())
+                .value(row.getReturnedAt())
+                .endRow();
+    }
+}
@@ -0,0 +1,132 @@
+package com.bikerental.platform.rental.rentals.service;
+
+import com.bikerental.platform.rental.auth.security.HotelContext;
+import com.bikerental.platform.rental.common.pagination.KeysetCursor;
+import com.bikerental.platform.rental.rentals.dto.RentalPageResponse;
+import com.bikerental.platform.rental.rentals.dto.RentalSummaryResponse;
+import com.bikerental.platform.rental.rentals.model.RentalStatus;
+import com.bikerental.platform.rental.rentals.repo.ArchivedRentalRepository;
+import com.bikerental.platform.rental.rentals.repo.RentalItemRepository;
+import com.bikerental.platform.rental.rentals.repo.RentalRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Rental history/search - keyset pagination so page N costs the same as page 1.
+// CLOSED rentals may have been archived, so the live and archive pages are merged on the same seek key.
+@Service
+@RequiredArgsConstructor
+public class RentalHistoryService {
+
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+
+    private static final Comparator<RentalSummaryResponse> NEWEST_FIRST =
+            Comparator.comparing(RentalSummaryResponse::getStartAt)
+                    .thenComparing(RentalSummaryResponse::getRentalId)
+                    .reversed();
+
+    private final RentalRepository rentalRepository;
+    private final RentalItemRepository rentalItemRepository;
+    private final ArchivedRentalRepository archivedRentalRepository;
+    private final HotelContext hotelContext;
+
+    /**
+     * Search rentals newest first. Every filter is optional.
+     *
+     * @param from inclusive lower bound on start time
+     * @param to exclusive upper bound on start time
+     * @param cursor nextCursor from the previous page, or null for the first page
+     * @param limit page size, capped at {@value #MAX_PAGE_SIZE}
+     */
+    @Transactional(readOnly = true)
+    public RentalPageResponse findRentals(RentalStatus status, Instant from, Instant to, String roomNumber,
+                                          String bikeNumber, String cursor, Integer limit) {
+        Long hotelId = hotelContext.getCurrentHotelId();
+        int pageSize = KeysetCursor.pageSize(limit, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+
+        Instant afterStartAt = null;
+        Long afterRentalId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] key = KeysetCursor.decode(cursor, 2);
+            try {
+                afterStartAt = Instant.parse(key[0]);
+                afterRentalId = Long.parseLong(key[1]);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+
+        // Fetch one extra row to know whether another page exists
+        List<RentalSummaryResponse> rows = rentalRepository.findHistoryPage(
+                hotelId, status, from, to, blankToNull(roomNumber), blankToNull(bikeNumber),
+                afterStartAt, afterRentalId, Limit.of(pageSize + 1));
+
+        // Only CLOSED rentals are ever archived
+        Set<Long> archivedIds = new HashSet<>();
+        if (status == null || status == RentalStatus.CLOSED) {
+            List<RentalSummaryResponse> archived = archivedRentalRepository.findHistoryPage(
+                    hotelId, status, from, to, blankToNull(roomNumber), blankToNull(bikeNumber),
+                    afterStartAt, afterRentalId, Limit.of(pageSize + 1));
+            if (!archived.isEmpty()) {
+                archived.forEach(row -> archivedIds.add(row.getRentalId()));
+                rows = new ArrayList<>(rows);
+                rows.addAll(archived);
+                rows.sort(NEWEST_FIRST);
+            }
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<RentalSummaryResponse> page = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+        attachBikeNumbers(page, archivedIds);
+
+        String nextCursor = null;
+        if (hasMore) {
+            RentalSummaryResponse last = page.get(page.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getStartAt().toString(), last.getRentalId().toString());
+        }
+        return new RentalPageResponse(page, nextCursor);
+    }
+
+    // One query per table for the whole page instead of one per rental
+    private void attachBikeNumbers(List<RentalSummaryResponse> page, Set<Long> archivedIds) {
+        if (page.isEmpty()) {
+            return;
+        }
+
+        Map<Long, RentalSummaryResponse> live = new HashMap<>();
+        Map<Long, RentalSummaryResponse> archived = new HashMap<>();
+        for (RentalSummaryResponse rental : page) {
+            rental.setBikeNumbers(new ArrayList<>());
+            (archivedIds.contains(rental.getRentalId()) ? archived : live).put(rental.getRentalId(), rental);
+        }
+
+        if (!live.isEmpty()) {
+            addBikeNumbers(live, rentalItemRepository.findBikeNumbersByRentalIds(live.keySet()));
+        }
+        if (!archived.isEmpty()) {
+            addBikeNumbers(archived, archivedRentalRepository.findBikeNumbersByRentalIds(archived.keySet()));
+        }
+    }
+
+    private static void addBikeNumbers(Map<Long, RentalSummaryResponse> byId, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            byId.get((Long) row[0]).getBikeNumbers().add((String) row[1]);
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
@@ -3,8 +3,10 @@ package com.bikerental.platform.rental.rentals.service;
 import com.bikerental.platform.rental.auth.security.HotelContext;
 import com.bikerental.platform.rental.bike.model.Bike;
 import com.bikerental.platform.rental.bike.repo.BikeRepository;
+import com.bikerental.platform.rental.bike.service.BikeService;
 import com.bikerental.platform.rental.common.exception.BikeUnavailableException;
 import com.bikerental.platform.rental.common.exception.NotFoundException;
+import com.bikerental.platform.rental.common.retry.RetryOnOptimisticLock;
 import com.bikerental.platform.rental.rentals.dto.CreateRentalRequest;
 import com.bikerental.platform.rental.rentals.dto.MarkLostResponse;
 import com.bikerental.platform.rental.rentals.dto.RentalDetailResponse;
@@ -13,6 +15,8 @@ import com.bikerental.platform.rental.rentals.dto.RentalItemResponse;
 import com.bikerental.platform.rental.rentals.dto.RentalResponse;
 import com.bikerental.platform.rental.rentals.dto.ReturnAllResponse;
 import com.bikerental.platform.rental.rentals.dto.ReturnBikeResponse;
+import com.bikerental.platform.rental.rentals.dto.ScanReturnResponse;
+import com.bikerental.platform.rental.rentals.event.RentalReopenedEvent;
 import com.bikerental.platform.rental.rentals.model.Rental;
 import com.bikerental.platform.rental.rentals.model.RentalItem;
 import com.bikerental.platform.rental.rentals.model.RentalItemStatus;
@@ -21,16 +25,21 @@ import com.bikerental.platform.rental.rentals.repo.RentalItemRepository;
 import com.bikerental.platform.rental.rentals.repo.RentalRepository;
 import com.bikerental.platform.rental.settings.service.HotelSettingsService;
 import com.bikerental.platform.rental.signature.service.SignatureService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -45,9 +54,13 @@ public class RentalService {
     private final SignatureService signatureService;
     private final HotelContext hotelContext;
     private final HotelSettingsService hotelSettingsService;
+    private final RentalArchiveService rentalArchiveService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
 
     // Atomic rental creation - validates all bikes before making any changes
     @Transactional
+    @RetryOnOptimisticLock
     public RentalResponse createRental(CreateRentalRequest request) {
         Long hotelId = hotelContext.getCurrentHotelId();
 
@@ -57,10 +70,22 @@ public class RentalService {
 
         Long signatureId = signatureService.storeSignature(hotelId, request.getSignatureBase64Png());
 
+        Rental rental = buildRental(hotelId, request, signatureId, bikes, Instant.now());
+        for (Bike bike : bikes) {
+            bikeRepository.save(bike);
+        }
+
+        Rental savedRental = rentalRepository.save(rental);
+        return toRentalResponse(savedRental, bikes);
+    }
+
+    // Builds an unsaved ACTIVE rental with one item per bike and marks the bikes RENTED
+    static Rental buildRental(Long hotelId, CreateRentalRequest request, Long signatureId,
+                              List<Bike> bikes, Instant startAt) {
         Rental rental = new Rental();
         rental.setHotelId(hotelId);
         rental.setStatus(RentalStatus.ACTIVE);
-        rental.setStartAt(Instant.now());
+        rental.setStartAt(startAt);
         rental.setDueAt(request.getReturnDateTime());
         rental.setRoomNumber(request.getRoomNumber());
         rental.setBedNumber(request.getBedNumber());
@@ -68,17 +93,14 @@ public class RentalService {
         rental.setSignatureId(signatureId);
 
         for (Bike bike : bikes) {
-            RentalItem item = new RentalItem(rental, bike.getBikeId());
+            RentalItem item = new RentalItem(rental, bike);
             rental.addItem(item);
             bike.setStatus(Bike.BikeStatus.RENTED);
-            bikeRepository.save(bike);
         }
-
-        Rental savedRental = rentalRepository.save(rental);
-        return toRentalResponse(savedRental, bikes);
+        return rental;
     }
 
-    private void validateRequest(CreateRentalRequest request) {
+    static void validateRequest(CreateRentalRequest request) {
         if (request.getBikeNumbers() == null || request.getBikeNumbers().isEmpty()) {
             throw new IllegalArgumentException("At least one bike is required");
         }
@@ -88,10 +110,10 @@ public class RentalService {
         }
     }
 
-    private void checkForDuplicates(List<String> bikeNumbers) {
+    static void checkForDuplicates(List<String> bikeNumbers) {
         Set<String> seen = new HashSet<>();
         for (String bikeNumber : bikeNumbers) {
-            if (!seen.add(bikeNumber)) {
+            if (!seen.add(BikeService.numberKey(bikeNumber))) {
                 throw new IllegalArgumentException("Duplicate bike number: " + bikeNumber);
             }
         }
@@ -99,23 +121,19 @@ public class RentalService {
 
     // Collects all validation errors before throwing - better UX than failing on first error
     private List<Bike> validateAndCollectBikes(Long hotelId, List<String> bikeNumbers) {
+        Map<String, Bike> bikesByNumber = findBikesByNumber(hotelId, bikeNumbers);
+
         List<Bike> bikes = new ArrayList<>();
         List<BikeUnavailableException.UnavailableBike> unavailableBikes = new ArrayList<>();
 
         for (String bikeNumber : bikeNumbers) {
-            Optional<Bike> bikeOpt = bikeRepository.findByHotelIdAndBikeNumber(hotelId, bikeNumber);
+            Bike bike = bikesByNumber.get(BikeService.numberKey(bikeNumber));
+            String reason = BikeService.unavailableReason(bike);
 
-            if (bikeOpt.isEmpty()) {
-                unavailableBikes.add(new BikeUnavailableException.UnavailableBike(bikeNumber, "NOT_FOUND"));
+            if (reason != null) {
+                unavailableBikes.add(new BikeUnavailableException.UnavailableBike(bikeNumber, reason));
             } else {
-                Bike bike = bikeOpt.get();
-                if (bike.getStatus() == Bike.BikeStatus.RENTED) {
-                    unavailableBikes.add(new BikeUnavailableException.UnavailableBike(bikeNumber, "ALREADY_RENTED"));
-                } else if (bike.getStatus() == Bike.BikeStatus.OOO) {
-                    unavailableBikes.add(new BikeUnavailableException.UnavailableBike(bikeNumber, "OUT_OF_ORDER"));
-                } else {
-                    bikes.add(bike);
-                }
+                bikes.add(bike);
             }
         }
 
@@ -129,7 +147,13 @@ public class RentalService {
         return bikes;
     }
 
-    private RentalResponse toRentalResponse(Rental rental, List<Bike> bikes) {
+    // Single IN query instead of one lookup per bike number, keyed by BikeService.numberKey
+    private Map<String, Bike> findBikesByNumber(Long hotelId, Collection<String> bikeNumbers) {
+        return bikeRepository.findByHotelIdAndBikeNumberIn(hotelId, bikeNumbers).stream()
+                .collect(Collectors.toMap(bike -> BikeService.numberKey(bike.getBikeNumber()), Function.identity()));
+    }
+
+    static RentalResponse toRentalResponse(Rental rental, List<Bike> bikes) {
         List<RentalItemResponse> itemResponses = new ArrayList<>();
 
         for (int i = 0; i < rental.getItems().size(); i++) {
@@ -160,19 +184,14 @@ public class RentalService {
     public RentalDetailResponse getRentalDetail(Long rentalId) {
         Long hotelId = hotelContext.getCurrentHotelId();
 
-        Rental rental = rentalRepository.findByRentalIdAndHotelId(rentalId, hotelId)
+        // Rental, items and bikes come from one fetch-join query; old CLOSED rentals live in the archive
+        Rental rental = rentalRepository.findWithItemsAndBikes(rentalId, hotelId)
+                .or(() -> rentalArchiveService.findWithItemsAndBikes(rentalId, hotelId))
                 .orElseThrow(() -> new NotFoundException("Rental not found: " + rentalId));
 
-        List<Long> bikeIds = rental.getItems().stream()
-                .map(RentalItem::getBikeId)
-                .collect(Collectors.toList());
-
-        Map<Long, Bike> bikeMap = bikeRepository.findAllById(bikeIds).stream()
-                .collect(Collectors.toMap(Bike::getBikeId, Function.identity()));
-
         List<RentalItemDetailResponse> itemResponses = rental.getItems().stream()
                 .map(item -> {
-                    Bike bike = bikeMap.get(item.getBikeId());
+                    Bike bike = item.getBike();
                     return new RentalItemDetailResponse(
                             item.getRentalItemId(),
                             item.getBikeId(),
@@ -200,23 +219,18 @@ public class RentalService {
     }
 
     @Transactional
+    @RetryOnOptimisticLock
     public ReturnBikeResponse returnBike(Long rentalId, Long rentalItemId) {
         Long hotelId = hotelContext.getCurrentHotelId();
 
-        Rental rental = rentalRepository.findByRentalIdAndHotelId(rentalId, hotelId)
-                .orElseThrow(() -> new NotFoundException("Rental not found: " + rentalId));
-
-        RentalItem item = rental.getItems().stream()
-                .filter(i -> i.getRentalItemId().equals(rentalItemId))
-                .findFirst()
-                .orElseThrow(() -> new NotFoundException("Rental item not found: " + rentalItemId));
+        RentalItem item = lockItem(hotelId, rentalId, rentalItemId);
+        Rental rental = item.getRental();
 
         if (item.getStatus() != RentalItemStatus.RENTED) {
             throw new IllegalStateException("Item is not currently rented");
         }
 
-        Bike bike = bikeRepository.findById(item.getBikeId())
-                .orElseThrow(() -> new NotFoundException("Bike not found: " + item.getBikeId()));
+        Bike bike = item.getBike();
 
         Instant returnedAt = Instant.now();
         item.setStatus(RentalItemStatus.RETURNED);
@@ -228,7 +242,7 @@ public class RentalService {
             bikeRepository.save(bike);
         }
 
-        boolean rentalClosed = recalculateRentalStatus(rental);
+        boolean rentalClosed = recalculateRentalStatusByCount(rental);
 
         return new ReturnBikeResponse(
                 item.getRentalItemId(),
@@ -242,23 +256,18 @@ public class RentalService {
     }
 
     @Transactional
+    @RetryOnOptimisticLock
     public MarkLostResponse markLost(Long rentalId, Long rentalItemId, String reason) {
         Long hotelId = hotelContext.getCurrentHotelId();
 
-        Rental rental = rentalRepository.findByRentalIdAndHotelId(rentalId, hotelId)
-                .orElseThrow(() -> new NotFoundException("Rental not found: " + rentalId));
-
-        RentalItem item = rental.getItems().stream()
-                .filter(i -> i.getRentalItemId().equals(rentalItemId))
-                .findFirst()
-                .orElseThrow(() -> new NotFoundException("Rental item not found: " + rentalItemId));
+        RentalItem item = lockItem(hotelId, rentalId, rentalItemId);
+        Rental rental = item.getRental();
 
         if (item.getStatus() != RentalItemStatus.RENTED) {
             throw new IllegalStateException("Item is not currently rented");
         }
 
-        Bike bike = bikeRepository.findById(item.getBikeId())
-                .orElseThrow(() -> new NotFoundException("Bike not found: " + item.getBikeId()));
+        Bike bike = item.getBike();
 
         item.setStatus(RentalItemStatus.LOST);
         item.setLostReason(reason);
@@ -269,7 +278,7 @@ public class RentalService {
         bike.setOooSince(Instant.now());
         bikeRepository.save(bike);
 
-        boolean rentalClosed = recalculateRentalStatus(rental);
+        boolean rentalClosed = recalculateRentalStatusByCount(rental);
 
         return new MarkLostResponse(
                 item.getRentalItemId(),
@@ -283,18 +292,13 @@ public class RentalService {
     }
 
     @Transactional
+    @RetryOnOptimisticLock
     public ReturnAllResponse returnSelected(Long rentalId, List<Long> rentalItemIds) {
         Long hotelId = hotelContext.getCurrentHotelId();
 
-        Rental rental = rentalRepository.findByRentalIdAndHotelId(rentalId, hotelId)
+        Rental rental = rentalRepository.findWithItemsAndBikes(rentalId, hotelId)
                 .orElseThrow(() -> new NotFoundException("Rental not found: " + rentalId));
 
-        List<Long> bikeIds = rental.getItems().stream()
-                .map(RentalItem::getBikeId)
-                .collect(Collectors.toList());
-        Map<Long, Bike> bikeMap = bikeRepository.findAllById(bikeIds).stream()
-                .collect(Collectors.toMap(Bike::getBikeId, Function.identity()));
-
         Instant returnedAt = Instant.now();
         List<ReturnBikeResponse> returnedItems = new ArrayList<>();
         Set<Long> itemIdSet = new HashSet<>(rentalItemIds);
@@ -305,7 +309,7 @@ public class RentalService {
                 item.setReturnedAt(returnedAt);
                 rentalItemRepository.save(item);
 
-                Bike bike = bikeMap.get(item.getBikeId());
+                Bike bike = item.getBike();
                 if (bike != null && bike.getStatus() == Bike.BikeStatus.RENTED) {
                     bike.setStatus(Bike.BikeStatus.AVAILABLE);
                     bikeRepository.save(bike);
@@ -340,18 +344,13 @@ public class RentalService {
     }
 
     @Transactional
+    @RetryOnOptimisticLock
     public ReturnAllResponse returnAll(Long rentalId) {
         Long hotelId = hotelContext.getCurrentHotelId();
 
-        Rental rental = rentalRepository.findByRentalIdAndHotelId(rentalId, hotelId)
+        Rental rental = rentalRepository.findWithItemsAndBikes(rentalId, hotelId)
                 .orElseThrow(() -> new NotFoundException("Rental not found: " + rentalId));
 
-        List<Long> bikeIds = rental.getItems().stream()
-                .map(RentalItem::getBikeId)
-                .collect(Collectors.toList());
-        Map<Long, Bike> bikeMap = bikeRepository.findAllById(bikeIds).stream()
-                .collect(Collectors.toMap(Bike::getBikeId, Function.identity()));
-
         Instant returnedAt = Instant.now();
         List<ReturnBikeResponse> returnedItems = new ArrayList<>();
 
@@ -361,7 +360,7 @@ public class RentalService {
                 item.setReturnedAt(returnedAt);
                 rentalItemRepository.save(item);
 
-                Bike bike = bikeMap.get(item.getBikeId());
+                Bike bike = item.getBike();
                 if (bike != null && bike.getStatus() == Bike.BikeStatus.RENTED) {
                     bike.setStatus(Bike.BikeStatus.AVAILABLE);
                     bikeRepository.save(bike);
@@ -395,13 +394,108 @@ public class RentalService {
         );
     }
 
+    // Scan-to-return: one join query resolves every scanned bike, then each affected rental is recalculated once
+    @Transactional
+    @RetryOnOptimisticLock
+    public ScanReturnResponse returnByBikeNumbers(List<String> bikeNumbers) {
+        Long hotelId = hotelContext.getCurrentHotelId();
+
+        // Scanners often double-read a bike; keep scan order for the response. Keyed by
+        // BikeService.numberKey, as the database matches numbers case-insensitively
+        Map<String, String> scanned = new LinkedHashMap<>();
+        for (String bikeNumber : bikeNumbers) {
+            scanned.putIfAbsent(BikeService.numberKey(bikeNumber), bikeNumber);
+        }
+
+        Map<String, Object[]> matchesByBikeNumber = new HashMap<>();
+        for (Object[] row : rentalItemRepository.findItemsWithBikesByHotelIdAndBikeNumbers(
+                hotelId, scanned.values(), RentalItemStatus.RENTED)) {
+            matchesByBikeNumber.put(BikeService.numberKey(((Bike) row[1]).getBikeNumber()), row);
+        }
+
+        Instant returnedAt = Instant.now();
+        Map<Long, Rental> rentalsById = new LinkedHashMap<>();
+        Map<Long, List<ReturnBikeResponse>> returnedByRental = new HashMap<>();
+        List<RentalItem> returnedItems = new ArrayList<>();
+        List<Bike> releasedBikes = new ArrayList<>();
+        List<String> unmatched = new ArrayList<>();
+
+        for (Map.Entry<String, String> scan : scanned.entrySet()) {
+            Object[] match = matchesByBikeNumber.get(scan.getKey());
+            if (match == null) {
+                unmatched.add(scan.getValue());
+                continue;
+            }
+
+            RentalItem item = (RentalItem) match[0];
+            Bike bike = (Bike) match[1];
+            Rental rental = item.getRental();
+
+            item.setStatus(RentalItemStatus.RETURNED);
+            item.setReturnedAt(returnedAt);
+            returnedItems.add(item);
+
+            if (bike.getStatus() == Bike.BikeStatus.RENTED) {
+                bike.setStatus(Bike.BikeStatus.AVAILABLE);
+                releasedBikes.add(bike);
+            }
+
+            rentalsById.putIfAbsent(rental.getRentalId(), rental);
+            returnedByRental.computeIfAbsent(rental.getRentalId(), id -> new ArrayList<>())
+                    .add(new ReturnBikeResponse(
+                            item.getRentalItemId(),
+                            bike.getBikeId(),
+                            bike.getBikeNumber(),
+                            item.getStatus(),
+                            returnedAt,
+                            null,
+                            false
+                    ));
+        }
+
+        rentalItemRepository.saveAll(returnedItems);
+        bikeRepository.saveAll(releasedBikes);
+
+        List<ReturnAllResponse> rentalResponses = new ArrayList<>();
+        for (Rental rental : rentalsById.values()) {
+            recalculateRentalStatusByCount(rental);
+
+            List<ReturnBikeResponse> responses = returnedByRental.get(rental.getRentalId());
+            for (ReturnBikeResponse response : responses) {
+                response.setRentalStatus(rental.getStatus());
+                response.setRentalClosed(rental.getStatus() == RentalStatus.CLOSED);
+            }
+
+            rentalResponses.add(new ReturnAllResponse(
+                    rental.getRentalId(),
+                    rental.getStatus(),
+                    rental.getReturnAt(),
+                    responses.size(),
+                    responses
+            ));
+        }
+
+        return new ScanReturnResponse(returnedItems.size(), rentalResponses, unmatched);
+    }
+
     // Status logic: CLOSED if all items done, OVERDUE if past grace period, else ACTIVE
     private boolean recalculateRentalStatus(Rental rental) {
-        boolean allReturned = rental.getItems().stream()
-                .allMatch(item -> item.getStatus() == RentalItemStatus.RETURNED
-                               || item.getStatus() == RentalItemStatus.LOST);
+        boolean hasRentedItems = rental.getItems().stream()
+                .anyMatch(item -> item.getStatus() == RentalItemStatus.RENTED);
+        return applyRentalStatus(rental, hasRentedItems);
+    }
+
+    // Single-item variant: counts RENTED items in the database instead of loading every item of the contract
+    private boolean recalculateRentalStatusByCount(Rental rental) {
+        boolean hasRentedItems = rentalItemRepository.countByRentalRentalIdAndStatus(
+                rental.getRentalId(), RentalItemStatus.RENTED) > 0;
+        return applyRentalStatus(rental, hasRentedItems);
+    }
 
-        if (allReturned) {
+    // Items are RENTED, RETURNED or LOST, so "no RENTED items" means every item is done
+    private boolean applyRentalStatus(Rental rental, boolean hasRentedItems) {
+        markItemsChanged(rental);
+        if (!hasRentedItems) {
             if (rental.getStatus() != RentalStatus.CLOSED) {
                 rental.setStatus(RentalStatus.CLOSED);
                 rental.setReturnAt(Instant.now());
@@ -411,46 +505,51 @@ public class RentalService {
             return false;
         }
 
-        boolean hasRentedItems = rental.getItems().stream()
-                .anyMatch(item -> item.getStatus() == RentalItemStatus.RENTED);
+        int graceMinutes = hotelSettingsService.getGraceMinutes(rental.getHotelId());
+        Instant overdueThreshold = rental.getDueAt().plusSeconds(graceMinutes * 60L);
+        boolean isOverdue = Instant.now().isAfter(overdueThreshold);
 
-        if (hasRentedItems) {
-            int graceMinutes = hotelSettingsService.getGraceMinutes(rental.getHotelId());
-            Instant overdueThreshold = rental.getDueAt().plusSeconds(graceMinutes * 60L);
-            boolean isOverdue = Instant.now().isAfter(overdueThreshold);
-
-            RentalStatus newStatus = isOverdue ? RentalStatus.OVERDUE : RentalStatus.ACTIVE;
-            if (rental.getStatus() != newStatus) {
-                rental.setStatus(newStatus);
-                rentalRepository.save(rental);
-            }
+        RentalStatus newStatus = isOverdue ? RentalStatus.OVERDUE : RentalStatus.ACTIVE;
+        if (rental.getStatus() != newStatus) {
+            rental.setStatus(newStatus);
+            rentalRepository.save(rental);
         }
 
         return false;
     }
 
+    // Locks the item, its rental and its bike; distinguishes a missing rental from a missing item for the 404 message
+    // Item changes do not write the rentals row; bump the rental's version anyway, so contracts
+    // stored under it (ContractPdfStore) are superseded on every instance
+    private void markItemsChanged(Rental rental) {
+        entityManager.lock(rental, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+    }
+
+    private RentalItem lockItem(Long hotelId, Long rentalId, Long rentalItemId) {
+        return rentalItemRepository.findForUpdate(rentalItemId, rentalId, hotelId)
+                .orElseThrow(() -> rentalRepository.existsByRentalIdAndHotelId(rentalId, hotelId)
+                        ? new NotFoundException("Rental item not found: " + rentalItemId)
+                        : new NotFoundException("Rental not found: " + rentalId));
+    }
+
     @Transactional
+    @RetryOnOptimisticLock
     public ReturnBikeResponse undoReturn(Long rentalId, Long rentalItemId) {
         Long hotelId = hotelContext.getCurrentHotelId();
 
-        Rental rental = rentalRepository.findByRentalIdAndHotelId(rentalId, hotelId)
-                .orElseThrow(() -> new NotFoundException("Rental not found: " + rentalId));
-
-        RentalItem item = rental.getItems().stream()
-                .filter(i -> i.getRentalItemId().equals(rentalItemId))
-                .findFirst()
-                .orElseThrow(() -> new NotFoundException("Rental item not found: " + rentalItemId));
+        RentalItem item = lockItem(hotelId, rentalId, rentalItemId);
+        Rental rental = item.getRental();
 
         if (item.getStatus() != RentalItemStatus.RETURNED) {
             throw new IllegalStateException("Item is not in RETURNED status");
         }
 
-        Bike bike = bikeRepository.findById(item.getBikeId())
-                .orElseThrow(() -> new NotFoundException("Bike not found: " + item.getBikeId()));
+        Bike bike = item.getBike();
 
         item.setStatus(RentalItemStatus.RENTED);
         item.setReturnedAt(null);
         rentalItemRepository.save(item);
+        markItemsChanged(rental);
 
         if (bike.getStatus() == Bike.BikeStatus.AVAILABLE) {
             bike.setStatus(Bike.BikeStatus.RENTED);
@@ -461,6 +560,7 @@ public class RentalService {
             rental.setStatus(RentalStatus.ACTIVE);
             rental.setReturnAt(null);
             rentalRepository.save(rental);
+            eventPublisher.publishEvent(new RentalReopenedEvent(hotelId, rentalId));
         }
 
         return new ReturnBikeResponse(
@@ -475,25 +575,19 @@ public class RentalService {
     }
 
     @Transactional
+    @RetryOnOptimisticLock
     public RentalItemDetailResponse addBikeToRental(Long rentalId, String bikeNumber) {
         Long hotelId = hotelContext.getCurrentHotelId();
 
-        Rental rental = rentalRepository.findByRentalIdAndHotelId(rentalId, hotelId)
+        Rental rental = rentalRepository.findWithItemsAndBikes(rentalId, hotelId)
                 .orElseThrow(() -> new NotFoundException("Rental not found: " + rentalId));
 
         if (rental.getStatus() == RentalStatus.CLOSED) {
             throw new IllegalStateException("Cannot add bikes to a closed rental");
         }
 
-        List<Long> existingBikeIds = rental.getItems().stream()
-                .map(RentalItem::getBikeId)
-                .collect(Collectors.toList());
-
-        Map<Long, Bike> existingBikeMap = bikeRepository.findAllById(existingBikeIds).stream()
-                .collect(Collectors.toMap(Bike::getBikeId, Function.identity()));
-
-        boolean alreadyInRental = existingBikeMap.values().stream()
-                .anyMatch(b -> b.getBikeNumber().equals(bikeNumber));
+        boolean alreadyInRental = rental.getItems().stream()
+                .anyMatch(item -> item.getBike() != null && item.getBike().getBikeNumber().equals(bikeNumber));
 
         if (alreadyInRental) {
             throw new IllegalArgumentException("Bike " + bikeNumber + " is already in this rental");
@@ -502,9 +596,10 @@ public class RentalService {
         List<Bike> bikes = validateAndCollectBikes(hotelId, List.of(bikeNumber));
         Bike bike = bikes.get(0);
 
-        RentalItem newItem = new RentalItem(rental, bike.getBikeId());
+        RentalItem newItem = new RentalItem(rental, bike);
         rental.addItem(newItem);
         rentalItemRepository.save(newItem);
+        markItemsChanged(rental);
 
         bike.setStatus(Bike.BikeStatus.RENTED);
         bikeRepository.save(bike);
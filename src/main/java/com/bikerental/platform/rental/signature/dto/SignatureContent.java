@@ -0,0 +1,17 @@
+package com.bikerental.platform.rental.signature.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Where a signature's PNG is: in the SignatureStore under {@code contentHash}, or, until migrated,
+ * inline in {@code signatureData} (null once moved, so reading it costs nothing).
+ * Built directly from a JPQL constructor expression.
+ */
+@Getter
+@AllArgsConstructor
+public class SignatureContent {
+    private Long signatureId;
+    private String contentHash;
+    private byte[] signatureData;
+}
@@ -8,7 +8,8 @@ import lombok.Setter;
 import java.time.Instant;
 
 /**
- * Stores the guest's signature as a PNG image blob.
+ * A guest's signature. The PNG itself is in the SignatureStore under {@code contentHash};
+ * rows created before the store existed hold it in {@code signatureData} until migrated.
  * Immutable once created - tied to a specific rental contract.
  * Hotel-scoped for multi-tenant security.
  */
@@ -33,8 +34,17 @@ public class Signature {
     @Column(name = "hotel_id", nullable = false)
     private Long hotelId;
 
+    /**
+     * SHA-256 (hex) of the PNG in the SignatureStore; null while the PNG is still inline.
+     */
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    // Inline PNG (older rows, or signatures.store.keep-inline), null once moved to the SignatureStore.
+    // Lazy (with bytecode enhancement), so loading the entity does not read the blob
     @Lob
-    @Column(name = "signature_data", nullable = false, columnDefinition = "MEDIUMBLOB")
+    @Basic(fetch = FetchType.LAZY)
+    @Column(name = "signature_data", columnDefinition = "MEDIUMBLOB")
     private byte[] signatureData;
 
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -45,6 +55,11 @@ public class Signature {
         createdAt = Instant.now();
     }
 
+    public Signature(Long hotelId, String contentHash) {
+        this.hotelId = hotelId;
+        this.contentHash = contentHash;
+    }
+
     public Signature(Long hotelId, byte[] signatureData) {
         this.hotelId = hotelId;
         this.signatureData = signatureData;
@@ -1,9 +1,15 @@
 package com.bikerental.platform.rental.signature.repo;
 
+import com.bikerental.platform.rental.signature.dto.SignatureContent;
 import com.bikerental.platform.rental.signature.model.Signature;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -19,5 +25,45 @@ public interface SignatureRepository extends JpaRepository<Signature, Long> {
      * Use this instead of findById() to ensure multi-tenant isolation.
      */
     Optional<Signature> findBySignatureIdAndHotelId(Long signatureId, Long hotelId);
+
+    /**
+     * The content hash or inline PNG of a signature, scoped to a specific hotel, in one read:
+     * a row migrated in between two separate reads would otherwise be missed.
+     */
+    @Query("SELECT new com.bikerental.platform.rental.signature.dto.SignatureContent(" +
+           "s.signatureId, s.contentHash, s.signatureData) " +
+           "FROM Signature s WHERE s.signatureId = :signatureId AND s.hotelId = :hotelId")
+    Optional<SignatureContent> findContent(@Param("signatureId") Long signatureId, @Param("hotelId") Long hotelId);
+
+    /**
+     * Next page of signatures the migration to the store still has to handle, in id order: inline rows
+     * without a content hash, plus, when {@code clearInline}, inline rows that already have one.
+     * Not hotel-scoped: used only by the background migration.
+     */
+    @Query("SELECT new com.bikerental.platform.rental.signature.dto.SignatureContent(" +
+           "s.signatureId, s.contentHash, s.signatureData) " +
+           "FROM Signature s WHERE s.signatureData IS NOT NULL " +
+           "AND (s.contentHash IS NULL OR :clearInline = true) " +
+           "AND s.signatureId > :afterSignatureId " +
+           "ORDER BY s.signatureId")
+    List<SignatureContent> findInline(@Param("afterSignatureId") Long afterSignatureId,
+                                      @Param("clearInline") boolean clearInline,
+                                      Limit limit);
+
+    /**
+     * Record the content hash of an inline signature whose blob is stored, keeping the inline copy.
+     */
+    @Modifying
+    @Query("UPDATE Signature s SET s.contentHash = :contentHash " +
+           "WHERE s.signatureId = :signatureId AND s.contentHash IS NULL")
+    int recordContentHash(@Param("signatureId") Long signatureId, @Param("contentHash") String contentHash);
+
+    /**
+     * Point an inline signature at its stored blob and drop the inline copy.
+     */
+    @Modifying
+    @Query("UPDATE Signature s SET s.contentHash = :contentHash, s.signatureData = NULL " +
+           "WHERE s.signatureId = :signatureId AND (s.contentHash IS NULL OR s.contentHash = :contentHash)")
+    int moveToStore(@Param("signatureId") Long signatureId, @Param("contentHash") String contentHash);
 }
 
@@ -0,0 +1,112 @@
+package com.bikerental.platform.rental.signature.service;
+
+import com.bikerental.platform.rental.signature.dto.SignatureContent;
+import com.bikerental.platform.rental.signature.repo.SignatureRepository;
+import com.bikerental.platform.rental.signature.store.SignatureStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Copies signature PNGs stored in the signatures table into the {@link SignatureStore}.
+ * Each batch of {@code signatures.migration.batch-size} rows is read, stored, read back and
+ * updated in its own short transaction, walking the primary key, so an interrupted run simply
+ * resumes. Off by default ({@code signatures.migration.enabled}).
+ * <p>
+ * The inline PNG is dropped unless {@code signatures.store.keep-inline} is set, in which case rows
+ * just gain their content hash and stay in the database and its backups.
+ */
+@Slf4j
+@Service
+public class SignatureMigrationService {
+
+    private final SignatureRepository signatureRepository;
+    private final SignatureStore signatureStore;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final boolean keepInline;
+    private final int batchSize;
+
+    public SignatureMigrationService(
+            SignatureRepository signatureRepository,
+            SignatureStore signatureStore,
+            PlatformTransactionManager transactionManager,
+            @Value("${signatures.migration.enabled:false}") boolean enabled,
+            @Value("${signatures.store.keep-inline:false}") boolean keepInline,
+            @Value("${signatures.migration.batch-size:100}") int batchSize) {
+        this.signatureRepository = signatureRepository;
+        this.signatureStore = signatureStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.keepInline = keepInline;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Periodically migrate inline signatures; a no-op once all are done.
+     */
+    @Scheduled(fixedDelayString = "${signatures.migration.interval-ms:600000}",
+               initialDelayString = "${signatures.migration.initial-delay-ms:60000}")
+    public void migrateScheduled() {
+        if (!enabled) {
+            return;
+        }
+        int moved = migrateInlineSignatures();
+        if (moved > 0) {
+            log.info("Migrated {} signatures to the signature store", moved);
+        }
+    }
+
+    /**
+     * Copy every inline signature to the store, batch by batch, dropping the inline copy unless
+     * {@code signatures.store.keep-inline}.
+     *
+     * @return number of signatures migrated
+     */
+    public int migrateInlineSignatures() {
+        long afterSignatureId = 0;
+        int total = 0;
+
+        while (true) {
+            long seekSignatureId = afterSignatureId;
+            List<SignatureContent> batch = transactionTemplate.execute(status -> moveBatch(seekSignatureId));
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+            total += batch.size();
+            afterSignatureId = batch.get(batch.size() - 1).getSignatureId();
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    // Blobs are written and read back before the rows change: a rollback leaves at most an unreferenced blob
+    private List<SignatureContent> moveBatch(long afterSignatureId) {
+        List<SignatureContent> batch =
+                signatureRepository.findInline(afterSignatureId, !keepInline, Limit.of(batchSize));
+        for (SignatureContent signature : batch) {
+            String contentHash = signatureStore.put(signature.getSignatureData());
+            if (!Arrays.equals(signatureStore.get(contentHash), signature.getSignatureData())) {
+                throw new IllegalStateException("Stored signature " + signature.getSignatureId()
+                        + " does not read back as written");
+            }
+            if (keepInline) {
+                signatureRepository.recordContentHash(signature.getSignatureId(), contentHash);
+            } else {
+                signatureRepository.moveToStore(signature.getSignatureId(), contentHash);
+            }
+        }
+        return batch;
+    }
+}
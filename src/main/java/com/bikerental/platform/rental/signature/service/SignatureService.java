@@ -2,24 +2,40 @@ package com.bikerental.platform.rental.signature.service;
 
 import com.bikerental.platform.rental.signature.model.Signature;
 import com.bikerental.platform.rental.signature.repo.SignatureRepository;
-import lombok.RequiredArgsConstructor;
+import com.bikerental.platform.rental.signature.store.SignatureStore;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Base64;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Service for storing and retrieving guest signatures.
  * Signatures are immutable once created - tied to a specific rental contract.
+ * The PNG goes to the {@link SignatureStore} and the database row keeps only its content hash.
+ * {@code signatures.store.keep-inline} additionally keeps the PNG in the row; rows written before
+ * the store existed still carry it until migrated. An inline PNG, when present, is what reads return.
  */
 @Service
-@RequiredArgsConstructor
 public class SignatureService {
 
     private static final String DATA_URL_PREFIX = "data:image/png;base64,";
 
     private final SignatureRepository signatureRepository;
+    private final SignatureStore signatureStore;
+    // Also keep the PNG in the database (opt-in, e.g. while the store is being verified)
+    private final boolean keepInline;
+
+    public SignatureService(SignatureRepository signatureRepository,
+                            SignatureStore signatureStore,
+                            @Value("${signatures.store.keep-inline:false}") boolean keepInline) {
+        this.signatureRepository = signatureRepository;
+        this.signatureStore = signatureStore;
+        this.keepInline = keepInline;
+    }
 
     /**
      * Store a signature from base64-encoded PNG data.
@@ -32,6 +48,35 @@ public class SignatureService {
      */
     @Transactional
     public Long storeSignature(Long hotelId, String base64Png) {
+        Signature saved = signatureRepository.save(newSignature(hotelId, decodeSignature(base64Png)));
+        
+        return saved.getSignatureId();
+    }
+
+    /**
+     * Store several already-decoded signatures in one saveAll call (group check-in).
+     *
+     * @param hotelId The hotel ID for multi-tenant scoping
+     * @param signatures Decoded PNG data, see {@link #decodeSignature(String)}
+     * @return The generated signature IDs, in input order
+     */
+    @Transactional
+    public List<Long> storeSignatures(Long hotelId, List<byte[]> signatures) {
+        List<Signature> entities = signatures.stream()
+                .map(data -> newSignature(hotelId, data))
+                .toList();
+
+        return signatureRepository.saveAll(entities).stream()
+                .map(Signature::getSignatureId)
+                .toList();
+    }
+
+    /**
+     * Decode base64 PNG data, stripping a data URL prefix if present.
+     *
+     * @throws IllegalArgumentException if signature data is empty or invalid
+     */
+    public byte[] decodeSignature(String base64Png) {
         if (base64Png == null || base64Png.isBlank()) {
             throw new IllegalArgumentException("Signature data cannot be empty");
         }
@@ -41,17 +86,11 @@ public class SignatureService {
                 ? base64Png.substring(DATA_URL_PREFIX.length())
                 : base64Png;
 
-        byte[] signatureBytes;
         try {
-            signatureBytes = Base64.getDecoder().decode(pureBase64);
+            return Base64.getDecoder().decode(pureBase64);
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid base64 signature data", e);
         }
-
-        Signature signature = new Signature(hotelId, signatureBytes);
-        Signature saved = signatureRepository.save(signature);
-        
-        return saved.getSignatureId();
     }
 
     /**
@@ -64,5 +103,46 @@ public class SignatureService {
     public Optional<Signature> getSignature(Long signatureId, Long hotelId) {
         return signatureRepository.findBySignatureIdAndHotelId(signatureId, hotelId);
     }
+
+    /**
+     * Retrieve only the PNG data of a signature, scoped to a specific hotel.
+     *
+     * @param signatureId The signature ID
+     * @param hotelId The hotel ID for multi-tenant scoping
+     * @return Optional containing the PNG data if found and belongs to hotel
+     */
+    public Optional<byte[]> getSignatureData(Long signatureId, Long hotelId) {
+        return signatureRepository.findContent(signatureId, hotelId)
+                .map(content -> content.getSignatureData() != null
+                        ? content.getSignatureData()
+                        : signatureStore.get(content.getContentHash()));
+    }
+
+    /**
+     * Stream the PNG data of a signature, scoped to a specific hotel.
+     * An inline PNG is read from the row; otherwise the stored blob is copied straight from its file.
+     *
+     * @param signatureId The signature ID
+     * @param hotelId The hotel ID for multi-tenant scoping
+     * @return Optional containing the PNG writer if found and belongs to hotel
+     */
+    public Optional<StreamingResponseBody> streamSignatureData(Long signatureId, Long hotelId) {
+        return signatureRepository.findContent(signatureId, hotelId)
+                .map(content -> {
+                    String contentHash = content.getContentHash();
+                    byte[] png = content.getSignatureData();
+                    return png != null
+                            ? out -> out.write(png)
+                            : out -> signatureStore.transferTo(contentHash, out);
+                });
+    }
+
+    private Signature newSignature(Long hotelId, byte[] png) {
+        Signature signature = new Signature(hotelId, signatureStore.put(png));
+        if (keepInline) {
+            signature.setSignatureData(png);
+        }
+        return signature;
+    }
 }
 
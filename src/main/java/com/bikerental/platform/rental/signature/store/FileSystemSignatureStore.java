@@ -0,0 +1,136 @@
+package com.bikerental.platform.rental.signature.store;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Signature PNGs on local disk ({@code signatures.store.dir}), one file per distinct content at
+ * {@code <first two hex digits>/<sha-256>.png}. A blob is written to a temporary file, fsynced and
+ * atomically renamed into place, so a file under its final name is always complete.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "signatures.store.type", havingValue = "filesystem", matchIfMissing = true)
+public class FileSystemSignatureStore implements SignatureStore {
+
+    private static final HexFormat HEX = HexFormat.of();
+    private static final Pattern CONTENT_HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path dir;
+
+    public FileSystemSignatureStore(@Value("${signatures.store.dir:data/signatures}") Path dir) {
+        this.dir = dir;
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create signature store directory " + dir, e);
+        }
+    }
+
+    @Override
+    public String put(byte[] png) {
+        String contentHash = sha256(png);
+        Path file = file(contentHash);
+        if (Files.exists(file)) {
+            return contentHash;
+        }
+
+        Path tmp = null;
+        try {
+            Path parent = Files.createDirectories(file.getParent());
+            tmp = Files.createTempFile(parent, contentHash, ".part");
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(png);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            // A concurrent put of the same content renames identical bytes over it, or (SMB,
+            // Windows) the rename fails because that put got there first
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+            syncDirectory(parent);
+            return contentHash;
+        } catch (FileAlreadyExistsException e) {
+            deleteQuietly(tmp);
+            return contentHash;
+        } catch (IOException e) {
+            deleteQuietly(tmp);
+            throw new UncheckedIOException("Failed to store signature " + contentHash, e);
+        }
+    }
+
+    @Override
+    public byte[] get(String contentHash) {
+        try {
+            return Files.readAllBytes(file(contentHash));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read signature " + contentHash, e);
+        }
+    }
+
+    @Override
+    public void transferTo(String contentHash, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(file(contentHash), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long size = channel.size();
+            for (long position = 0; position < size; ) {
+                position += channel.transferTo(position, size - position, target);
+            }
+        }
+    }
+
+    private Path file(String contentHash) {
+        if (contentHash == null || !CONTENT_HASH.matcher(contentHash).matches()) {
+            throw new IllegalArgumentException("Invalid signature content hash: " + contentHash);
+        }
+        return dir.resolve(contentHash.substring(0, 2)).resolve(contentHash + ".png");
+    }
+
+    // Persist the rename itself; not every platform can open a directory for this
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("Cannot sync directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HEX.formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Failed to delete {}: {}", file, e.getMessage());
+        }
+    }
+}
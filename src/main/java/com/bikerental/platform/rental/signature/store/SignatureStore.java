@@ -0,0 +1,32 @@
+package com.bikerental.platform.rental.signature.store;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Content-addressed storage for signature PNGs, keyed by the SHA-256 of the data (lowercase hex).
+ * Identical signatures share one blob; blobs are never modified or deleted once stored.
+ * Implementations: {@link FileSystemSignatureStore} (default, signatures.store.type=filesystem).
+ */
+public interface SignatureStore {
+
+    /**
+     * Durably store a PNG. Storing data that is already present is a no-op.
+     *
+     * @return the content hash to keep in the database
+     * @throws java.io.UncheckedIOException if the data could not be stored
+     */
+    String put(byte[] png);
+
+    /**
+     * The PNG stored under {@code contentHash}.
+     *
+     * @throws java.io.UncheckedIOException if it cannot be read
+     */
+    byte[] get(String contentHash);
+
+    /**
+     * Write the PNG stored under {@code contentHash} to {@code out}, which is not closed.
+     */
+    void transferTo(String contentHash, OutputStream out) throws IOException;
+}
@@ -0,0 +1,65 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * V7: Denormalize hotel_id onto rental_items so tenant-scoped item lookups no longer join rentals.
+ * The column is added nullable, backfilled in primary-key ranges (each range commits on its own,
+ * keeping row locks and undo short on large tables), then made NOT NULL and indexed.
+ */
+public class V7__add_rental_item_hotel_id extends BaseJavaMigration {
+
+    static final int BATCH_SIZE = 5000;
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE rental_items ADD COLUMN hotel_id BIGINT NULL AFTER rental_id");
+        }
+
+        backfill(connection, BATCH_SIZE);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE rental_items MODIFY hotel_id BIGINT NOT NULL");
+            statement.execute("CREATE INDEX idx_rental_item_hotel_bike_status ON rental_items (hotel_id, bike_id, status)");
+            statement.execute("CREATE INDEX idx_rental_item_hotel_status ON rental_items (hotel_id, status)");
+        }
+    }
+
+    /**
+     * Copy rentals.hotel_id onto rental_items in ranges of {@code batchSize} ids.
+     * Rows that already have a hotel_id are left alone, so a re-run only fills the gaps.
+     */
+    static void backfill(Connection connection, int batchSize) throws SQLException {
+        long maxId;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(rental_item_id), 0) FROM rental_items")) {
+            rs.next();
+            maxId = rs.getLong(1);
+        }
+
+        String sql = "UPDATE rental_items SET hotel_id = "
+                + "(SELECT r.hotel_id FROM rentals r WHERE r.rental_id = rental_items.rental_id) "
+                + "WHERE rental_item_id > ? AND rental_item_id <= ? AND hotel_id IS NULL";
+        try (PreparedStatement update = connection.prepareStatement(sql)) {
+            for (long from = 0; from < maxId; from += batchSize) {
+                update.setLong(1, from);
+                update.setLong(2, from + batchSize);
+                update.executeUpdate();
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+-- V10: Signature PNGs move out of the database into the content-addressed signature store
+-- content_hash = SHA-256 (hex) of the PNG, which the store keys blobs by. New rows only get the
+-- hash; existing rows keep signature_data until the background migration moves it and sets it NULL.
+
+ALTER TABLE signatures ADD COLUMN content_hash VARCHAR(64) NULL AFTER hotel_id;
+
+ALTER TABLE signatures MODIFY signature_data MEDIUMBLOB NULL;
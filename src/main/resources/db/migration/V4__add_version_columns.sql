@@ -0,0 +1,6 @@
+-- V4: Add optimistic locking version columns
+-- Concurrent bike status transitions (returns, OOO, lost) are detected instead of last-writer-wins
+
+ALTER TABLE bikes ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE rentals ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,16 @@
+-- V5: Idempotency-Key store for rental create/return endpoints
+-- A row without response_status is a claim held by a request still in progress.
+
+CREATE TABLE idempotency_keys (
+    record_id BIGINT NOT NULL AUTO_INCREMENT,
+    idempotency_key VARCHAR(150) NOT NULL,
+    hotel_id BIGINT NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    response_status INT,
+    response_body MEDIUMTEXT,
+    created_at DATETIME(6) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (record_id),
+    CONSTRAINT uk_idempotency_key UNIQUE (idempotency_key),
+    INDEX idx_idempotency_expires_at (expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
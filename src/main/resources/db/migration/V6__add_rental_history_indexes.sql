@@ -0,0 +1,5 @@
+-- V6: Indexes for keyset-paginated rental history (GET /api/rentals)
+-- Seek key is (start_at, rental_id) within a hotel; the room index serves room-number searches.
+
+CREATE INDEX idx_rental_hotel_start ON rentals (hotel_id, start_at, rental_id);
+CREATE INDEX idx_rental_hotel_room_start ON rentals (hotel_id, room_number, start_at, rental_id);
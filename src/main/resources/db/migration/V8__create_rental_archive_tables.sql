@@ -0,0 +1,39 @@
+-- V8: Cold storage for CLOSED rentals
+-- The archival job moves old CLOSED rentals and their items here in keyset-ordered chunks.
+-- Rows keep their original ids so detail lookups and history cursors work across both tables.
+
+CREATE TABLE rentals_archive (
+    rental_id BIGINT NOT NULL,
+    hotel_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    start_at DATETIME(6) NOT NULL,
+    due_at DATETIME(6) NOT NULL,
+    return_at DATETIME(6),
+    room_number VARCHAR(50) NOT NULL,
+    bed_number VARCHAR(50),
+    tnc_version VARCHAR(50) NOT NULL,
+    signature_id BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (rental_id),
+    INDEX idx_rental_archive_hotel_start (hotel_id, start_at, rental_id),
+    INDEX idx_rental_archive_hotel_room_start (hotel_id, room_number, start_at, rental_id),
+    CONSTRAINT fk_rental_archive_signature FOREIGN KEY (signature_id) REFERENCES signatures (signature_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE rental_items_archive (
+    rental_item_id BIGINT NOT NULL,
+    rental_id BIGINT NOT NULL,
+    hotel_id BIGINT NOT NULL,
+    bike_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    returned_at DATETIME(6),
+    lost_reason TEXT,
+    PRIMARY KEY (rental_item_id),
+    INDEX idx_rental_item_archive_rental (rental_id),
+    INDEX idx_rental_item_archive_hotel_bike (hotel_id, bike_id),
+    CONSTRAINT fk_rental_item_archive_rental FOREIGN KEY (rental_id) REFERENCES rentals_archive (rental_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Archival candidates are found by (status, return_at, rental_id) so locking reads touch only CLOSED rows
+CREATE INDEX idx_rental_status_return ON rentals (status, return_at, rental_id);
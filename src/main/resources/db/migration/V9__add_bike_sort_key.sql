@@ -0,0 +1,13 @@
+-- V9: Natural-order sort key for bike numbers
+-- bike_sort_key = two-digit length + bike_number, so string order equals the old
+-- ORDER BY LENGTH(bike_number), bike_number and bike lists can be read in index order.
+-- Maintained by the Bike entity on insert/update.
+
+ALTER TABLE bikes ADD COLUMN bike_sort_key VARCHAR(52) NULL AFTER bike_number;
+
+UPDATE bikes SET bike_sort_key = CONCAT(LPAD(CHAR_LENGTH(bike_number), 2, '0'), bike_number);
+
+ALTER TABLE bikes MODIFY bike_sort_key VARCHAR(52) NOT NULL;
+
+CREATE INDEX idx_bike_hotel_sort ON bikes (hotel_id, bike_sort_key);
+CREATE INDEX idx_bike_hotel_status_sort ON bikes (hotel_id, status, bike_sort_key);
@@ -0,0 +1,87 @@
+package com.bikerental.platform.rental.benchmark;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shared harness for the micro-benchmarks tagged {@value #TAG}. They are excluded from the
+ * default test run and only run with {@code mvn test -Pbenchmark}; results are logged,
+ * never asserted on.
+ * Allocation is read from the JVM's per-thread allocation counter.
+ */
+public final class Benchmarks {
+
+    public static final String TAG = "benchmark";
+
+    private static final Logger log = LoggerFactory.getLogger(Benchmarks.class);
+
+    private Benchmarks() {
+    }
+
+    /**
+     * Run {@code operation} {@code warmup} times, then measure {@code iterations} more runs.
+     */
+    public static Result measure(int warmup, int iterations, Operation operation) throws Exception {
+        for (int i = 0; i < warmup; i++) {
+            operation.run();
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+        return new Result(allocated / iterations, (double) elapsed / iterations);
+    }
+
+    /**
+     * Used heap after a GC request; a rough figure, only meant for reporting.
+     */
+    public static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    public static void report(String name, Result result) {
+        log.info("{}: {} B/op, {} ns/op", name, result.bytesPerOp(), Math.round(result.nanosPerOp()));
+    }
+
+    public static void report(String name, String value) {
+        log.info("{}: {}", name, value);
+    }
+
+    public interface Operation {
+        void run() throws Exception;
+    }
+
+    public record Result(long bytesPerOp, double nanosPerOp) {
+    }
+
+    /**
+     * Discards everything written, keeping only the byte count.
+     */
+    public static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        public long count() {
+            return count;
+        }
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.bikerental.platform.rental.bike;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.bikerental.platform.rental.auth.model.Hotel;
+import com.bikerental.platform.rental.auth.repo.HotelRepository;
+import com.bikerental.platform.rental.auth.service.JwtService;
+import com.bikerental.platform.rental.bike.model.Bike;
+import com.bikerental.platform.rental.bike.repo.BikeRepository;
+
+/**
+ * Integration tests for the streamed bike CSV exports (GET /api/bikes/export.csv and
+ * GET /api/maintenance/ooo/export.csv), plain and gzip-compressed.
+ * Not @Transactional: the export streams from the database on an async thread.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class BikeCsvExportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private BikeRepository bikeRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private Hotel hotel;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        hotel = new Hotel();
+        hotel.setHotelCode("CSV-" + UUID.randomUUID().toString().substring(0, 8));
+        hotel.setHotelName("CSV Export Hotel");
+        hotel.setPasswordHash(passwordEncoder.encode("password123"));
+        hotel = hotelRepository.save(hotel);
+        token = jwtService.generateToken(hotel.getHotelId(), hotel.getHotelCode());
+    }
+
+    @AfterEach
+    void tearDown() {
+        bikeRepository.deleteAll(bikeRepository.findByHotelId(hotel.getHotelId()));
+        hotelRepository.delete(hotel);
+    }
+
+    @Test
+    void exportFleet_Plain_AllBikesInNaturalOrder() throws Exception {
+        createBike("10", Bike.BikeStatus.AVAILABLE, null, null);
+        createBike("2", Bike.BikeStatus.RENTED, null, null);
+        createBike("1", Bike.BikeStatus.OOO, "Flat, tyre", Instant.parse("2026-01-01T00:00:00Z"));
+
+        MvcResult result = export("/api/bikes/export.csv", null);
+
+        assertThat(result.getResponse().getContentType()).isEqualTo("text/csv;charset=UTF-8");
+        assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_DISPOSITION)).contains(".csv");
+        assertThat(lines(result.getResponse().getContentAsByteArray())).containsExactly(
+                "bike_number,bike_type,status,ooo_note,ooo_since",
+                "1,,OOO,\"Flat, tyre\",2026-01-01T00:00:00Z",
+                "2,,RENTED,,",
+                "10,,AVAILABLE,,");
+    }
+
+    @Test
+    void exportFleet_AcceptsGzip_CompressesBody() throws Exception {
+        createBike("1", Bike.BikeStatus.AVAILABLE, null, null);
+
+        MvcResult result = export("/api/bikes/export.csv", "gzip, deflate");
+
+        assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(result.getResponse().getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING);
+        byte[] body;
+        try (GZIPInputStream gzip = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            body = gzip.readAllBytes();
+        }
+        assertThat(lines(body)).containsExactly("bike_number,bike_type,status,ooo_note,ooo_since", "1,,AVAILABLE,,");
+    }
+
+    @Test
+    void exportOoo_OnlyOooBikesOldestFirst() throws Exception {
+        createBike("1", Bike.BikeStatus.OOO, "Newer", Instant.parse("2026-02-01T00:00:00Z"));
+        createBike("2", Bike.BikeStatus.OOO, "=HYPERLINK(\"x\")", Instant.parse("2026-01-01T00:00:00Z"));
+        createBike("3", Bike.BikeStatus.AVAILABLE, null, null);
+
+        MvcResult result = export("/api/maintenance/ooo/export.csv", null);
+
+        assertThat(lines(result.getResponse().getContentAsByteArray())).containsExactly(
+                "bike_number,bike_type,status,ooo_note,ooo_since",
+                "2,,OOO,\"'=HYPERLINK(\"\"x\"\")\",2026-01-01T00:00:00Z",
+                "1,,OOO,Newer,2026-02-01T00:00:00Z");
+    }
+
+    private MvcResult export(String path, String acceptEncoding) throws Exception {
+        var requestBuilder = get(path).header("Authorization", "Bearer " + token);
+        if (acceptEncoding != null) {
+            requestBuilder.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MvcResult started = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.CONTENT_DISPOSITION))
+                .andReturn();
+    }
+
+    private static List<String> lines(byte[] body) throws IOException {
+        return List.of(new String(body, StandardCharsets.UTF_8).split("\r\n"));
+    }
+
+    private void createBike(String number, Bike.BikeStatus status, String oooNote, Instant oooSince) {
+        Bike bike = new Bike();
+        bike.setHotelId(hotel.getHotelId());
+        bike.setBikeNumber(number);
+        bike.setStatus(status);
+        bike.setOooNote(oooNote);
+        bike.setOooSince(oooSince);
+        bikeRepository.save(bike);
+    }
+}
@@ -0,0 +1,200 @@
+package com.bikerental.platform.rental.bike;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.Reader;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.bikerental.platform.rental.auth.model.Hotel;
+import com.bikerental.platform.rental.auth.repo.HotelRepository;
+import com.bikerental.platform.rental.auth.security.HotelContext;
+import com.bikerental.platform.rental.auth.service.JwtService;
+import com.bikerental.platform.rental.bike.dto.BikeImportResponse;
+import com.bikerental.platform.rental.bike.model.Bike;
+import com.bikerental.platform.rental.bike.repo.BikeRepository;
+import com.bikerental.platform.rental.bike.service.BikeImportService;
+
+/**
+ * Integration tests for bulk bike import (POST /api/bikes/import): CSV and JSON input,
+ * dedupe against existing bikes and within the file across chunks, invalid-row reporting,
+ * and a 50k-row stream that is never held in memory.
+ * Not @Transactional: each chunk commits in its own transaction.
+ */
+@SpringBootTest(properties = "bikes.import.batch-size=500")
+@AutoConfigureMockMvc
+class BikeImportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private BikeRepository bikeRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private BikeImportService bikeImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private HotelContext hotelContext;
+
+    private Hotel hotel;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        hotel = new Hotel();
+        hotel.setHotelCode("IMPORT-" + UUID.randomUUID().toString().substring(0, 8));
+        hotel.setHotelName("Bike Import Hotel");
+        hotel.setPasswordHash(passwordEncoder.encode("password123"));
+        hotel = hotelRepository.save(hotel);
+        token = jwtService.generateToken(hotel.getHotelId(), hotel.getHotelCode());
+        when(hotelContext.getCurrentHotelId()).thenReturn(hotel.getHotelId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM bikes WHERE hotel_id = ?", hotel.getHotelId());
+        hotelRepository.delete(hotel);
+    }
+
+    @Test
+    void importCsv_CreatesNewSkipsExistingAndReportsInvalid() throws Exception {
+        Bike existing = new Bike();
+        existing.setHotelId(hotel.getHotelId());
+        existing.setBikeNumber("7");
+        existing.setStatus(Bike.BikeStatus.OOO);
+        bikeRepository.save(existing);
+
+        String csv = """
+                bike_type,bike_number
+                ADULT,1
+                "E-BIKE, large",2
+                ADULT,7
+                ADULT,
+                ADULT,%s
+                KIDS,1
+                """.formatted("X".repeat(51));
+
+        mockMvc.perform(post("/api/bikes/import")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.skipped").value(2))
+                .andExpect(jsonPath("$.invalid").value(2))
+                .andExpect(jsonPath("$.invalidRows[0].row").value(5))
+                .andExpect(jsonPath("$.invalidRows[0].reason").value("BLANK_BIKE_NUMBER"))
+                .andExpect(jsonPath("$.invalidRows[1].reason").value("BIKE_NUMBER_TOO_LONG"));
+
+        Bike two = bikeRepository.findByHotelIdAndBikeNumber(hotel.getHotelId(), "2").orElseThrow();
+        assertThat(two.getBikeType()).isEqualTo("E-BIKE, large");
+        assertThat(two.getStatus()).isEqualTo(Bike.BikeStatus.AVAILABLE);
+        assertThat(two.getBikeSortKey()).isEqualTo(Bike.sortKey("2"));
+        assertThat(bikeRepository.findByHotelIdAndBikeNumber(hotel.getHotelId(), "7").orElseThrow().getStatus())
+                .isEqualTo(Bike.BikeStatus.OOO);
+    }
+
+    @Test
+    void importJson_ObjectsAndStrings_DedupesAcrossChunks() throws Exception {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= 1200; i++) {
+            json.append(i == 1 ? "" : ",").append(i % 2 == 0 ? "\"" + i + "\"" : "{\"bikeNumber\":\"" + i + "\"}");
+        }
+        // Repeats of numbers inserted by earlier chunks, and a non-bike element
+        json.append(",\"1\",{\"bikeNumber\":\"600\",\"bikeType\":\"ADULT\"},42]");
+
+        mockMvc.perform(post("/api/bikes/import")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1200))
+                .andExpect(jsonPath("$.skipped").value(2))
+                .andExpect(jsonPath("$.invalid").value(1))
+                .andExpect(jsonPath("$.invalidRows[0].reason").value("MALFORMED_ROW"));
+
+        assertThat(bikeRepository.countByHotelIdAndStatus(hotel.getHotelId(), Bike.BikeStatus.AVAILABLE))
+                .isEqualTo(1200);
+    }
+
+    @Test
+    void importJson_NotAnArray_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/bikes/import")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"bikeNumber\":\"1\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void importCsv_FiftyThousandRows_StreamsInChunks() throws Exception {
+        BikeImportResponse response = bikeImportService.importCsv(new GeneratedCsv(50_000));
+
+        assertThat(response.getCreated()).isEqualTo(50_000);
+        assertThat(response.getSkipped()).isZero();
+        assertThat(response.getInvalid()).isZero();
+        assertThat(bikeRepository.countByHotelIdAndStatus(hotel.getHotelId(), Bike.BikeStatus.AVAILABLE))
+                .isEqualTo(50_000);
+    }
+
+    /**
+     * CSV body produced line by line on demand, so the test never holds the whole file either.
+     */
+    private static final class GeneratedCsv extends Reader {
+        private final int rows;
+        private int next = 1;
+        private String line = "";
+        private int pos;
+
+        GeneratedCsv(int rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read(char[] buf, int off, int len) {
+            if (pos == line.length()) {
+                if (next > rows) {
+                    return -1;
+                }
+                line = "E" + next++ + ",E-BIKE\n";
+                pos = 0;
+            }
+            int n = Math.min(len, line.length() - pos);
+            line.getChars(pos, pos + n, buf, off);
+            pos += n;
+            return n;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
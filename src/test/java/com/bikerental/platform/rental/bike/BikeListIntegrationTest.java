@@ -0,0 +1,141 @@
+package com.bikerental.platform.rental.bike;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bikerental.platform.rental.auth.model.Hotel;
+import com.bikerental.platform.rental.auth.repo.HotelRepository;
+import com.bikerental.platform.rental.auth.service.JwtService;
+import com.bikerental.platform.rental.bike.model.Bike;
+import com.bikerental.platform.rental.bike.repo.BikeRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Integration tests for paginated bike listing (GET /api/bikes).
+ * Covers walking all pages by cursor, the OOO seek key across null ooo_since, and sparse fields.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class BikeListIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private BikeRepository bikeRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Hotel hotel;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        hotel = new Hotel();
+        hotel.setHotelCode("BIKES-" + UUID.randomUUID().toString().substring(0, 8));
+        hotel.setHotelName("Bike List Hotel");
+        hotel.setPasswordHash(passwordEncoder.encode("password123"));
+        hotel = hotelRepository.save(hotel);
+        token = jwtService.generateToken(hotel.getHotelId(), hotel.getHotelCode());
+    }
+
+    @Test
+    void listBikes_WalkingCursors_ReturnsEveryBikeOnceInNaturalOrder() throws Exception {
+        for (String number : List.of("10", "3", "1", "21", "2")) {
+            createBike(number, Bike.BikeStatus.AVAILABLE, null);
+        }
+
+        List<String> numbers = walk("limit=2");
+
+        assertThat(numbers).containsExactly("1", "2", "3", "10", "21");
+    }
+
+    @Test
+    void listBikes_OooPages_OldestFirstThenNullsLast() throws Exception {
+        Instant t = Instant.parse("2026-01-01T00:00:00Z");
+        createBike("5", Bike.BikeStatus.OOO, t.plusSeconds(60));
+        createBike("4", Bike.BikeStatus.OOO, t);
+        createBike("3", Bike.BikeStatus.OOO, t);
+        createBike("2", Bike.BikeStatus.OOO, null);
+        createBike("1", Bike.BikeStatus.OOO, null);
+        createBike("9", Bike.BikeStatus.AVAILABLE, null);
+
+        List<String> numbers = walk("status=OOO&limit=2");
+
+        assertThat(numbers).containsExactly("3", "4", "5", "1", "2");
+    }
+
+    @Test
+    void listBikes_WithFields_ReturnsSparseItems() throws Exception {
+        createBike("1", Bike.BikeStatus.AVAILABLE, null);
+
+        JsonNode page = getPage("fields=bikeNumber,status");
+
+        JsonNode item = page.get("items").get(0);
+        assertThat(item.size()).isEqualTo(2);
+        assertThat(item.get("bikeNumber").asText()).isEqualTo("1");
+        assertThat(item.get("status").asText()).isEqualTo("AVAILABLE");
+    }
+
+    @Test
+    void listBikes_InvalidCursor_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/bikes?cursor=not-a-cursor!!")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<String> walk(String query) throws Exception {
+        List<String> numbers = new ArrayList<>();
+        String cursor = null;
+        do {
+            JsonNode page = getPage(query + (cursor != null ? "&cursor=" + cursor : ""));
+            page.get("items").forEach(item -> numbers.add(item.get("bikeNumber").asText()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+        return numbers;
+    }
+
+    private JsonNode getPage(String query) throws Exception {
+        String body = mockMvc.perform(get("/api/bikes?" + query)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private void createBike(String number, Bike.BikeStatus status, Instant oooSince) {
+        Bike bike = new Bike();
+        bike.setHotelId(hotel.getHotelId());
+        bike.setBikeNumber(number);
+        bike.setStatus(status);
+        bike.setOooSince(oooSince);
+        bikeRepository.save(bike);
+    }
+}
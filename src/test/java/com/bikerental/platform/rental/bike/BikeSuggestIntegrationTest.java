@@ -0,0 +1,133 @@
+package com.bikerental.platform.rental.bike;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.domain.Limit;
+
+import com.bikerental.platform.rental.auth.security.HotelContext;
+import com.bikerental.platform.rental.bike.dto.BikeSuggestionResponse;
+import com.bikerental.platform.rental.bike.model.Bike;
+import com.bikerental.platform.rental.bike.repo.BikeRepository;
+import com.bikerental.platform.rental.bike.service.BikeService;
+import com.bikerental.platform.rental.bike.suggest.BikeSuggestIndex;
+
+/**
+ * Integration tests for bike-number autocomplete: the per-hotel index loads once, then
+ * follows committed bike changes without going back to the database.
+ * Not @Transactional: index updates are applied after commit.
+ */
+@SpringBootTest
+class BikeSuggestIntegrationTest {
+
+    private static final Long HOTEL_ID = 89L;
+
+    @Autowired
+    private BikeService bikeService;
+
+    @Autowired
+    private BikeSuggestIndex bikeSuggestIndex;
+
+    @SpyBean
+    private BikeRepository bikeRepository;
+
+    @MockBean
+    private HotelContext hotelContext;
+
+    @BeforeEach
+    void setUp() {
+        when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID);
+        bikeSuggestIndex.evict(HOTEL_ID);
+        for (String number : List.of("12", "1", "120", "2", "A1")) {
+            createBike(number);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        bikeRepository.deleteAll(bikeRepository.findByHotelId(HOTEL_ID));
+        bikeSuggestIndex.evict(HOTEL_ID);
+    }
+
+    @Test
+    void suggest_ReturnsPrefixMatchesInNaturalOrder() {
+        assertThat(numbers(bikeService.suggest("1", null))).containsExactly("1", "12", "120");
+        assertThat(numbers(bikeService.suggest("a", null))).containsExactly("A1");
+        assertThat(bikeService.suggest(" ", null)).isEmpty();
+    }
+
+    @Test
+    void suggest_LoadsHotelOnceThenServesFromMemory() {
+        bikeService.suggest("1", 5);
+        bikeService.suggest("12", 5);
+        bikeService.suggest("2", 5);
+
+        verify(bikeRepository, times(1)).findPage(eq(HOTEL_ID), any(), any(), any(Limit.class));
+    }
+
+    @Test
+    void suggest_FollowsCommittedStatusChangesAndNewBikes() {
+        bikeService.suggest("1", 5);
+        Long bikeId = bikeRepository.findByHotelIdAndBikeNumber(HOTEL_ID, "12").orElseThrow().getBikeId();
+
+        bikeService.markOoo(bikeId, "flat tyre");
+        createBike("13");
+
+        List<BikeSuggestionResponse> suggestions = bikeService.suggest("1", 5);
+        assertThat(numbers(suggestions)).containsExactly("1", "12", "13", "120");
+        assertThat(suggestions.get(1).getStatus()).isEqualTo(Bike.BikeStatus.OOO);
+        verify(bikeRepository, times(1)).findPage(eq(HOTEL_ID), any(), any(), any(Limit.class));
+    }
+
+    @Test
+    void suggest_DeletedBikeDisappears() {
+        bikeService.suggest("1", 5);
+
+        bikeRepository.delete(bikeRepository.findByHotelIdAndBikeNumber(HOTEL_ID, "120").orElseThrow());
+
+        assertThat(numbers(bikeService.suggest("1", 5))).containsExactly("1", "12");
+    }
+
+    @Test
+    void suggest_ChangeCommittedDuringLoad_LoadIsNotCached() {
+        // The spy wraps a repository proxy, so the real call goes through its default answer
+        Answer<?> repository = mockingDetails(bikeRepository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            Object page = repository.answer(invocation);
+            createBike("13");
+            return page;
+        }).doAnswer(repository).when(bikeRepository).findPage(eq(HOTEL_ID), any(), any(), any(Limit.class));
+
+        assertThat(numbers(bikeService.suggest("1", 5))).containsExactly("1", "12", "120");
+        assertThat(numbers(bikeService.suggest("1", 5))).containsExactly("1", "12", "13", "120");
+        verify(bikeRepository, times(2)).findPage(eq(HOTEL_ID), any(), any(), any(Limit.class));
+    }
+
+    private static List<String> numbers(List<BikeSuggestionResponse> suggestions) {
+        return suggestions.stream().map(BikeSuggestionResponse::getBikeNumber).toList();
+    }
+
+    private void createBike(String number) {
+        Bike bike = new Bike();
+        bike.setHotelId(HOTEL_ID);
+        bike.setBikeNumber(number);
+        bike.setStatus(Bike.BikeStatus.AVAILABLE);
+        bikeRepository.save(bike);
+    }
+}
@@ -0,0 +1,174 @@
+package com.bikerental.platform.rental.bike;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.bikerental.platform.rental.auth.model.Hotel;
+import com.bikerental.platform.rental.auth.repo.HotelRepository;
+import com.bikerental.platform.rental.auth.service.JwtService;
+import com.bikerental.platform.rental.bike.dto.BikeSuggestionResponse;
+import com.bikerental.platform.rental.bike.model.Bike;
+import com.bikerental.platform.rental.bike.repo.BikeRepository;
+import com.bikerental.platform.rental.bike.suggest.BikeSuggestIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Integration tests for bulk bike status transitions (PATCH /api/bikes/status):
+ * set-based OOO/AVAILABLE updates, the rented guard, per-bike outcomes and hotel scoping.
+ * Not @Transactional: the suggest index is updated after commit.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class BulkBikeStatusIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private BikeRepository bikeRepository;
+
+    @Autowired
+    private BikeSuggestIndex bikeSuggestIndex;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Hotel hotel;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        hotel = new Hotel();
+        hotel.setHotelCode("BULK-" + UUID.randomUUID().toString().substring(0, 8));
+        hotel.setHotelName("Bulk Status Hotel");
+        hotel.setPasswordHash(passwordEncoder.encode("password123"));
+        hotel = hotelRepository.save(hotel);
+        token = jwtService.generateToken(hotel.getHotelId(), hotel.getHotelCode());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM bikes WHERE hotel_id IN (?, ?)", hotel.getHotelId(), hotel.getHotelId() + 1000);
+        hotelRepository.delete(hotel);
+        bikeSuggestIndex.evict(hotel.getHotelId());
+    }
+
+    @Test
+    void markOoo_UpdatesAllRequestedBikesAndReportsMissing() throws Exception {
+        Bike b1 = createBike(hotel.getHotelId(), "1", Bike.BikeStatus.AVAILABLE);
+        Bike b2 = createBike(hotel.getHotelId(), "2", Bike.BikeStatus.RENTED);
+        Bike otherHotel = createBike(hotel.getHotelId() + 1000, "1", Bike.BikeStatus.AVAILABLE);
+
+        perform(Map.of("bikeIds", List.of(b2.getBikeId(), b1.getBikeId(), otherHotel.getBikeId(), b1.getBikeId()),
+                        "status", "OOO", "note", "Storm damage"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2))
+                .andExpect(jsonPath("$.results.length()").value(3))
+                .andExpect(jsonPath("$.results[0].bikeId").value(b2.getBikeId()))
+                .andExpect(jsonPath("$.results[0].outcome").value("UPDATED"))
+                .andExpect(jsonPath("$.results[1].outcome").value("UPDATED"))
+                .andExpect(jsonPath("$.results[2].outcome").value("NOT_FOUND"));
+
+        Bike updated = bikeRepository.findById(b1.getBikeId()).orElseThrow();
+        assertThat(updated.getStatus()).isEqualTo(Bike.BikeStatus.OOO);
+        assertThat(updated.getOooNote()).isEqualTo("Storm damage");
+        assertThat(updated.getOooSince()).isNotNull();
+        assertThat(updated.getVersion()).isEqualTo(b1.getVersion() + 1);
+        assertThat(bikeRepository.findById(otherHotel.getBikeId()).orElseThrow().getStatus())
+                .isEqualTo(Bike.BikeStatus.AVAILABLE);
+    }
+
+    @Test
+    void markAvailable_KeepsRentedBikesAndClearsOooFields() throws Exception {
+        Bike ooo = createBike(hotel.getHotelId(), "1", Bike.BikeStatus.OOO);
+        Bike rented = createBike(hotel.getHotelId(), "2", Bike.BikeStatus.RENTED);
+
+        perform(Map.of("bikeIds", List.of(ooo.getBikeId(), rented.getBikeId()), "status", "AVAILABLE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.results[0].outcome").value("UPDATED"))
+                .andExpect(jsonPath("$.results[1].outcome").value("ALREADY_RENTED"))
+                .andExpect(jsonPath("$.results[1].status").value("RENTED"));
+
+        Bike available = bikeRepository.findById(ooo.getBikeId()).orElseThrow();
+        assertThat(available.getStatus()).isEqualTo(Bike.BikeStatus.AVAILABLE);
+        assertThat(available.getOooNote()).isNull();
+        assertThat(available.getOooSince()).isNull();
+        assertThat(bikeRepository.findById(rented.getBikeId()).orElseThrow().getStatus())
+                .isEqualTo(Bike.BikeStatus.RENTED);
+    }
+
+    @Test
+    void markOoo_UpdatesLoadedSuggestIndexAfterCommit() throws Exception {
+        Bike bike = createBike(hotel.getHotelId(), "7", Bike.BikeStatus.AVAILABLE);
+        assertThat(bikeSuggestIndex.suggest(hotel.getHotelId(), "7", 1)).singleElement()
+                .extracting(BikeSuggestionResponse::getStatus).isEqualTo(Bike.BikeStatus.AVAILABLE);
+
+        perform(Map.of("bikeIds", List.of(bike.getBikeId()), "status", "OOO", "note", "Flat"))
+                .andExpect(status().isOk());
+
+        assertThat(bikeSuggestIndex.suggest(hotel.getHotelId(), "7", 1)).singleElement()
+                .extracting(BikeSuggestionResponse::getStatus).isEqualTo(Bike.BikeStatus.OOO);
+    }
+
+    @Test
+    void markOoo_WithoutNote_ReturnsBadRequest() throws Exception {
+        Bike bike = createBike(hotel.getHotelId(), "1", Bike.BikeStatus.AVAILABLE);
+
+        perform(Map.of("bikeIds", List.of(bike.getBikeId()), "status", "OOO"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void transition_ToRented_ReturnsBadRequest() throws Exception {
+        Bike bike = createBike(hotel.getHotelId(), "1", Bike.BikeStatus.AVAILABLE);
+
+        perform(Map.of("bikeIds", List.of(bike.getBikeId()), "status", "RENTED"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ResultActions perform(Map<String, Object> body) throws Exception {
+        return mockMvc.perform(patch("/api/bikes/status")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body)));
+    }
+
+    private Bike createBike(Long hotelId, String number, Bike.BikeStatus status) {
+        Bike bike = new Bike();
+        bike.setHotelId(hotelId);
+        bike.setBikeNumber(number);
+        bike.setStatus(status);
+        return bikeRepository.save(bike);
+    }
+}
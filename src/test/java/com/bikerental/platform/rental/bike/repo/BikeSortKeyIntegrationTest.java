@@ -0,0 +1,137 @@
+package com.bikerental.platform.rental.bike.repo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bikerental.platform.rental.bike.dto.BikeResponse;
+import com.bikerental.platform.rental.bike.model.Bike;
+import com.bikerental.platform.rental.common.sql.QueryPlanInspector;
+
+/**
+ * Tests for the bike_sort_key natural-order column: ordering matches the old
+ * LENGTH(bike_number), bike_number sort, and list queries read the hotel's bikes
+ * in index order instead of sorting them.
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.sql.init.mode=never",
+    QueryPlanInspector.PROPERTY
+})
+@Transactional
+class BikeSortKeyIntegrationTest {
+
+    private static final Long HOTEL_ID = 1L;
+
+    @Autowired
+    private BikeRepository bikeRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        for (String number : List.of("10", "2", "A10", "A9", "1")) {
+            createBike(number, Bike.BikeStatus.AVAILABLE, null);
+        }
+        createBike("7", Bike.BikeStatus.OOO, null);
+        createBike("12", Bike.BikeStatus.OOO, Instant.parse("2026-01-01T00:00:00Z"));
+        entityManager.flush();
+        entityManager.clear();
+        QueryPlanInspector.clear();
+    }
+
+    @Test
+    void sortKey_PrefixesTwoDigitLength() {
+        assertThat(Bike.sortKey("7")).isEqualTo("017");
+        assertThat(Bike.sortKey("A10")).isEqualTo("03A10");
+        assertThat(Bike.sortKey("1234567890")).isEqualTo("101234567890");
+    }
+
+    @Test
+    void sortKey_UpdatedWhenBikeNumberChanges() {
+        Bike bike = bikeRepository.findByHotelIdAndBikeNumber(HOTEL_ID, "2").orElseThrow();
+        bike.setBikeNumber("200");
+        entityManager.flush();
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT bike_sort_key FROM bikes WHERE bike_id = ?", String.class, bike.getBikeId()))
+                .isEqualTo("03200");
+    }
+
+    @Test
+    void findPageByStatus_NaturalOrder() {
+        List<BikeResponse> bikes = bikeRepository.findPageByStatus(
+                HOTEL_ID, Bike.BikeStatus.AVAILABLE, null, null, Limit.unlimited());
+
+        assertThat(bikes).extracting(BikeResponse::getBikeNumber).containsExactly("1", "2", "10", "A9", "A10");
+    }
+
+    @Test
+    void findPage_SeeksPastSortKey() {
+        List<BikeResponse> bikes = bikeRepository.findPage(HOTEL_ID, null, Bike.sortKey("10"), Limit.of(3));
+
+        assertThat(bikes).extracting(BikeResponse::getBikeNumber).containsExactly("12", "A9", "A10");
+    }
+
+    @Test
+    void findPage_NoStatus_ReadsSortIndexWithoutSorting() {
+        bikeRepository.findPage(HOTEL_ID, null, null, Limit.of(10));
+
+        String plan = QueryPlanInspector.explainLast(jdbcTemplate, HOTEL_ID, "NULL", "NULL", "NULL", "NULL", 10);
+
+        assertThat(plan).containsIgnoringCase("IDX_BIKE_HOTEL_SORT");
+        assertThat(plan).containsIgnoringCase("index sorted");
+    }
+
+    @Test
+    void findPageByStatus_ReadsStatusSortIndexWithoutSorting() {
+        bikeRepository.findPageByStatus(HOTEL_ID, Bike.BikeStatus.AVAILABLE, null, null, Limit.of(10));
+
+        String plan = QueryPlanInspector.explainLast(
+                jdbcTemplate, HOTEL_ID, "'AVAILABLE'", "NULL", "NULL", "NULL", "NULL", 10);
+
+        assertThat(plan).containsIgnoringCase("IDX_BIKE_HOTEL_STATUS_SORT");
+        assertThat(plan).containsIgnoringCase("index sorted");
+    }
+
+    @Test
+    void streamOooBikesForExport_UsesStatusIndexAndKeepsOooSinceOrder() {
+        List<BikeResponse> bikes;
+        try (Stream<BikeResponse> stream = bikeRepository.streamOooBikesForExport(HOTEL_ID)) {
+            bikes = stream.toList();
+        }
+
+        String plan = QueryPlanInspector.explainLast(jdbcTemplate, HOTEL_ID);
+
+        assertThat(bikes).extracting(BikeResponse::getBikeNumber).containsExactly("12", "7");
+        assertThat(plan).containsIgnoringCase("IDX_BIKE_HOTEL_STATUS_SORT");
+    }
+
+    private void createBike(String number, Bike.BikeStatus status, Instant oooSince) {
+        Bike bike = new Bike();
+        bike.setHotelId(HOTEL_ID);
+        bike.setBikeNumber(number);
+        bike.setStatus(status);
+        bike.setOooSince(oooSince);
+        bikeRepository.save(bike);
+    }
+}
@@ -3,12 +3,15 @@ package com.bikerental.platform.rental.bike.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.Instant;
-import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,12 +21,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import com.bikerental.platform.rental.auth.security.HotelContext;
+import com.bikerental.platform.rental.bike.dto.BikeLookupResponse;
+import com.bikerental.platform.rental.bike.dto.BikePageResponse;
+import com.bikerental.platform.rental.bike.dto.BikeResponse;
+import com.bikerental.platform.rental.bike.dto.BulkBikeStatusResponse;
 import com.bikerental.platform.rental.bike.model.Bike;
 import com.bikerental.platform.rental.bike.repo.BikeRepository;
+import com.bikerental.platform.rental.bike.suggest.BikeSuggestIndex;
 import com.bikerental.platform.rental.common.exception.ConflictException;
 import com.bikerental.platform.rental.common.exception.NotFoundException;
+import com.bikerental.platform.rental.common.pagination.KeysetCursor;
 
 @ExtendWith(MockitoExtension.class)
 class BikeServiceTest {
@@ -34,6 +45,12 @@ class BikeServiceTest {
     @Mock
     private HotelContext hotelContext;
 
+    @Mock
+    private BikeSuggestIndex bikeSuggestIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BikeService bikeService;
 
@@ -80,80 +97,101 @@ class BikeServiceTest {
     void listBikes_ScopedByHotelId_ReturnsOnlyBikesForCurrentHotel() {
         // Arrange
         when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID_1);
-        
-        Bike bike1 = new Bike();
-        bike1.setBikeId(1L);
-        bike1.setHotelId(HOTEL_ID_1);
-        bike1.setBikeNumber("B001");
-        bike1.setStatus(Bike.BikeStatus.AVAILABLE);
-        
-        Bike bike2 = new Bike();
-        bike2.setBikeId(2L);
-        bike2.setHotelId(HOTEL_ID_1);
-        bike2.setBikeNumber("B002");
-        bike2.setStatus(Bike.BikeStatus.AVAILABLE);
-        
-        List<Bike> expectedBikes = Arrays.asList(bike1, bike2);
-        when(bikeRepository.findByHotelIdWithFilters(HOTEL_ID_1, null, null))
-                .thenReturn(expectedBikes);
+        when(bikeRepository.findPage(HOTEL_ID_1, null, null, Limit.of(BikeService.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(List.of(row(1L, "B001", Bike.BikeStatus.AVAILABLE, null),
+                        row(2L, "B002", Bike.BikeStatus.AVAILABLE, null)));
 
         // Act
-        List<Bike> result = bikeService.listBikes(null, null);
+        BikePageResponse result = bikeService.listBikes(null, null, null, null, null);
 
         // Assert
-        assertThat(result).hasSize(2);
-        assertThat(result).containsExactlyElementsOf(expectedBikes);
+        assertThat(result.getItems()).extracting(item -> item.get("bikeNumber")).containsExactly("B001", "B002");
+        assertThat(result.getNextCursor()).isNull();
         verify(hotelContext).getCurrentHotelId();
-        verify(bikeRepository).findByHotelIdWithFilters(HOTEL_ID_1, null, null);
     }
 
     @Test
     void listBikes_WithOooStatusFilter_UsesOooBikesQuery() {
         // Arrange
         when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID_1);
-        
-        Bike oooBike = new Bike();
-        oooBike.setBikeId(3L);
-        oooBike.setHotelId(HOTEL_ID_1);
-        oooBike.setBikeNumber("B003");
-        oooBike.setStatus(Bike.BikeStatus.OOO);
-        
-        List<Bike> expectedBikes = Arrays.asList(oooBike);
-        // OOO status now uses the specialized query with proper sorting
-        when(bikeRepository.findOooBikesWithFilters(HOTEL_ID_1, null))
-                .thenReturn(expectedBikes);
+        // OOO status uses the specialized query with oldest-first sorting
+        when(bikeRepository.findOooPage(HOTEL_ID_1, null, null, null, Limit.of(BikeService.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(List.of(row(3L, "B003", Bike.BikeStatus.OOO, Instant.now())));
 
         // Act
-        List<Bike> result = bikeService.listBikes(Bike.BikeStatus.OOO, null);
+        BikePageResponse result = bikeService.listBikes(Bike.BikeStatus.OOO, null, null, null, null);
 
         // Assert
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getStatus()).isEqualTo(Bike.BikeStatus.OOO);
-        verify(bikeRepository).findOooBikesWithFilters(HOTEL_ID_1, null);
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.getItems().get(0).get("status")).isEqualTo(Bike.BikeStatus.OOO);
+        verify(bikeRepository, never()).findPageByStatus(any(), any(), any(), any(), any());
     }
 
     @Test
-    void listBikes_WithNonOooStatusFilter_UsesGenericQuery() {
+    void listBikes_WithNonOooStatusFilter_UsesStatusQuery() {
         // Arrange
         when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID_1);
-        
-        Bike availableBike = new Bike();
-        availableBike.setBikeId(3L);
-        availableBike.setHotelId(HOTEL_ID_1);
-        availableBike.setBikeNumber("B003");
-        availableBike.setStatus(Bike.BikeStatus.AVAILABLE);
-        
-        List<Bike> expectedBikes = Arrays.asList(availableBike);
-        when(bikeRepository.findByHotelIdWithFilters(HOTEL_ID_1, "AVAILABLE", null))
-                .thenReturn(expectedBikes);
+        when(bikeRepository.findPageByStatus(HOTEL_ID_1, Bike.BikeStatus.AVAILABLE, null, null,
+                Limit.of(BikeService.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(List.of(row(3L, "B003", Bike.BikeStatus.AVAILABLE, null)));
+
+        // Act
+        BikePageResponse result = bikeService.listBikes(Bike.BikeStatus.AVAILABLE, null, null, null, null);
+
+        // Assert
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.getItems().get(0).get("status")).isEqualTo(Bike.BikeStatus.AVAILABLE);
+    }
+
+    @Test
+    void listBikes_MoreRowsThanLimit_ReturnsCursorAtLastSortKey() {
+        // Arrange
+        when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID_1);
+        when(bikeRepository.findPage(HOTEL_ID_1, null, null, Limit.of(3)))
+                .thenReturn(List.of(row(1L, "9", Bike.BikeStatus.AVAILABLE, null),
+                        row(2L, "10", Bike.BikeStatus.AVAILABLE, null),
+                        row(3L, "11", Bike.BikeStatus.AVAILABLE, null)));
+
+        // Act
+        BikePageResponse result = bikeService.listBikes(null, null, null, null, 2);
+
+        // Assert
+        assertThat(result.getItems()).hasSize(2);
+        assertThat(KeysetCursor.decode(result.getNextCursor(), 1)).containsExactly("0210");
+    }
+
+    @Test
+    void listBikes_WithFields_ReturnsOnlyRequestedFields() {
+        // Arrange
+        when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID_1);
+        when(bikeRepository.findPage(HOTEL_ID_1, null, null, Limit.of(BikeService.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(List.of(row(1L, "B001", Bike.BikeStatus.AVAILABLE, null)));
 
         // Act
-        List<Bike> result = bikeService.listBikes(Bike.BikeStatus.AVAILABLE, null);
+        BikePageResponse result = bikeService.listBikes(null, null, "bikeNumber, status", null, null);
 
         // Assert
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getStatus()).isEqualTo(Bike.BikeStatus.AVAILABLE);
-        verify(bikeRepository).findByHotelIdWithFilters(HOTEL_ID_1, "AVAILABLE", null);
+        assertThat(result.getItems().get(0)).containsOnlyKeys("bikeNumber", "status");
+    }
+
+    @Test
+    void listBikes_WithUnknownField_ThrowsIllegalArgument() {
+        when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID_1);
+
+        assertThatThrownBy(() -> bikeService.listBikes(null, null, "bikeNumber,password", null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("password");
+    }
+
+    @Test
+    void listBikes_LimitAboveMax_IsCapped() {
+        when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID_1);
+        when(bikeRepository.findPage(HOTEL_ID_1, null, null, Limit.of(BikeService.MAX_PAGE_SIZE + 1)))
+                .thenReturn(List.of());
+
+        BikePageResponse result = bikeService.listBikes(null, null, null, null, 10_000);
+
+        assertThat(result.getItems()).isEmpty();
     }
 
     @Test
@@ -268,5 +306,98 @@ class BikeServiceTest {
                 .isInstanceOf(NotFoundException.class)
                 .hasMessageContaining("Bike not found");
     }
-}
 
+    @Test
+    void lookup_OneQuery_ReturnsReasonPerNumberInRequestOrder() {
+        // Arrange
+        rentedBike.setBikeNumber("B002");
+        oooBike.setBikeNumber("B003");
+        when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID_1);
+        when(bikeRepository.findByHotelIdAndBikeNumberIn(HOTEL_ID_1, List.of("B003", "B404", BIKE_NUMBER_1, "B002")))
+                .thenReturn(List.of(availableBike, rentedBike, oooBike));
+
+        // Act
+        List<BikeLookupResponse> results = bikeService.lookup(List.of("B003", "B404", BIKE_NUMBER_1, "B002", "B003"));
+
+        // Assert
+        assertThat(results).extracting(BikeLookupResponse::getBikeNumber)
+                .containsExactly("B003", "B404", BIKE_NUMBER_1, "B002");
+        assertThat(results).extracting(BikeLookupResponse::getReason)
+                .containsExactly("OUT_OF_ORDER", "NOT_FOUND", null, "ALREADY_RENTED");
+        assertThat(results).extracting(BikeLookupResponse::isAvailable)
+                .containsExactly(false, false, true, false);
+        assertThat(results.get(1).getBikeId()).isNull();
+        assertThat(results.get(2).getBikeId()).isEqualTo(BIKE_ID_1);
+    }
+
+    @Test
+    void lookup_DifferentlyCasedNumbers_MatchBikeOnceUnderFirstSpelling() {
+        // Arrange: the database matches bike numbers case-insensitively
+        availableBike.setBikeNumber("E1");
+        when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID_1);
+        when(bikeRepository.findByHotelIdAndBikeNumberIn(HOTEL_ID_1, List.of("e1")))
+                .thenReturn(List.of(availableBike));
+
+        // Act
+        List<BikeLookupResponse> results = bikeService.lookup(List.of("e1", "E1"));
+
+        // Assert
+        assertThat(results).singleElement().satisfies(result -> {
+            assertThat(result.getBikeNumber()).isEqualTo("e1");
+            assertThat(result.getBikeId()).isEqualTo(BIKE_ID_1);
+            assertThat(result.isAvailable()).isTrue();
+        });
+    }
+
+    @Test
+    void transitionBikes_OooWithoutNote_ThrowsIllegalArgumentException() {
+        // Act & Assert
+        assertThatThrownBy(() -> bikeService.transitionBikes(List.of(BIKE_ID_1), Bike.BikeStatus.OOO, " "))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Note is required");
+        verify(bikeRepository, never()).markOoo(any(), any(), any());
+    }
+
+    @Test
+    void transitionBikes_AvailableForRentedBike_ReportsAlreadyRentedWithoutUpdate() {
+        // Arrange
+        when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID_1);
+        when(bikeRepository.findForUpdate(HOTEL_ID_1, new LinkedHashSet<>(List.of(BIKE_ID_1))))
+                .thenReturn(List.of(rentedBike));
+
+        // Act
+        BulkBikeStatusResponse result = bikeService.transitionBikes(
+                List.of(BIKE_ID_1), Bike.BikeStatus.AVAILABLE, null);
+
+        // Assert
+        assertThat(result.getUpdated()).isZero();
+        assertThat(result.getResults()).singleElement()
+                .extracting(BulkBikeStatusResponse.Result::getOutcome).isEqualTo("ALREADY_RENTED");
+        verify(bikeRepository, never()).markAvailable(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void suggest_TrimsPrefixAndCapsLimit() {
+        // Arrange
+        when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID_1);
+        when(bikeSuggestIndex.suggest(HOTEL_ID_1, "B0", 50)).thenReturn(List.of());
+
+        // Act
+        bikeService.suggest(" B0 ", 1000);
+
+        // Assert
+        verify(bikeSuggestIndex).suggest(HOTEL_ID_1, "B0", 50);
+    }
+
+    @Test
+    void suggest_BlankPrefix_ReturnsEmptyWithoutLookup() {
+        // Act & Assert
+        assertThat(bikeService.suggest("  ", null)).isEmpty();
+        verify(bikeSuggestIndex, never()).suggest(anyLong(), anyString(), anyInt());
+    }
+
+    private static BikeResponse row(Long bikeId, String bikeNumber, Bike.BikeStatus status, Instant oooSince) {
+        return new BikeResponse(bikeId, bikeNumber, "ADULT", status, null, oooSince);
+    }
+}
@@ -0,0 +1,128 @@
+package com.bikerental.platform.rental.bike.suggest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.bikerental.platform.rental.bike.model.Bike;
+
+/**
+ * Unit tests for BikeNumberTrie: natural-order prefix lookups, updates, and node footprint.
+ */
+class BikeNumberTrieTest {
+
+    private BikeNumberTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new BikeNumberTrie();
+        long id = 1;
+        for (String number : List.of("10", "1", "A10", "a9", "100", "2", "11", "B1")) {
+            trie.put(new BikeNumberTrie.Entry(id++, number, Bike.BikeStatus.AVAILABLE));
+        }
+    }
+
+    @Test
+    void findByPrefix_ReturnsShorterNumbersFirstThenAlphabetical() {
+        assertThat(numbers(trie.findByPrefix("1", 10))).containsExactly("1", "10", "11", "100");
+    }
+
+    @Test
+    void findByPrefix_IsCaseInsensitive() {
+        assertThat(numbers(trie.findByPrefix("a", 10))).containsExactly("a9", "A10");
+    }
+
+    @Test
+    void findByPrefix_StopsAtLimit() {
+        assertThat(numbers(trie.findByPrefix("1", 2))).containsExactly("1", "10");
+    }
+
+    @Test
+    void findByPrefix_EmptyPrefix_ReturnsAllInNaturalOrder() {
+        assertThat(numbers(trie.findByPrefix("", 100)))
+                .containsExactly("1", "2", "10", "11", "a9", "B1", "100", "A10");
+    }
+
+    @Test
+    void findByPrefix_NoMatch_ReturnsEmpty() {
+        assertThat(trie.findByPrefix("Z", 10)).isEmpty();
+        assertThat(trie.findByPrefix("1000", 10)).isEmpty();
+    }
+
+    @Test
+    void findByPrefix_IgnoresDefaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr"));
+        try {
+            BikeNumberTrie turkish = new BikeNumberTrie();
+            turkish.put(new BikeNumberTrie.Entry(1L, "I5", Bike.BikeStatus.AVAILABLE));
+
+            assertThat(numbers(turkish.findByPrefix("i", 10))).containsExactly("I5");
+            assertThat(numbers(turkish.findByPrefix("I", 10))).containsExactly("I5");
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    void put_ExistingNumber_ReplacesStatus() {
+        trie.put(new BikeNumberTrie.Entry(2L, "1", Bike.BikeStatus.OOO));
+
+        assertThat(trie.findByPrefix("1", 1)).singleElement()
+                .extracting(BikeNumberTrie.Entry::status).isEqualTo(Bike.BikeStatus.OOO);
+        assertThat(trie.size()).isEqualTo(8);
+    }
+
+    @Test
+    void remove_DropsOnlyThatNumber() {
+        trie.remove("10");
+
+        assertThat(numbers(trie.findByPrefix("1", 10))).containsExactly("1", "11", "100");
+        assertThat(trie.size()).isEqualTo(7);
+    }
+
+    /**
+     * Footprint for a 10k-bike hotel numbered "1".."10000": every prefix of a number is itself a
+     * number, so the tree needs exactly one node per bike. At roughly 32 bytes per node plus one
+     * entry per bike (record, boxed id, number string ~ 80 bytes) that is about 1.1 MB per hotel.
+     */
+    @Test
+    void tenThousandBikes_OneNodePerBikeAndBoundedLookups() {
+        BikeNumberTrie large = new BikeNumberTrie();
+        for (long i = 1; i <= 10_000; i++) {
+            large.put(new BikeNumberTrie.Entry(i, Long.toString(i), Bike.BikeStatus.AVAILABLE));
+        }
+
+        assertThat(large.size()).isEqualTo(10_000);
+        assertThat(large.nodeCount()).isEqualTo(10_000);
+        assertThat(numbers(large.findByPrefix("99", 5))).containsExactly("99", "990", "991", "992", "993");
+        assertThat(numbers(large.findByPrefix("", 3))).containsExactly("1", "2", "3");
+    }
+
+    /**
+     * Mixed alphanumeric fleet (prefix letter + number): node count stays below the total
+     * number of characters stored, i.e. shared prefixes are stored once.
+     */
+    @Test
+    void tenThousandMixedBikes_NodesBoundedByCharacters() {
+        BikeNumberTrie large = new BikeNumberTrie();
+        int characters = 0;
+        for (int i = 0; i < 10_000; i++) {
+            String number = (char) ('A' + i % 4) + "-" + (i / 4 + 1);
+            characters += number.length();
+            large.put(new BikeNumberTrie.Entry((long) i, number, Bike.BikeStatus.AVAILABLE));
+        }
+
+        assertThat(large.size()).isEqualTo(10_000);
+        assertThat(large.nodeCount()).isLessThan(characters / 2);
+        assertThat(numbers(large.findByPrefix("c-25", 3))).containsExactly("C-25", "C-250", "C-251");
+    }
+
+    private static List<String> numbers(List<BikeNumberTrie.Entry> entries) {
+        return entries.stream().map(BikeNumberTrie.Entry::bikeNumber).toList();
+    }
+}
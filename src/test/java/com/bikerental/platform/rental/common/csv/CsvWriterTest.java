@@ -0,0 +1,75 @@
+package com.bikerental.platform.rental.common.csv;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class CsvWriterTest {
+
+    @Test
+    void text_PlainValues_WrittenUnquoted() throws IOException {
+        String csv = write(w -> w.header("a", "b").text("x").value(42).endRow());
+
+        assertThat(csv).isEqualTo("a,b\r\nx,42\r\n");
+    }
+
+    @Test
+    void text_SpecialCharacters_QuotedAndEscaped() throws IOException {
+        String csv = write(w -> w.text("a,b").text("say \"hi\"").text("two\nlines").endRow());
+
+        assertThat(csv).isEqualTo("\"a,b\",\"say \"\"hi\"\"\",\"two\nlines\"\r\n");
+    }
+
+    @Test
+    void text_FormulaPrefix_Neutralised() throws IOException {
+        String csv = write(w -> w.text("=1+1").text("-5").text("@x").text("a=b").endRow());
+
+        assertThat(csv).isEqualTo("\"'=1+1\",\"'-5\",\"'@x\",a=b\r\n");
+    }
+
+    @Test
+    void text_LeadingTabOrCarriageReturn_Neutralised() throws IOException {
+        String csv = write(w -> w.text("\t=1+1").text("\r=1+1").text("a\tb").endRow());
+
+        assertThat(csv).isEqualTo("\"'\t=1+1\",\"'\r=1+1\",a\tb\r\n");
+    }
+
+    @Test
+    void nulls_WrittenAsEmptyCells() throws IOException {
+        String csv = write(w -> w.text(null).value(null).text("").endRow());
+
+        assertThat(csv).isEqualTo(",,\r\n");
+    }
+
+    @Test
+    void text_NonAscii_WrittenAsUtf8() throws IOException {
+        String csv = write(w -> w.text("Zürich").endRow());
+
+        assertThat(csv).isEqualTo("Zürich\r\n");
+    }
+
+    @Test
+    void acceptsGzip_HonoursQualityZero() {
+        assertThat(CsvDownload.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(CsvDownload.acceptsGzip("br;q=1.0, GZIP;q=0.5")).isTrue();
+        assertThat(CsvDownload.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(CsvDownload.acceptsGzip("identity")).isFalse();
+        assertThat(CsvDownload.acceptsGzip(null)).isFalse();
+    }
+
+    private interface Rows {
+        void write(CsvWriter writer) throws IOException;
+    }
+
+    private static String write(Rows rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvWriter writer = new CsvWriter(out);
+        rows.write(writer);
+        writer.flush();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
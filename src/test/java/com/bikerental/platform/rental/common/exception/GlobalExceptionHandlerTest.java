@@ -9,6 +9,7 @@ import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -113,6 +114,21 @@ class GlobalExceptionHandlerTest {
         assertThat(body.getMessage()).isEqualTo("Hotel code already exists");
     }
 
+    @Test
+    void handleOptimisticLock_ReturnsConflict() {
+        // Arrange
+        OptimisticLockingFailureException ex = new OptimisticLockingFailureException("Row was updated by another transaction");
+
+        // Act
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleOptimisticLock(ex);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        var body = response.getBody();
+        assertThat(body).isNotNull();
+        assertThat(body.getError()).isEqualTo("CONCURRENT_MODIFICATION");
+    }
+
     @Test
     void handleValidationExceptions_IncludesFieldErrors() {
         // Arrange
@@ -0,0 +1,82 @@
+package com.bikerental.platform.rental.common.html;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class HtmlEscaperTest {
+
+    private static final String ALPHABET = "ab &<>\"'zé€🚲";
+
+    @Test
+    void escape_NoSpecialCharacters_ReturnsSameInstance() {
+        String value = "Room 204 - Bike B-17";
+
+        assertThat(HtmlEscaper.escape(value)).isSameAs(value);
+    }
+
+    @Test
+    void escape_AllSpecialCharacters() {
+        assertThat(HtmlEscaper.escape("<a href=\"x\">Tom & Jerry's</a>"))
+                .isEqualTo("&lt;a href=&quot;x&quot;&gt;Tom &amp; Jerry&#x27;s&lt;/a&gt;");
+    }
+
+    @Test
+    void escape_Null_ReturnsEmptyAndAppendsNothing() throws IOException {
+        StringBuilder out = new StringBuilder("x");
+
+        HtmlEscaper.escape(null, out);
+
+        assertThat(HtmlEscaper.escape((String) null)).isEmpty();
+        assertThat(out).hasToString("x");
+    }
+
+    @Test
+    void escape_AlreadyEscapedText_IsEscapedAgain() {
+        assertThat(HtmlEscaper.escape("&amp;")).isEqualTo("&amp;amp;");
+    }
+
+    @Test
+    void escape_MatchesReplaceChainOnRandomInput() throws IOException {
+        Random random = new Random(42);
+        for (int n = 0; n < 10_000; n++) {
+            String value = randomString(random);
+            StringBuilder appended = new StringBuilder();
+
+            HtmlEscaper.escape(value, appended);
+
+            assertThat(HtmlEscaper.escape(value)).isEqualTo(replaceChain(value));
+            assertThat(appended).hasToString(replaceChain(value));
+        }
+    }
+
+    @Test
+    void indexOfSpecial() {
+        assertThat(HtmlEscaper.indexOfSpecial("abc")).isEqualTo(-1);
+        assertThat(HtmlEscaper.indexOfSpecial("ab'c")).isEqualTo(2);
+    }
+
+    /**
+     * The escaping the contract renderer used before, kept as the reference behaviour.
+     */
+    static String replaceChain(String input) {
+        return input
+                .replace("&", "&amp;")
+                .replace("<", "&lt;")
+                .replace(">", "&gt;")
+                .replace("\"", "&quot;")
+                .replace("'", "&#x27;");
+    }
+
+    private static String randomString(Random random) {
+        StringBuilder value = new StringBuilder();
+        int length = random.nextInt(20);
+        for (int i = 0; i < length; i++) {
+            value.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return value.toString();
+    }
+}
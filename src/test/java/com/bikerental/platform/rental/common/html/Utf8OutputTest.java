@@ -0,0 +1,68 @@
+package com.bikerental.platform.rental.common.html;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class Utf8OutputTest {
+
+    @Test
+    void append_MatchesStringGetBytes_AcrossBufferBoundaries() throws IOException {
+        Random random = new Random(7);
+        char[] alphabet = {'a', 'é', '€', '\uD83D', '\uDEB2', '\uDC00', 'z'};
+        for (int n = 0; n < 2_000; n++) {
+            StringBuilder value = new StringBuilder();
+            int length = random.nextInt(40);
+            for (int i = 0; i < length; i++) {
+                value.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            Utf8Output utf8 = new Utf8Output(out, 8);
+            utf8.append(value);
+            utf8.flush();
+
+            assertThat(out.toByteArray()).isEqualTo(value.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void writeBase64_MatchesJdkEncoderForEveryPaddingAndBufferBoundary() throws IOException {
+        for (int length = 0; length < 64; length++) {
+            byte[] data = new byte[length];
+            for (int i = 0; i < length; i++) {
+                data[i] = (byte) (i * 37);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            Utf8Output utf8 = new Utf8Output(out, 22);
+
+            utf8.append('x').writeBase64(data).flush();
+
+            assertThat(out.toString(StandardCharsets.US_ASCII)).isEqualTo("x" + Base64.getEncoder().encodeToString(data));
+        }
+    }
+
+    @Test
+    void write_MixesBytesTextAndNumbersInOrder() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Utf8Output utf8 = new Utf8Output(out, 16);
+
+        utf8.write("<p>".getBytes(StandardCharsets.UTF_8))
+                .append("Grüße #")
+                .writeDecimal(1234567890123L)
+                .write("</p> and a chunk longer than the buffer".getBytes(StandardCharsets.UTF_8))
+                .writeDecimal(0)
+                .writeDecimal(Long.MIN_VALUE)
+                .append('\uD83D');
+        utf8.flush();
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "<p>Grüße #1234567890123</p> and a chunk longer than the buffer0" + Long.MIN_VALUE + "?");
+    }
+}
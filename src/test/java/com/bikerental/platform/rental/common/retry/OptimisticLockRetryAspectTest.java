@@ -0,0 +1,107 @@
+package com.bikerental.platform.rental.common.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OptimisticLockRetryAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private OptimisticLockRetryAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        aspect = new OptimisticLockRetryAspect(meterRegistry, 3, 1, 5);
+    }
+
+    @Test
+    void retry_WhenConflictIsTransient_SucceedsAndCountsRetries() {
+        // Arrange
+        FlakyService service = proxy(new FlakyService(2));
+
+        // Act
+        String result = service.update();
+
+        // Assert
+        assertThat(result).isEqualTo("ok");
+        assertThat(service.getCalls()).isEqualTo(3);
+        assertThat(meterRegistry.counter(OptimisticLockRetryAspect.RETRIES_METRIC,
+                "operation", "FlakyService.update").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void retry_WhenConflictPersists_RethrowsAfterMaxAttempts() {
+        // Arrange
+        FlakyService service = proxy(new FlakyService(10));
+
+        // Act & Assert
+        assertThatThrownBy(service::update)
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(service.getCalls()).isEqualTo(3);
+        assertThat(meterRegistry.counter(OptimisticLockRetryAspect.EXHAUSTED_METRIC,
+                "operation", "FlakyService.update").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void retry_WhenOtherException_DoesNotRetry() {
+        // Arrange
+        FlakyService service = proxy(new FlakyService(0));
+
+        // Act & Assert
+        assertThatThrownBy(service::failHard).isInstanceOf(IllegalStateException.class);
+        assertThat(service.getCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void backoffMillis_StaysWithinCeiling() {
+        for (int attempt = 1; attempt <= 10; attempt++) {
+            assertThat(aspect.backoffMillis(attempt)).isBetween(0L, 5L);
+        }
+    }
+
+    private FlakyService proxy(FlakyService target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    static class FlakyService {
+        private final int failuresBeforeSuccess;
+        private int calls;
+
+        FlakyService() {
+            this(0);
+        }
+
+        FlakyService(int failuresBeforeSuccess) {
+            this.failuresBeforeSuccess = failuresBeforeSuccess;
+        }
+
+        @RetryOnOptimisticLock
+        public String update() {
+            calls++;
+            if (calls <= failuresBeforeSuccess) {
+                throw new ObjectOptimisticLockingFailureException(Object.class, 1L);
+            }
+            return "ok";
+        }
+
+        @RetryOnOptimisticLock
+        public String failHard() {
+            calls++;
+            throw new IllegalStateException("not a lock conflict");
+        }
+
+        public int getCalls() {
+            return calls;
+        }
+    }
+}
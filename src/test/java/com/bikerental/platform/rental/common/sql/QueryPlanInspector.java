@@ -0,0 +1,44 @@
+package com.bikerental.platform.rental.common.sql;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Test helper for query-plan assertions. Register it as Hibernate's statement inspector with
+ * {@link #PROPERTY}; it records the SQL Hibernate generates so tests can run it through H2's EXPLAIN.
+ */
+public class QueryPlanInspector implements StatementInspector {
+
+    public static final String PROPERTY = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "com.bikerental.platform.rental.common.sql.QueryPlanInspector";
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    public static void clear() {
+        STATEMENTS.clear();
+    }
+
+    /**
+     * EXPLAIN the last captured SELECT with its bind parameters inlined in order.
+     * Strings must be passed already quoted.
+     */
+    public static String explainLast(JdbcTemplate jdbcTemplate, Object... params) {
+        String sql = STATEMENTS.stream()
+                .filter(s -> s.trim().toLowerCase().startsWith("select"))
+                .reduce((first, second) -> second)
+                .orElseThrow(() -> new IllegalStateException("No SELECT captured"));
+        for (Object param : params) {
+            sql = sql.replaceFirst("\\?", String.valueOf(param));
+        }
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+}
@@ -0,0 +1,137 @@
+package com.bikerental.platform.rental.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.bikerental.platform.rental.auth.model.Hotel;
+import com.bikerental.platform.rental.auth.repo.HotelRepository;
+import com.bikerental.platform.rental.auth.service.JwtService;
+import com.bikerental.platform.rental.bike.model.Bike;
+import com.bikerental.platform.rental.bike.repo.BikeRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Integration tests for background exports: POST /api/exports, status polling and download.
+ * Not @Transactional: jobs read committed data on a worker thread.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ExportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private BikeRepository bikeRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Hotel hotel;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        hotel = new Hotel();
+        hotel.setHotelCode("EXP-" + UUID.randomUUID().toString().substring(0, 8));
+        hotel.setHotelName("Export Hotel");
+        hotel.setPasswordHash(passwordEncoder.encode("password123"));
+        hotel = hotelRepository.save(hotel);
+        token = jwtService.generateToken(hotel.getHotelId(), hotel.getHotelCode());
+    }
+
+    @AfterEach
+    void tearDown() {
+        bikeRepository.deleteAll(bikeRepository.findByHotelId(hotel.getHotelId()));
+        hotelRepository.delete(hotel);
+    }
+
+    @Test
+    void fleetExport_QueuedPolledAndDownloaded() throws Exception {
+        createBike("2");
+        createBike("1");
+
+        String location = mockMvc.perform(post("/api/exports")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"FLEET_CSV\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andReturn().getResponse().getHeader("Location");
+
+        JsonNode job = poll(location);
+        assertThat(job.get("status").asText()).isEqualTo("DONE");
+
+        byte[] body = mockMvc.perform(get(location + "/download").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(body).hasSize(job.get("bytesWritten").asInt());
+        assertThat(new String(body, StandardCharsets.UTF_8))
+                .isEqualTo("bike_number,bike_type,status,ooo_note,ooo_since\r\n1,,AVAILABLE,,\r\n2,,AVAILABLE,,\r\n");
+    }
+
+    @Test
+    void createExport_MissingType_BadRequest() throws Exception {
+        mockMvc.perform(post("/api/exports")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getExport_Unknown_NotFound() throws Exception {
+        mockMvc.perform(get("/api/exports/" + UUID.randomUUID()).header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+    }
+
+    private JsonNode poll(String location) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            String body = mockMvc.perform(get(location).header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode job = objectMapper.readTree(body);
+            String status = job.get("status").asText();
+            if (status.equals("DONE") || status.equals("FAILED") || System.currentTimeMillis() > deadline) {
+                return job;
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    private void createBike(String number) {
+        Bike bike = new Bike();
+        bike.setHotelId(hotel.getHotelId());
+        bike.setBikeNumber(number);
+        bike.setStatus(Bike.BikeStatus.AVAILABLE);
+        bikeRepository.save(bike);
+    }
+}
@@ -0,0 +1,199 @@
+package com.bikerental.platform.rental.export.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.bikerental.platform.rental.auth.security.HotelContext;
+import com.bikerental.platform.rental.bike.service.BikeExportService;
+import com.bikerental.platform.rental.common.exception.ConflictException;
+import com.bikerental.platform.rental.common.exception.NotFoundException;
+import com.bikerental.platform.rental.common.exception.TooManyRequestsException;
+import com.bikerental.platform.rental.export.dto.CreateExportRequest;
+import com.bikerental.platform.rental.export.dto.ExportFile;
+import com.bikerental.platform.rental.export.dto.ExportJobResponse;
+import com.bikerental.platform.rental.export.model.ExportStatus;
+import com.bikerental.platform.rental.export.model.ExportType;
+import com.bikerental.platform.rental.maintenance.service.MaintenanceService;
+import com.bikerental.platform.rental.rentals.service.RentalExportService;
+
+@ExtendWith(MockitoExtension.class)
+class ExportJobServiceTest {
+
+    private static final Long HOTEL_ID = 1L;
+    private static final Long OTHER_HOTEL_ID = 2L;
+
+    @Mock
+    private MaintenanceService maintenanceService;
+
+    @Mock
+    private BikeExportService bikeExportService;
+
+    @Mock
+    private RentalExportService rentalExportService;
+
+    @Mock
+    private HotelContext hotelContext;
+
+    @TempDir
+    Path spoolDir;
+
+    private ExportJobService service;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        lenient().when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID);
+        service = new ExportJobService(maintenanceService, bikeExportService, rentalExportService, hotelContext,
+                spoolDir, 1, 1, 2, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void submit_RunsJobAndSpoolsResult() throws Exception {
+        doAnswer(inv -> {
+            inv.<OutputStream>getArgument(1).write("bike_number\r\n1\r\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(bikeExportService).writeFleetCsv(eq(HOTEL_ID), any());
+
+        ExportJobResponse queued = service.submit(request(ExportType.FLEET_CSV));
+        ExportJobResponse done = awaitFinished(queued.getJobId());
+
+        assertThat(done.getStatus()).isEqualTo(ExportStatus.DONE);
+        assertThat(done.getBytesWritten()).isEqualTo(16);
+        assertThat(done.getExpiresAt()).isEqualTo(done.getFinishedAt().plus(Duration.ofHours(1)));
+        ExportFile file = service.getResult(queued.getJobId());
+        assertThat(file.getFilename()).startsWith("bikes-").endsWith(".csv");
+        assertThat(Files.readString(file.getPath())).isEqualTo("bike_number\r\n1\r\n");
+        assertThat(spoolDir.resolve(queued.getJobId() + ".part")).doesNotExist();
+    }
+
+    @Test
+    void submit_WriterFails_JobFailedAndPartialFileRemoved() throws Exception {
+        doThrow(new IllegalStateException("boom at /var/spool")).when(bikeExportService).writeOooCsv(eq(HOTEL_ID), any());
+
+        String jobId = service.submit(request(ExportType.OOO_BIKES_CSV)).getJobId();
+        ExportJobResponse failed = awaitFinished(jobId);
+
+        assertThat(failed.getStatus()).isEqualTo(ExportStatus.FAILED);
+        // The cause stays in the log
+        assertThat(failed.getError()).isNotBlank().doesNotContain("boom");
+        assertThatThrownBy(() -> service.getResult(jobId))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage(failed.getError());
+        try (var files = Files.list(spoolDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void submit_HotelLimitReached_RejectsUntilAJobFinishes() throws Exception {
+        blockFleetExport();
+        String first = service.submit(request(ExportType.FLEET_CSV)).getJobId();
+        service.submit(request(ExportType.FLEET_CSV));
+
+        assertThatThrownBy(() -> service.submit(request(ExportType.FLEET_CSV)))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThatThrownBy(() -> service.getResult(first))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("not finished");
+
+        release.countDown();
+        awaitFinished(first);
+        assertThat(service.submit(request(ExportType.FLEET_CSV)).getStatus()).isEqualTo(ExportStatus.QUEUED);
+    }
+
+    @Test
+    void submit_QueueFull_RejectsOtherHotels() throws Exception {
+        blockFleetExport();
+        service.submit(request(ExportType.FLEET_CSV)); // running on the only worker
+        service.submit(request(ExportType.FLEET_CSV)); // fills the queue of one
+
+        lenient().when(hotelContext.getCurrentHotelId()).thenReturn(OTHER_HOTEL_ID);
+        assertThatThrownBy(() -> service.submit(request(ExportType.FLEET_CSV)))
+                .isInstanceOf(TooManyRequestsException.class)
+                .hasMessageContaining("queue is full");
+    }
+
+    @Test
+    void getJob_OtherHotel_NotFound() {
+        blockFleetExport();
+        String jobId = service.submit(request(ExportType.FLEET_CSV)).getJobId();
+
+        lenient().when(hotelContext.getCurrentHotelId()).thenReturn(OTHER_HOTEL_ID);
+
+        assertThatThrownBy(() -> service.getJob(jobId)).isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void submit_RentalsWithEmptyRange_Rejected() {
+        Instant t = Instant.parse("2026-01-01T00:00:00Z");
+
+        assertThatThrownBy(() -> service.submit(new CreateExportRequest(ExportType.RENTALS_CSV, t, t)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void purgeExpired_RemovesFinishedJobsPastTtl() throws Exception {
+        service.shutdown();
+        service = new ExportJobService(maintenanceService, bikeExportService, rentalExportService, hotelContext,
+                spoolDir, 1, 1, 2, Duration.ZERO);
+        String jobId = service.submit(request(ExportType.FLEET_CSV)).getJobId();
+        awaitFinished(jobId);
+        Thread.sleep(5);
+
+        service.purgeExpired();
+
+        assertThatThrownBy(() -> service.getJob(jobId)).isInstanceOf(NotFoundException.class);
+        try (var files = Files.list(spoolDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private void blockFleetExport() {
+        lenient().doAnswer(inv -> {
+            release.await(10, TimeUnit.SECONDS);
+            return null;
+        }).when(bikeExportService).writeFleetCsv(any(), any());
+    }
+
+    private ExportJobResponse awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        ExportJobResponse job = service.getJob(jobId);
+        while (!job.getStatus().isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            job = service.getJob(jobId);
+        }
+        return job;
+    }
+
+    private static CreateExportRequest request(ExportType type) {
+        return new CreateExportRequest(type, null, null);
+    }
+}
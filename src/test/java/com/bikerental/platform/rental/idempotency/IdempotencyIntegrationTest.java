@@ -0,0 +1,149 @@
+package com.bikerental.platform.rental.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bikerental.platform.rental.auth.model.Hotel;
+import com.bikerental.platform.rental.auth.repo.HotelRepository;
+import com.bikerental.platform.rental.auth.service.JwtService;
+import com.bikerental.platform.rental.bike.model.Bike;
+import com.bikerental.platform.rental.bike.repo.BikeRepository;
+import com.bikerental.platform.rental.rentals.repo.RentalRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Integration tests for Idempotency-Key handling on rental creation.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@SuppressWarnings("null")
+class IdempotencyIntegrationTest {
+
+    private static final String SIGNATURE_BASE64 =
+            Base64.getEncoder().encodeToString(new byte[]{(byte) 0x89, 0x50, 0x4E, 0x47});
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private BikeRepository bikeRepository;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Hotel hotel;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        hotel = new Hotel();
+        hotel.setHotelCode("IDEMP-" + UUID.randomUUID().toString().substring(0, 8));
+        hotel.setHotelName("Idempotency Hotel");
+        hotel.setPasswordHash(passwordEncoder.encode("password123"));
+        hotel = hotelRepository.save(hotel);
+        token = jwtService.generateToken(hotel.getHotelId(), hotel.getHotelCode());
+
+        createBike("1");
+        createBike("2");
+    }
+
+    @Test
+    void createRental_SameKeyTwice_ReplaysFirstResponse() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String body = createRentalJson("1");
+
+        MvcResult first = mockMvc.perform(post("/api/rentals")
+                        .header("Authorization", "Bearer " + token)
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andReturn();
+        long rentalId = objectMapper.readTree(first.getResponse().getContentAsString()).get("rentalId").asLong();
+
+        mockMvc.perform(post("/api/rentals")
+                        .header("Authorization", "Bearer " + token)
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.rentalId").value(rentalId));
+
+        assertThat(rentalRepository.findAll())
+                .filteredOn(rental -> rental.getHotelId().equals(hotel.getHotelId()))
+                .hasSize(1);
+    }
+
+    @Test
+    void createRental_SameKeyDifferentBody_ReturnsBadRequest() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        mockMvc.perform(post("/api/rentals")
+                        .header("Authorization", "Bearer " + token)
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(createRentalJson("1")))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/rentals")
+                        .header("Authorization", "Bearer " + token)
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(createRentalJson("2")))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void createBike(String bikeNumber) {
+        Bike bike = new Bike();
+        bike.setHotelId(hotel.getHotelId());
+        bike.setBikeNumber(bikeNumber);
+        bike.setStatus(Bike.BikeStatus.AVAILABLE);
+        bikeRepository.save(bike);
+    }
+
+    private String createRentalJson(String bikeNumber) {
+        return """
+            {
+                "bikeNumbers": ["%s"],
+                "roomNumber": "101",
+                "returnDateTime": "%s",
+                "tncVersion": "v1",
+                "signatureBase64Png": "%s"
+            }
+            """.formatted(bikeNumber, Instant.now().plus(1, ChronoUnit.DAYS), SIGNATURE_BASE64);
+    }
+}
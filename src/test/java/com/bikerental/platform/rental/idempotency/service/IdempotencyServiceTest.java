@@ -0,0 +1,156 @@
+package com.bikerental.platform.rental.idempotency.service;
+
+import com.bikerental.platform.rental.auth.security.HotelContext;
+import com.bikerental.platform.rental.idempotency.store.InMemoryIdempotencyStore;
+import com.bikerental.platform.rental.idempotency.store.StoredResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    private static final Long HOTEL_ID = 1L;
+
+    @Mock
+    private HotelContext hotelContext;
+
+    private InMemoryIdempotencyStore store;
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryIdempotencyStore();
+        idempotencyService = new IdempotencyService(store, hotelContext, Duration.ofHours(24), Duration.ofSeconds(5));
+    }
+
+    @Test
+    void execute_DuplicateKey_ReplaysStoredResponseWithoutRunningAgain() {
+        // Arrange
+        when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID);
+        AtomicInteger executions = new AtomicInteger();
+
+        // Act
+        StoredResponse first = idempotencyService.execute("key-1", "hash", () ->
+                new StoredResponse(201, "{\"rentalId\":" + executions.incrementAndGet() + "}"));
+        StoredResponse second = idempotencyService.execute("key-1", "hash", () ->
+                new StoredResponse(201, "{\"rentalId\":" + executions.incrementAndGet() + "}"));
+
+        // Assert
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    void execute_SameKeyDifferentRequest_ThrowsBadRequest() {
+        // Arrange
+        when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID);
+        idempotencyService.execute("key-1", "hash-a", () -> new StoredResponse(200, "{}"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> idempotencyService.execute("key-1", "hash-b", () -> new StoredResponse(200, "{}")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("different request");
+    }
+
+    @Test
+    void execute_SameKeyDifferentHotel_RunsIndependently() {
+        // Arrange
+        when(hotelContext.getCurrentHotelId()).thenReturn(1L, 2L);
+        AtomicInteger executions = new AtomicInteger();
+
+        // Act
+        idempotencyService.execute("key-1", "hash", () -> new StoredResponse(200, String.valueOf(executions.incrementAndGet())));
+        idempotencyService.execute("key-1", "hash", () -> new StoredResponse(200, String.valueOf(executions.incrementAndGet())));
+
+        // Assert
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    void execute_ActionFails_ReleasesKeySoRetryRuns() {
+        // Arrange
+        when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID);
+
+        // Act
+        assertThatThrownBy(() -> idempotencyService.execute("key-1", "hash", () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+        StoredResponse retried = idempotencyService.execute("key-1", "hash", () -> new StoredResponse(200, "ok"));
+
+        // Assert
+        assertThat(retried.body()).isEqualTo("ok");
+    }
+
+    @Test
+    void execute_KeyTooLong_ThrowsBadRequest() {
+        // Act & Assert
+        assertThatThrownBy(() -> idempotencyService.execute("x".repeat(101), "hash", () -> new StoredResponse(200, "{}")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void execute_ConcurrentDuplicates_RunOnceAndShareResponse() throws Exception {
+        // Arrange
+        when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch ownerStarted = new CountDownLatch(1);
+        CountDownLatch releaseOwner = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // Act
+            Future<StoredResponse> owner = executor.submit(() -> idempotencyService.execute("key-1", "hash", () -> {
+                ownerStarted.countDown();
+                await(releaseOwner);
+                return new StoredResponse(201, "{\"run\":" + executions.incrementAndGet() + "}");
+            }));
+            assertThat(ownerStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<StoredResponse> duplicate = executor.submit(() -> idempotencyService.execute("key-1", "hash",
+                    () -> new StoredResponse(201, "{\"run\":" + executions.incrementAndGet() + "}")));
+            releaseOwner.countDown();
+
+            // Assert
+            assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo(owner.get(5, TimeUnit.SECONDS));
+            assertThat(executions.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void purgeExpired_RemovesOnlyExpiredKeys() {
+        // Arrange
+        store.claim("1:old", HOTEL_ID, "hash", Instant.now().minusSeconds(60));
+        store.claim("1:live", HOTEL_ID, "hash", Instant.now().plusSeconds(60));
+
+        // Act
+        idempotencyService.purgeExpired();
+
+        // Assert
+        assertThat(store.deleteExpired(Instant.now().plusSeconds(120))).isEqualTo(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
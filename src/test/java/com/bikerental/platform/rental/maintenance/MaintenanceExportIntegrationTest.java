@@ -1,8 +1,10 @@
 package com.bikerental.platform.rental.maintenance;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.io.ByteArrayInputStream;
@@ -10,11 +12,13 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,7 +27,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.test.web.servlet.ResultActions;
 
 import com.bikerental.platform.rental.auth.model.Hotel;
 import com.bikerental.platform.rental.auth.repo.HotelRepository;
@@ -34,10 +38,11 @@ import com.bikerental.platform.rental.bike.repo.BikeRepository;
 /**
  * Integration tests for OOO bikes Excel export.
  * Tests ordering, hotel scoping, Excel format, and edge cases.
+ * Not @Transactional: the export streams from the database on an async thread,
+ * so test data must be committed.
  */
 @SpringBootTest
 @AutoConfigureMockMvc
-@Transactional
 @SuppressWarnings({"null", "unused"})
 class MaintenanceExportIntegrationTest {
 
@@ -65,17 +70,16 @@ class MaintenanceExportIntegrationTest {
 
     @BeforeEach
     void setUp() {
-        bikeRepository.deleteAll();
-        hotelRepository.deleteAll();
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
 
         hotel1 = new Hotel();
-        hotel1.setHotelCode("HOTEL1");
+        hotel1.setHotelCode("HOTEL1-" + suffix);
         hotel1.setHotelName("Test Hotel 1");
         hotel1.setPasswordHash(passwordEncoder.encode("password123"));
         hotel1 = hotelRepository.save(hotel1);
 
         hotel2 = new Hotel();
-        hotel2.setHotelCode("HOTEL2");
+        hotel2.setHotelCode("HOTEL2-" + suffix);
         hotel2.setHotelName("Test Hotel 2");
         hotel2.setPasswordHash(passwordEncoder.encode("password123"));
         hotel2 = hotelRepository.save(hotel2);
@@ -84,6 +88,13 @@ class MaintenanceExportIntegrationTest {
         hotel2Token = jwtService.generateToken(hotel2.getHotelId(), hotel2.getHotelCode());
     }
 
+    @AfterEach
+    void tearDown() {
+        bikeRepository.deleteAll(bikeRepository.findByHotelId(hotel1.getHotelId()));
+        bikeRepository.deleteAll(bikeRepository.findByHotelId(hotel2.getHotelId()));
+        hotelRepository.deleteAll(List.of(hotel1, hotel2));
+    }
+
     @Test
     void exportOooBikes_WithOooBikes_ReturnsCorrectOrderingOldestFirst() throws Exception {
         Instant now = Instant.now();
@@ -92,8 +103,7 @@ class MaintenanceExportIntegrationTest {
         createOooBike(hotel1.getHotelId(), "B001", "CHILD", "Broken chain", now.minus(1, ChronoUnit.DAYS));
         createOooBike(hotel1.getHotelId(), "B002", "ADULT", "Needs repair", now.minus(2, ChronoUnit.DAYS));
 
-        MvcResult result = mockMvc.perform(get("/api/maintenance/ooo/export")
-                        .header("Authorization", "Bearer " + hotel1Token))
+        MvcResult result = export(hotel1Token)
                 .andExpect(status().isOk())
                 .andExpect(header().string("Content-Type", EXCEL_CONTENT_TYPE))
                 .andExpect(header().exists("Content-Disposition"))
@@ -116,8 +126,7 @@ class MaintenanceExportIntegrationTest {
         createOooBike(hotel1.getHotelId(), "B001", "ADULT", "Note 1", sameTime);
         createOooBike(hotel1.getHotelId(), "B002", "ADULT", "Note 2", sameTime);
 
-        MvcResult result = mockMvc.perform(get("/api/maintenance/ooo/export")
-                        .header("Authorization", "Bearer " + hotel1Token))
+        MvcResult result = export(hotel1Token)
                 .andExpect(status().isOk())
                 .andReturn();
 
@@ -135,8 +144,7 @@ class MaintenanceExportIntegrationTest {
         createOooBike(hotel1.getHotelId(), "B001", "ADULT", "Note", null);
         createOooBike(hotel1.getHotelId(), "B002", "ADULT", "Note 2", now.minus(1, ChronoUnit.DAYS));
 
-        MvcResult result = mockMvc.perform(get("/api/maintenance/ooo/export")
-                        .header("Authorization", "Bearer " + hotel1Token))
+        MvcResult result = export(hotel1Token)
                 .andExpect(status().isOk())
                 .andReturn();
 
@@ -155,8 +163,7 @@ class MaintenanceExportIntegrationTest {
         createOooBike(hotel2.getHotelId(), "H2-B001", "ADULT", "Hotel 2 bike",
                 Instant.now().minus(1, ChronoUnit.DAYS));
 
-        MvcResult result = mockMvc.perform(get("/api/maintenance/ooo/export")
-                        .header("Authorization", "Bearer " + hotel1Token))
+        MvcResult result = export(hotel1Token)
                 .andExpect(status().isOk())
                 .andReturn();
 
@@ -173,8 +180,7 @@ class MaintenanceExportIntegrationTest {
         createBike(hotel1.getHotelId(), "AVAILABLE-BIKE", "ADULT", Bike.BikeStatus.AVAILABLE);
         createBike(hotel1.getHotelId(), "RENTED-BIKE", "CHILD", Bike.BikeStatus.RENTED);
 
-        MvcResult result = mockMvc.perform(get("/api/maintenance/ooo/export")
-                        .header("Authorization", "Bearer " + hotel1Token))
+        MvcResult result = export(hotel1Token)
                 .andExpect(status().isOk())
                 .andReturn();
 
@@ -188,8 +194,7 @@ class MaintenanceExportIntegrationTest {
     void exportOooBikes_NoOooBikes_ReturnsHeaderOnly() throws Exception {
         createBike(hotel1.getHotelId(), "AVAILABLE-BIKE", "ADULT", Bike.BikeStatus.AVAILABLE);
 
-        MvcResult result = mockMvc.perform(get("/api/maintenance/ooo/export")
-                        .header("Authorization", "Bearer " + hotel1Token))
+        MvcResult result = export(hotel1Token)
                 .andExpect(status().isOk())
                 .andReturn();
 
@@ -208,8 +213,7 @@ class MaintenanceExportIntegrationTest {
         createOooBike(hotel1.getHotelId(), "B002", "CHILD",
                 "Line1\nLine2\nLine3", now.minus(1, ChronoUnit.DAYS));
 
-        MvcResult result = mockMvc.perform(get("/api/maintenance/ooo/export")
-                        .header("Authorization", "Bearer " + hotel1Token))
+        MvcResult result = export(hotel1Token)
                 .andExpect(status().isOk())
                 .andReturn();
 
@@ -222,8 +226,7 @@ class MaintenanceExportIntegrationTest {
 
     @Test
     void exportOooBikes_ExcelHeaders_CorrectContentTypeAndFilename() throws Exception {
-        MvcResult result = mockMvc.perform(get("/api/maintenance/ooo/export")
-                        .header("Authorization", "Bearer " + hotel1Token))
+        MvcResult result = export(hotel1Token)
                 .andExpect(status().isOk())
                 .andExpect(header().string("Content-Type", EXCEL_CONTENT_TYPE))
                 .andReturn();
@@ -252,8 +255,7 @@ class MaintenanceExportIntegrationTest {
         bike.setOooSince(Instant.now());
         bikeRepository.save(bike);
 
-        MvcResult result = mockMvc.perform(get("/api/maintenance/ooo/export")
-                        .header("Authorization", "Bearer " + hotel1Token))
+        MvcResult result = export(hotel1Token)
                 .andExpect(status().isOk())
                 .andReturn();
 
@@ -266,6 +268,14 @@ class MaintenanceExportIntegrationTest {
 
     // Helper methods
 
+    private ResultActions export(String token) throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/maintenance/ooo/export")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+
     private List<String[]> parseExcel(byte[] excelBytes) throws Exception {
         List<String[]> rows = new ArrayList<>();
         try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(excelBytes))) {
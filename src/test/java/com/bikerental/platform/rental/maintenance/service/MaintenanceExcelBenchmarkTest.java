@@ -0,0 +1,70 @@
+package com.bikerental.platform.rental.maintenance.service;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.bikerental.platform.rental.benchmark.Benchmarks;
+import com.bikerental.platform.rental.benchmark.Benchmarks.CountingOutputStream;
+import com.bikerental.platform.rental.bike.dto.BikeResponse;
+import com.bikerental.platform.rental.bike.model.Bike;
+
+/**
+ * Heap and time of the streaming OOO export at 100k rows.
+ * Rows are generated on demand and the output is only counted, so any heap growth
+ * measured while writing belongs to the workbook itself.
+ */
+@Tag(Benchmarks.TAG)
+class MaintenanceExcelBenchmarkTest {
+
+    private static final int ROWS = 100_000;
+
+    @Test
+    void writeExcel_100kRows() throws Exception {
+        long baseline = Benchmarks.usedHeapAfterGc();
+        GeneratedBikes bikes = new GeneratedBikes(ROWS);
+        CountingOutputStream out = new CountingOutputStream();
+
+        long start = System.nanoTime();
+        MaintenanceService.writeExcel(bikes, out);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        Benchmarks.report("OOO export, " + ROWS + " rows", String.format("%d KB written in %d ms, heap growth %d KB",
+                out.count() / 1024, elapsedMs, (bikes.usedHeapNearEnd - baseline) / 1024));
+    }
+
+    /**
+     * OOO rows produced on demand; samples live heap just before the last row.
+     */
+    private static final class GeneratedBikes implements Iterator<BikeResponse> {
+        private final int rows;
+        private final Instant since = Instant.parse("2026-01-01T00:00:00Z");
+        private int emitted;
+        private long usedHeapNearEnd;
+
+        GeneratedBikes(int rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return emitted < rows;
+        }
+
+        @Override
+        public BikeResponse next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            emitted++;
+            if (emitted == rows) {
+                usedHeapNearEnd = Benchmarks.usedHeapAfterGc();
+            }
+            return new BikeResponse((long) emitted, "B" + emitted, "ADULT", Bike.BikeStatus.OOO,
+                    "Needs repair after storm, bike " + emitted, since.plusSeconds(emitted));
+        }
+    }
+}
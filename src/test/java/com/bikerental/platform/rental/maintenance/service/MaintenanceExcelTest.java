@@ -0,0 +1,61 @@
+package com.bikerental.platform.rental.maintenance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import com.bikerental.platform.rental.bike.dto.BikeResponse;
+import com.bikerental.platform.rental.bike.model.Bike;
+
+/**
+ * Tests for the streaming OOO bikes workbook.
+ */
+class MaintenanceExcelTest {
+
+    @Test
+    void writeExcel_FixedColumnWidthsAndAllRows() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        MaintenanceService.writeExcel(List.of(
+                new BikeResponse(1L, "B1", "ADULT", Bike.BikeStatus.OOO, "Flat tire", Instant.parse("2026-03-01T10:00:00Z")),
+                new BikeResponse(2L, "B2", null, Bike.BikeStatus.OOO, null, null)).iterator(), out);
+
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertThat(sheet.getLastRowNum()).isEqualTo(2);
+            assertThat(sheet.getRow(1).getCell(3).getStringCellValue()).isEqualTo("2026-03-01");
+            assertThat(sheet.getRow(2).getCell(1).getStringCellValue()).isEmpty();
+            assertThat(sheet.getColumnWidth(2)).isEqualTo(60 * 256);
+        }
+    }
+
+    @Test
+    void writeExcel_MoreRowsThanWindow_WritesEveryRowInOrder() throws Exception {
+        int rows = MaintenanceService.ROW_WINDOW * 5 + 7;
+        Iterator<BikeResponse> bikes = IntStream.rangeClosed(1, rows)
+                .mapToObj(i -> new BikeResponse((long) i, "B" + i, "ADULT", Bike.BikeStatus.OOO, "Note " + i, null))
+                .iterator();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        MaintenanceService.writeExcel(bikes, out);
+
+        assertThat(bikes.hasNext()).isFalse();
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertThat(sheet.getLastRowNum()).isEqualTo(rows);
+            assertThat(sheet.getRow(1).getCell(0).getStringCellValue()).isEqualTo("B1");
+            assertThat(sheet.getRow(rows).getCell(0).getStringCellValue()).isEqualTo("B" + rows);
+            assertThat(sheet.getRow(rows).getCell(2).getStringCellValue()).isEqualTo("Note " + rows);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.bikerental.platform.rental.rentals;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doNothing;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.bikerental.platform.rental.auth.model.Hotel;
+import com.bikerental.platform.rental.auth.repo.HotelRepository;
+import com.bikerental.platform.rental.auth.service.JwtService;
+import com.bikerental.platform.rental.bike.model.Bike;
+import com.bikerental.platform.rental.bike.repo.BikeRepository;
+import com.bikerental.platform.rental.rentals.contract.ContractPdfStore;
+import com.bikerental.platform.rental.rentals.repo.RentalRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Integration tests for PDF contracts (GET /api/rentals/{id}/contract.pdf): pre-rendered in the
+ * background on create and close, streamed from the store under the rental's version, and
+ * superseded when the rental changes.
+ * Not @Transactional: pre-rendering runs after commit.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class ContractPdfIntegrationTest {
+
+    private static final String CACHE_CONTROL = "no-cache, private";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private BikeRepository bikeRepository;
+
+    @SpyBean
+    private ContractPdfStore contractPdfStore;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Hotel hotel;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        hotel = new Hotel();
+        hotel.setHotelCode("PDF-" + UUID.randomUUID().toString().substring(0, 8));
+        hotel.setHotelName("PDF Hotel");
+        hotel.setPasswordHash(passwordEncoder.encode("password123"));
+        hotel = hotelRepository.save(hotel);
+        token = jwtService.generateToken(hotel.getHotelId(), hotel.getHotelCode());
+
+        createBike("P1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        Long hotelId = hotel.getHotelId();
+        jdbcTemplate.update("DELETE FROM rental_items WHERE hotel_id = ?", hotelId);
+        jdbcTemplate.update("DELETE FROM rentals WHERE hotel_id = ?", hotelId);
+        jdbcTemplate.update("DELETE FROM signatures WHERE hotel_id = ?", hotelId);
+        bikeRepository.deleteAll(bikeRepository.findByHotelId(hotelId));
+        hotelRepository.delete(hotel);
+    }
+
+    @Test
+    void createRental_PreRendersOpenPdf_ServedAfterVersionLookup() throws Exception {
+        JsonNode rental = createRental();
+        Long rentalId = rental.get("rentalId").asLong();
+
+        ContractPdfStore.StoredPdf stored = awaitStored(rentalId);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        MvcResult result = mockMvc.perform(get("/api/rentals/" + rentalId + "/contract.pdf")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_PDF_VALUE))
+                .andExpect(header().string("ETag", stored.etag()))
+                .andExpect(header().string("Cache-Control", CACHE_CONTROL))
+                .andExpect(header().string("Content-Disposition", "inline; filename=\"contract-" + rentalId + ".pdf\""))
+                .andReturn();
+
+        assertThat(result.getResponse().getContentAsByteArray()).startsWith("%PDF".getBytes());
+        // Only the version lookup
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        mockMvc.perform(get("/api/rentals/" + rentalId + "/contract.pdf")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", stored.etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("Cache-Control", CACHE_CONTROL));
+    }
+
+    @Test
+    void returnAll_PreRendersClosedPdf_Immutable() throws Exception {
+        Long rentalId = createRental().get("rentalId").asLong();
+        String openEtag = awaitStored(rentalId).etag();
+
+        mockMvc.perform(post("/api/rentals/" + rentalId + "/return-all")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        ContractPdfStore.StoredPdf stored = awaitStored(rentalId);
+        assertThat(stored.etag()).isNotEqualTo(openEtag);
+
+        mockMvc.perform(get("/api/rentals/" + rentalId + "/contract.pdf")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", stored.etag()))
+                .andExpect(header().string("Cache-Control", CACHE_CONTROL));
+    }
+
+    @Test
+    void undoReturn_DropsClosedPdf_NextDownloadRendersOpenOne() throws Exception {
+        JsonNode rental = createRental();
+        Long rentalId = rental.get("rentalId").asLong();
+        Long itemId = rental.get("items").get(0).get("rentalItemId").asLong();
+        mockMvc.perform(post("/api/rentals/" + rentalId + "/items/" + itemId + "/return")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        String closedEtag = awaitStored(rentalId).etag();
+
+        mockMvc.perform(post("/api/rentals/" + rentalId + "/items/" + itemId + "/undo-return")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        assertThat(storedPdf(rentalId)).isEmpty();
+        MvcResult result = mockMvc.perform(get("/api/rentals/" + rentalId + "/contract.pdf")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", closedEtag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", CACHE_CONTROL))
+                .andReturn();
+        assertThat(result.getResponse().getHeader("ETag")).isNotEqualTo(closedEtag);
+        assertThat(storedPdf(rentalId)).get()
+                .extracting(ContractPdfStore.StoredPdf::etag).isEqualTo(result.getResponse().getHeader("ETag"));
+    }
+
+    @Test
+    void returnBike_OnAnotherInstance_NextDownloadRendersNewVersion() throws Exception {
+        createBike("P2");
+        JsonNode rental = createRental("P1", "P2");
+        Long rentalId = rental.get("rentalId").asLong();
+        Long itemId = rental.get("items").get(0).get("rentalItemId").asLong();
+        String openEtag = awaitStored(rentalId).etag();
+        // The change is made elsewhere: this instance never sees the event and keeps its file
+        doNothing().when(contractPdfStore).invalidate(any(), any());
+
+        mockMvc.perform(post("/api/rentals/" + rentalId + "/items/" + itemId + "/return")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        MvcResult result = mockMvc.perform(get("/api/rentals/" + rentalId + "/contract.pdf")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", openEtag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(result.getResponse().getHeader("ETag")).isNotEqualTo(openEtag);
+    }
+
+    @Test
+    void getContractPdf_OtherHotel_NotFound() throws Exception {
+        Long rentalId = createRental().get("rentalId").asLong();
+        String otherToken = jwtService.generateToken(hotel.getHotelId() + 1000, "OTHER");
+
+        mockMvc.perform(get("/api/rentals/" + rentalId + "/contract.pdf")
+                        .header("Authorization", "Bearer " + otherToken))
+                .andExpect(status().isNotFound());
+    }
+
+    private void createBike(String bikeNumber) {
+        Bike bike = new Bike();
+        bike.setHotelId(hotel.getHotelId());
+        bike.setBikeNumber(bikeNumber);
+        bike.setStatus(Bike.BikeStatus.AVAILABLE);
+        bikeRepository.save(bike);
+    }
+
+    private JsonNode createRental() throws Exception {
+        return createRental("P1");
+    }
+
+    private JsonNode createRental(String... bikeNumbers) throws Exception {
+        String body = """
+            {
+                "bikeNumbers": %s,
+                "roomNumber": "101",
+                "returnDateTime": "%s",
+                "tncVersion": "v1",
+                "signatureBase64Png": "%s"
+            }
+            """.formatted(objectMapper.writeValueAsString(bikeNumbers),
+                Instant.now().plus(1, ChronoUnit.DAYS),
+                Base64.getEncoder().encodeToString(new byte[]{(byte) 0x89, 0x50, 0x4E, 0x47}));
+
+        MvcResult result = mockMvc.perform(post("/api/rentals")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    // The PDF stored for the rental's current version
+    private Optional<ContractPdfStore.StoredPdf> storedPdf(Long rentalId) {
+        Long hotelId = hotel.getHotelId();
+        return rentalRepository.findVersion(rentalId, hotelId)
+                .flatMap(version -> contractPdfStore.get(hotelId, rentalId, String.valueOf(version)));
+    }
+
+    private ContractPdfStore.StoredPdf awaitStored(Long rentalId) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            Optional<ContractPdfStore.StoredPdf> stored = storedPdf(rentalId);
+            if (stored.isPresent()) {
+                return stored.get();
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Contract PDF of rental " + rentalId + " was not pre-rendered");
+    }
+}
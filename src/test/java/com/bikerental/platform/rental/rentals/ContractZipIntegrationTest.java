@@ -0,0 +1,203 @@
+package com.bikerental.platform.rental.rentals;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.bikerental.platform.rental.auth.model.Hotel;
+import com.bikerental.platform.rental.auth.repo.HotelRepository;
+import com.bikerental.platform.rental.auth.service.JwtService;
+import com.bikerental.platform.rental.bike.model.Bike;
+import com.bikerental.platform.rental.bike.repo.BikeRepository;
+import com.bikerental.platform.rental.rentals.model.Rental;
+import com.bikerental.platform.rental.rentals.model.RentalItem;
+import com.bikerental.platform.rental.rentals.model.RentalItemStatus;
+import com.bikerental.platform.rental.rentals.model.RentalStatus;
+import com.bikerental.platform.rental.rentals.repo.RentalRepository;
+import com.bikerental.platform.rental.rentals.service.RentalArchiveService;
+import com.bikerental.platform.rental.signature.model.Signature;
+import com.bikerental.platform.rental.signature.repo.SignatureRepository;
+
+/**
+ * Integration tests for the contracts ZIP (GET /api/rentals/contracts.zip): one PDF and one
+ * signature per rental in the range, live and archived, in newest-first order even though
+ * entries are rendered in parallel. A window of 2 keeps several renders in flight.
+ * Not @Transactional: the ZIP is written on an async thread after the request returns.
+ */
+@SpringBootTest(properties = "rentals.contract-zip.window=2")
+@AutoConfigureMockMvc
+class ContractZipIntegrationTest {
+
+    private static final byte[] SIGNATURE = {(byte) 0x89, 0x50, 0x4E, 0x47, 1, 2, 3};
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private BikeRepository bikeRepository;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private SignatureRepository signatureRepository;
+
+    @Autowired
+    private RentalArchiveService rentalArchiveService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Hotel hotel;
+    private String token;
+    private Bike bike;
+    private Long signatureId;
+    private Instant base;
+
+    @BeforeEach
+    void setUp() {
+        hotel = new Hotel();
+        hotel.setHotelCode("ZIP-" + UUID.randomUUID().toString().substring(0, 8));
+        hotel.setHotelName("Zip Hotel");
+        hotel.setPasswordHash(passwordEncoder.encode("password123"));
+        hotel = hotelRepository.save(hotel);
+        token = jwtService.generateToken(hotel.getHotelId(), hotel.getHotelCode());
+
+        bike = new Bike();
+        bike.setHotelId(hotel.getHotelId());
+        bike.setBikeNumber("Z1");
+        bike.setStatus(Bike.BikeStatus.AVAILABLE);
+        bike = bikeRepository.save(bike);
+
+        signatureId = signatureRepository.save(new Signature(hotel.getHotelId(), SIGNATURE)).getSignatureId();
+        base = Instant.now().truncatedTo(ChronoUnit.DAYS).minus(200, ChronoUnit.DAYS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Long hotelId = hotel.getHotelId();
+        jdbcTemplate.update("DELETE FROM rental_items_archive WHERE hotel_id = ?", hotelId);
+        jdbcTemplate.update("DELETE FROM rentals_archive WHERE hotel_id = ?", hotelId);
+        jdbcTemplate.update("DELETE FROM rental_items WHERE hotel_id = ?", hotelId);
+        jdbcTemplate.update("DELETE FROM rentals WHERE hotel_id = ?", hotelId);
+        jdbcTemplate.update("DELETE FROM signatures WHERE hotel_id = ?", hotelId);
+        bikeRepository.deleteAll(bikeRepository.findByHotelId(hotelId));
+        hotelRepository.delete(hotel);
+    }
+
+    @Test
+    void contractsZip_LiveAndArchivedRentalsInRange_NewestFirst() throws Exception {
+        List<Long> inRange = new ArrayList<>();
+        for (int day = 1; day <= 5; day++) {
+            // Odd days are closed long ago and get archived
+            inRange.add(createRental(base.plus(day, ChronoUnit.DAYS), day % 2 == 1).getRentalId());
+        }
+        createRental(base, false);
+        createRental(base.plus(30, ChronoUnit.DAYS), false);
+        rentalArchiveService.archiveClosedRentals(Instant.now());
+
+        Map<String, byte[]> entries = getZip(base.plus(1, ChronoUnit.DAYS), base.plus(30, ChronoUnit.DAYS));
+
+        List<String> expected = new ArrayList<>();
+        for (int i = inRange.size() - 1; i >= 0; i--) {
+            String name = base.plus(i + 1, ChronoUnit.DAYS).toString().substring(0, 10) + "_contract-" + inRange.get(i);
+            expected.add(name + ".pdf");
+            expected.add(name + "_signature.png");
+        }
+        assertThat(entries.keySet()).containsExactlyElementsOf(expected);
+        assertThat(entries.get(expected.get(0))).startsWith("%PDF".getBytes());
+        assertThat(entries.get(expected.get(1))).isEqualTo(SIGNATURE);
+    }
+
+    @Test
+    void contractsZip_NoRentals_EmptyArchive() throws Exception {
+        assertThat(getZip(base, base.plus(1, ChronoUnit.DAYS))).isEmpty();
+    }
+
+    @Test
+    void contractsZip_FromNotBeforeTo_BadRequest() throws Exception {
+        mockMvc.perform(get("/api/rentals/contracts.zip")
+                        .param("from", base.toString())
+                        .param("to", base.toString())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Map<String, byte[]> getZip(Instant from, Instant to) throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/rentals/contracts.zip")
+                        .param("from", from.toString())
+                        .param("to", to.toString())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] zip = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/zip"))
+                .andReturn().getResponse().getContentAsByteArray();
+        return unzip(zip);
+    }
+
+    private static Map<String, byte[]> unzip(byte[] zip) throws IOException {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                entries.put(entry.getName(), in.readAllBytes());
+            }
+        }
+        return entries;
+    }
+
+    private Rental createRental(Instant startAt, boolean closed) {
+        Rental rental = new Rental();
+        rental.setHotelId(hotel.getHotelId());
+        rental.setStatus(closed ? RentalStatus.CLOSED : RentalStatus.ACTIVE);
+        rental.setStartAt(startAt);
+        rental.setDueAt(startAt.plus(1, ChronoUnit.DAYS));
+        rental.setRoomNumber("101");
+        rental.setTncVersion("v1");
+        rental.setSignatureId(signatureId);
+        RentalItem item = new RentalItem(rental, bike.getBikeId());
+        if (closed) {
+            rental.setReturnAt(startAt.plus(1, ChronoUnit.DAYS));
+            item.setStatus(RentalItemStatus.RETURNED);
+            item.setReturnedAt(rental.getReturnAt());
+        }
+        rental.addItem(item);
+        return rentalRepository.save(rental);
+    }
+}
@@ -0,0 +1,220 @@
+package com.bikerental.platform.rental.rentals;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.bikerental.platform.rental.auth.security.HotelContext;
+import com.bikerental.platform.rental.bike.model.Bike;
+import com.bikerental.platform.rental.bike.repo.BikeRepository;
+import com.bikerental.platform.rental.rentals.dto.RentalDetailResponse;
+import com.bikerental.platform.rental.rentals.dto.RentalPageResponse;
+import com.bikerental.platform.rental.rentals.dto.RentalSummaryResponse;
+import com.bikerental.platform.rental.rentals.model.Rental;
+import com.bikerental.platform.rental.rentals.model.RentalItem;
+import com.bikerental.platform.rental.rentals.model.RentalItemStatus;
+import com.bikerental.platform.rental.rentals.model.RentalStatus;
+import com.bikerental.platform.rental.rentals.repo.ArchivedRentalRepository;
+import com.bikerental.platform.rental.rentals.repo.RentalRepository;
+import com.bikerental.platform.rental.rentals.service.RentalArchiveService;
+import com.bikerental.platform.rental.rentals.service.RentalContractService;
+import com.bikerental.platform.rental.rentals.service.RentalHistoryService;
+import com.bikerental.platform.rental.rentals.service.RentalService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Integration tests for the hot/cold rental split: chunked archival of old CLOSED rentals
+ * and transparent fall-through of detail, contract and history reads to the archive.
+ * Not @Transactional: each archive chunk commits in its own transaction.
+ */
+@SpringBootTest(properties = "rentals.archive.batch-size=2")
+class RentalArchiveIntegrationTest {
+
+    private static final Long HOTEL_ID = 88L;
+
+    @Autowired
+    private RentalArchiveService rentalArchiveService;
+
+    @Autowired
+    private RentalService rentalService;
+
+    @Autowired
+    private RentalHistoryService rentalHistoryService;
+
+    @Autowired
+    private RentalContractService rentalContractService;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private ArchivedRentalRepository archivedRentalRepository;
+
+    @Autowired
+    private BikeRepository bikeRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private HotelContext hotelContext;
+
+    private Instant now;
+    private Bike bike;
+
+    @BeforeEach
+    void setUp() {
+        when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID);
+        now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+        bike = new Bike();
+        bike.setHotelId(HOTEL_ID);
+        bike.setBikeNumber("A1");
+        bike.setStatus(Bike.BikeStatus.AVAILABLE);
+        bike = bikeRepository.save(bike);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM rental_items_archive WHERE hotel_id = ?", HOTEL_ID);
+        jdbcTemplate.update("DELETE FROM rentals_archive WHERE hotel_id = ?", HOTEL_ID);
+        jdbcTemplate.update("DELETE FROM rental_items WHERE hotel_id = ?", HOTEL_ID);
+        jdbcTemplate.update("DELETE FROM rentals WHERE hotel_id = ?", HOTEL_ID);
+        bikeRepository.deleteAll(bikeRepository.findByHotelId(HOTEL_ID));
+    }
+
+    @Test
+    void archiveClosedRentals_MovesOnlyOldClosedRentalsInChunks() {
+        List<Long> old = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            old.add(createRental(RentalStatus.CLOSED, daysAgo(120 + i)).getRentalId());
+        }
+        Long recentClosed = createRental(RentalStatus.CLOSED, daysAgo(10)).getRentalId();
+        Long active = createRental(RentalStatus.ACTIVE, null).getRentalId();
+        double movedBefore = movedCount("rentals");
+
+        int moved = rentalArchiveService.archiveClosedRentals(now);
+
+        assertThat(moved).isEqualTo(5);
+        assertThat(movedCount("rentals") - movedBefore).isEqualTo(5);
+        assertThat(rentalRepository.findAllById(old)).isEmpty();
+        assertThat(archivedRentalRepository.findAllById(old)).hasSize(5);
+        assertThat(rentalRepository.findById(recentClosed)).isPresent();
+        assertThat(rentalRepository.findById(active)).isPresent();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM rental_items_archive WHERE hotel_id = ?", Long.class, HOTEL_ID)).isEqualTo(5);
+    }
+
+    @Test
+    void archiveClosedRentals_NothingToMove_ReturnsZero() {
+        createRental(RentalStatus.CLOSED, daysAgo(10));
+
+        assertThat(rentalArchiveService.archiveClosedRentals(now)).isZero();
+        assertThat(meterRegistry.get("rental.archive.lag_seconds").gauge().value()).isZero();
+    }
+
+    @Test
+    void getRentalDetail_ArchivedRental_FallsThroughToArchive() {
+        Long rentalId = createRental(RentalStatus.CLOSED, daysAgo(120)).getRentalId();
+        rentalArchiveService.archiveClosedRentals(now);
+
+        RentalDetailResponse detail = rentalService.getRentalDetail(rentalId);
+
+        assertThat(detail.getRentalId()).isEqualTo(rentalId);
+        assertThat(detail.getStatus()).isEqualTo(RentalStatus.CLOSED);
+        assertThat(detail.getItems()).singleElement().satisfies(item -> {
+            assertThat(item.getBikeNumber()).isEqualTo("A1");
+            assertThat(item.getStatus()).isEqualTo(RentalItemStatus.RETURNED);
+        });
+    }
+
+    @Test
+    void generateContractHtml_ArchivedRental_Renders() {
+        Long rentalId = createRental(RentalStatus.CLOSED, daysAgo(120)).getRentalId();
+        rentalArchiveService.archiveClosedRentals(now);
+
+        String html = rentalContractService.generateContractHtml(rentalId);
+
+        assertThat(html).contains("Contract #" + rentalId).contains("A1");
+    }
+
+    @Test
+    void findRentals_MergesLiveAndArchivedPagesNewestFirst() {
+        // Start times interleave so both tables contribute to each page
+        Long archived1 = createRental(RentalStatus.CLOSED, daysAgo(120), daysAgo(125)).getRentalId();
+        Long live1 = createRental(RentalStatus.CLOSED, daysAgo(10), daysAgo(124)).getRentalId();
+        Long archived2 = createRental(RentalStatus.CLOSED, daysAgo(120), daysAgo(123)).getRentalId();
+        Long live2 = createRental(RentalStatus.ACTIVE, null, daysAgo(122)).getRentalId();
+        rentalArchiveService.archiveClosedRentals(now);
+
+        RentalPageResponse first = rentalHistoryService.findRentals(null, null, null, null, null, null, 3);
+        RentalPageResponse second = rentalHistoryService.findRentals(
+                null, null, null, null, null, first.getNextCursor(), 3);
+
+        assertThat(first.getItems()).extracting(RentalSummaryResponse::getRentalId)
+                .containsExactly(live2, archived2, live1);
+        assertThat(first.getItems()).allSatisfy(row -> assertThat(row.getBikeNumbers()).containsExactly("A1"));
+        assertThat(second.getItems()).extracting(RentalSummaryResponse::getRentalId).containsExactly(archived1);
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void findRentals_ActiveFilter_SkipsArchive() {
+        createRental(RentalStatus.CLOSED, daysAgo(120));
+        Long active = createRental(RentalStatus.ACTIVE, null).getRentalId();
+        rentalArchiveService.archiveClosedRentals(now);
+
+        RentalPageResponse page = rentalHistoryService.findRentals(
+                RentalStatus.ACTIVE, null, null, null, null, null, 10);
+
+        assertThat(page.getItems()).extracting(RentalSummaryResponse::getRentalId).containsExactly(active);
+    }
+
+    private double movedCount(String table) {
+        var counter = meterRegistry.find("rental.archive.rows_moved").tag("table", table).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private Instant daysAgo(int days) {
+        return now.minus(days, ChronoUnit.DAYS);
+    }
+
+    private Rental createRental(RentalStatus status, Instant returnAt) {
+        return createRental(status, returnAt, returnAt != null ? returnAt.minus(1, ChronoUnit.DAYS) : now);
+    }
+
+    private Rental createRental(RentalStatus status, Instant returnAt, Instant startAt) {
+        Rental rental = new Rental();
+        rental.setHotelId(HOTEL_ID);
+        rental.setStatus(status);
+        rental.setStartAt(startAt);
+        rental.setDueAt(startAt.plus(1, ChronoUnit.DAYS));
+        rental.setReturnAt(returnAt);
+        rental.setRoomNumber("101");
+        rental.setTncVersion("v1");
+        rental.setSignatureId(1L);
+        RentalItem item = new RentalItem(rental, bike.getBikeId());
+        if (returnAt != null) {
+            item.setStatus(RentalItemStatus.RETURNED);
+            item.setReturnedAt(returnAt);
+        }
+        rental.addItem(item);
+        return rentalRepository.save(rental);
+    }
+}
@@ -0,0 +1,275 @@
+package com.bikerental.platform.rental.rentals;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.bikerental.platform.rental.auth.model.Hotel;
+import com.bikerental.platform.rental.auth.repo.HotelRepository;
+import com.bikerental.platform.rental.auth.service.JwtService;
+import com.bikerental.platform.rental.bike.model.Bike;
+import com.bikerental.platform.rental.bike.repo.BikeRepository;
+import com.bikerental.platform.rental.rentals.contract.ContractTemplate;
+import com.bikerental.platform.rental.rentals.model.Rental;
+import com.bikerental.platform.rental.rentals.model.RentalItem;
+import com.bikerental.platform.rental.rentals.model.RentalStatus;
+import com.bikerental.platform.rental.rentals.repo.RentalRepository;
+import com.bikerental.platform.rental.signature.model.Signature;
+import com.bikerental.platform.rental.signature.repo.SignatureRepository;
+
+/**
+ * Integration tests for the contract endpoint (streamed HTML linking a cacheable stylesheet;
+ * CLOSED contracts cached under the rental version and revalidated with strong ETags)
+ * and the public stylesheet resource.
+ * Not @Transactional: the contract is written on an async thread after the request returns.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class RentalContractIntegrationTest {
+
+    private static final byte[] SIGNATURE = {(byte) 0x89, 0x50, 0x4E, 0x47, 1, 2, 3};
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private BikeRepository bikeRepository;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private SignatureRepository signatureRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Hotel hotel;
+    private String token;
+    private Long rentalId;
+
+    @BeforeEach
+    void setUp() {
+        hotel = new Hotel();
+        hotel.setHotelCode("CTR-" + UUID.randomUUID().toString().substring(0, 8));
+        hotel.setHotelName("Contract Hotel");
+        hotel.setPasswordHash(passwordEncoder.encode("password123"));
+        hotel = hotelRepository.save(hotel);
+        token = jwtService.generateToken(hotel.getHotelId(), hotel.getHotelCode());
+
+        Bike bike = new Bike();
+        bike.setHotelId(hotel.getHotelId());
+        bike.setBikeNumber("C1");
+        bike.setStatus(Bike.BikeStatus.RENTED);
+        bike = bikeRepository.save(bike);
+
+        Signature signature = signatureRepository.save(new Signature(hotel.getHotelId(), SIGNATURE));
+
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        Rental rental = new Rental();
+        rental.setHotelId(hotel.getHotelId());
+        rental.setStatus(RentalStatus.ACTIVE);
+        rental.setStartAt(now);
+        rental.setDueAt(now.plus(1, ChronoUnit.DAYS));
+        rental.setRoomNumber("301");
+        rental.setTncVersion("v1");
+        rental.setSignatureId(signature.getSignatureId());
+        rental.addItem(new RentalItem(rental, bike.getBikeId()));
+        rentalId = rentalRepository.save(rental).getRentalId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        Long hotelId = hotel.getHotelId();
+        jdbcTemplate.update("DELETE FROM rental_items WHERE hotel_id = ?", hotelId);
+        jdbcTemplate.update("DELETE FROM rentals WHERE hotel_id = ?", hotelId);
+        jdbcTemplate.update("DELETE FROM signatures WHERE hotel_id = ?", hotelId);
+        bikeRepository.deleteAll(bikeRepository.findByHotelId(hotelId));
+        hotelRepository.delete(hotel);
+    }
+
+    @Test
+    void getContract_StreamsHtmlLinkingVersionedStylesheet() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/rentals/" + rentalId + "/contract")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String html = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/html;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(html)
+                .contains("<link rel=\"stylesheet\" href=\"http://localhost:8080/api/rentals/contract.css?v="
+                        + ContractTemplate.STYLESHEET_VERSION + "\">")
+                .doesNotContain("<style>")
+                .contains("Contract #" + rentalId)
+                .contains("<td>C1</td>")
+                .contains("base64," + Base64.getEncoder().encodeToString(SIGNATURE));
+    }
+
+    @Test
+    void getContract_OtherHotel_NotFound() throws Exception {
+        String otherToken = jwtService.generateToken(hotel.getHotelId() + 1000, "OTHER");
+
+        mockMvc.perform(get("/api/rentals/" + rentalId + "/contract").header("Authorization", "Bearer " + otherToken))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getContract_Open_NotCacheable() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/rentals/" + rentalId + "/contract")
+                        .header("Authorization", "Bearer " + token))
+                .andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andReturn();
+        assertThat(result.getResponse().getHeader("Cache-Control")).doesNotContain("immutable");
+    }
+
+    @Test
+    void getContract_Closed_RevalidatedWithStrongEtagAndNotModified() throws Exception {
+        closeRental();
+
+        MvcResult first = getContract();
+        String etag = first.getResponse().getHeader("ETag");
+        assertThat(etag).matches("\"[0-9a-f]{32}\"");
+        assertThat(first.getResponse().getHeader("Cache-Control")).isEqualTo("no-cache, private");
+        assertThat(first.getResponse().getContentAsString()).contains("Contract #" + rentalId);
+
+        assertThat(getContract().getResponse().getHeader("ETag")).isEqualTo(etag);
+
+        mockMvc.perform(get("/api/rentals/" + rentalId + "/contract")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(header().string("Cache-Control", "no-cache, private"));
+    }
+
+    @Test
+    void getContract_ReopenedByAnotherInstance_NotServedFromCache() throws Exception {
+        closeRental();
+        assertThat(getContract().getResponse().getHeader("ETag")).isNotNull();
+
+        // A reopen committed elsewhere: no local event, only the row changes
+        jdbcTemplate.update("UPDATE rentals SET status = 'ACTIVE', return_at = NULL, version = version + 1 "
+                + "WHERE rental_id = ?", rentalId);
+
+        assertThat(getContract().getResponse().getHeader("ETag")).isNull();
+    }
+
+    @Test
+    void getContract_ClosedThenUndoReturn_CacheInvalidated() throws Exception {
+        closeRental();
+        String etag = getContract().getResponse().getHeader("ETag");
+        Long itemId = jdbcTemplate.queryForObject(
+                "SELECT rental_item_id FROM rental_items WHERE rental_id = ?", Long.class, rentalId);
+
+        mockMvc.perform(post("/api/rentals/" + rentalId + "/items/" + itemId + "/undo-return")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        // The stale ETag no longer matches: the reopened contract is rendered again
+        MvcResult started = mockMvc.perform(get("/api/rentals/" + rentalId + "/contract")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", etag))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+    }
+
+    @Test
+    void getSignature_ImmutableWithStrongEtagAndNotModified() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/rentals/" + rentalId + "/signature")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult first = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "image/png"))
+                .andExpect(header().string("Cache-Control", "max-age=31536000, private, immutable"))
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+        assertThat(etag).startsWith("\"").endsWith("\"");
+        assertThat(first.getResponse().getContentAsByteArray()).isEqualTo(SIGNATURE);
+
+        mockMvc.perform(get("/api/rentals/" + rentalId + "/signature")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+    }
+
+    @Test
+    void getSignature_OtherHotel_NotFound() throws Exception {
+        String otherToken = jwtService.generateToken(hotel.getHotelId() + 1000, "OTHER");
+
+        mockMvc.perform(get("/api/rentals/" + rentalId + "/signature")
+                        .header("Authorization", "Bearer " + otherToken))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getStylesheet_PublicAndImmutable() throws Exception {
+        byte[] css = mockMvc.perform(get("/api/rentals/contract.css"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/css;charset=UTF-8"))
+                .andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"))
+                .andExpect(header().string("ETag", "\"" + ContractTemplate.STYLESHEET_VERSION + "\""))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(css).isEqualTo(ContractTemplate.stylesheet());
+    }
+
+    private MvcResult getContract() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/rentals/" + rentalId + "/contract")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+
+    private void closeRental() {
+        Instant now = Instant.now();
+        jdbcTemplate.update("UPDATE rental_items SET status = 'RETURNED', returned_at = ? WHERE rental_id = ?",
+                now, rentalId);
+        jdbcTemplate.update("UPDATE rentals SET status = 'CLOSED', return_at = ? WHERE rental_id = ?", now, rentalId);
+        jdbcTemplate.update("UPDATE bikes SET status = 'AVAILABLE' WHERE hotel_id = ?", hotel.getHotelId());
+    }
+}
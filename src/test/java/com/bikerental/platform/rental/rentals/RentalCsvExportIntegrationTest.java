@@ -0,0 +1,171 @@
+package com.bikerental.platform.rental.rentals;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.bikerental.platform.rental.auth.model.Hotel;
+import com.bikerental.platform.rental.auth.repo.HotelRepository;
+import com.bikerental.platform.rental.auth.service.JwtService;
+import com.bikerental.platform.rental.bike.model.Bike;
+import com.bikerental.platform.rental.bike.repo.BikeRepository;
+import com.bikerental.platform.rental.rentals.model.Rental;
+import com.bikerental.platform.rental.rentals.model.RentalItem;
+import com.bikerental.platform.rental.rentals.model.RentalItemStatus;
+import com.bikerental.platform.rental.rentals.model.RentalStatus;
+import com.bikerental.platform.rental.rentals.repo.RentalRepository;
+import com.bikerental.platform.rental.rentals.service.RentalArchiveService;
+
+/**
+ * Integration tests for the rental history CSV export (GET /api/rentals/export.csv):
+ * live and archived rentals merged newest first, one row per item, date-range filter.
+ * Not @Transactional: archival commits per chunk and the export streams on an async thread.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class RentalCsvExportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private BikeRepository bikeRepository;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private RentalArchiveService rentalArchiveService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Hotel hotel;
+    private String token;
+    private Instant now;
+    private Bike bike1;
+    private Bike bike2;
+
+    @BeforeEach
+    void setUp() {
+        hotel = new Hotel();
+        hotel.setHotelCode("RCSV-" + UUID.randomUUID().toString().substring(0, 8));
+        hotel.setHotelName("Rental CSV Hotel");
+        hotel.setPasswordHash(passwordEncoder.encode("password123"));
+        hotel = hotelRepository.save(hotel);
+        token = jwtService.generateToken(hotel.getHotelId(), hotel.getHotelCode());
+        now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        bike1 = createBike("A1");
+        bike2 = createBike("A2");
+    }
+
+    @AfterEach
+    void tearDown() {
+        Long hotelId = hotel.getHotelId();
+        jdbcTemplate.update("DELETE FROM rental_items_archive WHERE hotel_id = ?", hotelId);
+        jdbcTemplate.update("DELETE FROM rentals_archive WHERE hotel_id = ?", hotelId);
+        jdbcTemplate.update("DELETE FROM rental_items WHERE hotel_id = ?", hotelId);
+        jdbcTemplate.update("DELETE FROM rentals WHERE hotel_id = ?", hotelId);
+        bikeRepository.deleteAll(bikeRepository.findByHotelId(hotelId));
+        hotelRepository.delete(hotel);
+    }
+
+    @Test
+    void exportRentals_MergesLiveAndArchivedNewestFirst() throws Exception {
+        // Start times interleave so both tables contribute alternately
+        Long archived1 = createClosedRental(daysAgo(125), daysAgo(120), bike1);
+        Long live1 = createClosedRental(daysAgo(124), daysAgo(10), bike1, bike2);
+        Long archived2 = createClosedRental(daysAgo(123), daysAgo(120), bike2);
+        rentalArchiveService.archiveClosedRentals(now);
+
+        List<String> lines = export("");
+
+        assertThat(lines.get(0)).isEqualTo(
+                "rental_id,status,start_at,due_at,return_at,room_number,bed_number,bike_number,item_status,returned_at");
+        assertThat(lines.subList(1, lines.size())).extracting(line -> line.split(",")[0] + "/" + line.split(",")[7])
+                .containsExactly(archived2 + "/A2", live1 + "/A1", live1 + "/A2", archived1 + "/A1");
+        assertThat(lines.get(1)).contains(",CLOSED," + daysAgo(123) + ",").contains(",RETURNED," + daysAgo(120));
+    }
+
+    @Test
+    void exportRentals_DateRange_FiltersByStartTime() throws Exception {
+        createClosedRental(daysAgo(125), daysAgo(120), bike1);
+        Long inRange = createClosedRental(daysAgo(124), daysAgo(120), bike2);
+        createClosedRental(daysAgo(20), daysAgo(10), bike1);
+        rentalArchiveService.archiveClosedRentals(now);
+
+        List<String> lines = export("?from=" + daysAgo(124) + "&to=" + daysAgo(123));
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(1)).startsWith(inRange + ",");
+    }
+
+    private List<String> export(String query) throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/rentals/export.csv" + query)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return List.of(body.split("\r\n"));
+    }
+
+    private Instant daysAgo(int days) {
+        return now.minus(days, ChronoUnit.DAYS);
+    }
+
+    private Bike createBike(String number) {
+        Bike bike = new Bike();
+        bike.setHotelId(hotel.getHotelId());
+        bike.setBikeNumber(number);
+        bike.setStatus(Bike.BikeStatus.AVAILABLE);
+        return bikeRepository.save(bike);
+    }
+
+    private Long createClosedRental(Instant startAt, Instant returnAt, Bike... bikes) {
+        Rental rental = new Rental();
+        rental.setHotelId(hotel.getHotelId());
+        rental.setStatus(RentalStatus.CLOSED);
+        rental.setStartAt(startAt);
+        rental.setDueAt(startAt.plus(1, ChronoUnit.DAYS));
+        rental.setReturnAt(returnAt);
+        rental.setRoomNumber("101");
+        rental.setTncVersion("v1");
+        rental.setSignatureId(1L);
+        for (Bike bike : bikes) {
+            RentalItem item = new RentalItem(rental, bike.getBikeId());
+            item.setStatus(RentalItemStatus.RETURNED);
+            item.setReturnedAt(returnAt);
+            rental.addItem(item);
+        }
+        return rentalRepository.save(rental).getRentalId();
+    }
+}
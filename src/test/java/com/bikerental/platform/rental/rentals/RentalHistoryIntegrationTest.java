@@ -0,0 +1,190 @@
+package com.bikerental.platform.rental.rentals;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bikerental.platform.rental.auth.model.Hotel;
+import com.bikerental.platform.rental.auth.repo.HotelRepository;
+import com.bikerental.platform.rental.auth.service.JwtService;
+import com.bikerental.platform.rental.bike.model.Bike;
+import com.bikerental.platform.rental.bike.repo.BikeRepository;
+import com.bikerental.platform.rental.rentals.model.Rental;
+import com.bikerental.platform.rental.rentals.model.RentalItem;
+import com.bikerental.platform.rental.rentals.model.RentalStatus;
+import com.bikerental.platform.rental.rentals.repo.RentalRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Integration tests for rental history search (GET /api/rentals).
+ * Covers keyset paging order, filters, hotel scoping, and cursor validation.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@SuppressWarnings("null")
+class RentalHistoryIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private BikeRepository bikeRepository;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Hotel hotel;
+    private String token;
+    private Bike bike1;
+    private Bike bike2;
+    private Instant base;
+
+    @BeforeEach
+    void setUp() {
+        hotel = createHotel();
+        token = jwtService.generateToken(hotel.getHotelId(), hotel.getHotelCode());
+        bike1 = createBike(hotel.getHotelId(), "1");
+        bike2 = createBike(hotel.getHotelId(), "2");
+        base = Instant.now().truncatedTo(ChronoUnit.SECONDS).minus(30, ChronoUnit.DAYS);
+    }
+
+    @Test
+    void listRentals_PagesNewestFirstWithoutGapsOrDuplicates() throws Exception {
+        // The last two rentals share a start time to exercise the rental_id tie-breaker
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Instant startAt = base.plus(i == 4 ? 3 : i, ChronoUnit.HOURS);
+            expected.add(createRental(hotel.getHotelId(), startAt, "10" + i, RentalStatus.CLOSED, bike1).getRentalId());
+        }
+        List<Long> newestFirst = List.of(expected.get(4), expected.get(3), expected.get(2), expected.get(1), expected.get(0));
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/rentals").param("limit", "2")
+                    .header("Authorization", "Bearer " + token);
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = perform(request);
+            page.get("items").forEach(item -> seen.add(item.get("rentalId").asLong()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).containsExactlyElementsOf(newestFirst);
+    }
+
+    @Test
+    void listRentals_FiltersByStatusRoomBikeAndDateRange() throws Exception {
+        Rental active = createRental(hotel.getHotelId(), base.plus(1, ChronoUnit.DAYS), "204", RentalStatus.ACTIVE, bike1);
+        createRental(hotel.getHotelId(), base.plus(2, ChronoUnit.DAYS), "305", RentalStatus.CLOSED, bike2);
+        createRental(hotel.getHotelId(), base, "204", RentalStatus.CLOSED, bike2);
+
+        assertThat(ids(perform(authorized(get("/api/rentals").param("status", "ACTIVE")))))
+                .containsExactly(active.getRentalId());
+        assertThat(ids(perform(authorized(get("/api/rentals").param("roomNumber", "204"))))).hasSize(2);
+        assertThat(ids(perform(authorized(get("/api/rentals").param("bikeNumber", "1")))))
+                .containsExactly(active.getRentalId());
+        assertThat(ids(perform(authorized(get("/api/rentals")
+                .param("from", base.plus(12, ChronoUnit.HOURS).toString())
+                .param("to", base.plus(36, ChronoUnit.HOURS).toString())))))
+                .containsExactly(active.getRentalId());
+
+        JsonNode page = perform(authorized(get("/api/rentals").param("bikeNumber", "1")));
+        assertThat(page.get("items").get(0).get("bikeNumbers").get(0).asText()).isEqualTo("1");
+    }
+
+    @Test
+    void listRentals_OnlyReturnsOwnHotel() throws Exception {
+        Hotel other = createHotel();
+        Bike otherBike = createBike(other.getHotelId(), "1");
+        createRental(other.getHotelId(), base, "101", RentalStatus.ACTIVE, otherBike);
+
+        assertThat(ids(perform(authorized(get("/api/rentals"))))).isEmpty();
+    }
+
+    @Test
+    void listRentals_WithInvalidCursor_Returns400() throws Exception {
+        mockMvc.perform(authorized(get("/api/rentals").param("cursor", "not-a-cursor")))
+                .andExpect(status().isBadRequest());
+    }
+
+    private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", "Bearer " + token);
+    }
+
+    private JsonNode perform(MockHttpServletRequestBuilder request) throws Exception {
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private List<Long> ids(JsonNode page) {
+        List<Long> ids = new ArrayList<>();
+        page.get("items").forEach(item -> ids.add(item.get("rentalId").asLong()));
+        return ids;
+    }
+
+    private Rental createRental(Long hotelId, Instant startAt, String roomNumber, RentalStatus status, Bike bike) {
+        Rental rental = new Rental();
+        rental.setHotelId(hotelId);
+        rental.setStatus(status);
+        rental.setStartAt(startAt);
+        rental.setDueAt(startAt.plus(1, ChronoUnit.DAYS));
+        rental.setRoomNumber(roomNumber);
+        rental.setTncVersion("v1");
+        rental.setSignatureId(1L);
+        rental.addItem(new RentalItem(rental, bike.getBikeId()));
+        return rentalRepository.save(rental);
+    }
+
+    private Hotel createHotel() {
+        Hotel hotel = new Hotel();
+        hotel.setHotelCode("HIST-" + UUID.randomUUID().toString().substring(0, 8));
+        hotel.setHotelName("History Hotel");
+        hotel.setPasswordHash(passwordEncoder.encode("password123"));
+        return hotelRepository.save(hotel);
+    }
+
+    private Bike createBike(Long hotelId, String bikeNumber) {
+        Bike bike = new Bike();
+        bike.setHotelId(hotelId);
+        bike.setBikeNumber(bikeNumber);
+        bike.setStatus(Bike.BikeStatus.AVAILABLE);
+        return bikeRepository.save(bike);
+    }
+}
@@ -0,0 +1,214 @@
+package com.bikerental.platform.rental.rentals;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import com.bikerental.platform.rental.auth.security.HotelContext;
+import com.bikerental.platform.rental.bike.model.Bike;
+import com.bikerental.platform.rental.bike.repo.BikeRepository;
+import com.bikerental.platform.rental.rentals.dto.ScanReturnResponse;
+import com.bikerental.platform.rental.rentals.model.Rental;
+import com.bikerental.platform.rental.rentals.model.RentalItem;
+import com.bikerental.platform.rental.rentals.model.RentalItemStatus;
+import com.bikerental.platform.rental.rentals.model.RentalStatus;
+import com.bikerental.platform.rental.rentals.repo.RentalItemRepository;
+import com.bikerental.platform.rental.rentals.repo.RentalRepository;
+import com.bikerental.platform.rental.rentals.service.RentalService;
+
+/**
+ * Concurrency tests for single-item operations and scan-to-return, which lock the item, rental and bike rows.
+ * Not @Transactional: each desk must run in its own committed transaction.
+ */
+@SpringBootTest
+class RentalItemLockingIntegrationTest {
+
+    private static final Long HOTEL_ID = 77L;
+
+    @Autowired
+    private RentalService rentalService;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private RentalItemRepository rentalItemRepository;
+
+    @Autowired
+    private BikeRepository bikeRepository;
+
+    @MockBean
+    private HotelContext hotelContext;
+
+    private ExecutorService executor;
+    private Rental rental;
+
+    @BeforeEach
+    void setUp() {
+        when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID);
+        executor = Executors.newFixedThreadPool(2);
+
+        rental = new Rental();
+        rental.setHotelId(HOTEL_ID);
+        rental.setStatus(RentalStatus.ACTIVE);
+        rental.setStartAt(Instant.now());
+        rental.setDueAt(Instant.now().plus(1, ChronoUnit.DAYS));
+        rental.setRoomNumber("101");
+        rental.setTncVersion("v1");
+        rental.setSignatureId(1L);
+        for (String bikeNumber : List.of("L1", "L2")) {
+            Bike bike = new Bike();
+            bike.setHotelId(HOTEL_ID);
+            bike.setBikeNumber(bikeNumber);
+            bike.setStatus(Bike.BikeStatus.RENTED);
+            rental.addItem(new RentalItem(rental, bikeRepository.save(bike)));
+        }
+        rental = rentalRepository.save(rental);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        rentalItemRepository.deleteAll(rentalItemRepository.findByRentalRentalId(rental.getRentalId()));
+        rentalRepository.deleteById(rental.getRentalId());
+        bikeRepository.deleteAll(bikeRepository.findByHotelId(HOTEL_ID));
+    }
+
+    @Test
+    void returnBike_SameItemFromTwoDesks_ExactlyOneSucceeds() throws Exception {
+        Long itemId = rental.getItems().get(0).getRentalItemId();
+
+        List<Throwable> outcomes = runConcurrently(
+                () -> rentalService.returnBike(rental.getRentalId(), itemId),
+                () -> rentalService.returnBike(rental.getRentalId(), itemId));
+
+        assertThat(outcomes).filteredOn(outcome -> outcome == null).hasSize(1);
+        assertThat(outcomes).filteredOn(outcome -> outcome != null)
+                .singleElement().isInstanceOf(IllegalStateException.class);
+        assertThat(rentalItemRepository.findById(itemId)).get()
+                .extracting(RentalItem::getStatus).isEqualTo(RentalItemStatus.RETURNED);
+    }
+
+    @Test
+    void returnBikeAndMarkLost_SameItem_OnlyFirstTransitionApplies() throws Exception {
+        Long itemId = rental.getItems().get(0).getRentalItemId();
+
+        List<Throwable> outcomes = runConcurrently(
+                () -> rentalService.returnBike(rental.getRentalId(), itemId),
+                () -> rentalService.markLost(rental.getRentalId(), itemId, "gone"));
+
+        assertThat(outcomes).filteredOn(outcome -> outcome == null).hasSize(1);
+        RentalItem item = rentalItemRepository.findById(itemId).orElseThrow();
+        Bike bike = bikeRepository.findById(item.getBikeId()).orElseThrow();
+        if (item.getStatus() == RentalItemStatus.RETURNED) {
+            assertThat(bike.getStatus()).isEqualTo(Bike.BikeStatus.AVAILABLE);
+        } else {
+            assertThat(item.getStatus()).isEqualTo(RentalItemStatus.LOST);
+            assertThat(bike.getStatus()).isEqualTo(Bike.BikeStatus.OOO);
+        }
+    }
+
+    @Test
+    void returnBike_LastTwoItemsFromTwoDesks_ClosesRental() throws Exception {
+        Long firstItemId = rental.getItems().get(0).getRentalItemId();
+        Long secondItemId = rental.getItems().get(1).getRentalItemId();
+
+        List<Throwable> outcomes = runConcurrently(
+                () -> rentalService.returnBike(rental.getRentalId(), firstItemId),
+                () -> rentalService.returnBike(rental.getRentalId(), secondItemId));
+
+        assertThat(outcomes).containsOnlyNulls();
+        assertThat(rentalRepository.findById(rental.getRentalId())).get()
+                .extracting(Rental::getStatus).isEqualTo(RentalStatus.CLOSED);
+    }
+
+    @Test
+    void returnByBikeNumbers_SameBikeFromTwoDesks_ReturnedOnce() throws Exception {
+        Long itemId = rental.getItems().get(0).getRentalItemId();
+        List<ScanReturnResponse> responses = new CopyOnWriteArrayList<>();
+
+        List<Throwable> outcomes = runConcurrently(
+                () -> responses.add(rentalService.returnByBikeNumbers(List.of("L1"))),
+                () -> responses.add(rentalService.returnByBikeNumbers(List.of("L1"))));
+
+        assertThat(outcomes).containsOnlyNulls();
+        assertThat(responses).extracting(ScanReturnResponse::getReturnedCount)
+                .containsExactlyInAnyOrder(1, 0);
+        assertThat(rentalItemRepository.findById(itemId)).get()
+                .extracting(RentalItem::getStatus).isEqualTo(RentalItemStatus.RETURNED);
+    }
+
+    @Test
+    void returnByBikeNumbersAndMarkLost_SameItem_OnlyFirstTransitionApplies() throws Exception {
+        Long itemId = rental.getItems().get(0).getRentalItemId();
+
+        List<Throwable> outcomes = runConcurrently(
+                () -> rentalService.returnByBikeNumbers(List.of("L1")),
+                () -> rentalService.markLost(rental.getRentalId(), itemId, "gone"));
+
+        RentalItem item = rentalItemRepository.findById(itemId).orElseThrow();
+        Bike bike = bikeRepository.findById(item.getBikeId()).orElseThrow();
+        if (item.getStatus() == RentalItemStatus.RETURNED) {
+            assertThat(outcomes.get(1)).isInstanceOf(IllegalStateException.class);
+            assertThat(bike.getStatus()).isEqualTo(Bike.BikeStatus.AVAILABLE);
+        } else {
+            assertThat(outcomes).containsOnlyNulls();
+            assertThat(item.getStatus()).isEqualTo(RentalItemStatus.LOST);
+            assertThat(bike.getStatus()).isEqualTo(Bike.BikeStatus.OOO);
+        }
+    }
+
+    @Test
+    void returnByBikeNumbersAndReturnBike_LastTwoItems_ClosesRental() throws Exception {
+        Long secondItemId = rental.getItems().get(1).getRentalItemId();
+
+        List<Throwable> outcomes = runConcurrently(
+                () -> rentalService.returnByBikeNumbers(List.of("L1")),
+                () -> rentalService.returnBike(rental.getRentalId(), secondItemId));
+
+        assertThat(outcomes).containsOnlyNulls();
+        assertThat(rentalRepository.findById(rental.getRentalId())).get()
+                .extracting(Rental::getStatus).isEqualTo(RentalStatus.CLOSED);
+    }
+
+    // Starts both actions together and returns each one's exception, or null on success
+    private List<Throwable> runConcurrently(Callable<?> first, Callable<?> second) throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        List<Future<Throwable>> futures = new ArrayList<>();
+        for (Callable<?> action : List.of(first, second)) {
+            futures.add(executor.submit(() -> {
+                barrier.await(5, TimeUnit.SECONDS);
+                try {
+                    action.call();
+                    return null;
+                } catch (Exception e) {
+                    return e;
+                }
+            }));
+        }
+
+        List<Throwable> outcomes = new ArrayList<>();
+        for (Future<Throwable> future : futures) {
+            outcomes.add(future.get(10, TimeUnit.SECONDS));
+        }
+        return outcomes;
+    }
+}
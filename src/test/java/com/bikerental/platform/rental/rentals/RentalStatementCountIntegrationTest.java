@@ -0,0 +1,148 @@
+package com.bikerental.platform.rental.rentals;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bikerental.platform.rental.auth.security.HotelContext;
+import com.bikerental.platform.rental.bike.model.Bike;
+import com.bikerental.platform.rental.bike.repo.BikeRepository;
+import com.bikerental.platform.rental.rentals.dto.RentalDetailResponse;
+import com.bikerental.platform.rental.rentals.model.Rental;
+import com.bikerental.platform.rental.rentals.model.RentalItem;
+import com.bikerental.platform.rental.rentals.model.RentalStatus;
+import com.bikerental.platform.rental.rentals.repo.RentalRepository;
+import com.bikerental.platform.rental.rentals.service.RentalContractService;
+import com.bikerental.platform.rental.rentals.service.RentalService;
+import com.bikerental.platform.rental.signature.model.Signature;
+import com.bikerental.platform.rental.signature.repo.SignatureRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Statement-count tests: rental detail and contract must not issue a query per item or bike,
+ * and single-item operations must not load the rest of the contract.
+ */
+@SpringBootTest
+@Transactional
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class RentalStatementCountIntegrationTest {
+
+    private static final Long HOTEL_ID = 42L;
+
+    @Autowired
+    private RentalService rentalService;
+
+    @Autowired
+    private RentalContractService rentalContractService;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private BikeRepository bikeRepository;
+
+    @Autowired
+    private SignatureRepository signatureRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private HotelContext hotelContext;
+
+    private Statistics statistics;
+    private Long rentalId;
+    private Long firstItemId;
+
+    @BeforeEach
+    void setUp() {
+        when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID);
+
+        Signature signature = signatureRepository.save(new Signature(HOTEL_ID, new byte[]{1, 2, 3}));
+
+        Rental rental = new Rental();
+        rental.setHotelId(HOTEL_ID);
+        rental.setStatus(RentalStatus.ACTIVE);
+        rental.setStartAt(Instant.now());
+        rental.setDueAt(Instant.now().plus(1, ChronoUnit.DAYS));
+        rental.setRoomNumber("101");
+        rental.setTncVersion("v1");
+        rental.setSignatureId(signature.getSignatureId());
+        for (int i = 1; i <= 5; i++) {
+            Bike bike = new Bike();
+            bike.setHotelId(HOTEL_ID);
+            bike.setBikeNumber(String.valueOf(i));
+            bike.setBikeType("ADULT");
+            bike.setStatus(Bike.BikeStatus.RENTED);
+            rental.addItem(new RentalItem(rental, bikeRepository.save(bike)));
+        }
+        Rental saved = rentalRepository.save(rental);
+        rentalId = saved.getRentalId();
+        firstItemId = saved.getItems().get(0).getRentalItemId();
+
+        // Start from an empty persistence context so every load hits the database
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getRentalDetail_UsesSingleStatement() {
+        RentalDetailResponse detail = rentalService.getRentalDetail(rentalId);
+
+        assertThat(detail.getItems()).hasSize(5);
+        assertThat(detail.getItems()).extracting("bikeNumber").containsExactly("1", "2", "3", "4", "5");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void generateContractHtml_UsesVersionRentalAndSignatureQueries() {
+        String html = rentalContractService.generateContractHtml(rentalId);
+
+        assertThat(html).contains("<td>5</td>");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void generateContractHtml_ClosedRental_SecondCallOnlyChecksVersion() {
+        Rental rental = rentalRepository.findById(rentalId).orElseThrow();
+        rental.setStatus(RentalStatus.CLOSED);
+        entityManager.flush();
+        entityManager.clear();
+        String first = rentalContractService.generateContractHtml(rentalId);
+        statistics.clear();
+
+        String second = rentalContractService.generateContractHtml(rentalId);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void returnBike_LoadsOnlyTheItemItsRentalAndBike() {
+        rentalService.returnBike(rentalId, firstItemId);
+        entityManager.flush();
+
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(3);
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+}
@@ -0,0 +1,194 @@
+package com.bikerental.platform.rental.rentals;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bikerental.platform.rental.auth.model.Hotel;
+import com.bikerental.platform.rental.auth.repo.HotelRepository;
+import com.bikerental.platform.rental.auth.service.JwtService;
+import com.bikerental.platform.rental.bike.model.Bike;
+import com.bikerental.platform.rental.bike.repo.BikeRepository;
+import com.bikerental.platform.rental.rentals.model.RentalStatus;
+import com.bikerental.platform.rental.rentals.repo.RentalRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Integration tests for scan-to-return (POST /api/returns).
+ * Covers grouping per rental, status recalculation, unmatched numbers, case-insensitive matching
+ * and hotel scoping.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@SuppressWarnings("null")
+class ScanReturnIntegrationTest {
+
+    private static final String SIGNATURE_BASE64 =
+            Base64.getEncoder().encodeToString(new byte[]{(byte) 0x89, 0x50, 0x4E, 0x47});
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private BikeRepository bikeRepository;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long hotelId;
+    private String token;
+    private String otherHotelToken;
+    private Long otherHotelId;
+
+    @BeforeEach
+    void setUp() {
+        Hotel hotel = createHotel();
+        hotelId = hotel.getHotelId();
+        token = jwtService.generateToken(hotel.getHotelId(), hotel.getHotelCode());
+        for (String bikeNumber : new String[]{"1", "2", "3", "4"}) {
+            createBike(hotel.getHotelId(), bikeNumber);
+        }
+
+        Hotel otherHotel = createHotel();
+        otherHotelId = otherHotel.getHotelId();
+        otherHotelToken = jwtService.generateToken(otherHotelId, otherHotel.getHotelCode());
+        createBike(otherHotelId, "9");
+    }
+
+    @Test
+    void returnScannedBikes_GroupsPerRentalAndClosesCompletedRentals() throws Exception {
+        long rentalA = createRental(token, "\"1\", \"2\"");
+        long rentalB = createRental(token, "\"3\", \"4\"");
+
+        mockMvc.perform(post("/api/returns")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"bikeNumbers\": [\"3\", \"1\", \"2\", \"1\", \"404\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.returnedCount").value(3))
+                .andExpect(jsonPath("$.rentals.length()").value(2))
+                .andExpect(jsonPath("$.rentals[0].rentalId").value(rentalB))
+                .andExpect(jsonPath("$.rentals[0].rentalStatus").value("ACTIVE"))
+                .andExpect(jsonPath("$.rentals[0].returnedCount").value(1))
+                .andExpect(jsonPath("$.rentals[1].rentalId").value(rentalA))
+                .andExpect(jsonPath("$.rentals[1].rentalStatus").value("CLOSED"))
+                .andExpect(jsonPath("$.rentals[1].returnedItems[0].rentalClosed").value(true))
+                .andExpect(jsonPath("$.unmatchedBikeNumbers[0]").value("404"));
+
+        assertThat(rentalRepository.findById(rentalA)).get()
+                .extracting(rental -> rental.getStatus()).isEqualTo(RentalStatus.CLOSED);
+        assertThat(bikeRepository.findAll())
+                .filteredOn(bike -> bike.getBikeNumber().equals("1"))
+                .allMatch(bike -> bike.getStatus() == Bike.BikeStatus.AVAILABLE);
+    }
+
+    @Test
+    void returnScannedBikes_MatchesBikeNumbersCaseInsensitively() throws Exception {
+        createBike(hotelId, "E1");
+        long rental = createRental(token, "\"E1\"");
+
+        mockMvc.perform(post("/api/returns")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"bikeNumbers\": [\"e1\", \"E1\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.returnedCount").value(1))
+                .andExpect(jsonPath("$.rentals[0].rentalId").value(rental))
+                .andExpect(jsonPath("$.rentals[0].returnedItems[0].bikeNumber").value("E1"))
+                .andExpect(jsonPath("$.unmatchedBikeNumbers").isEmpty());
+
+        assertThat(bikeRepository.findByHotelIdAndBikeNumber(hotelId, "E1")).get()
+                .extracting(Bike::getStatus).isEqualTo(Bike.BikeStatus.AVAILABLE);
+    }
+
+    @Test
+    void returnScannedBikes_IgnoresOtherHotelsBikes() throws Exception {
+        createRental(otherHotelToken, "\"9\"");
+
+        mockMvc.perform(post("/api/returns")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"bikeNumbers\": [\"9\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.returnedCount").value(0))
+                .andExpect(jsonPath("$.unmatchedBikeNumbers[0]").value("9"));
+
+        assertThat(bikeRepository.findByHotelIdAndBikeNumber(otherHotelId, "9")).get()
+                .extracting(Bike::getStatus).isEqualTo(Bike.BikeStatus.RENTED);
+    }
+
+    @Test
+    void returnScannedBikes_WithEmptyList_Returns400() throws Exception {
+        mockMvc.perform(post("/api/returns")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"bikeNumbers\": []}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private long createRental(String bearerToken, String bikeNumbersJson) throws Exception {
+        String body = """
+            {
+                "bikeNumbers": [%s],
+                "roomNumber": "101",
+                "returnDateTime": "%s",
+                "tncVersion": "v1",
+                "signatureBase64Png": "%s"
+            }
+            """.formatted(bikeNumbersJson, Instant.now().plus(1, ChronoUnit.DAYS), SIGNATURE_BASE64);
+
+        MvcResult result = mockMvc.perform(post("/api/rentals")
+                        .header("Authorization", "Bearer " + bearerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("rentalId").asLong();
+    }
+
+    private Hotel createHotel() {
+        Hotel hotel = new Hotel();
+        hotel.setHotelCode("SCAN-" + UUID.randomUUID().toString().substring(0, 8));
+        hotel.setHotelName("Scan Hotel");
+        hotel.setPasswordHash(passwordEncoder.encode("password123"));
+        return hotelRepository.save(hotel);
+    }
+
+    private void createBike(Long hotelId, String bikeNumber) {
+        Bike bike = new Bike();
+        bike.setHotelId(hotelId);
+        bike.setBikeNumber(bikeNumber);
+        bike.setStatus(Bike.BikeStatus.AVAILABLE);
+        bikeRepository.save(bike);
+    }
+}
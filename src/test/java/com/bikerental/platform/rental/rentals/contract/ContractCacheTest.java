@@ -0,0 +1,121 @@
+package com.bikerental.platform.rental.rentals.contract;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.bikerental.platform.rental.rentals.event.RentalReopenedEvent;
+
+class ContractCacheTest {
+
+    private static final Long HOTEL_ID = 1L;
+    private static final String VERSION = "3";
+    private static final String HREF = "http://localhost/api/rentals/contract.css?v=1";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void put_ThenGet_ReturnsSameBytesAndStrongEtag() {
+        ContractCache cache = cache(1024);
+
+        ContractCache.Entry put = cache.put(HOTEL_ID, 10L, VERSION, HREF, html("a"));
+
+        ContractCache.Entry got = cache.get(HOTEL_ID, 10L, VERSION, HREF).orElseThrow();
+        assertThat(got.html()).isEqualTo(html("a"));
+        assertThat(got.etag()).isEqualTo(put.etag()).matches("\"[0-9a-f]{32}\"");
+        assertThat(cache.put(HOTEL_ID, 11L, VERSION, HREF, html("b")).etag()).isNotEqualTo(put.etag());
+    }
+
+    @Test
+    void get_VariantsAreSeparate() {
+        ContractCache cache = cache(1024);
+        cache.put(HOTEL_ID, 10L, VERSION, HREF, html("linked"));
+
+        assertThat(cache.get(HOTEL_ID, 10L, VERSION, null)).isEmpty();
+        assertThat(cache.get(HOTEL_ID, 10L, VERSION, HREF + "2")).isEmpty();
+        assertThat(cache.get(2L, 10L, VERSION, HREF)).isEmpty();
+    }
+
+    @Test
+    void get_AfterRestart_ServedFromDisk() {
+        cache(1024).put(HOTEL_ID, 10L, VERSION, null, html("a"));
+
+        ContractCache restarted = cache(1024);
+
+        assertThat(restarted.get(HOTEL_ID, 10L, VERSION, null)).get()
+                .extracting(ContractCache.Entry::html).isEqualTo(html("a"));
+        assertThat(restarted.memorySize()).isEqualTo(1);
+    }
+
+    @Test
+    void put_OverMemoryBudget_EvictsLeastRecentlyUsedButKeepsDisk() {
+        ContractCache cache = cache(2 * html("1").length);
+        cache.put(HOTEL_ID, 1L, VERSION, null, html("1"));
+        cache.put(HOTEL_ID, 2L, VERSION, null, html("2"));
+        cache.get(HOTEL_ID, 1L, VERSION, null);
+
+        cache.put(HOTEL_ID, 3L, VERSION, null, html("3"));
+
+        assertThat(cache.memorySize()).isEqualTo(2);
+        assertThat(Files.exists(dir.resolve("1-2-3-inline.html"))).isTrue();
+        assertThat(cache.get(HOTEL_ID, 2L, VERSION, null)).isPresent();
+    }
+
+    @Test
+    void onRentalReopened_DropsEveryVariantFromBothTiers() throws Exception {
+        ContractCache cache = cache(1024);
+        cache.put(HOTEL_ID, 1L, VERSION, null, html("inline"));
+        cache.put(HOTEL_ID, 1L, VERSION, HREF, html("linked"));
+        cache.put(HOTEL_ID, 12L, VERSION, null, html("other"));
+
+        cache.onRentalReopened(new RentalReopenedEvent(HOTEL_ID, 1L));
+
+        assertThat(cache.get(HOTEL_ID, 1L, VERSION, null)).isEmpty();
+        assertThat(cache.get(HOTEL_ID, 1L, VERSION, HREF)).isEmpty();
+        assertThat(cache.get(HOTEL_ID, 12L, VERSION, null)).isPresent();
+        try (Stream<Path> files = Files.list(dir)) {
+            assertThat(files).extracting(p -> p.getFileName().toString()).containsExactly("1-12-3-inline.html");
+        }
+    }
+
+    @Test
+    void get_OtherVersion_Misses() {
+        ContractCache cache = cache(1024);
+        cache.put(HOTEL_ID, 1L, VERSION, null, html("closed"));
+
+        assertThat(cache.get(HOTEL_ID, 1L, "4", null)).isEmpty();
+        assertThat(cache.get(HOTEL_ID, 1L, VERSION, null)).isPresent();
+    }
+
+    @Test
+    void purgeExpired_DeletesOldDiskEntries() throws Exception {
+        ContractCache cache = cache(1024);
+        cache.put(HOTEL_ID, 1L, VERSION, null, html("old"));
+        cache.put(HOTEL_ID, 2L, VERSION, null, html("new"));
+        Files.setLastModifiedTime(dir.resolve("1-1-3-inline.html"),
+                FileTime.from(Instant.now().minus(Duration.ofDays(31))));
+
+        cache.purgeExpired();
+
+        assertThat(Files.exists(dir.resolve("1-1-3-inline.html"))).isFalse();
+        assertThat(Files.exists(dir.resolve("1-2-3-inline.html"))).isTrue();
+    }
+
+    private ContractCache cache(long memoryMaxBytes) {
+        return new ContractCache(dir, memoryMaxBytes, Duration.ofDays(30));
+    }
+
+    private static byte[] html(String body) {
+        return ("<html>" + body + "</html>").getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,107 @@
+package com.bikerental.platform.rental.rentals.contract;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.Test;
+
+import com.bikerental.platform.rental.bike.model.Bike;
+import com.bikerental.platform.rental.rentals.model.Rental;
+import com.bikerental.platform.rental.rentals.model.RentalItem;
+
+class ContractPdfRendererTest {
+
+    @Test
+    void write_ContainsContractDetailsBikesAndTerms() throws IOException {
+        try (PDDocument pdf = Loader.loadPDF(render(ContractTemplateTest.rental("204", "A"), null))) {
+            String text = new PDFTextStripper().getText(pdf);
+
+            assertThat(pdf.getNumberOfPages()).isEqualTo(1);
+            assertThat(pdf.getDocumentInformation().getTitle()).isEqualTo("Rental Contract #42");
+            assertThat(text)
+                    .contains("Contract #42")
+                    .contains("Room Number 204")
+                    .contains("Bed Number A")
+                    .contains("7 ADULT RENTED")
+                    .contains("Unknown - RETURNED")
+                    .contains("Signature not available")
+                    .contains("Terms & Conditions (vv2)")
+                    .contains(ContractTemplate.TNC_TERMS.get(3));
+        }
+    }
+
+    @Test
+    void write_WithSignature_DrawsImage() throws IOException {
+        try (PDDocument pdf = Loader.loadPDF(render(ContractTemplateTest.rental("204", null), png()))) {
+            String text = new PDFTextStripper().getText(pdf);
+
+            assertThat(text).doesNotContain("Signature not available").doesNotContain("Bed Number");
+            assertThat(pdf.getPage(0).getResources().getXObjectNames()).hasSize(1);
+        }
+    }
+
+    @Test
+    void write_UnreadableSignature_ReportedAsMissing() throws IOException {
+        byte[] notAPng = {(byte) 0x89, 0x50, 0x4E, 0x47, 1, 2, 3};
+
+        try (PDDocument pdf = Loader.loadPDF(render(ContractTemplateTest.rental("204", null), notAPng))) {
+            assertThat(new PDFTextStripper().getText(pdf)).contains("Signature not available");
+        }
+    }
+
+    @Test
+    void write_ManyBikes_FlowsOntoMorePages() throws IOException {
+        Rental rental = ContractTemplateTest.rental("204", null);
+        for (int i = 100; i < 160; i++) {
+            Bike bike = new Bike();
+            bike.setBikeNumber(String.valueOf(i));
+            rental.addItem(new RentalItem(rental, bike));
+        }
+
+        try (PDDocument pdf = Loader.loadPDF(render(rental, null))) {
+            assertThat(pdf.getNumberOfPages()).isEqualTo(2);
+            assertThat(new PDFTextStripper().getText(pdf)).contains("159 - RENTED");
+        }
+    }
+
+    @Test
+    void write_SameRental_SameBytes() throws IOException {
+        Rental rental = ContractTemplateTest.rental("204", "A");
+
+        assertThat(render(rental, png())).isEqualTo(render(rental, png()));
+    }
+
+    @Test
+    void printable_ReplacesCharactersTheFontCannotEncode() {
+        PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+
+        assertThat(ContractPdfRenderer.printable(font, "Room 12")).isEqualTo("Room 12");
+        assertThat(ContractPdfRenderer.printable(font, "Zimmer Müller")).isEqualTo("Zimmer Müller");
+        assertThat(ContractPdfRenderer.printable(font, "房间 7\t😀")).isEqualTo("?? 7??");
+        assertThat(ContractPdfRenderer.printable(font, null)).isEmpty();
+    }
+
+    private static byte[] render(Rental rental, byte[] signature) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ContractPdfRenderer.write(rental, signature, out);
+        return out.toByteArray();
+    }
+
+    private static byte[] png() throws IOException {
+        BufferedImage image = new BufferedImage(400, 150, BufferedImage.TYPE_INT_ARGB);
+        image.createGraphics().drawLine(10, 75, 390, 75);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,91 @@
+package com.bikerental.platform.rental.rentals.contract;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ContractPdfStoreTest {
+
+    private static final Long HOTEL_ID = 1L;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void put_ThenGet_ReturnsStoredFileWithStrongEtag() throws Exception {
+        ContractPdfStore store = store();
+
+        ContractPdfStore.StoredPdf put = store.put(HOTEL_ID, 10L, "3", pdf("a")).orElseThrow();
+
+        ContractPdfStore.StoredPdf got = store.get(HOTEL_ID, 10L, "3").orElseThrow();
+        assertThat(got).isEqualTo(put);
+        assertThat(got.etag()).matches("\"[0-9a-f]{32}\"");
+        assertThat(Files.readAllBytes(got.path())).isEqualTo(pdf("a"));
+        assertThat(store.get(2L, 10L, "3")).isEmpty();
+    }
+
+    @Test
+    void get_OtherVersion_IsEmpty() {
+        ContractPdfStore store = store();
+        store.put(HOTEL_ID, 10L, "3", pdf("a"));
+
+        assertThat(store.get(HOTEL_ID, 10L, "4")).isEmpty();
+        assertThat(store().get(HOTEL_ID, 10L, "4")).isEmpty();
+    }
+
+    @Test
+    void get_AfterRestart_IndexesFileWithSameEtag() {
+        String etag = store().put(HOTEL_ID, 10L, "archived", pdf("a")).orElseThrow().etag();
+
+        ContractPdfStore.StoredPdf got = store().get(HOTEL_ID, 10L, "archived").orElseThrow();
+
+        assertThat(got.etag()).isEqualTo(etag);
+    }
+
+    @Test
+    void invalidate_DeletesEveryVersionOfThatRentalOnly() throws Exception {
+        ContractPdfStore store = store();
+        store.put(HOTEL_ID, 10L, "3", pdf("a"));
+        store.put(HOTEL_ID, 10L, "4", pdf("b"));
+        store.put(HOTEL_ID, 100L, "3", pdf("c"));
+
+        store.invalidate(HOTEL_ID, 10L);
+
+        assertThat(store.get(HOTEL_ID, 10L, "3")).isEmpty();
+        assertThat(store.get(HOTEL_ID, 10L, "4")).isEmpty();
+        assertThat(store.get(HOTEL_ID, 100L, "3")).isPresent();
+        try (Stream<Path> files = Files.list(dir)) {
+            assertThat(files).extracting(p -> p.getFileName().toString()).containsExactly("1-100-3.pdf");
+        }
+    }
+
+    @Test
+    void purgeExpired_DeletesOldFilesAndForgetsThem() throws Exception {
+        ContractPdfStore store = store();
+        Path old = store.put(HOTEL_ID, 1L, "0", pdf("old")).orElseThrow().path();
+        store.put(HOTEL_ID, 2L, "0", pdf("new"));
+        Files.setLastModifiedTime(old, FileTime.from(Instant.now().minus(Duration.ofDays(31))));
+
+        store.purgeExpired();
+
+        assertThat(store.get(HOTEL_ID, 1L, "0")).isEmpty();
+        assertThat(store.get(HOTEL_ID, 2L, "0")).isPresent();
+    }
+
+    private ContractPdfStore store() {
+        return new ContractPdfStore(dir, Duration.ofDays(30));
+    }
+
+    private static byte[] pdf(String body) {
+        return ("%PDF-1.4 " + body).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,41 @@
+package com.bikerental.platform.rental.rentals.contract;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.bikerental.platform.rental.benchmark.Benchmarks;
+import com.bikerental.platform.rental.benchmark.Benchmarks.CountingOutputStream;
+import com.bikerental.platform.rental.rentals.model.Rental;
+
+/**
+ * Throughput and allocation of contract rendering: streaming the precompiled template
+ * versus materialising the document as a String first (what the endpoint used to return).
+ */
+@Tag(Benchmarks.TAG)
+class ContractRenderBenchmarkTest {
+
+    private static final int WARMUP = 5_000;
+    private static final int RENDERS = 20_000;
+
+    @Test
+    void write_StreamingVersusStringRendering() throws Exception {
+        Rental rental = ContractTemplateTest.rental("204", "B");
+        byte[] signature = new byte[6 * 1024];
+        CountingOutputStream out = new CountingOutputStream();
+
+        Benchmarks.Result streaming = Benchmarks.measure(WARMUP, RENDERS,
+                () -> ContractTemplate.write(rental, signature, "/api/rentals/contract.css", out));
+        Benchmarks.Result string = Benchmarks.measure(WARMUP, RENDERS, () -> {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            ContractTemplate.write(rental, signature, "/api/rentals/contract.css", buffer);
+            out.write(buffer.toString(StandardCharsets.UTF_8).getBytes(StandardCharsets.UTF_8));
+        });
+
+        Benchmarks.report("Contract document bytes", String.valueOf(out.count() / (2L * (WARMUP + RENDERS))));
+        Benchmarks.report("Contract render, streaming", streaming);
+        Benchmarks.report("Contract render, via String", string);
+    }
+}
@@ -0,0 +1,114 @@
+package com.bikerental.platform.rental.rentals.contract;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+import com.bikerental.platform.rental.bike.model.Bike;
+import com.bikerental.platform.rental.rentals.model.Rental;
+import com.bikerental.platform.rental.rentals.model.RentalItem;
+import com.bikerental.platform.rental.rentals.model.RentalItemStatus;
+import com.bikerental.platform.rental.rentals.model.RentalStatus;
+
+class ContractTemplateTest {
+
+    @Test
+    void write_LinkedStylesheet_RendersAllFields() throws IOException {
+        Rental rental = rental("204", "B");
+
+        String html = render(rental, new byte[]{1, 2, 3, 4}, "http://api/contract.css?v=1");
+
+        assertThat(html)
+                .startsWith("<!DOCTYPE html>\n<html lang=\"en\">")
+                .contains("<title>Rental Contract #42</title>")
+                .contains("<link rel=\"stylesheet\" href=\"http://api/contract.css?v=1\">")
+                .doesNotContain("<style>")
+                .contains("<div class=\"contract-id\">Contract #42</div>")
+                .contains("<div class=\"info-value\">204</div>")
+                .contains("<div class=\"info-label\">Bed Number</div>")
+                .contains("<div class=\"info-value\">ACTIVE</div>")
+                .contains("<td>7</td>\n          <td>ADULT</td>\n          "
+                        + "<td><span class=\"status-badge status-rented\">RENTED</span></td>")
+                .contains("<td>Unknown</td>\n          <td>-</td>")
+                .contains("src=\"data:image/png;base64," + Base64.getEncoder().encodeToString(new byte[]{1, 2, 3, 4}) + "\"")
+                .contains("Terms &amp; Conditions (vv2)")
+                .endsWith("</html>\n");
+    }
+
+    @Test
+    void write_NoStylesheetHref_InlinesStylesheet() throws IOException {
+        String html = render(rental("204", null), null, null);
+
+        assertThat(html)
+                .contains("<style>\n" + new String(ContractTemplate.stylesheet(), StandardCharsets.UTF_8) + "  </style>")
+                .doesNotContain("<link")
+                .doesNotContain("Bed Number")
+                .contains("Signature not available");
+    }
+
+    @Test
+    void write_EscapesDynamicFields() throws IOException {
+        String html = render(rental("<b>\"1\"</b>", "O'Neil & Co"), null, null);
+
+        assertThat(html)
+                .contains("&lt;b&gt;&quot;1&quot;&lt;/b&gt;")
+                .contains("O&#x27;Neil &amp; Co")
+                .doesNotContain("<b>");
+    }
+
+    @Test
+    void write_Signature_MatchesJdkBase64ForEveryPaddingAndChunkBoundary() throws IOException {
+        for (int length : new int[]{1, 2, 3, 767, 768, 769, 770, 5000}) {
+            byte[] png = new byte[length];
+            for (int i = 0; i < length; i++) {
+                png[i] = (byte) (i * 31);
+            }
+
+            String html = render(rental("1", null), png, null);
+
+            assertThat(html).contains("base64," + Base64.getEncoder().encodeToString(png) + "\"");
+        }
+    }
+
+    @Test
+    void stylesheetVersion_IsStableContentHash() {
+        assertThat(ContractTemplate.STYLESHEET_VERSION).matches("[0-9a-f]{16}");
+        assertThat(new String(ContractTemplate.stylesheet(), StandardCharsets.UTF_8)).contains(".bikes-table");
+    }
+
+    static Rental rental(String roomNumber, String bedNumber) {
+        Rental rental = new Rental();
+        rental.setRentalId(42L);
+        rental.setHotelId(1L);
+        rental.setStatus(RentalStatus.ACTIVE);
+        rental.setStartAt(Instant.parse("2026-03-01T10:00:00Z"));
+        rental.setDueAt(Instant.parse("2026-03-02T10:00:00Z"));
+        rental.setRoomNumber(roomNumber);
+        rental.setBedNumber(bedNumber);
+        rental.setTncVersion("v2");
+
+        Bike bike = new Bike();
+        bike.setBikeId(7L);
+        bike.setBikeNumber("7");
+        bike.setBikeType("ADULT");
+        RentalItem rented = new RentalItem(rental, bike);
+        rental.addItem(rented);
+
+        RentalItem orphan = new RentalItem(rental, 99L);
+        orphan.setStatus(RentalItemStatus.RETURNED);
+        rental.addItem(orphan);
+        return rental;
+    }
+
+    private static String render(Rental rental, byte[] signature, String stylesheetHref) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ContractTemplate.write(rental, signature, stylesheetHref, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
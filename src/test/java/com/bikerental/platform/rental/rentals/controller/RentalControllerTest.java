@@ -26,12 +26,21 @@ import com.bikerental.platform.rental.auth.security.HotelContext;
 import com.bikerental.platform.rental.auth.service.JwtService;
 import com.bikerental.platform.rental.common.exception.BikeUnavailableException;
 import com.bikerental.platform.rental.config.SecurityConfig;
+import com.bikerental.platform.rental.rentals.dto.BatchCreateRentalRequest;
+import com.bikerental.platform.rental.rentals.dto.BatchCreateRentalResponse;
+import com.bikerental.platform.rental.rentals.dto.BatchMode;
+import com.bikerental.platform.rental.rentals.dto.BatchRentalResult;
 import com.bikerental.platform.rental.rentals.dto.CreateRentalRequest;
 import com.bikerental.platform.rental.rentals.dto.RentalItemResponse;
 import com.bikerental.platform.rental.rentals.dto.RentalResponse;
 import com.bikerental.platform.rental.rentals.model.RentalItemStatus;
 import com.bikerental.platform.rental.rentals.model.RentalStatus;
+import com.bikerental.platform.rental.rentals.service.ContractPdfService;
+import com.bikerental.platform.rental.rentals.service.ContractZipService;
+import com.bikerental.platform.rental.rentals.service.RentalBatchService;
 import com.bikerental.platform.rental.rentals.service.RentalContractService;
+import com.bikerental.platform.rental.rentals.service.RentalExportService;
+import com.bikerental.platform.rental.rentals.service.RentalHistoryService;
 import com.bikerental.platform.rental.rentals.service.RentalService;
 
 @WebMvcTest(RentalController.class)
@@ -47,6 +56,21 @@ class RentalControllerTest {
     @MockBean
     private RentalContractService rentalContractService;
 
+    @MockBean
+    private ContractPdfService contractPdfService;
+
+    @MockBean
+    private ContractZipService contractZipService;
+
+    @MockBean
+    private RentalBatchService rentalBatchService;
+
+    @MockBean
+    private RentalHistoryService rentalHistoryService;
+
+    @MockBean
+    private RentalExportService rentalExportService;
+
     @MockBean
     private JwtService jwtService;
 
@@ -279,5 +303,67 @@ class RentalControllerTest {
                         .content(requestJson))
                 .andExpect(status().isForbidden());
     }
-}
 
+    @Test
+    @WithMockUser(roles = "HOTEL")
+    void createRentals_AllCreated_Returns201() throws Exception {
+        // Arrange
+        RentalResponse rental = new RentalResponse(
+                1L, RentalStatus.ACTIVE, startTime, futureReturnTime, ROOM_NUMBER, BED_NUMBER, List.of());
+        BatchCreateRentalResponse response = new BatchCreateRentalResponse(
+                BatchMode.ALL_OR_NOTHING, 1, 0, List.of(BatchRentalResult.created(0, rental)));
+        when(rentalBatchService.createRentals(any(BatchCreateRentalRequest.class))).thenReturn(response);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/rentals/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batchRequestJson()))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.createdCount").value(1))
+                .andExpect(jsonPath("$.results[0].outcome").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].rental.rentalId").value(1));
+    }
+
+    @Test
+    @WithMockUser(roles = "HOTEL")
+    void createRentals_NoneCreated_Returns409() throws Exception {
+        // Arrange
+        BatchCreateRentalResponse response = new BatchCreateRentalResponse(
+                BatchMode.ALL_OR_NOTHING, 0, 1, List.of(BatchRentalResult.failed(0, "BIKES_UNAVAILABLE",
+                        "One or more bikes are unavailable",
+                        List.of(new BikeUnavailableException.UnavailableBike("B001", "ALREADY_RENTED")))));
+        when(rentalBatchService.createRentals(any(BatchCreateRentalRequest.class))).thenReturn(response);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/rentals/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batchRequestJson()))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.results[0].outcome").value("FAILED"))
+                .andExpect(jsonPath("$.results[0].unavailableBikes[0].reason").value("ALREADY_RENTED"));
+    }
+
+    @Test
+    @WithMockUser(roles = "HOTEL")
+    void createRentals_WithEmptyList_Returns400() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/rentals/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rentals\": []}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String batchRequestJson() {
+        return """
+            {
+                "rentals": [{
+                    "bikeNumbers": ["B001"],
+                    "roomNumber": "204",
+                    "returnDateTime": "%s",
+                    "tncVersion": "v1",
+                    "signatureBase64Png": "%s"
+                }]
+            }
+            """.formatted(futureReturnTime.toString(), SIGNATURE_BASE64);
+    }
+}
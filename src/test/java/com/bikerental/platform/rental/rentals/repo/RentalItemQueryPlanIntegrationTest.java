@@ -0,0 +1,114 @@
+package com.bikerental.platform.rental.rentals.repo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bikerental.platform.rental.common.sql.QueryPlanInspector;
+import com.bikerental.platform.rental.rentals.model.Rental;
+import com.bikerental.platform.rental.rentals.model.RentalItem;
+import com.bikerental.platform.rental.rentals.model.RentalItemStatus;
+import com.bikerental.platform.rental.rentals.model.RentalStatus;
+
+/**
+ * Query-plan tests: tenant-scoped item lookups run against rental_items alone
+ * and are served by the hotel_id-leading composite index.
+ * The SQL Hibernate actually generates is captured and passed through H2's EXPLAIN.
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.sql.init.mode=never",
+    QueryPlanInspector.PROPERTY
+})
+@Transactional
+class RentalItemQueryPlanIntegrationTest {
+
+    private static final Long HOTEL_ID = 1L;
+    private static final Long BIKE_ID = 10L;
+    private static final String COMPOSITE_INDEX = "IDX_RENTAL_ITEM_HOTEL_BIKE_STATUS";
+
+    @Autowired
+    private RentalItemRepository rentalItemRepository;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        Rental rental = new Rental();
+        rental.setHotelId(HOTEL_ID);
+        rental.setStatus(RentalStatus.ACTIVE);
+        rental.setStartAt(Instant.now());
+        rental.setDueAt(Instant.now().plus(24, ChronoUnit.HOURS));
+        rental.setRoomNumber("101");
+        rental.setTncVersion("1.0");
+        rental.setSignatureId(100L);
+        rental = rentalRepository.save(rental);
+        rentalItemRepository.save(new RentalItem(rental, BIKE_ID));
+        entityManager.flush();
+        entityManager.clear();
+        QueryPlanInspector.clear();
+    }
+
+    @Test
+    void newItem_InheritsRentalHotelId() {
+        List<RentalItem> items = rentalItemRepository.findAll();
+
+        assertThat(items).extracting(RentalItem::getHotelId).containsExactly(HOTEL_ID);
+    }
+
+    @Test
+    void existsByHotelIdAndBikeIdAndStatus_UsesCompositeIndexWithoutJoin() {
+        rentalItemRepository.existsByHotelIdAndBikeIdAndStatus(HOTEL_ID, BIKE_ID, RentalItemStatus.RENTED);
+
+        String plan = explainLastStatement(HOTEL_ID, BIKE_ID, "'RENTED'");
+
+        assertThat(plan).containsIgnoringCase(COMPOSITE_INDEX);
+        assertThat(plan).doesNotContainIgnoringCase("\"RENTALS\"");
+    }
+
+    @Test
+    void findByHotelIdAndBikeIdAndStatus_UsesCompositeIndexWithoutJoin() {
+        rentalItemRepository.findByHotelIdAndBikeIdAndStatus(HOTEL_ID, BIKE_ID, RentalItemStatus.RENTED);
+
+        String plan = explainLastStatement(HOTEL_ID, BIKE_ID, "'RENTED'");
+
+        assertThat(plan).containsIgnoringCase(COMPOSITE_INDEX);
+        assertThat(plan).doesNotContainIgnoringCase("\"RENTALS\"");
+    }
+
+    @Test
+    void findByHotelIdAndBikeId_IsIndexLookupWithoutJoin() {
+        rentalItemRepository.findByHotelIdAndBikeId(HOTEL_ID, BIKE_ID);
+
+        String plan = explainLastStatement(HOTEL_ID, BIKE_ID);
+
+        // H2 may prefer the narrower bike_id index here; either way it must not scan or join
+        assertThat(plan).containsIgnoringCase("IDX_RENTAL_ITEM_");
+        assertThat(plan).doesNotContainIgnoringCase("\"RENTALS\"");
+    }
+
+    private String explainLastStatement(Object... params) {
+        return QueryPlanInspector.explainLast(jdbcTemplate, params);
+    }
+}
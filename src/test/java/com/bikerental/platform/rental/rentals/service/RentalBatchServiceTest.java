@@ -0,0 +1,232 @@
+package com.bikerental.platform.rental.rentals.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.bikerental.platform.rental.auth.security.HotelContext;
+import com.bikerental.platform.rental.bike.model.Bike;
+import com.bikerental.platform.rental.bike.repo.BikeRepository;
+import com.bikerental.platform.rental.rentals.dto.BatchCreateRentalRequest;
+import com.bikerental.platform.rental.rentals.dto.BatchCreateRentalResponse;
+import com.bikerental.platform.rental.rentals.dto.BatchMode;
+import com.bikerental.platform.rental.rentals.dto.BatchRentalResult;
+import com.bikerental.platform.rental.rentals.dto.CreateRentalRequest;
+import com.bikerental.platform.rental.rentals.model.Rental;
+import com.bikerental.platform.rental.rentals.repo.RentalRepository;
+import com.bikerental.platform.rental.signature.service.SignatureService;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unchecked")
+class RentalBatchServiceTest {
+
+    private static final Long HOTEL_ID = 1L;
+    private static final String SIGNATURE_BASE64 = "iVBORw==";
+
+    @Mock
+    private RentalRepository rentalRepository;
+
+    @Mock
+    private BikeRepository bikeRepository;
+
+    @Mock
+    private SignatureService signatureService;
+
+    @Mock
+    private HotelContext hotelContext;
+
+    private RentalBatchService rentalBatchService;
+
+    private Bike bike1;
+    private Bike bike2;
+    private Bike rentedBike;
+    private Instant futureReturnTime;
+
+    @BeforeEach
+    void setUp() {
+        rentalBatchService = new RentalBatchService(
+                rentalRepository, bikeRepository, signatureService, hotelContext, BatchMode.ALL_OR_NOTHING);
+
+        bike1 = bike(10L, "B001", Bike.BikeStatus.AVAILABLE);
+        bike2 = bike(20L, "B002", Bike.BikeStatus.AVAILABLE);
+        rentedBike = bike(30L, "B003", Bike.BikeStatus.RENTED);
+        futureReturnTime = Instant.now().plus(24, ChronoUnit.HOURS);
+
+        when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID);
+        when(bikeRepository.findByHotelIdAndBikeNumberIn(eq(HOTEL_ID), anyCollection()))
+                .thenReturn(List.of(bike1, bike2, rentedBike));
+    }
+
+    @Test
+    void createRentals_AllValid_CreatesEveryRentalWithOneBikeQuery() {
+        // Arrange
+        stubPersistence();
+        BatchCreateRentalRequest request = new BatchCreateRentalRequest(
+                List.of(contract("101", "B001"), contract("102", "B002")), null);
+
+        // Act
+        BatchCreateRentalResponse response = rentalBatchService.createRentals(request);
+
+        // Assert
+        assertThat(response.getMode()).isEqualTo(BatchMode.ALL_OR_NOTHING);
+        assertThat(response.getCreatedCount()).isEqualTo(2);
+        assertThat(response.getFailedCount()).isZero();
+        assertThat(response.getResults()).extracting(BatchRentalResult::getOutcome)
+                .containsExactly(BatchRentalResult.Outcome.CREATED, BatchRentalResult.Outcome.CREATED);
+        assertThat(response.getResults().get(1).getRental().getRoomNumber()).isEqualTo("102");
+
+        verify(bikeRepository, times(1)).findByHotelIdAndBikeNumberIn(eq(HOTEL_ID), anyCollection());
+        verify(signatureService, times(1)).storeSignatures(eq(HOTEL_ID), anyList());
+        assertThat(bike1.getStatus()).isEqualTo(Bike.BikeStatus.RENTED);
+        assertThat(bike2.getStatus()).isEqualTo(Bike.BikeStatus.RENTED);
+    }
+
+    @Test
+    void createRentals_AllOrNothingWithUnavailableBike_CreatesNothing() {
+        // Arrange
+        BatchCreateRentalRequest request = new BatchCreateRentalRequest(
+                List.of(contract("101", "B001"), contract("102", "B003")), BatchMode.ALL_OR_NOTHING);
+
+        // Act
+        BatchCreateRentalResponse response = rentalBatchService.createRentals(request);
+
+        // Assert
+        assertThat(response.getCreatedCount()).isZero();
+        assertThat(response.getFailedCount()).isEqualTo(1);
+        assertThat(response.getResults().get(0).getOutcome()).isEqualTo(BatchRentalResult.Outcome.NOT_CREATED);
+        BatchRentalResult failed = response.getResults().get(1);
+        assertThat(failed.getOutcome()).isEqualTo(BatchRentalResult.Outcome.FAILED);
+        assertThat(failed.getError()).isEqualTo("BIKES_UNAVAILABLE");
+        assertThat(failed.getUnavailableBikes().get(0).getReason()).isEqualTo("ALREADY_RENTED");
+
+        verify(rentalRepository, never()).saveAll(any());
+        verify(signatureService, never()).storeSignatures(any(), anyList());
+        assertThat(bike1.getStatus()).isEqualTo(Bike.BikeStatus.AVAILABLE);
+    }
+
+    @Test
+    void createRentals_BestEffort_CreatesValidContractsOnly() {
+        // Arrange
+        stubPersistence();
+        BatchCreateRentalRequest request = new BatchCreateRentalRequest(
+                List.of(contract("101", "B001"), contract("102", "B404"), contract("103", "B002")),
+                BatchMode.BEST_EFFORT);
+
+        // Act
+        BatchCreateRentalResponse response = rentalBatchService.createRentals(request);
+
+        // Assert
+        assertThat(response.getCreatedCount()).isEqualTo(2);
+        assertThat(response.getFailedCount()).isEqualTo(1);
+        assertThat(response.getResults()).extracting(BatchRentalResult::getOutcome).containsExactly(
+                BatchRentalResult.Outcome.CREATED, BatchRentalResult.Outcome.FAILED, BatchRentalResult.Outcome.CREATED);
+        assertThat(response.getResults().get(1).getUnavailableBikes().get(0).getReason()).isEqualTo("NOT_FOUND");
+
+        ArgumentCaptor<List<Rental>> rentals = ArgumentCaptor.forClass(List.class);
+        verify(rentalRepository).saveAll(rentals.capture());
+        assertThat(rentals.getValue()).extracting(Rental::getRoomNumber).containsExactly("101", "103");
+    }
+
+    @Test
+    void createRentals_SameBikeInTwoContracts_SecondFailsAsDuplicate() {
+        // Arrange
+        stubPersistence();
+        BatchCreateRentalRequest request = new BatchCreateRentalRequest(
+                List.of(contract("101", "B001"), contract("102", "B001")), BatchMode.BEST_EFFORT);
+
+        // Act
+        BatchCreateRentalResponse response = rentalBatchService.createRentals(request);
+
+        // Assert
+        assertThat(response.getCreatedCount()).isEqualTo(1);
+        BatchRentalResult duplicate = response.getResults().get(1);
+        assertThat(duplicate.getOutcome()).isEqualTo(BatchRentalResult.Outcome.FAILED);
+        assertThat(duplicate.getUnavailableBikes().get(0).getReason()).isEqualTo(RentalBatchService.DUPLICATE_IN_BATCH);
+    }
+
+    @Test
+    void createRentals_DifferentlyCasedBikeNumbers_MatchBikesAndClaimsAcrossCase() {
+        // Arrange: the database matches bike numbers case-insensitively
+        stubPersistence();
+        BatchCreateRentalRequest request = new BatchCreateRentalRequest(
+                List.of(contract("101", "b001"), contract("102", "B001")), BatchMode.BEST_EFFORT);
+
+        // Act
+        BatchCreateRentalResponse response = rentalBatchService.createRentals(request);
+
+        // Assert
+        assertThat(response.getCreatedCount()).isEqualTo(1);
+        assertThat(response.getResults().get(0).getOutcome()).isEqualTo(BatchRentalResult.Outcome.CREATED);
+        assertThat(response.getResults().get(1).getUnavailableBikes().get(0).getReason())
+                .isEqualTo(RentalBatchService.DUPLICATE_IN_BATCH);
+        assertThat(bike1.getStatus()).isEqualTo(Bike.BikeStatus.RENTED);
+    }
+
+    @Test
+    void createRentals_PastReturnTime_FailsThatContractAsBadRequest() {
+        // Arrange
+        CreateRentalRequest past = new CreateRentalRequest(List.of("B002"), "102", null,
+                Instant.now().minus(1, ChronoUnit.HOURS), "v1", SIGNATURE_BASE64);
+        BatchCreateRentalRequest request = new BatchCreateRentalRequest(
+                List.of(contract("101", "B001"), past), null);
+
+        // Act
+        BatchCreateRentalResponse response = rentalBatchService.createRentals(request);
+
+        // Assert
+        assertThat(response.getResults().get(1).getError()).isEqualTo("BAD_REQUEST");
+        assertThat(response.getCreatedCount()).isZero();
+    }
+
+    private void stubPersistence() {
+        when(signatureService.decodeSignature(anyString())).thenReturn(new byte[]{1});
+        when(signatureService.storeSignatures(eq(HOTEL_ID), anyList())).thenAnswer(invocation -> {
+            List<byte[]> signatures = invocation.getArgument(1);
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < signatures.size(); i++) {
+                ids.add(100L + i);
+            }
+            return ids;
+        });
+        AtomicLong rentalIds = new AtomicLong(1);
+        when(rentalRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Rental> rentals = invocation.getArgument(0);
+            rentals.forEach(rental -> rental.setRentalId(rentalIds.getAndIncrement()));
+            return rentals;
+        });
+    }
+
+    private CreateRentalRequest contract(String roomNumber, String... bikeNumbers) {
+        return new CreateRentalRequest(List.of(bikeNumbers), roomNumber, null, futureReturnTime, "v1", SIGNATURE_BASE64);
+    }
+
+    private Bike bike(Long bikeId, String bikeNumber, Bike.BikeStatus status) {
+        Bike bike = new Bike();
+        bike.setBikeId(bikeId);
+        bike.setHotelId(HOTEL_ID);
+        bike.setBikeNumber(bikeNumber);
+        bike.setBikeType("ADULT");
+        bike.setStatus(status);
+        return bike;
+    }
+}
@@ -3,6 +3,7 @@ package com.bikerental.platform.rental.rentals.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -14,7 +15,6 @@ import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.List;
-import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -92,7 +92,7 @@ class RentalServiceTest {
     void createRental_WithSingleBike_CreatesRentalSuccessfully() {
         // Arrange
         when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID);
-        when(bikeRepository.findByHotelIdAndBikeNumber(HOTEL_ID, "B001")).thenReturn(Optional.of(bike1));
+        when(bikeRepository.findByHotelIdAndBikeNumberIn(eq(HOTEL_ID), anyCollection())).thenReturn(List.of(bike1));
         when(signatureService.storeSignature(eq(HOTEL_ID), eq(SIGNATURE_BASE64))).thenReturn(SIGNATURE_ID);
         when(rentalRepository.save(any(Rental.class))).thenAnswer(invocation -> {
             Rental r = invocation.getArgument(0);
@@ -131,8 +131,7 @@ class RentalServiceTest {
     void createRental_WithMultipleBikes_CreatesRentalWithAllItems() {
         // Arrange
         when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID);
-        when(bikeRepository.findByHotelIdAndBikeNumber(HOTEL_ID, "B001")).thenReturn(Optional.of(bike1));
-        when(bikeRepository.findByHotelIdAndBikeNumber(HOTEL_ID, "B002")).thenReturn(Optional.of(bike2));
+        when(bikeRepository.findByHotelIdAndBikeNumberIn(eq(HOTEL_ID), anyCollection())).thenReturn(List.of(bike1, bike2));
         when(signatureService.storeSignature(eq(HOTEL_ID), eq(SIGNATURE_BASE64))).thenReturn(SIGNATURE_ID);
         when(rentalRepository.save(any(Rental.class))).thenAnswer(invocation -> {
             Rental r = invocation.getArgument(0);
@@ -164,7 +163,7 @@ class RentalServiceTest {
     void createRental_WithNullBedNumber_CreatesRentalSuccessfully() {
         // Arrange
         when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID);
-        when(bikeRepository.findByHotelIdAndBikeNumber(HOTEL_ID, "B001")).thenReturn(Optional.of(bike1));
+        when(bikeRepository.findByHotelIdAndBikeNumberIn(eq(HOTEL_ID), anyCollection())).thenReturn(List.of(bike1));
         when(signatureService.storeSignature(eq(HOTEL_ID), eq(SIGNATURE_BASE64))).thenReturn(SIGNATURE_ID);
         when(rentalRepository.save(any(Rental.class))).thenAnswer(invocation -> {
             Rental r = invocation.getArgument(0);
@@ -184,6 +183,31 @@ class RentalServiceTest {
         assertThat(response.getBedNumber()).isNull();
     }
 
+    @Test
+    void createRental_WithDifferentlyCasedBikeNumber_MatchesBike() {
+        // Arrange: the database matches bike numbers case-insensitively
+        when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID);
+        when(bikeRepository.findByHotelIdAndBikeNumberIn(HOTEL_ID, List.of("b001"))).thenReturn(List.of(bike1));
+        when(signatureService.storeSignature(eq(HOTEL_ID), eq(SIGNATURE_BASE64))).thenReturn(SIGNATURE_ID);
+        when(rentalRepository.save(any(Rental.class))).thenAnswer(invocation -> {
+            Rental r = invocation.getArgument(0);
+            r.setRentalId(1L);
+            r.getItems().get(0).setRentalItemId(1L);
+            return r;
+        });
+
+        CreateRentalRequest request = new CreateRentalRequest(
+                List.of("b001"), ROOM_NUMBER, BED_NUMBER, futureReturnTime, TNC_VERSION, SIGNATURE_BASE64
+        );
+
+        // Act
+        RentalResponse response = rentalService.createRental(request);
+
+        // Assert
+        assertThat(response.getItems()).extracting("bikeNumber").containsExactly("B001");
+        assertThat(bike1.getStatus()).isEqualTo(Bike.BikeStatus.RENTED);
+    }
+
     // ====== Validation Tests ======
 
     @Test
@@ -241,7 +265,7 @@ class RentalServiceTest {
     void createRental_WithNonExistentBike_ThrowsBikeUnavailableException() {
         // Arrange
         when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID);
-        when(bikeRepository.findByHotelIdAndBikeNumber(HOTEL_ID, "NOTFOUND")).thenReturn(Optional.empty());
+        when(bikeRepository.findByHotelIdAndBikeNumberIn(eq(HOTEL_ID), anyCollection())).thenReturn(List.of());
 
         CreateRentalRequest request = new CreateRentalRequest(
                 List.of("NOTFOUND"), ROOM_NUMBER, BED_NUMBER, futureReturnTime, TNC_VERSION, SIGNATURE_BASE64
@@ -265,7 +289,7 @@ class RentalServiceTest {
         // Arrange
         when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID);
         bike1.setStatus(Bike.BikeStatus.RENTED);
-        when(bikeRepository.findByHotelIdAndBikeNumber(HOTEL_ID, "B001")).thenReturn(Optional.of(bike1));
+        when(bikeRepository.findByHotelIdAndBikeNumberIn(eq(HOTEL_ID), anyCollection())).thenReturn(List.of(bike1));
 
         CreateRentalRequest request = new CreateRentalRequest(
                 List.of("B001"), ROOM_NUMBER, BED_NUMBER, futureReturnTime, TNC_VERSION, SIGNATURE_BASE64
@@ -289,7 +313,7 @@ class RentalServiceTest {
         // Arrange
         when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID);
         bike1.setStatus(Bike.BikeStatus.OOO);
-        when(bikeRepository.findByHotelIdAndBikeNumber(HOTEL_ID, "B001")).thenReturn(Optional.of(bike1));
+        when(bikeRepository.findByHotelIdAndBikeNumberIn(eq(HOTEL_ID), anyCollection())).thenReturn(List.of(bike1));
 
         CreateRentalRequest request = new CreateRentalRequest(
                 List.of("B001"), ROOM_NUMBER, BED_NUMBER, futureReturnTime, TNC_VERSION, SIGNATURE_BASE64
@@ -314,9 +338,7 @@ class RentalServiceTest {
         when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID);
         bike1.setStatus(Bike.BikeStatus.RENTED);
         bike2.setStatus(Bike.BikeStatus.OOO);
-        when(bikeRepository.findByHotelIdAndBikeNumber(HOTEL_ID, "B001")).thenReturn(Optional.of(bike1));
-        when(bikeRepository.findByHotelIdAndBikeNumber(HOTEL_ID, "B002")).thenReturn(Optional.of(bike2));
-        when(bikeRepository.findByHotelIdAndBikeNumber(HOTEL_ID, "NOTFOUND")).thenReturn(Optional.empty());
+        when(bikeRepository.findByHotelIdAndBikeNumberIn(eq(HOTEL_ID), anyCollection())).thenReturn(List.of(bike1, bike2));
 
         CreateRentalRequest request = new CreateRentalRequest(
                 Arrays.asList("B001", "B002", "NOTFOUND"), ROOM_NUMBER, BED_NUMBER, futureReturnTime, TNC_VERSION, SIGNATURE_BASE64
@@ -352,13 +374,30 @@ class RentalServiceTest {
         verify(rentalRepository, never()).save(any());
     }
 
+    @Test
+    void createRental_WithSameBikeNumberInDifferentCase_ThrowsIllegalArgumentException() {
+        // Arrange
+        when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID);
+
+        CreateRentalRequest request = new CreateRentalRequest(
+                Arrays.asList("B001", "b001"), ROOM_NUMBER, BED_NUMBER, futureReturnTime, TNC_VERSION, SIGNATURE_BASE64
+        );
+
+        // Act & Assert
+        assertThatThrownBy(() -> rentalService.createRental(request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Duplicate bike number");
+
+        verify(rentalRepository, never()).save(any());
+    }
+
     // ====== Transaction/Atomicity Tests ======
 
     @Test
     void createRental_StoresSignatureBeforeRental() {
         // Arrange
         when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID);
-        when(bikeRepository.findByHotelIdAndBikeNumber(HOTEL_ID, "B001")).thenReturn(Optional.of(bike1));
+        when(bikeRepository.findByHotelIdAndBikeNumberIn(eq(HOTEL_ID), anyCollection())).thenReturn(List.of(bike1));
         when(signatureService.storeSignature(eq(HOTEL_ID), eq(SIGNATURE_BASE64))).thenReturn(SIGNATURE_ID);
         when(rentalRepository.save(any(Rental.class))).thenAnswer(invocation -> {
             Rental r = invocation.getArgument(0);
@@ -386,7 +425,7 @@ class RentalServiceTest {
     void createRental_SetsCorrectRentalFields() {
         // Arrange
         when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID);
-        when(bikeRepository.findByHotelIdAndBikeNumber(HOTEL_ID, "B001")).thenReturn(Optional.of(bike1));
+        when(bikeRepository.findByHotelIdAndBikeNumberIn(eq(HOTEL_ID), anyCollection())).thenReturn(List.of(bike1));
         when(signatureService.storeSignature(eq(HOTEL_ID), eq(SIGNATURE_BASE64))).thenReturn(SIGNATURE_ID);
         when(rentalRepository.save(any(Rental.class))).thenAnswer(invocation -> {
             Rental r = invocation.getArgument(0);
@@ -424,7 +463,7 @@ class RentalServiceTest {
     void createRental_SetsCorrectRentalItemFields() {
         // Arrange
         when(hotelContext.getCurrentHotelId()).thenReturn(HOTEL_ID);
-        when(bikeRepository.findByHotelIdAndBikeNumber(HOTEL_ID, "B001")).thenReturn(Optional.of(bike1));
+        when(bikeRepository.findByHotelIdAndBikeNumberIn(eq(HOTEL_ID), anyCollection())).thenReturn(List.of(bike1));
         when(signatureService.storeSignature(eq(HOTEL_ID), eq(SIGNATURE_BASE64))).thenReturn(SIGNATURE_ID);
         when(rentalRepository.save(any(Rental.class))).thenAnswer(invocation -> {
             Rental r = invocation.getArgument(0);
@@ -463,7 +502,7 @@ class RentalServiceTest {
         when(hotelContext.getCurrentHotelId()).thenReturn(differentHotelId);
         
         // Bike lookup should use the hotel from context
-        when(bikeRepository.findByHotelIdAndBikeNumber(differentHotelId, "B001")).thenReturn(Optional.empty());
+        when(bikeRepository.findByHotelIdAndBikeNumberIn(eq(differentHotelId), anyCollection())).thenReturn(List.of());
 
         CreateRentalRequest request = new CreateRentalRequest(
                 List.of("B001"), ROOM_NUMBER, BED_NUMBER, futureReturnTime, TNC_VERSION, SIGNATURE_BASE64
@@ -474,8 +513,8 @@ class RentalServiceTest {
                 .isInstanceOf(BikeUnavailableException.class);
 
         // Verify hotelId from context was used, not any other value
-        verify(bikeRepository).findByHotelIdAndBikeNumber(differentHotelId, "B001");
-        verify(bikeRepository, never()).findByHotelIdAndBikeNumber(eq(HOTEL_ID), any());
+        verify(bikeRepository).findByHotelIdAndBikeNumberIn(eq(differentHotelId), anyCollection());
+        verify(bikeRepository, never()).findByHotelIdAndBikeNumberIn(eq(HOTEL_ID), anyCollection());
     }
 }
 
@@ -2,6 +2,7 @@ package com.bikerental.platform.rental.signature.repo;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,6 +12,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.bikerental.platform.rental.signature.model.Signature;
 
+import jakarta.persistence.EntityManager;
+
 import java.nio.charset.StandardCharsets;
 
 /**
@@ -31,6 +34,9 @@ class SignatureRepositoryIntegrationTest {
     @Autowired
     private SignatureRepository signatureRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private static final Long HOTEL_ID_1 = 1L;
     private static final Long HOTEL_ID_2 = 2L;
 
@@ -84,6 +90,43 @@ class SignatureRepositoryIntegrationTest {
         assertThat(result).isEmpty();
     }
 
+    @Test
+    void findContent_ReturnsHashOrInlineDataScopedToHotel() {
+        // Arrange
+        byte[] signatureData = "test-signature-png".getBytes(StandardCharsets.UTF_8);
+        Signature inline = signatureRepository.save(new Signature(HOTEL_ID_1, signatureData));
+        Signature stored = signatureRepository.save(new Signature(HOTEL_ID_1, "ab".repeat(32)));
+
+        // Act & Assert
+        assertThat(signatureRepository.findContent(inline.getSignatureId(), HOTEL_ID_1)).get()
+                .satisfies(content -> {
+                    assertThat(content.getContentHash()).isNull();
+                    assertThat(content.getSignatureData()).isEqualTo(signatureData);
+                });
+        assertThat(signatureRepository.findContent(stored.getSignatureId(), HOTEL_ID_1)).get()
+                .satisfies(content -> {
+                    assertThat(content.getContentHash()).isEqualTo("ab".repeat(32));
+                    assertThat(content.getSignatureData()).isNull();
+                });
+        assertThat(signatureRepository.findContent(inline.getSignatureId(), HOTEL_ID_2)).isEmpty();
+    }
+
+    @Test
+    void findBySignatureIdAndHotelId_DoesNotLoadData() {
+        // Arrange
+        byte[] signatureData = "test-signature-png".getBytes(StandardCharsets.UTF_8);
+        Long signatureId = signatureRepository.save(new Signature(HOTEL_ID_1, signatureData)).getSignatureId();
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        Signature loaded = signatureRepository.findBySignatureIdAndHotelId(signatureId, HOTEL_ID_1).orElseThrow();
+
+        // Assert - the blob is read on first access only
+        assertThat(Hibernate.isPropertyInitialized(loaded, "signatureData")).isFalse();
+        assertThat(loaded.getSignatureData()).isEqualTo(signatureData);
+    }
+
     @Test
     void saveSignature_SetsCreatedAtAutomatically() {
         // Arrange
@@ -0,0 +1,117 @@
+package com.bikerental.platform.rental.signature.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.bikerental.platform.rental.signature.dto.SignatureContent;
+import com.bikerental.platform.rental.signature.model.Signature;
+import com.bikerental.platform.rental.signature.repo.SignatureRepository;
+import com.bikerental.platform.rental.signature.store.SignatureStore;
+
+/**
+ * Integration tests for moving inline signature PNGs into the signature store.
+ * A batch size of 2 makes the migration walk several batches; the context runs with the default
+ * keep-inline off, keep-inline mode is covered by services built in the test.
+ * Not @Transactional: each batch commits in its own transaction.
+ */
+@SpringBootTest(properties = "signatures.migration.batch-size=2")
+class SignatureMigrationIntegrationTest {
+
+    private final Long hotelId = ThreadLocalRandom.current().nextLong(1_000_000, 2_000_000);
+
+    @Autowired
+    private SignatureMigrationService signatureMigrationService;
+
+    @Autowired
+    private SignatureService signatureService;
+
+    @Autowired
+    private SignatureRepository signatureRepository;
+
+    @Autowired
+    private SignatureStore signatureStore;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM signatures WHERE hotel_id = ?", hotelId);
+    }
+
+    @Test
+    void migrateInlineSignatures_MovesBlobsAndKeepsThemReadable() {
+        List<Long> ids = new ArrayList<>();
+        for (String body : List.of("a", "b", "a", "c", "d")) {
+            ids.add(signatureRepository.save(new Signature(hotelId, png(body))).getSignatureId());
+        }
+
+        assertThat(signatureMigrationService.migrateInlineSignatures()).isGreaterThanOrEqualTo(ids.size());
+
+        for (Long id : ids) {
+            SignatureContent content = signatureRepository.findContent(id, hotelId).orElseThrow();
+            assertThat(content.getContentHash()).matches("[0-9a-f]{64}");
+            assertThat(content.getSignatureData()).isNull();
+        }
+        // Identical PNGs share one blob
+        assertThat(signatureRepository.findContent(ids.get(2), hotelId).orElseThrow().getContentHash())
+                .isEqualTo(signatureRepository.findContent(ids.get(0), hotelId).orElseThrow().getContentHash());
+        assertThat(signatureService.getSignatureData(ids.get(3), hotelId)).hasValue(png("c"));
+        assertThat(signatureMigrationService.migrateInlineSignatures()).isZero();
+    }
+
+    @Test
+    void migrateInlineSignatures_KeepInline_RecordsHashAndKeepsData() {
+        SignatureMigrationService keepInlineMigration = new SignatureMigrationService(
+                signatureRepository, signatureStore, transactionManager, true, true, 2);
+        Long id = signatureRepository.save(new Signature(hotelId, png("kept"))).getSignatureId();
+
+        assertThat(keepInlineMigration.migrateInlineSignatures()).isGreaterThanOrEqualTo(1);
+
+        SignatureContent content = signatureRepository.findContent(id, hotelId).orElseThrow();
+        assertThat(content.getSignatureData()).isEqualTo(png("kept"));
+        assertThat(signatureStore.get(content.getContentHash())).isEqualTo(png("kept"));
+        assertThat(keepInlineMigration.migrateInlineSignatures()).isZero();
+
+        // Turning keep-inline off later drops the inline copy
+        signatureMigrationService.migrateInlineSignatures();
+        assertThat(signatureRepository.findContent(id, hotelId).orElseThrow().getSignatureData()).isNull();
+    }
+
+    @Test
+    void storeSignature_KeepInline_KeepsDataInDatabase() {
+        SignatureService keepInlineService = new SignatureService(signatureRepository, signatureStore, true);
+        Long id = keepInlineService.storeSignatures(hotelId, List.of(png("both"))).get(0);
+
+        SignatureContent content = signatureRepository.findContent(id, hotelId).orElseThrow();
+        assertThat(content.getSignatureData()).isEqualTo(png("both"));
+        assertThat(signatureStore.get(content.getContentHash())).isEqualTo(png("both"));
+    }
+
+    @Test
+    void storeSignature_KeepsOnlyHashInDatabase() {
+        Long id = signatureService.storeSignatures(hotelId, List.of(png("new"))).get(0);
+
+        SignatureContent content = signatureRepository.findContent(id, hotelId).orElseThrow();
+        assertThat(content.getSignatureData()).isNull();
+        assertThat(signatureStore.get(content.getContentHash())).isEqualTo(png("new"));
+    }
+
+    private static byte[] png(String body) {
+        return ("PNG-" + body).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.Base64;
@@ -13,12 +14,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.bikerental.platform.rental.signature.model.Signature;
+import com.bikerental.platform.rental.signature.dto.SignatureContent;
 import com.bikerental.platform.rental.signature.repo.SignatureRepository;
+import com.bikerental.platform.rental.signature.store.SignatureStore;
 
 @ExtendWith(MockitoExtension.class)
 class SignatureServiceTest {
@@ -26,7 +28,9 @@ class SignatureServiceTest {
     @Mock
     private SignatureRepository signatureRepository;
 
-    @InjectMocks
+    @Mock
+    private SignatureStore signatureStore;
+
     private SignatureService signatureService;
 
     private static final Long HOTEL_ID = 1L;
@@ -34,9 +38,11 @@ class SignatureServiceTest {
     private static final byte[] PNG_BYTES = new byte[]{(byte) 0x89, 0x50, 0x4E, 0x47}; // PNG magic bytes
     private static final String BASE64_PNG = Base64.getEncoder().encodeToString(PNG_BYTES);
     private static final String DATA_URL_PNG = "data:image/png;base64," + BASE64_PNG;
+    private static final String CONTENT_HASH = "ab".repeat(32);
 
     @BeforeEach
     void setUp() {
+        signatureService = new SignatureService(signatureRepository, signatureStore, false);
     }
 
     @Test
@@ -45,6 +51,7 @@ class SignatureServiceTest {
         Signature savedSignature = new Signature(HOTEL_ID, PNG_BYTES);
         savedSignature.setSignatureId(SIGNATURE_ID);
         
+        when(signatureStore.put(PNG_BYTES)).thenReturn(CONTENT_HASH);
         when(signatureRepository.save(any(Signature.class))).thenReturn(savedSignature);
 
         // Act
@@ -56,9 +63,31 @@ class SignatureServiceTest {
         ArgumentCaptor<Signature> captor = ArgumentCaptor.forClass(Signature.class);
         verify(signatureRepository).save(captor.capture());
         
+        // By default the database keeps only the content hash
         Signature captured = captor.getValue();
         assertThat(captured.getHotelId()).isEqualTo(HOTEL_ID);
-        assertThat(captured.getSignatureData()).isEqualTo(PNG_BYTES);
+        assertThat(captured.getContentHash()).isEqualTo(CONTENT_HASH);
+        assertThat(captured.getSignatureData()).isNull();
+    }
+
+    @Test
+    void storeSignature_WithKeepInline_AlsoSavesPng() {
+        // Arrange
+        signatureService = new SignatureService(signatureRepository, signatureStore, true);
+        Signature savedSignature = new Signature(HOTEL_ID, CONTENT_HASH);
+        savedSignature.setSignatureId(SIGNATURE_ID);
+
+        when(signatureStore.put(PNG_BYTES)).thenReturn(CONTENT_HASH);
+        when(signatureRepository.save(any(Signature.class))).thenReturn(savedSignature);
+
+        // Act
+        signatureService.storeSignature(HOTEL_ID, BASE64_PNG);
+
+        // Assert
+        ArgumentCaptor<Signature> captor = ArgumentCaptor.forClass(Signature.class);
+        verify(signatureRepository).save(captor.capture());
+        assertThat(captor.getValue().getContentHash()).isEqualTo(CONTENT_HASH);
+        assertThat(captor.getValue().getSignatureData()).isEqualTo(PNG_BYTES);
     }
 
     @Test
@@ -67,6 +96,7 @@ class SignatureServiceTest {
         Signature savedSignature = new Signature(HOTEL_ID, PNG_BYTES);
         savedSignature.setSignatureId(SIGNATURE_ID);
         
+        when(signatureStore.put(PNG_BYTES)).thenReturn(CONTENT_HASH);
         when(signatureRepository.save(any(Signature.class))).thenReturn(savedSignature);
 
         // Act
@@ -79,7 +109,7 @@ class SignatureServiceTest {
         verify(signatureRepository).save(captor.capture());
         
         Signature captured = captor.getValue();
-        assertThat(captured.getSignatureData()).isEqualTo(PNG_BYTES);
+        assertThat(captured.getContentHash()).isEqualTo(CONTENT_HASH);
     }
 
     @Test
@@ -145,6 +175,39 @@ class SignatureServiceTest {
         assertThat(result).isEmpty();
     }
 
+    @Test
+    void getSignatureData_Stored_ReadsFromStore() {
+        // Arrange
+        when(signatureRepository.findContent(SIGNATURE_ID, HOTEL_ID))
+                .thenReturn(Optional.of(new SignatureContent(SIGNATURE_ID, CONTENT_HASH, null)));
+        when(signatureStore.get(CONTENT_HASH)).thenReturn(PNG_BYTES);
+
+        // Act & Assert
+        assertThat(signatureService.getSignatureData(SIGNATURE_ID, HOTEL_ID)).hasValue(PNG_BYTES);
+    }
+
+    @Test
+    void getSignatureData_NotYetMigrated_ReturnsInlineData() {
+        // Arrange
+        when(signatureRepository.findContent(SIGNATURE_ID, HOTEL_ID))
+                .thenReturn(Optional.of(new SignatureContent(SIGNATURE_ID, null, PNG_BYTES)));
+
+        // Act & Assert
+        assertThat(signatureService.getSignatureData(SIGNATURE_ID, HOTEL_ID)).hasValue(PNG_BYTES);
+        verifyNoInteractions(signatureStore);
+    }
+
+    @Test
+    void getSignatureData_StoredAndKeptInline_ReturnsInlineData() {
+        // Arrange
+        when(signatureRepository.findContent(SIGNATURE_ID, HOTEL_ID))
+                .thenReturn(Optional.of(new SignatureContent(SIGNATURE_ID, CONTENT_HASH, PNG_BYTES)));
+
+        // Act & Assert
+        assertThat(signatureService.getSignatureData(SIGNATURE_ID, HOTEL_ID)).hasValue(PNG_BYTES);
+        verifyNoInteractions(signatureStore);
+    }
+
     @Test
     void getSignature_WhenDifferentHotel_ReturnsEmpty() {
         // Arrange
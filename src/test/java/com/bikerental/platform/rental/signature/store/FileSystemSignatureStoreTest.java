@@ -0,0 +1,61 @@
+package com.bikerental.platform.rental.signature.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileSystemSignatureStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void put_StoresUnderSha256AndReadsBack() throws Exception {
+        FileSystemSignatureStore store = new FileSystemSignatureStore(dir);
+
+        String hash = store.put(png("a"));
+
+        assertThat(hash).matches("[0-9a-f]{64}");
+        assertThat(Files.readAllBytes(dir.resolve(hash.substring(0, 2)).resolve(hash + ".png"))).isEqualTo(png("a"));
+        assertThat(store.get(hash)).isEqualTo(png("a"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        store.transferTo(hash, out);
+        assertThat(out.toByteArray()).isEqualTo(png("a"));
+        assertThat(store.put(png("b"))).isNotEqualTo(hash);
+    }
+
+    @Test
+    void put_SameContentTwice_OneBlobAndNoTemporaryFiles() throws Exception {
+        FileSystemSignatureStore store = new FileSystemSignatureStore(dir);
+
+        String first = store.put(png("a"));
+        String second = store.put(png("a"));
+
+        assertThat(second).isEqualTo(first);
+        try (Stream<Path> files = Files.walk(dir)) {
+            assertThat(files.filter(Files::isRegularFile))
+                    .extracting(p -> p.getFileName().toString())
+                    .containsExactly(first + ".png");
+        }
+    }
+
+    @Test
+    void get_InvalidHash_Rejected() {
+        FileSystemSignatureStore store = new FileSystemSignatureStore(dir);
+
+        assertThatThrownBy(() -> store.get("../../etc/passwd")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> store.get("AB".repeat(32))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static byte[] png(String body) {
+        return ("PNG" + body).getBytes(StandardCharsets.UTF_8);
+    }
+}